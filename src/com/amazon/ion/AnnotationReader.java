@@ -0,0 +1,69 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+/**
+ * An {@link IonReader} facet providing access to the annotations of the
+ * current value without allocating arrays, strings or
+ * {@link SymbolToken}s, as {@link IonReader#getTypeAnnotations()} and
+ * {@link IonReader#getTypeAnnotationSymbols()} do.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the binary and text
+ * {@link IonReader}s built by
+ * {@link com.amazon.ion.system.IonReaderBuilder IonReaderBuilder}.
+ * The facet may be retrieved once and used for every value the reader
+ * positions on.
+ * <p>
+ * Symbol IDs are those of the reader's current symbol table; see
+ * {@link IonReader#getSymbolTable()}.
+ */
+public interface AnnotationReader
+{
+    /**
+     * Returns the number of annotations on the current value.
+     */
+    public int annotationCount();
+
+    /**
+     * Returns the symbol ID of an annotation on the current value.
+     *
+     * @param index the position of the annotation, from zero to
+     * {@link #annotationCount()} exclusive.
+     *
+     * @return the symbol ID, or {@link SymbolTable#UNKNOWN_SYMBOL_ID} if the
+     * annotation's text isn't in the current symbol table.
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    public int annotationSid(int index);
+
+    /**
+     * Determines whether the current value has an annotation with the given
+     * text.
+     *
+     * @param text must not be null.
+     */
+    public boolean hasAnnotation(String text);
+
+    /**
+     * Determines whether the current value has an annotation with the given
+     * symbol ID.
+     */
+    public boolean hasAnnotation(int sid);
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+/**
+ * An {@link IonReader} facet providing the current decimal value as an
+ * unscaled {@code long} and a scale, without creating a {@link Decimal},
+ * when its coefficient fits in a {@code long}.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the binary and text
+ * {@link IonReader}s built by
+ * {@link com.amazon.ion.system.IonReaderBuilder IonReaderBuilder}.
+ * The facet may be retrieved once and used for every value the reader
+ * positions on.
+ * <p>
+ * Every method requires the reader to be positioned on a non-null
+ * decimal, and throws {@link IllegalStateException} otherwise.
+ *
+ * @see DecimalWriter
+ */
+public interface DecimalReader
+{
+    /**
+     * Determines whether the current decimal is exactly
+     * {@link #decimalUnscaledValue()} &times;
+     * 10<sup>-{@link #decimalScale()}</sup>.  This is false when the
+     * coefficient doesn't fit in a {@code long}, and for negative zero, which
+     * must be read via {@link IonReader#decimalValue()}.
+     */
+    public boolean decimalFitsLong();
+
+    /**
+     * Returns the unscaled value of the current decimal.
+     *
+     * @throws ArithmeticException if {@link #decimalFitsLong()} is false.
+     *
+     * @see java.math.BigDecimal#unscaledValue()
+     */
+    public long decimalUnscaledValue();
+
+    /**
+     * Returns the scale of the current decimal.
+     *
+     * @see java.math.BigDecimal#scale()
+     */
+    public int decimalScale();
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+import java.io.IOException;
+
+/**
+ * An {@link IonWriter} facet providing the ability to write decimals given
+ * as an unscaled {@code long} and a scale, without creating a
+ * {@link java.math.BigDecimal}.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the binary and text
+ * {@link IonWriter}s built by
+ * {@link com.amazon.ion.system.IonBinaryWriterBuilder IonBinaryWriterBuilder}
+ * and {@link com.amazon.ion.system.IonTextWriterBuilder IonTextWriterBuilder}.
+ *
+ * @see DecimalReader
+ */
+public interface DecimalWriter
+{
+    /**
+     * Writes a decimal of {@code unscaledValue} &times;
+     * 10<sup>-{@code scale}</sup>, as
+     * {@link IonWriter#writeDecimal(java.math.BigDecimal)} would write
+     * {@link java.math.BigDecimal#valueOf(long, int)}.
+     */
+    public void writeDecimal(long unscaledValue, int scale)
+        throws IOException;
+}
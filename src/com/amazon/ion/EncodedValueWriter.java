@@ -0,0 +1,73 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link IonWriter} facet providing the ability to write values that are
+ * already encoded in Ion binary, such as cached fragments of earlier
+ * output, without decoding them.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the binary
+ * {@link IonWriter}s built by
+ * {@link com.amazon.ion.system.IonBinaryWriterBuilder IonBinaryWriterBuilder}.
+ * <p>
+ * An encoded value is the binary encoding of exactly one value, starting
+ * with its type descriptor or annotation wrapper, and without a version
+ * marker or symbol table. When its symbol table is compatible with the
+ * writer's, the bytes are copied as they are. Otherwise the symbol IDs of
+ * its field names, annotations and symbol values are translated to the
+ * writer's symbol table as it is copied, with all other content still copied
+ * as-is.
+ * <p>
+ * As with other values, a field name must be set when writing into a
+ * struct. Any pending annotations precede those of the encoded value.
+ */
+public interface EncodedValueWriter
+{
+    /**
+     * Writes a value encoded in Ion binary.
+     *
+     * @param data holds the encoding within the range of bytes starting at
+     * {@code offset} for {@code length} bytes. Must not be null.
+     * @param symbols the symbol table the value was encoded against; null
+     * is the same as the system symbol table.
+     *
+     * @throws IonException if the range doesn't hold exactly one well-framed
+     * value. The content of scalars isn't checked.
+     * @throws UnknownSymbolException if the value uses a symbol ID that
+     * {@code symbols} has no text for.
+     * @throws IllegalArgumentException if {@code symbols} is a shared table.
+     */
+    public void writeEncodedValue(byte[] data, int offset, int length,
+                                  SymbolTable symbols)
+        throws IOException;
+
+
+    /**
+     * Writes a value encoded in Ion binary, held in the buffer's remaining
+     * bytes. The buffer's position is not changed.
+     *
+     * @see #writeEncodedValue(byte[], int, int, SymbolTable)
+     */
+    public void writeEncodedValue(ByteBuffer data, SymbolTable symbols)
+        throws IOException;
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+/**
+ * An {@link IonReader} facet through which the application pushes Ion binary
+ * data to the reader as it arrives, instead of the reader pulling (and
+ * blocking) on a source.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * The reader only presents a top-level value once all of its bytes have been
+ * fed. When no complete top-level value is buffered,
+ * {@link IonReader#next() next()} returns {@code null} rather than blocking
+ * or throwing {@link UnexpectedEofException}; the application should then
+ * {@link #feed feed} more data and call {@code next()} again. Values within
+ * a container are always complete, so once a top-level value is presented it
+ * may be read in full without further input.
+ * <p>
+ * Readers with this facet are created by
+ * {@link com.amazon.ion.system.IonReaderBuilder#buildIncremental()}.
+ */
+public interface IncrementalReader
+{
+    /**
+     * Appends bytes to the input of this reader. The data is copied, so the
+     * caller may reuse the array as soon as this method returns.
+     * <p>
+     * This may be called at any time, including while the reader is
+     * positioned within a value.
+     *
+     * @param bytes must not be null.
+     *
+     * @throws IonException if the first bytes fed are not an Ion binary
+     * version marker.
+     */
+    public void feed(byte[] bytes, int offset, int length);
+
+
+    /**
+     * Determines whether bytes of an incomplete top-level value have been
+     * fed. This distinguishes, after {@link IonReader#next() next()} returns
+     * {@code null} at top-level, a stream that is cleanly between values
+     * from one that is waiting for the rest of a value.
+     *
+     * @return true if some bytes have been fed that do not yet form a
+     * complete top-level value.
+     */
+    public boolean isValueIncomplete();
+}
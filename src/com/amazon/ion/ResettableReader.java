@@ -0,0 +1,80 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+import java.io.InputStream;
+
+/**
+ * An {@link IonReader} facet providing the ability to read a new source of
+ * Ion data with an existing reader, reusing its internal buffers instead of
+ * building a new reader for each source.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the binary and text
+ * {@link IonReader}s built by
+ * {@link com.amazon.ion.system.IonReaderBuilder IonReaderBuilder}.
+ * <p>
+ * A reader is specialized to either Ion binary or Ion text when it is
+ * built, and can only be reset onto data of the same kind. Empty data is
+ * acceptable to either kind of reader.
+ * <p>
+ * After a reset the reader is positioned before the first value of the new
+ * source, exactly as if it had just been built over it: the caller must call
+ * {@link IonReader#next() next()} to begin reading values, and the symbol
+ * table is reset to the system symbol table.
+ * Spans taken from the previous source are no longer valid.
+ */
+public interface ResettableReader
+{
+    /**
+     * Resets the reader to read the given block of Ion data.
+     * <p>
+     * GZIPped data is detected and uncompressed, as when building a reader.
+     *
+     * @param ionData the source of the Ion data, which is used only within the
+     * range of bytes starting at {@code offset} for {@code len} bytes.
+     * The reader retains a reference to the array, so its data must not be
+     * modified while the reader is active. Must not be null.
+     * @param offset must be non-negative and less than {@code ionData.length}.
+     * @param length must be non-negative and {@code offset+length} must not
+     * exceed {@code ionData.length}.
+     *
+     * @throws IonException if the data is not of the kind (text or binary)
+     * this reader was built to read. The reader can't be used after that
+     * until it is successfully reset again.
+     */
+    public void reset(byte[] ionData, int offset, int length);
+
+
+    /**
+     * Resets the reader to read the given stream of Ion data.
+     * <p>
+     * GZIPped data is detected and uncompressed, as when building a reader.
+     * The previous source, if it was a stream, is not closed.
+     *
+     * @param ionData the source of the Ion data. Must not be null.
+     * Callers must call {@link IonReader#close()} when finished with the
+     * reader, which closes the current stream.
+     *
+     * @throws IonException if the data is not of the kind (text or binary)
+     * this reader was built to read, or if the source throws
+     * {@link java.io.IOException}. The reader can't be used after that
+     * until it is successfully reset again.
+     */
+    public void reset(InputStream ionData);
+}
@@ -1030,7 +1030,19 @@ public final class Timestamp
                 throw fail(in,
                            "must have at least one digit after decimal point");
             }
-            fraction = new BigDecimal(in.subSequence(19, pos).toString());
+            // Up to 18 ASCII digits fit in a long, so skip parsing a string.
+            long unscaled = 0;
+            int i = END_OF_SECONDS + 1;
+            for (char d; i < pos && i < END_OF_SECONDS + 19
+                     && (d = in.charAt(i)) >= '0' && d <= '9'; i++) {
+                unscaled = 10 * unscaled + (d - '0');
+            }
+            if (i == pos) {
+                fraction = BigDecimal.valueOf(unscaled, pos - (END_OF_SECONDS + 1));
+            }
+            else {
+                fraction = new BigDecimal(in.subSequence(19, pos).toString());
+            }
         } while (false);
 
         Integer offset;
@@ -2108,33 +2120,33 @@ public final class Timestamp
         print_digits(out, adjusted._year, 4);
         if (adjusted._precision == Precision.YEAR) {
             assert adjusted._offset == UNKNOWN_OFFSET;
-            out.append("T");
+            out.append('T');
             return;
         }
 
-        out.append("-");
+        out.append('-');
         print_digits(out, adjusted._month, 2);  // convert calendar months to a base 1 value
         if (adjusted._precision == Precision.MONTH) {
             assert adjusted._offset == UNKNOWN_OFFSET;
-            out.append("T");
+            out.append('T');
             return;
         }
 
-        out.append("-");
+        out.append('-');
         print_digits(out, adjusted._day, 2);
         if (adjusted._precision == Precision.DAY) {
             assert adjusted._offset == UNKNOWN_OFFSET;
-            // out.append("T");
+            // out.append('T');
             return;
         }
 
-        out.append("T");
+        out.append('T');
         print_digits(out, adjusted._hour, 2);
-        out.append(":");
+        out.append(':');
         print_digits(out, adjusted._minute, 2);
         // ok, so how much time do we have ?
         if (adjusted._precision == Precision.SECOND) {
-            out.append(":");
+            out.append(':');
             print_digits(out, adjusted._second, 2);
             if (adjusted._fraction != null) {
                 print_fractional_digits(out, adjusted._fraction);
@@ -2158,7 +2170,7 @@ public final class Timestamp
                 hour = min / 60;
                 min = min - hour*60;
                 print_digits(out, hour, 2);
-                out.append(":");
+                out.append(':');
                 print_digits(out, min, 2);
             }
         }
@@ -2169,30 +2181,43 @@ public final class Timestamp
     private static void print_digits(Appendable out, int value, int length)
         throws IOException
     {
-        char temp[] = new char[length];
-        while (length > 0) {
-            length--;
-            int next = value / 10;
-            temp[length] =  (char)('0' + (value - next*10));
-            value = next;
-        }
-        while (length > 0) {
-            length--;
-            temp[length] =  '0';
+        // Print the most significant digit first, without a scratch array.
+        int divisor = 1;
+        while (--length > 0) {
+            divisor *= 10;
         }
-        for (char c : temp) {
-            out.append(c);
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char)('0' + (value / divisor) % 10));
         }
     }
     private static void print_fractional_digits(Appendable out, BigDecimal value)
         throws IOException
     {
+        int scale = value.scale();
+        if (scale > 0 && scale <= 18) {
+            // The usual case, where the fraction's digits fit in a long;
+            // print them without making a String.
+            out.append('.');
+            long unscaled = value.unscaledValue().longValue();
+            for (long divisor = pow10(scale - 1); divisor > 0; divisor /= 10) {
+                out.append((char)('0' + (unscaled / divisor) % 10));
+            }
+            return;
+        }
         String temp = value.toPlainString(); // crude, but it works
         if (temp.charAt(0) == '0') { // this should always be true
             temp = temp.substring(1);
         }
         out.append(temp);
     }
+    private static long pow10(int exponent)
+    {
+        long result = 1;
+        while (exponent-- > 0) {
+            result *= 10;
+        }
+        return result;
+    }
 
 
     //=========================================================================
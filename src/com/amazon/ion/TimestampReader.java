@@ -0,0 +1,81 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion;
+
+import com.amazon.ion.Timestamp.Precision;
+
+/**
+ * An {@link IonReader} facet providing the point in time of the current
+ * timestamp value as primitives, without creating a {@link Timestamp}.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of the binary and text
+ * {@link IonReader}s built by
+ * {@link com.amazon.ion.system.IonReaderBuilder IonReaderBuilder}.
+ * The facet may be retrieved once and used for every value the reader
+ * positions on.
+ * <p>
+ * Every method requires the reader to be positioned on a non-null
+ * timestamp, and throws {@link IllegalStateException} otherwise.  The
+ * results agree with the corresponding methods of the {@link Timestamp}
+ * returned by {@link IonReader#timestampValue()}.
+ */
+public interface TimestampReader
+{
+    /**
+     * Returned by {@link #timestampLocalOffset()} when the local offset is
+     * unknown.
+     */
+    public static final int UNKNOWN_OFFSET = Integer.MIN_VALUE;
+
+
+    /**
+     * Returns the precision of the current timestamp.
+     *
+     * @see Timestamp#getPrecision()
+     */
+    public Precision timestampPrecision();
+
+    /**
+     * Returns the number of milliseconds from the epoch to the current
+     * timestamp, ignoring any fractional milliseconds.
+     *
+     * @see Timestamp#getMillis()
+     */
+    public long timestampMillis();
+
+    /**
+     * Returns the number of whole seconds from the epoch to the current
+     * timestamp.
+     */
+    public long timestampEpochSecond();
+
+    /**
+     * Returns the fractional seconds of the current timestamp as
+     * nanoseconds, from 0 to 999,999,999, ignoring any smaller fraction.
+     */
+    public int timestampNanos();
+
+    /**
+     * Returns the local offset of the current timestamp from UTC, in
+     * minutes, or {@link #UNKNOWN_OFFSET}.
+     *
+     * @see Timestamp#getLocalOffset()
+     */
+    public int timestampLocalOffset();
+}
@@ -18,23 +18,31 @@ package com.amazon.ion.apps;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
-import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
+import com.amazon.ion.util.SymbolFrequencies;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
 
 
+/**
+ * Builds a shared symbol table from the symbols used by a corpus of Ion
+ * data, most frequent first, and reports how much smaller the corpus
+ * encodes when it imports the table.
+ * <p>
+ * Usage: {@code SymtabApp [--catalog file] [--import name] --name name
+ * [--version n] [--max-symbols n] file...}
+ */
 public class SymtabApp
     extends BaseApp
 {
     private ArrayList<SymbolTable> myImports = new ArrayList<SymbolTable>();
-    private ArrayList<String>      mySymbols = new ArrayList<String>();
+    private SymbolFrequencies      mySymbols = new SymbolFrequencies();
 
     private String mySymtabName;
     private int    mySymtabVersion;
+    private int    myMaxSymbols;
 
 
     //=========================================================================
@@ -109,17 +117,21 @@ public class SymtabApp
                 {
                     throw new RuntimeException("Multiple versions");
                 }
-                int version = Integer.parseInt(arg);
+                int version = Integer.parseInt(args[++i]);
                 if (version < 1)
                 {
                     throw new RuntimeException("Version must be at least 1");
                 }
-                if (version != 1)
+                // Later versions extend the prior one from the --catalog.
+                mySymtabVersion = version;
+            }
+            else if ("--max-symbols".equals(arg))
+            {
+                myMaxSymbols = Integer.parseInt(args[++i]);
+                if (myMaxSymbols < 1)
                 {
-                    String message = "Symtab extension not implemented";
-                    throw new UnsupportedOperationException(message);
+                    throw new RuntimeException("Max symbols must be at least 1");
                 }
-                mySymtabVersion = version;
             }
             else
             {
@@ -165,10 +177,23 @@ public class SymtabApp
         myImports.toArray(importArray);
 
         SymbolTable mySymtab =
-            mySystem.newSharedSymbolTable(mySymtabName,
-                                          mySymtabVersion,
-                                          mySymbols.iterator(),
-                                          importArray);
+            mySymbols.newSharedSymbolTable(mySystem,
+                                           mySymtabName,
+                                           mySymtabVersion,
+                                           myMaxSymbols,
+                                           importArray);
+
+        long localSize = mySymbols.projectEncodedSize(null);
+        long sharedSize = mySymbols.projectEncodedSize(mySymtab);
+        logDebug("Counted " + mySymbols.size() + " distinct symbols; "
+                 + mySymtab.getMaxId() + " in " + mySymtabName
+                 + "@" + mySymtabVersion);
+        logDebug("Projected symbol encoding: " + localSize
+                 + " bytes with local symbols, " + sharedSize
+                 + " bytes importing the table, saving "
+                 + (localSize - sharedSize) + " bytes ("
+                 + (localSize == 0 ? 0 : 100 * (localSize - sharedSize) / localSize)
+                 + "%)");
 
         IonWriter w = mySystem.newTextWriter((OutputStream)System.out);
         try
@@ -189,65 +214,6 @@ public class SymtabApp
     protected void process(IonReader reader)
         throws IonException
     {
-        while (reader.hasNext())
-        {
-            IonType type = reader.next();
-
-//            System.err.println("Next: " + type);
-//            System.err.println("isInStruct=" + reader.isInStruct());
-
-            String fieldName = reader.getFieldName();
-            intern(fieldName);
-
-            internAnnotations(reader);
-
-            switch (type) {
-                case SYMBOL:
-                {
-                    String text = reader.stringValue();
-                    intern(text);
-                    break;
-                }
-                case LIST:
-                case SEXP:
-                case STRUCT:
-                {
-//                    System.err.println("stepping in");
-                    reader.stepIn();
-                    break;
-                }
-                default:
-                {
-                    // do nothing
-                    break;
-                }
-            }
-
-            while (! reader.hasNext() && reader.getDepth() > 0)
-            {
-//                System.err.println("stepping out");
-                reader.stepOut();
-            }
-        }
-    }
-
-    private void internAnnotations(IonReader reader)
-    {
-        Iterator<String> i = reader.iterateTypeAnnotations();
-        assert i != null;
-        while (i.hasNext())
-        {
-            String ann = i.next();
-            intern(ann);
-        }
-    }
-
-    private void intern(String text)
-    {
-        if (text != null)
-        {
-            if (text.equals("$ion") || text.startsWith("$ion_")) return;
-            mySymbols.add(text);
-        }
+        mySymbols.count(reader);
     }
 }
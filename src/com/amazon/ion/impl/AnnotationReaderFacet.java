@@ -0,0 +1,70 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.AnnotationReader;
+
+/**
+ * The {@link AnnotationReader} facet of the binary and text readers, which
+ * reports the annotations their system readers hold for the current value.
+ * Each reader keeps one instance, since callers may ask for it per value.
+ */
+final class AnnotationReaderFacet
+    implements AnnotationReader
+{
+    /**
+     * A reader that can report its current value's annotations without
+     * allocating.
+     */
+    interface Source
+    {
+        int annotationCount();
+
+        int annotationSid(int index);
+
+        boolean hasAnnotation(String text);
+
+        boolean hasAnnotation(int sid);
+    }
+
+    private final Source source;
+
+
+    AnnotationReaderFacet(Source source)
+    {
+        this.source = source;
+    }
+
+    public int annotationCount()
+    {
+        return source.annotationCount();
+    }
+
+    public int annotationSid(int index)
+    {
+        return source.annotationSid(index);
+    }
+
+    public boolean hasAnnotation(String text)
+    {
+        return source.hasAnnotation(text);
+    }
+
+    public boolean hasAnnotation(int sid)
+    {
+        return source.hasAnnotation(sid);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.Decimal;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The coefficient and scale of a decimal held as primitives, so readers can
+ * report small decimals without creating a {@link Decimal}.  A reader keeps
+ * one instance and reloads it for each decimal value.
+ */
+final class DecimalFields
+{
+    /**
+     * The longest run of digits that always fits in a long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * True when the decimal is unscaled 10<sup>-scale</sup>; false when the
+     * coefficient doesn't fit in a long, or the decimal is negative zero, and
+     * big holds the value.
+     */
+    boolean compact;
+    long unscaled;
+    int scale;
+    Decimal big;
+
+
+    void set(long unscaled, int scale)
+    {
+        compact = true;
+        this.unscaled = unscaled;
+        this.scale = scale;
+        big = null;
+    }
+
+    /**
+     * Loads a decimal, keeping it as well when it isn't compact.
+     */
+    void set(BigDecimal value)
+    {
+        BigInteger coefficient = value.unscaledValue();
+        if (coefficient.bitLength() < 64 && !Decimal.isNegativeZero(value))
+        {
+            set(coefficient.longValue(), value.scale());
+        }
+        else
+        {
+            compact = false;
+            scale = value.scale();
+            big = Decimal.valueOf(value);
+        }
+    }
+
+    /**
+     * Parses the Ion text of a decimal whose coefficient has at most 18
+     * digits, with an exponent that fits in an int.  Other decimals are left
+     * to {@link Decimal#valueOf(String)}.
+     *
+     * @return true if the text was parsed, false if it is not one of the
+     * handled forms.
+     */
+    boolean parse(CharSequence text)
+    {
+        final int length = text.length();
+        int pos = 0;
+        boolean negative = false;
+        if (pos < length && text.charAt(pos) == '-')
+        {
+            negative = true;
+            pos++;
+        }
+
+        long coefficient = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenPoint = false;
+        for (; pos < length; pos++)
+        {
+            char c = text.charAt(pos);
+            if (c >= '0' && c <= '9')
+            {
+                // Leading zeros don't count against the limit.
+                if (coefficient != 0 || c != '0') digits++;
+                coefficient = 10 * coefficient + (c - '0');
+                if (seenPoint) fractionDigits++;
+            }
+            else if (c == '.' && !seenPoint)
+            {
+                seenPoint = true;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if (digits > MAX_LONG_DIGITS || pos == (negative ? 1 : 0))
+        {
+            return false;
+        }
+
+        long exponent = 0;
+        if (pos < length)
+        {
+            char c = text.charAt(pos++);
+            if (c != 'd' && c != 'D' && c != 'e' && c != 'E') return false;
+            boolean negativeExponent = false;
+            if (pos < length && (text.charAt(pos) == '-' || text.charAt(pos) == '+'))
+            {
+                negativeExponent = (text.charAt(pos) == '-');
+                pos++;
+            }
+            if (pos == length) return false;
+            for (; pos < length; pos++)
+            {
+                c = text.charAt(pos);
+                if (c < '0' || c > '9') return false;
+                exponent = 10 * exponent + (c - '0');
+                if (exponent > Integer.MAX_VALUE) return false;
+            }
+            if (negativeExponent) exponent = -exponent;
+        }
+
+        long scaleValue = fractionDigits - exponent;
+        if (scaleValue < Integer.MIN_VALUE || scaleValue > Integer.MAX_VALUE
+            || (negative && coefficient == 0))
+        {
+            // Negative zero needs a Decimal.
+            return false;
+        }
+        set(negative ? -coefficient : coefficient, (int) scaleValue);
+        return true;
+    }
+
+    /**
+     * Creates the decimal these fields describe.
+     */
+    Decimal toDecimal()
+    {
+        if (!compact) return big;
+        return Decimal.valueOf(BigInteger.valueOf(unscaled), scale);
+    }
+}
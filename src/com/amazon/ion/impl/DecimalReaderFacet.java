@@ -0,0 +1,67 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.DecimalReader;
+
+/**
+ * The {@link DecimalReader} facet of the binary and text readers, which
+ * reports the fields their system readers load for the current decimal.
+ * Each reader keeps one instance, since loaders ask for it once per value.
+ */
+final class DecimalReaderFacet
+    implements DecimalReader
+{
+    /**
+     * A reader that can load the fields of its current decimal.
+     */
+    interface Source
+    {
+        /**
+         * @throws IllegalStateException if the current value isn't a
+         * non-null decimal.
+         */
+        DecimalFields decimalFields();
+    }
+
+    private final Source source;
+
+
+    DecimalReaderFacet(Source source)
+    {
+        this.source = source;
+    }
+
+    public boolean decimalFitsLong()
+    {
+        return source.decimalFields().compact;
+    }
+
+    public long decimalUnscaledValue()
+    {
+        DecimalFields fields = source.decimalFields();
+        if (!fields.compact)
+        {
+            throw new ArithmeticException("decimal coefficient doesn't fit in a long");
+        }
+        return fields.unscaled;
+    }
+
+    public int decimalScale()
+    {
+        return source.decimalFields().scale;
+    }
+}
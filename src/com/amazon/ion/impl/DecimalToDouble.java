@@ -0,0 +1,275 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Parses decimal text to the nearest double without allocating, for the
+ * common case of at most 19 significant digits.
+ * <p>
+ * Values that are exact products or quotients of doubles are computed
+ * directly, as Clinger described.  Others use the Eisel-Lemire algorithm
+ * from Daniel Lemire's "Number Parsing at a Gigabyte per Second", which
+ * multiplies by a truncated 128-bit power of ten and detects when the
+ * truncation could affect rounding.  Text it can't handle, or can't round
+ * with certainty, falls back to {@link Double#parseDouble(String)}, so
+ * results are always correctly rounded.
+ */
+final class DecimalToDouble
+{
+    /** The range of decimal exponents in {@link #POW10_HIGH}. */
+    private static final int Q_MIN = -342;
+    private static final int Q_MAX = 308;
+
+    /**
+     * For each q in [Q_MIN, Q_MAX], 10<sup>q</sup> as a 128-bit significand
+     * with its top bit set, rounded down, split into its high and low
+     * 64 bits.
+     */
+    private static final long[] POW10_HIGH = new long[Q_MAX - Q_MIN + 1];
+    private static final long[] POW10_LOW  = new long[Q_MAX - Q_MIN + 1];
+    static
+    {
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = Q_MIN; q <= Q_MAX; q++)
+        {
+            BigInteger s;
+            if (q >= 0)
+            {
+                BigInteger n = BigInteger.TEN.pow(q);
+                int shift = n.bitLength() - 128;
+                s = (shift < 0 ? n.shiftLeft(-shift) : n.shiftRight(shift));
+            }
+            else
+            {
+                // 10^-q isn't a power of two, so the quotient has 128 bits.
+                BigInteger d = BigInteger.TEN.pow(-q);
+                s = BigInteger.ONE.shiftLeft(127 + d.bitLength()).divide(d);
+            }
+            POW10_HIGH[q - Q_MIN] = s.shiftRight(64).longValue();
+            POW10_LOW[q - Q_MIN]  = s.and(mask64).longValue();
+        }
+    }
+
+    /** The powers of ten that doubles represent exactly. */
+    private static final double[] EXACT_POW10 = {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Significands up to this are exact doubles. */
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+
+    private DecimalToDouble() { }
+
+
+    /**
+     * Parses the text of a decimal number, such as {@code -1.5e3}, to the
+     * nearest double.
+     *
+     * @throws NumberFormatException if the text isn't a number accepted by
+     * {@link Double#parseDouble(String)}.
+     */
+    static double parseDouble(CharSequence text)
+    {
+        final int len = text.length();
+        int i = 0;
+
+        boolean negative = false;
+        if (i < len && (text.charAt(i) == '-' || text.charAt(i) == '+'))
+        {
+            negative = (text.charAt(i) == '-');
+            i++;
+        }
+
+        // Accumulate up to 19 significant digits, which fit in an unsigned
+        // long.
+        long w = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int exponent = 0;
+        char c = 0;
+        for (; i < len; i++)
+        {
+            c = text.charAt(i);
+            if (c < '0' || c > '9') break;
+            w = 10 * w + (c - '0');
+            if (w != 0) significantDigits++;
+            digits++;
+        }
+        if (c == '.' && i < len)
+        {
+            for (i++; i < len; i++)
+            {
+                c = text.charAt(i);
+                if (c < '0' || c > '9') break;
+                w = 10 * w + (c - '0');
+                if (w != 0) significantDigits++;
+                digits++;
+                exponent--;
+            }
+        }
+        if (digits != 0 && i < len && (c == 'e' || c == 'E'))
+        {
+            i++;
+            boolean negativeExponent = false;
+            if (i < len && (text.charAt(i) == '-' || text.charAt(i) == '+'))
+            {
+                negativeExponent = (text.charAt(i) == '-');
+                i++;
+            }
+            int exponentStart = i;
+            int e = 0;
+            for (; i < len; i++)
+            {
+                c = text.charAt(i);
+                if (c < '0' || c > '9') break;
+                // Larger exponents are out of range anyway.
+                if (e < 100000) e = 10 * e + (c - '0');
+            }
+            if (i == exponentStart)
+            {
+                return parseSlowly(text);
+            }
+            exponent += (negativeExponent ? -e : e);
+        }
+
+        if (i != len || digits == 0 || significantDigits > 19)
+        {
+            return parseSlowly(text);
+        }
+
+        if (w == 0)
+        {
+            return (negative ? -0.0 : 0.0);
+        }
+
+        if (0 < w && w <= MAX_EXACT_SIGNIFICAND
+            && -EXACT_POW10.length < exponent && exponent < EXACT_POW10.length)
+        {
+            // Both operands are exact, so the one rounding is correct.
+            double d = (double) w;
+            d = (exponent < 0 ? d / EXACT_POW10[-exponent] : d * EXACT_POW10[exponent]);
+            return (negative ? -d : d);
+        }
+
+        long bits = eiselLemire(w, exponent);
+        if (bits < 0)
+        {
+            return parseSlowly(text);
+        }
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    private static double parseSlowly(CharSequence text)
+    {
+        return Double.parseDouble(text.toString());
+    }
+
+
+    /**
+     * Computes the bits of the double nearest to w 10<sup>q</sup>.
+     *
+     * @param w an unsigned, non-zero significand.
+     *
+     * @return the bits of a positive double, or -1 if the result can't be
+     * determined here.
+     */
+    private static long eiselLemire(long w, int q)
+    {
+        if (q < Q_MIN || q > Q_MAX)
+        {
+            return -1;
+        }
+
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+        // 217706 / 2^16 approximates log2(10).
+        long exponent2 = ((217706 * q) >> 16) + 64 + 1023 - lz;
+
+        long high = POW10_HIGH[q - Q_MIN];
+        long xHi = unsignedMultiplyHigh(w, high);
+        long xLo = w * high;
+
+        if ((xHi & 0x1FF) == 0x1FF && unsignedLess(xLo + w, w))
+        {
+            // The truncated low bits of the power might carry into the
+            // bits we keep, so take them into account.
+            long low = POW10_LOW[q - Q_MIN];
+            long yHi = unsignedMultiplyHigh(w, low);
+            long yLo = w * low;
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (unsignedLess(mergedLo, xLo))
+            {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0
+                && unsignedLess(yLo + w, w))
+            {
+                return -1;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        // Keep 54 bits: the significand and a rounding bit.
+        long msb = xHi >>> 63;
+        long mantissa = xHi >>> (msb + 9);
+        exponent2 -= 1 ^ msb;
+
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (mantissa & 3) == 1)
+        {
+            // Exactly halfway, as far as we can tell.
+            return -1;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if ((mantissa >>> 53) > 0)
+        {
+            mantissa >>>= 1;
+            exponent2++;
+        }
+
+        if (exponent2 <= 0 || exponent2 >= 0x7FF)
+        {
+            // Subnormal, infinite or zero.
+            return -1;
+        }
+        return exponent2 << 52 | (mantissa & ((1L << 52) - 1));
+    }
+
+    private static boolean unsignedLess(long a, long b)
+    {
+        return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE);
+    }
+
+    /** The high 64 bits of the unsigned 128-bit product. */
+    private static long unsignedMultiplyHigh(long x, long y)
+    {
+        long x1 = x >>> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & 0xFFFFFFFFL) + x2 * y1;
+        return x1 * y1 + (t >>> 32) + (z1 >>> 32);
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Prints doubles as Ion text with the fewest decimal digits that read back
+ * as the same value, without allocating.
+ * <p>
+ * This is the Schubfach algorithm described in Raffaello Giulietti's
+ * "The Schubfach way to render doubles".  Among the shortest decimals that
+ * round to the double it picks the closest one, breaking ties to the even
+ * digit.  The layout follows {@link Double#toString(double)}: plain
+ * notation for magnitudes from 10<sup>-3</sup> up to 10<sup>7</sup>,
+ * otherwise scientific notation.
+ */
+final class DoubleToDecimal
+{
+    /** The most chars that {@link #toChars} writes. */
+    static final int MAX_CHARS = 32;
+
+    /** The precision of doubles, in bits. */
+    private static final int P = 53;
+
+    /** The exponent of the smallest double's least significant bit. */
+    private static final int Q_MIN = -1074;
+
+    /** The significand of normal doubles with the hidden bit. */
+    private static final long C_MIN = 1L << (P - 1);
+
+    /** Subnormal significands below this are scaled up by ten. */
+    private static final int C_TINY = 3;
+
+    /** The range of decimal exponents in {@link #G}. */
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    /**
+     * For each k in [K_MIN, K_MAX], the 126-bit g = floor(beta) + 1 where
+     * 10<sup>-k</sup> = beta 2<sup>r</sup> and
+     * 2<sup>125</sup> &le; beta &lt; 2<sup>126</sup>, split into its high
+     * and low 63 bits.
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+    static
+    {
+        BigInteger mask63 = BigInteger.valueOf(MASK_63);
+        for (int k = K_MIN; k <= K_MAX; k++)
+        {
+            BigInteger g;
+            if (k <= 0)
+            {
+                BigInteger n = BigInteger.TEN.pow(-k);
+                int r = n.bitLength() - 126;
+                g = (r < 0 ? n.shiftLeft(-r) : n.shiftRight(r));
+            }
+            else
+            {
+                // 10^k isn't a power of two, so the quotient is in range.
+                BigInteger d = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d);
+            }
+            g = g.add(BigInteger.ONE);
+
+            int i = (k - K_MIN) << 1;
+            G[i]     = g.shiftRight(63).longValue();
+            G[i + 1] = g.and(mask63).longValue();
+        }
+    }
+
+
+    private DoubleToDecimal() { }
+
+
+    /**
+     * Writes the text of a finite, non-zero double.
+     *
+     * @param chars must have room for {@link #MAX_CHARS} chars.
+     *
+     * @return the number of chars written.
+     */
+    static int toChars(double v, char[] chars)
+    {
+        assert v != 0 && !Double.isNaN(v) && !Double.isInfinite(v);
+
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & (C_MIN - 1);
+        int bq = (int) (bits >>> (P - 1)) & 0x7FF;
+
+        int pos = 0;
+        if (bits < 0)
+        {
+            chars[pos++] = '-';
+        }
+
+        if (bq != 0)
+        {
+            // Normal values; -Q_MIN + 1 - bq is the shift of the binary point.
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            if (0 < mq && mq < P)
+            {
+                // Integers need no rounding.
+                long f = c >> mq;
+                if (f << mq == c)
+                {
+                    return toChars(f, 0, chars, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, chars, pos);
+        }
+
+        // Subnormal values.
+        return (t < C_TINY
+                ? toDecimal(Q_MIN, 10 * t, -1, chars, pos)
+                : toDecimal(Q_MIN, t, 0, chars, pos));
+    }
+
+    /**
+     * Finds the decimal for c 2<sup>q</sup> and writes it.  The decimal's
+     * exponent is adjusted by dk when c has been scaled by ten.
+     */
+    private static int toDecimal(int q, long c, int dk, char[] chars, int pos)
+    {
+        // Everything is scaled by four so the rounding interval's bounds,
+        // halfway to the neighboring doubles, are integers.
+        long out = c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN)
+        {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else
+        {
+            // The lower neighbor is closer at a power of two.
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int i = (k - K_MIN) << 1;
+        long g1 = G[i];
+        long g0 = G[i + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100)
+        {
+            // Try one digit fewer: sp10 is s rounded down to a multiple of
+            // ten, and tp10 is the next multiple of ten.
+            long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin)
+            {
+                return toChars(upin ? sp10 : tp10, k, chars, pos);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win)
+        {
+            return toChars(uin ? s : t, k + dk, chars, pos);
+        }
+
+        // Both are in the interval; pick the closer, or the even one.
+        long cmp = vb - ((s + t) << 1);
+        return toChars((cmp < 0 || (cmp == 0 && (s & 1) == 0)) ? s : t,
+                       k + dk, chars, pos);
+    }
+
+    /**
+     * Rounds g cp 2<sup>-127</sup> to odd, as "round to odd" in the paper.
+     */
+    private static long rop(long g1, long g0, long cp)
+    {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    /** The high 64 bits of the 128-bit product; Math.multiplyHigh. */
+    private static long multiplyHigh(long x, long y)
+    {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /** floor(log10(2<sup>e</sup>)), for |e| &le; 5456721. */
+    private static int flog10pow2(int e)
+    {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    /** floor(log10(3/4 2<sup>e</sup>)), for |e| &le; 2768427. */
+    private static int flog10threeQuartersPow2(int e)
+    {
+        return (int) (e * 661971961083L + -274743187321L >> 41);
+    }
+
+    /** floor(log2(10<sup>e</sup>)), for |e| &le; 1838394. */
+    private static int flog2pow10(int e)
+    {
+        return (int) (e * 913124641741L >> 38);
+    }
+
+
+    /**
+     * Writes f 10<sup>e</sup> in the layout of {@link Double#toString}, as
+     * Ion: {@code 123e0}, {@code 1.5e0}, {@code 0.001e0} or
+     * {@code 1.0E10}.
+     */
+    private static int toChars(long f, int e, char[] chars, int pos)
+    {
+        while (f % 10 == 0)
+        {
+            f /= 10;
+            e++;
+        }
+
+        int len = 1;
+        for (long p = f / 10; p != 0; p /= 10)
+        {
+            len++;
+        }
+
+        // The value is 0.d1d2...dlen 10^exp.
+        int exp = e + len;
+        if (-3 < exp && exp <= 7)
+        {
+            if (exp <= 0)
+            {
+                chars[pos++] = '0';
+                chars[pos++] = '.';
+                for (int i = exp; i < 0; i++)
+                {
+                    chars[pos++] = '0';
+                }
+                pos = putDigits(f, len, chars, pos);
+            }
+            else if (exp >= len)
+            {
+                pos = putDigits(f, len, chars, pos);
+                for (int i = len; i < exp; i++)
+                {
+                    chars[pos++] = '0';
+                }
+            }
+            else
+            {
+                // Write the digits shifted by one, then open the gap.
+                int start = pos;
+                pos = putDigits(f, len, chars, pos + 1);
+                System.arraycopy(chars, start + 1, chars, start, exp);
+                chars[start + exp] = '.';
+            }
+            chars[pos++] = 'e';
+            chars[pos++] = '0';
+        }
+        else
+        {
+            int start = pos;
+            pos = putDigits(f, len, chars, pos + 1);
+            chars[start] = chars[start + 1];
+            chars[start + 1] = '.';
+            if (len == 1)
+            {
+                chars[pos++] = '0';
+            }
+            chars[pos++] = 'E';
+            int n = exp - 1;
+            if (n < 0)
+            {
+                chars[pos++] = '-';
+                n = -n;
+            }
+            if (n >= 100)
+            {
+                chars[pos++] = (char) ('0' + n / 100);
+                n %= 100;
+                chars[pos++] = (char) ('0' + n / 10);
+            }
+            else if (n >= 10)
+            {
+                chars[pos++] = (char) ('0' + n / 10);
+            }
+            chars[pos++] = (char) ('0' + n % 10);
+        }
+        return pos;
+    }
+
+    private static int putDigits(long f, int len, char[] chars, int pos)
+    {
+        int end = pos + len;
+        for (int i = end - 1; i >= pos; i--)
+        {
+            chars[i] = (char) ('0' + f % 10);
+            f /= 10;
+        }
+        return end;
+    }
+}
@@ -51,6 +51,8 @@ abstract class IonReaderBinaryRawX
 {
     static final int DEFAULT_CONTAINER_STACK_SIZE = 12; // a multiple of 3
     static final int DEFAULT_ANNOTATION_SIZE = 10;
+    /** Largest decoding buffer {@link #readString(int)} keeps between calls. */
+    static final int MAX_RETAINED_STRING_CHARS = 4096;
     static final int NO_LIMIT = Integer.MIN_VALUE;
     protected enum State {
         S_INVALID,
@@ -66,6 +68,13 @@ abstract class IonReaderBinaryRawX
     boolean             _eof;
     boolean             _has_next_needed;
     ValueVariant        _v;
+
+    // the fields of the current timestamp, when read without a Timestamp
+    TimestampFields     _timestamp_fields;
+    boolean             _timestamp_fields_loaded;
+    // the coefficient and scale of the current decimal, when read without a Decimal
+    DecimalFields       _decimal_fields;
+    boolean             _decimal_fields_loaded;
     IonType             _value_type;
     boolean             _value_is_null;
     boolean             _value_is_true;   // cached boolean value (since we step on the length)
@@ -83,12 +92,17 @@ abstract class IonReaderBinaryRawX
 
     long                _position_start;
     long                _position_len;
+    /** Start of the type descriptor of the current value, inside any annotation wrapper. */
+    long                _value_tid_start;
 
 
     SavePoint           _annotations;
     int[]               _annotation_ids;
     int                 _annotation_count;
 
+    // scratch space for string decoding, reused from value to value
+    char[]              _string_chars;
+
     // local stack for stepInto() and stepOut()
     boolean             _is_in_struct;
     boolean             _struct_is_ordered;
@@ -144,6 +158,34 @@ abstract class IonReaderBinaryRawX
         _container_top = 0;
     }
 
+    /**
+     * Re-initializes this reader over new input, reusing the container
+     * stack, annotation and scalar buffers.  The caller must have called
+     * {@link #release_input()} before re-targeting the current input.
+     */
+    final void re_init_raw(UnifiedInputStreamX uis)
+    {
+        if (uis != _input) {
+            _input = uis;
+            _annotations = uis.savePointAllocate();
+        }
+        _v.clear();
+        _timestamp_fields_loaded = false;
+        _decimal_fields_loaded = false;
+        re_init_raw();
+        _position_start = -1;
+    }
+
+    /**
+     * Deactivates and clears the save points this reader holds on its
+     * input, so that the input may be re-targeted.
+     */
+    final void release_input()
+    {
+        _input._save_points.savePointPopAllActive();
+        _annotations.clear();
+    }
+
     public void close()
         throws IOException
     {
@@ -319,6 +361,64 @@ abstract class IonReaderBinaryRawX
         _has_next_needed = false;
         return;
     }
+    /**
+     * Continues reading at top-level after EOF, once more input has
+     * arrived.  Used by readers whose input is fed incrementally.
+     */
+    final void resume_after_eof()
+    {
+        assert(_eof && getDepth() == 0);
+        _eof = false;
+        _state = State.S_BEFORE_TID;
+        _has_next_needed = true;
+    }
+
+    /**
+     * Finds where the top-level value (or version marker, or NOP pad)
+     * starting at {@code pos} ends, reading only its type descriptor and
+     * length.  The value itself is not validated; that's left to the
+     * reader.
+     *
+     * @return the offset just past the value, or -1 if the bytes before
+     * {@code limit} don't hold all of it.
+     */
+    static int top_level_value_end(byte[] bytes, int pos, int limit)
+    {
+        if (pos >= limit) {
+            return -1;
+        }
+        int td = bytes[pos++] & 0xff;
+        if (td == (_Private_IonConstants.BINARY_VERSION_MARKER_1_0[0] & 0xff)) {
+            int end = pos - 1 + _Private_IonConstants.BINARY_VERSION_MARKER_SIZE;
+            return (end <= limit) ? end : -1;
+        }
+        int tid = _Private_IonConstants.getTypeCode(td);
+        int len = _Private_IonConstants.getLowNibble(td);
+        if (len == _Private_IonConstants.lnIsVarLen
+            || (tid == _Private_IonConstants.tidStruct
+                && len == _Private_IonConstants.lnIsOrderedStruct)) {
+            // a VarUInt length: 7 bits per byte, the last byte flagged
+            long varlen = 0;
+            int b;
+            do {
+                if (pos >= limit) {
+                    return -1;
+                }
+                b = bytes[pos++] & 0xff;
+                varlen = (varlen << 7) | (b & 0x7f);
+                if (varlen > Integer.MAX_VALUE) {
+                    throw new IonException("var int overflow at: " + pos);
+                }
+            } while ((b & 0x80) == 0);
+            len = (int) varlen;
+        }
+        else if (len == _Private_IonConstants.lnIsNull
+                 || tid == _Private_IonConstants.tidBoolean) {
+            len = 0;
+        }
+        return (len <= limit - pos) ? pos + len : -1;
+    }
+
     private final void load_version_marker() throws IOException
     {
         for (int ii=1; ii<_Private_IonConstants.BINARY_VERSION_MARKER_1_0.length; ii++) {
@@ -430,6 +530,8 @@ abstract class IonReaderBinaryRawX
         _value_lob_is_ready = false;
         _annotations.clear();
         _v.clear();
+        _timestamp_fields_loaded = false;
+        _decimal_fields_loaded = false;
         _annotation_count = 0;
         _value_field_id = SymbolTable.UNKNOWN_SYMBOL_ID;
     }
@@ -515,6 +617,7 @@ abstract class IonReaderBinaryRawX
         // amzn/ion-java/issues/88 tracks the fix for bringing IVM handling up to
         // spec.
         _value_start = start_of_value;
+        _value_tid_start = start_of_tid;
         _position_len = len + (start_of_value - start_of_tid);
         _position_start = start_of_tid;
         return tid;
@@ -1056,50 +1159,71 @@ abstract class IonReaderBinaryRawX
 
     protected final Decimal readDecimal(int len) throws IOException
     {
-        MathContext mathContext = MathContext.UNLIMITED;
-        Decimal bd;
+        if (_decimal_fields == null) {
+            _decimal_fields = new DecimalFields();
+        }
+        readDecimalFields(len, _decimal_fields);
+        return _decimal_fields.toDecimal();
+    }
+
+    /**
+     * Reads a decimal into its coefficient and scale.  Coefficients of up to
+     * eight bytes are decoded straight into a long, without a BigInteger.
+     */
+    protected final void readDecimalFields(int len, DecimalFields fields)
+        throws IOException
+    {
         // we only write out the '0' value as the nibble 0
         if (len == 0) {
-            bd = Decimal.valueOf(0, mathContext);
+            fields.set(0, 0);
+            return;
         }
-        else {
-            // otherwise we to it the hard way ....
-            int  save_limit = _local_remaining - len;
-            _local_remaining = len;
-            int  exponent = readVarInt();
-            BigInteger value;
-            int signum;
-            if (_local_remaining > 0)
-            {
-                byte[] bits = new byte[_local_remaining];
-                readAll(bits, 0, _local_remaining);
-                signum = 1;
-                if (bits[0] < 0)
-                {
-                    // value is negative, clear the sign
-                    bits[0] &= 0x7F;
-                    signum = -1;
-                }
-                value = new BigInteger(signum, bits);
+
+        int  save_limit = _local_remaining - len;
+        _local_remaining = len;
+        // Ion stores exponent, BigDecimal uses the negation "scale"
+        int  scale = -readVarInt();
+        int  coefficient_len = _local_remaining;
+        if (coefficient_len == 0) {
+            fields.set(0, scale);
+        }
+        else if (coefficient_len <= 8) {
+            // the sign bit leaves at most 63 bits of magnitude, which
+            // always fits in a long
+            int b = read();
+            if (b < 0) throwUnexpectedEOFException();
+            boolean is_negative = (b & 0x80) != 0;
+            long magnitude = b & 0x7F;
+            if (coefficient_len > 1) {
+                magnitude = (magnitude << (8 * (coefficient_len - 1)))
+                          | readULong(coefficient_len - 1);
+            }
+            if (is_negative && magnitude == 0) {
+                fields.set(Decimal.negativeZero(scale, MathContext.UNLIMITED));
             }
             else {
-                signum = 0;
-                value = BigInteger.ZERO;
+                fields.set(is_negative ? -magnitude : magnitude, scale);
             }
-            // Ion stores exponent, BigDecimal uses the negation "scale"
-            int scale = -exponent;
-            if (value.signum() == 0 && signum == -1)
+        }
+        else {
+            byte[] bits = new byte[coefficient_len];
+            readAll(bits, 0, coefficient_len);
+            int signum = 1;
+            if (bits[0] < 0)
             {
-                assert value.equals(BigInteger.ZERO);
-                bd = Decimal.negativeZero(scale, mathContext);
+                // value is negative, clear the sign
+                bits[0] &= 0x7F;
+                signum = -1;
             }
-            else
-            {
-                bd = Decimal.valueOf(value, scale, mathContext);
+            BigInteger value = new BigInteger(signum, bits);
+            if (value.signum() == 0 && signum == -1) {
+                fields.set(Decimal.negativeZero(scale, MathContext.UNLIMITED));
+            }
+            else {
+                fields.set(Decimal.valueOf(value, scale, MathContext.UNLIMITED));
             }
-            _local_remaining = save_limit;
         }
-        return bd;
+        _local_remaining = save_limit;
     }
 
     /**
@@ -1175,12 +1299,151 @@ abstract class IonReaderBinaryRawX
         }
     }
 
+    /**
+     * Reads a timestamp into its fields, as {@link #readTimestamp(int)}
+     * does, without creating a Timestamp for the common fractions that fit
+     * in a long.
+     */
+    protected final void readTimestampFields(int len, TimestampFields fields)
+        throws IOException
+    {
+        if (len < 1) {
+            throwErrorAt("Invalid timestamp encoding: no fields");
+        }
+
+        int save_limit = _local_remaining - len;
+        _local_remaining = len;  // > 0
+
+        int firstByte = read();
+        fields.offset = (firstByte == 0xC0
+                         ? TimestampFields.UNKNOWN_OFFSET  // -0
+                         : readVarInt(firstByte));
+        fields.year = readVarUInt();
+        fields.month = 1;
+        fields.day = 1;
+        fields.hour = 0;
+        fields.minute = 0;
+        fields.second = 0;
+        fields.hasFraction = false;
+        fields.fractionBig = null;
+        fields.local = false;
+        Precision p = Precision.YEAR;
+
+        if (_local_remaining > 0) {
+            fields.month = readVarUInt();
+            p = Precision.MONTH;
+            if (_local_remaining > 0) {
+                fields.day = readVarUInt();
+                p = Precision.DAY;
+                if (_local_remaining > 0) {
+                    fields.hour = readVarUInt();
+                    fields.minute = readVarUInt();
+                    p = Precision.MINUTE;
+                    if (_local_remaining > 0) {
+                        fields.second = readVarUInt();
+                        p = Precision.SECOND;
+                        if (_local_remaining > 0) {
+                            read_timestamp_fraction(fields);
+                        }
+                    }
+                }
+            }
+        }
+        _local_remaining = save_limit;
+        fields.precision = p;
+
+        try {
+            fields.validate();
+        }
+        catch (IllegalArgumentException e) {
+            throw newErrorAt("Invalid timestamp encoding: " + e.getMessage());
+        }
+    }
+
+    private final void read_timestamp_fraction(TimestampFields fields)
+        throws IOException
+    {
+        int exponent = readVarInt();
+        int len = _local_remaining;
+        if (len > 7) {
+            // too big for a long, so do it the hard way
+            byte[] bits = new byte[len];
+            readAll(bits, 0, len);
+            int signum = 1;
+            if (bits[0] < 0) {
+                bits[0] &= 0x7F;
+                signum = -1;
+            }
+            BigDecimal frac = new BigDecimal(new BigInteger(signum, bits), -exponent);
+            if (frac.signum() < 0 || frac.compareTo(BigDecimal.ONE) >= 0) {
+                throwTimestampFractionError();
+            }
+            fields.setFraction(frac);
+            return;
+        }
+
+        long magnitude = 0;
+        boolean negative = false;
+        for (int i = 0; i < len; i++) {
+            int b = read();
+            if (b < 0) throwUnexpectedEOFException();
+            if (i == 0) {
+                negative = (b & 0x80) != 0;
+                b &= 0x7F;
+            }
+            magnitude = (magnitude << 8) | b;
+        }
+        if (magnitude == 0) {
+            // a zero fraction keeps its scale, and its sign as readDecimal would
+            if (negative) {
+                fields.setFraction(Decimal.negativeZero(-exponent));
+            }
+            else {
+                fields.setFraction(0, -exponent);
+            }
+            return;
+        }
+        if (negative || exponent >= 0 || exponent < -18
+            || magnitude >= TEN_TO_THE[-exponent]) {
+            throwTimestampFractionError();
+        }
+        fields.setFraction(magnitude, -exponent);
+    }
+
+    private static final long[] TEN_TO_THE = new long[19];
+    static {
+        TEN_TO_THE[0] = 1;
+        for (int i = 1; i < TEN_TO_THE.length; i++) {
+            TEN_TO_THE[i] = 10 * TEN_TO_THE[i - 1];
+        }
+    }
+
+    private final void throwTimestampFractionError()
+    {
+        throwErrorAt("The fractional seconds value in a timestamp must be greater than or "
+                     + "equal to zero and less than one.");
+    }
+
     protected final String readString(int len) throws IOException
     {
         // len is bytes, which is greater than or equal to java
         // chars even after utf8 to utf16 decoding nonsense
         // the char array is way faster than using string buffer
-        char[] chars = new char[len];
+        char[] chars = string_chars(len);
+
+        // the common case is that the entire string is sitting in the
+        // current page, in which case we decode straight from the page
+        UnifiedInputStreamX input = _input;
+        if (input._limit - input._pos >= len
+            && (_local_remaining == NO_LIMIT || _local_remaining >= len))
+        {
+            int ii = decode_utf8_from_page(input, len, chars);
+            if (_local_remaining != NO_LIMIT) {
+                _local_remaining -= len;
+            }
+            return new String(chars, 0, ii);
+        }
+
         int    c, ii = 0;
         int    save_limit = _local_remaining - len;
         _local_remaining = len;
@@ -1198,6 +1461,92 @@ abstract class IonReaderBinaryRawX
         _local_remaining = save_limit;
         return new String(chars, 0, ii);
     }
+    private final char[] string_chars(int len)
+    {
+        if (len > MAX_RETAINED_STRING_CHARS) {
+            // don't pin a large buffer for the rest of the reader's life
+            return new char[len];
+        }
+        char[] chars = _string_chars;
+        if (chars == null) {
+            chars = new char[MAX_RETAINED_STRING_CHARS];
+            _string_chars = chars;
+        }
+        return chars;
+    }
+    /**
+     * Decodes {@code len} bytes of UTF-8 directly from the input's current
+     * page, which the caller has verified holds all of them, and advances
+     * the input past them.
+     *
+     * @return the number of chars written into {@code chars}.
+     */
+    private final int decode_utf8_from_page(UnifiedInputStreamX input,
+                                            int len,
+                                            char[] chars)
+        throws IOException
+    {
+        byte[] bytes = input._bytes;
+        int    pos   = input._pos;
+        int    end   = pos + len;
+        int    ii    = 0;
+
+        while (pos < end) {
+            int b = bytes[pos];
+            if (b >= 0) {
+                // ascii, by far the most common case
+                chars[ii++] = (char)b;
+                pos++;
+                continue;
+            }
+            b &= 0xff;
+            int utf8_len = IonUTF8.getUTF8LengthFromFirstByte(b);
+            if (utf8_len < 2 || pos + utf8_len > end) {
+                input._pos = pos;
+                throwUTF8Exception();
+            }
+            int b2 = bytes[pos + 1] & 0xff;
+            if (!IonUTF8.isContinueByteUTF8(b2)) {
+                input._pos = pos;
+                throwUTF8Exception();
+            }
+            if (utf8_len == 2) {
+                chars[ii++] = IonUTF8.twoByteScalar(b, b2);
+            }
+            else {
+                int b3 = bytes[pos + 2] & 0xff;
+                if (!IonUTF8.isContinueByteUTF8(b3)) {
+                    input._pos = pos;
+                    throwUTF8Exception();
+                }
+                if (utf8_len == 3) {
+                    chars[ii++] = (char)IonUTF8.threeByteScalar(b, b2, b3);
+                }
+                else {
+                    int b4 = bytes[pos + 3] & 0xff;
+                    if (!IonUTF8.isContinueByteUTF8(b4)) {
+                        input._pos = pos;
+                        throwUTF8Exception();
+                    }
+                    int c = IonUTF8.fourByteScalar(b, b2, b3, b4);
+                    if (c > 0x10FFFF) {
+                        input._pos = pos;
+                        throw new IonException("illegal utf value encountered in input utf-8 stream");
+                    }
+                    if (c < 0x10000) {
+                        chars[ii++] = (char)c;
+                    }
+                    else {
+                        chars[ii++] = (char)_Private_IonConstants.makeHighSurrogate(c);
+                        chars[ii++] = (char)_Private_IonConstants.makeLowSurrogate(c);
+                    }
+                }
+            }
+            pos += utf8_len;
+        }
+        input._pos = end;
+        return ii;
+    }
     private final int readUnicodeScalar() throws IOException
     {
         int c = -1, b;
@@ -37,7 +37,8 @@ import java.util.Iterator;
 
 class IonReaderBinarySystemX
     extends IonReaderBinaryRawX
-    implements _Private_ReaderWriter
+    implements _Private_ReaderWriter, TimestampReaderFacet.Source,
+               DecimalReaderFacet.Source, AnnotationReaderFacet.Source
 {
     SymbolTable _symbols;
 
@@ -239,13 +240,17 @@ class IonReaderBinarySystemX
             _v.setAuthoritativeType(AS_TYPE.double_value);
             break;
         case DECIMAL:
-            Decimal dec = readDecimal(_value_len);
+            Decimal dec = (_decimal_fields_loaded
+                           ? _decimal_fields.toDecimal()
+                           : readDecimal(_value_len));
             _v.setValue(dec);
             _v.setAuthoritativeType(AS_TYPE.decimal_value);
             break;
         case TIMESTAMP:
             // TODO: it looks like a 0 length return a null timestamp - is that right?
-            Timestamp t = readTimestamp(_value_len);
+            Timestamp t = (_timestamp_fields_loaded
+                           ? _timestamp_fields.toTimestamp()
+                           : readTimestamp(_value_len));
             _v.setValue(t);
             _v.setAuthoritativeType(AS_TYPE.timestamp_value);
             break;
@@ -368,6 +373,68 @@ class IonReaderBinarySystemX
         return _v.getTimestamp();
     }
 
+    /**
+     * Reads the fields of the current timestamp without creating a
+     * Timestamp.  {@link #timestampValue()} still works afterwards, building
+     * its result from the fields.
+     */
+    public final TimestampFields timestampFields()
+    {
+        if (_value_type != IonType.TIMESTAMP || _value_is_null) {
+            throw new IllegalStateException("current value is not a non-null timestamp");
+        }
+        if (!_timestamp_fields_loaded) {
+            if (_timestamp_fields == null) {
+                _timestamp_fields = new TimestampFields();
+            }
+            if (_v.isEmpty()) {
+                try {
+                    readTimestampFields(_value_len, _timestamp_fields);
+                    _state = State.S_AFTER_VALUE;
+                }
+                catch (IOException e) {
+                    error(e);
+                }
+            }
+            else {
+                _timestamp_fields.set(_v.getTimestamp());
+            }
+            _timestamp_fields_loaded = true;
+        }
+        return _timestamp_fields;
+    }
+
+    /**
+     * Reads the coefficient and scale of the current decimal without
+     * creating a Decimal.  {@link #decimalValue()} still works afterwards,
+     * building its result from the fields.
+     */
+    public final DecimalFields decimalFields()
+    {
+        if (_value_type != IonType.DECIMAL || _value_is_null) {
+            throw new IllegalStateException("current value is not a non-null decimal");
+        }
+        if (!_decimal_fields_loaded) {
+            if (_decimal_fields == null) {
+                _decimal_fields = new DecimalFields();
+            }
+            if (_v.isEmpty()) {
+                try {
+                    readDecimalFields(_value_len, _decimal_fields);
+                    _state = State.S_AFTER_VALUE;
+                }
+                catch (IOException e) {
+                    error(e);
+                }
+            }
+            else {
+                _decimal_fields.set(_v.getDecimal());
+            }
+            _decimal_fields_loaded = true;
+        }
+        return _decimal_fields;
+    }
+
     public IntegerSize getIntegerSize()
     {
         load_once();
@@ -472,6 +539,46 @@ class IonReaderBinarySystemX
         return anns;
     }
 
+    public final int annotationCount()
+    {
+        return load_annotations();
+    }
+
+    public final int annotationSid(int index)
+    {
+        int count = load_annotations();
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("annotation index " + index + " of " + count);
+        }
+        return _annotation_ids[index];
+    }
+
+    /**
+     * Compares the text of each annotation, which the symbol table already
+     * holds, so nothing is allocated.
+     */
+    public final boolean hasAnnotation(String text)
+    {
+        int count = load_annotations();
+        for (int ii=0; ii<count; ii++) {
+            if (text.equals(_symbols.findKnownSymbol(_annotation_ids[ii]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public final boolean hasAnnotation(int sid)
+    {
+        int count = load_annotations();
+        for (int ii=0; ii<count; ii++) {
+            if (_annotation_ids[ii] == sid) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public SymbolTable getSymbolTable()
     {
         return _symbols;
@@ -20,20 +20,28 @@ import static com.amazon.ion.SymbolTable.UNKNOWN_SYMBOL_ID;
 import static com.amazon.ion.SystemSymbols.ION_1_0_SID;
 import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
 
+import com.amazon.ion.AnnotationReader;
+import com.amazon.ion.DecimalReader;
+import com.amazon.ion.IncrementalReader;
 import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
 import com.amazon.ion.IonType;
 import com.amazon.ion.OffsetSpan;
 import com.amazon.ion.RawValueSpanProvider;
+import com.amazon.ion.ResettableReader;
 import com.amazon.ion.SeekableReader;
 import com.amazon.ion.Span;
 import com.amazon.ion.SpanProvider;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
+import com.amazon.ion.TimestampReader;
 import com.amazon.ion.UnknownSymbolException;
 import com.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
+import com.amazon.ion.impl.UnifiedInputStreamX.FromFedBytes;
 import com.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
 import com.amazon.ion.impl._Private_ScalarConversions.AS_TYPE;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Iterator;
 
 final class IonReaderBinaryUserX
@@ -45,11 +53,17 @@ final class IonReaderBinaryUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final _Private_LocalSymbolTableFactory _lstFactory;
 
     IonCatalog  _catalog;
 
+    /** Created on first request, and kept since loaders ask for it for every decimal. */
+    private DecimalReaderFacet _decimal_facet;
+
+    /** Created on first request, and kept since callers may ask for it for every value. */
+    private AnnotationReaderFacet _annotation_facet;
+
     private static class IonReaderBinarySpan
         extends DowncastingFaceted
         implements Span, OffsetSpan
@@ -94,6 +108,15 @@ final class IonReaderBinaryUserX
         _lstFactory = lstFactory;
     }
 
+    /**
+     * Resolves symbols against the given table until the input changes it,
+     * for input that continues a stream rather than starting one.
+     */
+    final void init_symbols(SymbolTable symbols)
+    {
+        _symbols = symbols;
+    }
+
     //FIXME: PERF_TEST was :private
     final void init_user(IonCatalog catalog)
     {
@@ -201,6 +224,94 @@ final class IonReaderBinaryUserX
     }
 
 
+    /**
+     * Re-targets this reader at a new source, as if newly constructed.
+     */
+    private void reset(byte[] bytes, int offset, int length)
+    {
+        release_input();
+        try {
+            UnifiedInputStreamX uis =
+                _Private_IonReaderFactory.resetUnifiedStream(_input, bytes, offset, length, true);
+            re_init_user(uis, uis instanceof FromByteArray ? offset : 0);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    private void reset(InputStream in)
+    {
+        release_input();
+        try {
+            UnifiedInputStreamX uis =
+                _Private_IonReaderFactory.resetUnifiedStream(_input, in, true);
+            re_init_user(uis, 0);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    private void re_init_user(UnifiedInputStreamX uis, int physicalStartOffset)
+    {
+        re_init_raw(uis);
+        init_user(_catalog);
+        clear_system_value_stack();
+        _physical_start_offset = physicalStartOffset;
+    }
+
+
+    /**
+     * Appends to input that is fed incrementally, and exposes to the reader
+     * however many whole top-level values are now buffered.
+     */
+    private void feed(byte[] bytes, int offset, int length)
+    {
+        FromFedBytes fed = (FromFedBytes) _input;
+        boolean waiting = _eof && getDepth() == 0;
+        if (waiting) {
+            // everything exposed so far has been read
+            fed.discardExposed();
+        }
+        fed.append(bytes, offset, length);
+
+        byte[] buffer = fed.fedBytes();
+        int limit = fed.fedLimit();
+        int exposed = fed.exposedLimit();
+        if (fed.exposedFilePosition() == 0) {
+            check_fed_version_marker(buffer, limit);
+        }
+
+        int end;
+        while ((end = top_level_value_end(buffer, exposed, limit)) >= 0) {
+            exposed = end;
+        }
+        if (exposed > fed.exposedLimit()) {
+            fed.expose(exposed);
+            if (waiting) {
+                resume_after_eof();
+            }
+        }
+    }
+
+    private static void check_fed_version_marker(byte[] buffer, int limit)
+    {
+        byte[] ivm = _Private_IonConstants.BINARY_VERSION_MARKER_1_0;
+        for (int ii = 0; ii < ivm.length && ii < limit; ii++) {
+            if (buffer[ii] != ivm[ii]) {
+                throw new IonException("Incremental input must begin with an Ion binary version marker");
+            }
+        }
+    }
+
+    private boolean isFedValueIncomplete()
+    {
+        FromFedBytes fed = (FromFedBytes) _input;
+        return fed.fedLimit() > fed.exposedLimit();
+    }
+
+
     @Override
     public IonType next()
     {
@@ -354,6 +465,22 @@ final class IonReaderBinaryUserX
             {
                 return facetType.cast(new RawValueSpanProviderFacet());
             }
+            if (facetType == _Private_EncodedValueReader.class)
+            {
+                return facetType.cast(new EncodedValueReaderFacet());
+            }
+        }
+
+        if (_input instanceof FromFedBytes)
+        {
+            if (facetType == IncrementalReader.class)
+            {
+                return facetType.cast(new IncrementalReaderFacet());
+            }
+        }
+        else if (facetType == ResettableReader.class)
+        {
+            return facetType.cast(new ResettableReaderFacet());
         }
 
         if (facetType == _Private_ByteTransferReader.class)
@@ -374,6 +501,29 @@ final class IonReaderBinaryUserX
             }
         }
 
+        if (facetType == TimestampReader.class)
+        {
+            return facetType.cast(new TimestampReaderFacet(this));
+        }
+
+        if (facetType == DecimalReader.class)
+        {
+            if (_decimal_facet == null)
+            {
+                _decimal_facet = new DecimalReaderFacet(this);
+            }
+            return facetType.cast(_decimal_facet);
+        }
+
+        if (facetType == AnnotationReader.class)
+        {
+            if (_annotation_facet == null)
+            {
+                _annotation_facet = new AnnotationReaderFacet(this);
+            }
+            return facetType.cast(_annotation_facet);
+        }
+
         return super.asFacet(facetType);
     }
 
@@ -401,6 +551,24 @@ final class IonReaderBinaryUserX
 
     }
 
+    private class EncodedValueReaderFacet implements _Private_EncodedValueReader
+    {
+        public byte[] encodedBuffer()
+        {
+            return _input._bytes;
+        }
+
+        public int encodedValueOffset()
+        {
+            return (int) _value_tid_start;
+        }
+
+        public int encodedValueLength()
+        {
+            return (int) (_value_start + _value_len - _value_tid_start);
+        }
+    }
+
     private class SeekableReaderFacet
         extends SpanProviderFacet
         implements SeekableReader
@@ -419,6 +587,34 @@ final class IonReaderBinaryUserX
     }
 
 
+    private class ResettableReaderFacet implements ResettableReader
+    {
+        public void reset(byte[] ionData, int offset, int length)
+        {
+            IonReaderBinaryUserX.this.reset(ionData, offset, length);
+        }
+
+        public void reset(InputStream ionData)
+        {
+            IonReaderBinaryUserX.this.reset(ionData);
+        }
+    }
+
+
+    private class IncrementalReaderFacet implements IncrementalReader
+    {
+        public void feed(byte[] bytes, int offset, int length)
+        {
+            IonReaderBinaryUserX.this.feed(bytes, offset, length);
+        }
+
+        public boolean isValueIncomplete()
+        {
+            return isFedValueIncomplete();
+        }
+    }
+
+
     private class ByteTransferReaderFacet implements _Private_ByteTransferReader
     {
         public void transferCurrentValue(_Private_ByteTransferSink sink)
@@ -126,6 +126,24 @@ final class IonReaderTextRawTokensX
         _line_starting_position = _stream.getPosition() - starting_column;
     }
 
+    /**
+     * Re-targets this scanner at the given input, as if newly constructed.
+     */
+    final void re_init(UnifiedInputStreamX iis, long starting_line,
+                       long starting_column)
+    {
+        _stream = iis;
+        _token = -1;
+        _unfinished_token = false;
+        _line_count = starting_line;
+        _line_starting_position = _stream.getPosition() - starting_column;
+        _line_count_has_cached = false;
+        _line_count_cached = 0;
+        _line_offset_cached = 0;
+        _base64_prefetch_count = 0;
+        _base64_prefetch_stack = 0;
+    }
+
     public void close()
         throws IOException
     {
@@ -879,6 +897,9 @@ final class IonReaderTextRawTokensX
         int c;
 
         loop: for (;;) {
+            if (_stream.consumeRun(IonTokenConstsX.isBlankCharacter, null) > 0) {
+                any_whitespace = true;
+            }
             c = read_char();
             switch (c) {
             case -1:
@@ -1839,6 +1860,7 @@ final class IonReaderTextRawTokensX
 
     private final int skip_over_symbol_identifier(SavePoint sp) throws IOException
     {
+        _stream.consumeRun(IonTokenConstsX.isValidSymbolCharacter, null);
         int c = read_char();
 
         while(IonTokenConstsX.isValidSymbolCharacter(c)) {
@@ -1853,6 +1875,7 @@ final class IonReaderTextRawTokensX
 
     protected void load_symbol_identifier(StringBuilder sb) throws IOException
     {
+        _stream.consumeRun(IonTokenConstsX.isValidSymbolCharacter, sb);
         int c = read_char();
         while(IonTokenConstsX.isValidSymbolCharacter(c)) {
             sb.append((char)c);
@@ -1998,6 +2021,7 @@ final class IonReaderTextRawTokensX
     {
         int c;
         for (;;) {
+            _stream.consumeRun(IonTokenConstsX.isSkippableStringCharacter, null);
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1:
@@ -2023,6 +2047,10 @@ final class IonReaderTextRawTokensX
         boolean expectLowSurrogate = false;
 
         for (;;) {
+            if (!expectLowSurrogate) {
+                // plain runs need none of the checks below
+                _stream.consumeRun(IonTokenConstsX.isPlainStringCharacter, sb);
+            }
             c = read_string_char(ProhibitedCharacters.SHORT_CHAR);
             switch (c) {
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1:
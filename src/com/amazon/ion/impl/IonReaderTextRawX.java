@@ -282,6 +282,13 @@ abstract class IonReaderTextRawX
 
     ValueVariant        _v = new ValueVariant();
 
+    // the fields of the current timestamp, when read without a Timestamp
+    TimestampFields     _timestamp_fields;
+    boolean             _timestamp_fields_loaded;
+    // the coefficient and scale of the current decimal, when read without a Decimal
+    DecimalFields       _decimal_fields;
+    boolean             _decimal_fields_loaded;
+
     long                _value_start_offset;
     long                _value_start_line;
     long                _value_start_column;
@@ -329,10 +336,23 @@ abstract class IonReaderTextRawX
     ) {
 
         assert(parent != null);
-        _scanner = new IonReaderTextRawTokensX(iis, start_line, start_column);
+        if (_scanner == null) {
+            _scanner = new IonReaderTextRawTokensX(iis, start_line, start_column);
+            _current_value_save_point = iis.savePointAllocate();
+        }
+        else {
+            // a reset keeps the scanner, and the save point too when its
+            // input was re-targeted rather than replaced
+            if (_scanner.getSourceStream() == iis) {
+                _current_value_save_point.clear();
+            }
+            else {
+                _current_value_save_point = iis.savePointAllocate();
+            }
+            _scanner.re_init(iis, start_line, start_column);
+        }
         _value_start_line = start_line;
         _value_start_column = start_column;
-        _current_value_save_point = iis.savePointAllocate();
         _lob_loaded = LOB_STATE.EMPTY;
         int starting_state = get_state_at_container_start(parent);
         set_state(starting_state);
@@ -357,6 +377,8 @@ abstract class IonReaderTextRawX
         _field_name_sid = UNKNOWN_SYMBOL_ID;
         _annotation_count = 0;
         _current_value_save_point_loaded = false;
+        // a facet may have left the previous value's text loaded
+        _current_value_buffer.setLength(0);
         _current_value_buffer_loaded = false;
         _value_start_offset = 0;
         _lob_value_set = false;
@@ -373,6 +395,34 @@ abstract class IonReaderTextRawX
         }
     }
 
+    /**
+     * Re-initializes this reader over new top-level input, reusing its value
+     * buffer and its annotation and container stacks.  The caller must have
+     * called {@link #release_input()} before re-targeting the current input.
+     */
+    protected final void re_init_top_level(UnifiedInputStreamX iis)
+    {
+        re_init(iis, IonType.DATAGRAM, 1, 1);
+        _nesting_parent = null;
+        _container_is_struct = false;
+        _v.clear();
+        _timestamp_fields_loaded = false;
+        _decimal_fields_loaded = false;
+    }
+
+    /**
+     * Deactivates and clears the save point this reader holds on its input,
+     * so that the input may be re-targeted.
+     */
+    protected final void release_input()
+    {
+        _scanner.getSourceStream()._save_points.savePointPopAllActive();
+        _current_value_save_point.clear();
+        _current_value_save_point_loaded = false;
+        _current_value_buffer.setLength(0);
+        _current_value_buffer_loaded = false;
+    }
+
     public void close()
         throws IOException
     {
@@ -543,6 +593,8 @@ abstract class IonReaderTextRawX
         clear_annotation_list();
         clear_fieldname();
         _v.clear();
+        _timestamp_fields_loaded = false;
+        _decimal_fields_loaded = false;
         _value_start_offset = -1;
     }
 
@@ -56,7 +56,8 @@ import java.lang.Character;
  */
 class IonReaderTextSystemX
     extends IonReaderTextRawX
-    implements _Private_ReaderWriter
+    implements _Private_ReaderWriter, TimestampReaderFacet.Source,
+               DecimalReaderFacet.Source, AnnotationReaderFacet.Source
 {
     private static int UNSIGNED_BYTE_MAX_VALUE = 255;
 
@@ -247,7 +248,33 @@ class IonReaderTextSystemX
             cs.deleteCharAt(pos);
             cs.deleteCharAt(pos);
         }
-
+        else if (_value_type == IonType.FLOAT) {
+            // floats are parsed straight from the token buffer, since
+            // they're often numerous and never need the image as a string
+            double d = 0;
+            try {
+                d = DecimalToDouble.parseDouble(cs);
+            }
+            catch (NumberFormatException e) {
+                parse_error(e);
+            }
+            clear_current_value_buffer();
+            _v.setValue(d);
+            return;
+        }
+        else if (token_type == IonTokenConstsX.TOKEN_TIMESTAMP) {
+            // timestamps also don't need the image as a string
+            Timestamp t = null;
+            try {
+                t = Timestamp.valueOf(cs);
+            }
+            catch (IllegalArgumentException e) {
+                parse_error(e);
+            }
+            clear_current_value_buffer();
+            _v.setValue(t);
+            return;
+        }
 
         int          len = cs.length();
         String       s  = cs.toString();
@@ -277,14 +304,6 @@ class IonReaderTextSystemX
                     parse_error(e);
                 }
                 break;
-            case FLOAT:
-                try {
-                    _v.setValue(Double.parseDouble(s));
-                }
-                catch (NumberFormatException e) {
-                    parse_error(e);
-                }
-                break;
             case TIMESTAMP:
                 _v.setValue(Timestamp.valueOf(s));
                 break;
@@ -339,25 +358,6 @@ class IonReaderTextSystemX
                 parse_error(e);
             }
             break;
-        case IonTokenConstsX.TOKEN_FLOAT:
-            try {
-                _v.setValue(Double.parseDouble(s));
-            }
-            catch (NumberFormatException e) {
-                parse_error(e);
-            }
-
-            break;
-        case IonTokenConstsX.TOKEN_TIMESTAMP:
-            Timestamp t = null;
-            try {
-                t = Timestamp.valueOf(s);
-            }
-            catch (IllegalArgumentException e) {
-                parse_error(e);
-            }
-            _v.setValue(t);
-            break;
         case IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER:
             // this includes the various value keywords like true
             // and nan, in addition to "normal" unquoted symbols
@@ -494,6 +494,57 @@ class IonReaderTextSystemX
         return _Private_Utils.toStrings(_annotations, _annotation_count);
     }
 
+    public final int annotationCount()
+    {
+        return _annotation_count;
+    }
+
+    /**
+     * Finds the symbol ID of an annotation in the current symbol table,
+     * without resolving and replacing its buffered token.
+     */
+    public final int annotationSid(int index)
+    {
+        if (index < 0 || index >= _annotation_count) {
+            throw new IndexOutOfBoundsException("annotation index " + index + " of " + _annotation_count);
+        }
+        SymbolToken sym = _annotations[index];
+        String text = sym.getText();
+        if (text == null) {
+            return sym.getSid();
+        }
+        return getSymbolTable().findSymbol(text);
+    }
+
+    public final boolean hasAnnotation(String text)
+    {
+        SymbolTable symbols = null;
+        for (int ii=0; ii<_annotation_count; ii++) {
+            SymbolToken sym = _annotations[ii];
+            String annotation = sym.getText();
+            if (annotation == null) {
+                if (symbols == null) {
+                    symbols = getSymbolTable();
+                }
+                annotation = symbols.findKnownSymbol(sym.getSid());
+            }
+            if (text.equals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public final boolean hasAnnotation(int sid)
+    {
+        for (int ii=0; ii<_annotation_count; ii++) {
+            if (annotationSid(ii) == sid) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Resolve annotations with the current symbol table.
      */
@@ -589,6 +640,70 @@ class IonReaderTextSystemX
         return _v.getTimestamp();
     }
 
+    /**
+     * Loads the fields of the current timestamp, parsing the common forms
+     * straight from the token buffer without creating a Timestamp.  The
+     * buffer is kept, so {@link #timestampValue()} still works afterwards.
+     */
+    public final TimestampFields timestampFields()
+    {
+        if (_value_type != IonType.TIMESTAMP || _v.isNull()) {
+            throw new IllegalStateException("current value is not a non-null timestamp");
+        }
+        if (!_timestamp_fields_loaded) {
+            if (_timestamp_fields == null) {
+                _timestamp_fields = new TimestampFields();
+            }
+            boolean parsed = false;
+            if (_v.isEmpty()) {
+                try {
+                    StringBuilder cs = token_contents_load(_scanner.getToken());
+                    parsed = _timestamp_fields.parse(cs);
+                }
+                catch (IOException e) {
+                    throw new IonException(e);
+                }
+            }
+            if (!parsed) {
+                _timestamp_fields.set(timestampValue());
+            }
+            _timestamp_fields_loaded = true;
+        }
+        return _timestamp_fields;
+    }
+
+    /**
+     * Loads the coefficient and scale of the current decimal, parsing small
+     * decimals straight from the token buffer without creating a Decimal.
+     * The buffer is kept, so {@link #decimalValue()} still works afterwards.
+     */
+    public final DecimalFields decimalFields()
+    {
+        if (_value_type != IonType.DECIMAL || _v.isNull()) {
+            throw new IllegalStateException("current value is not a non-null decimal");
+        }
+        if (!_decimal_fields_loaded) {
+            if (_decimal_fields == null) {
+                _decimal_fields = new DecimalFields();
+            }
+            boolean parsed = false;
+            if (_v.isEmpty()) {
+                try {
+                    StringBuilder cs = token_contents_load(_scanner.getToken());
+                    parsed = _decimal_fields.parse(cs);
+                }
+                catch (IOException e) {
+                    throw new IonException(e);
+                }
+            }
+            if (!parsed) {
+                _decimal_fields.set(decimalValue());
+            }
+            _decimal_fields_loaded = true;
+        }
+        return _decimal_fields;
+    }
+
     public final String stringValue()
     {
         if (! IonType.isText(_value_type)) throw new IllegalStateException("Unexpected value type: " + _value_type);
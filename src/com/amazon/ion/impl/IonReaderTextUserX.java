@@ -18,17 +18,24 @@ package com.amazon.ion.impl;
 import static com.amazon.ion.SystemSymbols.ION_1_0;
 import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
 
+import com.amazon.ion.AnnotationReader;
+import com.amazon.ion.DecimalReader;
 import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
 import com.amazon.ion.IonType;
 import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.ResettableReader;
 import com.amazon.ion.SeekableReader;
 import com.amazon.ion.Span;
 import com.amazon.ion.SpanProvider;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.TextSpan;
+import com.amazon.ion.TimestampReader;
 import com.amazon.ion.UnknownSymbolException;
 import com.amazon.ion.UnsupportedIonVersionException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.regex.Pattern;
 
 /**
@@ -63,13 +70,19 @@ class IonReaderTextUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final _Private_LocalSymbolTableFactory _lstFactory;
 
     // IonSystem   _system; now in IonReaderTextSystemX where it could be null
     IonCatalog  _catalog;
     SymbolTable _symbols;
 
+    /** Created on first request, and kept since loaders ask for it for every decimal. */
+    private DecimalReaderFacet _decimal_facet;
+
+    /** Created on first request, and kept since callers may ask for it for every value. */
+    private AnnotationReaderFacet _annotation_facet;
+
 
     protected IonReaderTextUserX(IonCatalog catalog,
                                  _Private_LocalSymbolTableFactory lstFactory,
@@ -410,10 +423,81 @@ class IonReaderTextUserX
             return facetType.cast(new SeekableReaderFacet());
         }
 
+        if (facetType == ResettableReader.class)
+        {
+            return facetType.cast(new ResettableReaderFacet());
+        }
+
+        if (facetType == TimestampReader.class)
+        {
+            return facetType.cast(new TimestampReaderFacet(this));
+        }
+
+        if (facetType == DecimalReader.class)
+        {
+            if (_decimal_facet == null)
+            {
+                _decimal_facet = new DecimalReaderFacet(this);
+            }
+            return facetType.cast(_decimal_facet);
+        }
+
+        if (facetType == AnnotationReader.class)
+        {
+            if (_annotation_facet == null)
+            {
+                _annotation_facet = new AnnotationReaderFacet(this);
+            }
+            return facetType.cast(_annotation_facet);
+        }
+
         return super.asFacet(facetType);
     }
 
 
+    //========================================================================
+
+
+    /**
+     * Re-targets this reader at a new source, as if newly constructed.
+     */
+    private void reset(byte[] bytes, int offset, int length)
+    {
+        UnifiedInputStreamX current = _scanner.getSourceStream();
+        release_input();
+        try {
+            UnifiedInputStreamX uis =
+                _Private_IonReaderFactory.resetUnifiedStream(current, bytes, offset, length, false);
+            re_init_user(uis, uis instanceof UnifiedInputStreamX.FromByteArray ? offset : 0);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    private void reset(InputStream in)
+    {
+        UnifiedInputStreamX current = _scanner.getSourceStream();
+        release_input();
+        try {
+            UnifiedInputStreamX uis =
+                _Private_IonReaderFactory.resetUnifiedStream(current, in, false);
+            re_init_user(uis, 0);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    private void re_init_user(UnifiedInputStreamX uis, int physicalStartOffset)
+    {
+        re_init_top_level(uis);
+        clear_system_value_stack();
+        _symbols = _system_symtab;
+        _physical_start_offset = physicalStartOffset;
+    }
+
+
     private class SpanProviderFacet
         implements SpanProvider
     {
@@ -433,4 +517,19 @@ class IonReaderTextUserX
             hoistImpl(span);
         }
     }
+
+
+    private final class ResettableReaderFacet
+        implements ResettableReader
+    {
+        public void reset(byte[] ionData, int offset, int length)
+        {
+            IonReaderTextUserX.this.reset(ionData, offset, length);
+        }
+
+        public void reset(InputStream ionData)
+        {
+            IonReaderTextUserX.this.reset(ionData);
+        }
+    }
 }
@@ -188,6 +188,56 @@ final class IonTokenConstsX
         return (c == ' ' || c == '\t' || c == '\n' || c == '\r');
     }
 
+    // Byte lookup tables for UnifiedInputStreamX.consumeRun().  Newlines
+    // are never in them, since the tokenizer has to count lines.
+
+    /** Whitespace other than newlines. */
+    final static boolean[] isBlankCharacter = makeBlankArray();
+    private static boolean[] makeBlankArray()
+    {
+        boolean[] blank = new boolean[256];
+        blank[' '] = true;
+        blank['\t'] = true;
+        return blank;
+    }
+
+    /**
+     * Characters that stand for themselves in short strings: printable
+     * ASCII and the allowed whitespace, but not quotes or escapes.
+     */
+    final static boolean[] isPlainStringCharacter = makePlainStringArray();
+    private static boolean[] makePlainStringArray()
+    {
+        boolean[] plain = new boolean[256];
+        for (int ii=0x20; ii<0x7f; ii++) {
+            plain[ii] = true;
+        }
+        plain['"'] = false;
+        plain['\\'] = false;
+        plain['\t'] = true;
+        plain[0x0b] = true;
+        plain[0x0c] = true;
+        return plain;
+    }
+
+    /**
+     * Bytes that can be skipped inside short strings without looking at
+     * them, including the bytes of multi-byte UTF-8 sequences.
+     */
+    final static boolean[] isSkippableStringCharacter = makeSkippableStringArray();
+    private static boolean[] makeSkippableStringArray()
+    {
+        boolean[] skippable = new boolean[256];
+        for (int ii=0; ii<256; ii++) {
+            skippable[ii] = true;
+        }
+        skippable['"'] = false;
+        skippable['\\'] = false;
+        skippable['\n'] = false;
+        skippable['\r'] = false;
+        return skippable;
+    }
+
     public final static boolean[] isBase64Character = makeBase64Array();
     public final static int       base64FillerCharacter = '=';
     private static boolean[] makeBase64Array()
@@ -462,7 +512,7 @@ final class IonTokenConstsX
         return (isValidExtendedSymbolCharacter[c & 0xff] && is8bitValue(c));
     }
 
-    private static final boolean isValidSymbolCharacter[] = makeIsValidSymbolCharacterArray();
+    static final boolean isValidSymbolCharacter[] = makeIsValidSymbolCharacterArray();
     private static final boolean [] makeIsValidSymbolCharacterArray() {
         boolean [] values = new boolean [256];
 
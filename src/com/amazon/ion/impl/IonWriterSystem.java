@@ -28,6 +28,7 @@ import com.amazon.ion.UnknownSymbolException;
 import com.amazon.ion.system.IonWriterBuilder.InitialIvmHandling;
 import com.amazon.ion.system.IonWriterBuilder.IvmMinimizing;
 import java.io.IOException;
+import java.math.BigDecimal;
 
 
 
@@ -315,6 +316,16 @@ abstract class IonWriterSystem
     }
 
 
+    /**
+     * Writes a decimal of {@code unscaledValue} &times; 10<sup>-scale</sup>.
+     * Subclasses that can encode it without a BigDecimal override this.
+     */
+    void writeDecimal(long unscaledValue, int scale) throws IOException
+    {
+        writeDecimal(BigDecimal.valueOf(unscaledValue, scale));
+    }
+
+
     public void finish() throws IOException
     {
         if (getDepth() != 0) {
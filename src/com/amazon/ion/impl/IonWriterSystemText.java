@@ -326,7 +326,7 @@ class IonWriterSystemText
         String name = ann.getText();
         if (name == null) {
             _output.appendAscii('$');
-            _output.appendAscii(Integer.toString(ann.getSid()));
+            _output.printInt(ann.getSid());
         }
         else {
             _output.printSymbol(name);
@@ -625,6 +625,15 @@ class IonWriterSystemText
         closeValue();
     }
 
+    @Override
+    void writeDecimal(long unscaledValue, int scale)
+        throws IOException
+    {
+        startValue();
+        _output.printDecimal(_options, unscaledValue, scale);
+        closeValue();
+    }
+
     public void writeTimestamp(Timestamp value) throws IOException
     {
         if (value == null) {
@@ -636,19 +645,17 @@ class IonWriterSystemText
 
         if (_options._timestamp_as_millis)
         {
-            long millis = value.getMillis();
-            _output.appendAscii(Long.toString(millis));
+            _output.printInt(value.getMillis());
         }
         else if (_options._timestamp_as_string)
         {
-            // Timestamp is ASCII-safe so this is easy
             _output.appendAscii('"');
-            _output.appendAscii(value.toString());
+            _output.printTimestamp(value);
             _output.appendAscii('"');
         }
         else
         {
-            _output.appendAscii(value.toString());
+            _output.printTimestamp(value);
         }
 
         closeValue();
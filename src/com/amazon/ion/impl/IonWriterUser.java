@@ -18,6 +18,7 @@ package com.amazon.ion.impl;
 import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
 import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
 
+import com.amazon.ion.DecimalWriter;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonStruct;
@@ -55,7 +56,7 @@ import java.math.BigInteger;
  */
 class IonWriterUser
     extends _Private_IonWriterBase
-    implements _Private_IonWriter
+    implements _Private_IonWriter, DecimalWriter
 {
     /** Factory for constructing the DOM of local symtabs. Not null. */
     private final ValueFactory _symtab_value_factory;
@@ -426,6 +427,11 @@ class IonWriterUser
         _current_writer.writeDecimal(value);
     }
 
+    public void writeDecimal(long unscaledValue, int scale) throws IOException
+    {
+        _current_writer.writeDecimal(unscaledValue, scale);
+    }
+
     public void writeFloat(double value) throws IOException
     {
         _current_writer.writeFloat(value);
@@ -487,4 +493,15 @@ class IonWriterUser
     {
         _current_writer.writeTimestamp(value);
     }
+
+
+    @Override
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (facetType == DecimalWriter.class)
+        {
+            return facetType.cast(this);
+        }
+        return super.asFacet(facetType);
+    }
 }
@@ -39,16 +39,18 @@ import com.amazon.ion.util.IonTextUtils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A local symbol table.
  * <p>
- * Instances of this class are safe for use by multiple threads.
+ * Instances of this class are safe for use by multiple threads.  Lookups
+ * never lock: symbols are only ever appended, and each is published to
+ * readers only after it's fully recorded.  Adding a symbol locks the table,
+ * so once a table is read-only nothing locks it at all.
  */
 class LocalSymbolTable
     implements SymbolTable
@@ -101,27 +103,32 @@ class LocalSymbolTable
 
     /**
      * Map of symbol names to symbol ids of local symbols that are not in
-     * imports.
+     * imports.  A symbol is added only after it's in {@link #mySymbolNames}
+     * and counted by {@link #mySymbolsCount}.
      */
-    private final Map<String, Integer> mySymbolsMap;
+    private final ConcurrentHashMap<String, Integer> mySymbolsMap;
 
     /**
      * Whether this symbol table is read only, and thus, immutable.
      */
-    private boolean isReadOnly;
+    private volatile boolean isReadOnly;
 
     /**
      * The local symbol names declared in this symtab; never null.
      * The sid of the first element is {@link #myFirstLocalSid}.
      * Only the first {@link #mySymbolsCount} elements are valid.
+     * <p>
+     * Elements are only ever appended, and a grown array replaces this one
+     * before the count is increased, so a reader that reads the count first
+     * will find at least that many elements here.
      */
-    String[] mySymbolNames;
+    volatile String[] mySymbolNames;
 
     /**
      * This is the number of symbols defined in this symbol table
      * locally, that is not imported from some other table.
      */
-    int mySymbolsCount;
+    volatile int mySymbolsCount;
 
     /**
      * The sid of the first local symbol, which is stored at
@@ -135,10 +142,11 @@ class LocalSymbolTable
 
     private void buildSymbolsMap()
     {
+        String[] names = mySymbolNames;
         int sid = myFirstLocalSid;
-        for (int i = 0; i < mySymbolNames.length; i++, sid++)
+        for (int i = 0; i < names.length; i++, sid++)
         {
-            String symbolText = mySymbolNames[i];
+            String symbolText = names[i];
             if (symbolText != null)
             {
                 putToMapIfNotThere(mySymbolsMap, symbolText, sid);
@@ -168,7 +176,7 @@ class LocalSymbolTable
         myFirstLocalSid = myImportsList.getMaxId() + 1;
 
         // Copy locally declared symbols to mySymbolsMap
-        mySymbolsMap = new HashMap<String, Integer>();
+        mySymbolsMap = new ConcurrentHashMap<String, Integer>();
         buildSymbolsMap();
     }
 
@@ -183,19 +191,11 @@ class LocalSymbolTable
         myImportsList   = other.myImportsList;
         mySymbolsCount  = maxId - myImportsList.getMaxId();
 
+        // The other table may be growing, but never past the count we read,
+        // so the map is rebuilt from the names rather than copied.
         mySymbolNames   = copyOf(other.mySymbolNames, mySymbolsCount);
-
-        // Copy locally declared symbols to mySymbolsMap
-        if (maxId == other.getMaxId())
-        {
-            // Shallow copy
-            mySymbolsMap = new HashMap<String, Integer>(other.mySymbolsMap);
-        }
-        else
-        {
-            mySymbolsMap = new HashMap<String, Integer>(mySymbolsCount);
-            buildSymbolsMap();
-        }
+        mySymbolsMap    = new ConcurrentHashMap<String, Integer>(mySymbolsCount);
+        buildSymbolsMap();
     }
 
     protected static LocalSymbolTableImports readLocalSymbolTable(IonReader reader,
@@ -316,12 +316,12 @@ class LocalSymbolTable
         return new LocalSymbolTableImports(importsList);
     }
 
-    synchronized LocalSymbolTable makeCopy()
+    LocalSymbolTable makeCopy()
     {
         return new LocalSymbolTable(this, getMaxId());
     }
 
-    synchronized LocalSymbolTable makeCopy(int maxId)
+    LocalSymbolTable makeCopy(int maxId)
     {
         return new LocalSymbolTable(this, maxId);
     }
@@ -346,7 +346,7 @@ class LocalSymbolTable
         return false;
     }
 
-    public synchronized boolean isReadOnly()
+    public boolean isReadOnly()
     {
         return isReadOnly;
     }
@@ -361,7 +361,7 @@ class LocalSymbolTable
         return myImportsList.getMaxId();
     }
 
-    public synchronized int getMaxId()
+    public int getMaxId()
     {
         int maxid = mySymbolsCount + myImportsList.getMaxId();
         return maxid;
@@ -383,9 +383,11 @@ class LocalSymbolTable
         return system_table.getIonVersionId();
     }
 
-    public synchronized Iterator<String> iterateDeclaredSymbolNames()
+    public Iterator<String> iterateDeclaredSymbolNames()
     {
-        return new SymbolIterator(mySymbolNames, mySymbolsCount);
+        // Read the count first, so the array has at least that many names.
+        int count = mySymbolsCount;
+        return new SymbolIterator(mySymbolNames, count);
     }
 
     public String findKnownSymbol(int id)
@@ -405,15 +407,10 @@ class LocalSymbolTable
         {
             int offset = id - myFirstLocalSid;
 
-            String[] names;
-            synchronized (this)
-            {
-                names = mySymbolNames;
-            }
-
-            if (offset < names.length)
+            // Read the count first, so the array has at least that many names.
+            if (offset < mySymbolsCount)
             {
-                name = names[offset];
+                name = mySymbolNames[offset];
             }
         }
 
@@ -436,11 +433,7 @@ class LocalSymbolTable
 
     private int findLocalSymbol(String name)
     {
-        Integer isid;
-        synchronized (this)
-        {
-            isid = mySymbolsMap.get(name);
-        }
+        Integer isid = mySymbolsMap.get(name);
 
         if (isid != null)
         {
@@ -451,14 +444,22 @@ class LocalSymbolTable
     }
 
 
-    public synchronized SymbolToken intern(String text)
+    public SymbolToken intern(String text)
     {
         SymbolToken is = find(text);
         if (is == null)
         {
-            validateSymbol(text);
-            int sid = putSymbol(text);
-            is = new SymbolTokenImpl(text, sid);
+            synchronized (this)
+            {
+                // Another thread may have added it since we looked.
+                is = find(text);
+                if (is == null)
+                {
+                    validateSymbol(text);
+                    int sid = putSymbol(text);
+                    is = new SymbolTokenImpl(text, sid);
+                }
+            }
         }
         return is;
     }
@@ -473,18 +474,12 @@ class LocalSymbolTable
         // Look in local symbols
         if (symTok == null)
         {
-            Integer  sid;
-            String[] names;
-            synchronized (this)
-            {
-                sid = mySymbolsMap.get(text);
-                names = mySymbolNames;
-            }
-
+            Integer sid = mySymbolsMap.get(text);
             if (sid != null)
             {
+                // The map is updated last, so the array holds the symbol.
                 int offset = sid - myFirstLocalSid;
-                String internedText = names[offset];
+                String internedText = mySymbolNames[offset];
                 assert internedText != null;
                 symTok = new SymbolTokenImpl(internedText, sid);
             }
@@ -530,6 +525,8 @@ class LocalSymbolTable
 
     /**
      * NOT SYNCHRONIZED! Call within constructor or from synch'd method.
+     * Lookups may run concurrently, so the symbol is published in order:
+     * array element, then count, then map.
      */
     int putSymbol(String symbolName)
     {
@@ -539,46 +536,42 @@ class LocalSymbolTable
             throw new ReadOnlyValueException(SymbolTable.class);
         }
 
-        if (mySymbolsCount == mySymbolNames.length)
+        int count = mySymbolsCount;
+        String[] names = mySymbolNames;
+        if (count == names.length)
         {
-            int newlen = mySymbolsCount * 2;
+            int newlen = count * 2;
             if (newlen < DEFAULT_CAPACITY)
             {
                 newlen = DEFAULT_CAPACITY;
             }
             String[] temp = new String[newlen];
-            System.arraycopy(mySymbolNames, 0, temp, 0, mySymbolsCount);
-            mySymbolNames = temp;
+            System.arraycopy(names, 0, temp, 0, count);
+            names = temp;
         }
+        names[count] = symbolName;
+        mySymbolNames = names;
+        mySymbolsCount = count + 1;
 
         int sid = -1;
         if (symbolName != null)
         {
-            sid = mySymbolsCount + myFirstLocalSid;
-            assert sid == getMaxId() + 1;
+            sid = count + myFirstLocalSid;
+            assert sid == getMaxId();
 
             putToMapIfNotThere(mySymbolsMap, symbolName, sid);
         }
-        mySymbolNames[mySymbolsCount] = symbolName;
-        mySymbolsCount++;
 
         return sid;
     }
 
-    private static void putToMapIfNotThere(Map<String, Integer> symbolsMap,
+    private static void putToMapIfNotThere(ConcurrentHashMap<String, Integer> symbolsMap,
                                            String text,
                                            int sid)
     {
         // When there's a duplicate name, don't replace the lower sid.
-        // This pattern avoids double-lookup in the normal happy case
-        // and only requires a second lookup when there's a duplicate.
-        Integer extantSid = symbolsMap.put(text, sid);
-        if (extantSid != null)
-        {
-            // We always insert symbols with increasing sids
-            assert extantSid < sid;
-            symbolsMap.put(text, extantSid);
-        }
+        // We always insert symbols with increasing sids.
+        symbolsMap.putIfAbsent(text, sid);
     }
 
     public SymbolTable getSystemSymbolTable()
@@ -840,11 +833,12 @@ class LocalSymbolTable
         // Superset must have same/more declared (local) symbols than subset.
         if (mySymbolsCount < subLocalSymbolCount) return false;
 
+        String[] mySymbols = mySymbolNames;
         String[] subsetSymbols = subset.mySymbolNames;
 
         // Before we go through the expensive iteration from the front,
         // check the last (largest) declared symbol in subset beforehand
-        if (! safeEquals(mySymbolNames[subLocalSymbolCount- 1],
+        if (! safeEquals(mySymbols[subLocalSymbolCount- 1],
                                   subsetSymbols[subLocalSymbolCount- 1]))
         {
             return false;
@@ -854,7 +848,7 @@ class LocalSymbolTable
         // iteration below is O(n)!
         for (int i = 0; i < subLocalSymbolCount - 1; i++)
         {
-            if (! safeEquals(mySymbolNames[i], subsetSymbols[i]))
+            if (! safeEquals(mySymbols[i], subsetSymbols[i]))
                 return false;
         }
 
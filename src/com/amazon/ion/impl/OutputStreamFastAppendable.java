@@ -15,6 +15,8 @@
 
 package com.amazon.ion.impl;
 
+import static com.amazon.ion.impl._Private_IonConstants.isHighSurrogate;
+import static com.amazon.ion.impl._Private_IonConstants.isLowSurrogate;
 import static com.amazon.ion.impl._Private_IonConstants.makeUnicodeScalar;
 
 import com.amazon.ion.util._Private_FastAppendable;
@@ -30,7 +32,10 @@ import java.io.OutputStream;
 final class OutputStreamFastAppendable
     implements _Private_FastAppendable, Closeable, Flushable
 {
-    private static final int MAX_BYTES_LEN = 4096;
+    private static final int MAX_BYTES_LEN = 16384;
+
+    /** The most bytes one char can expand to: a six-byte escape. */
+    private static final int MAX_CHAR_BYTES = 6;
 
     private final OutputStream _out;
 
@@ -174,6 +179,73 @@ final class OutputStreamFastAppendable
     }
 
 
+    /**
+     * Encodes text as UTF-8 straight into the buffer, replacing the code
+     * points that have escapes.
+     *
+     * @param escapes the escape sequences for U+00 through U+FF, as ASCII
+     * bytes; null entries are written as themselves.
+     *
+     * @throws IllegalArgumentException if the text is invalid UTF-16.
+     */
+    final void appendUtf8(CharSequence text, byte[][] escapes)
+        throws IOException
+    {
+        final byte[] buffer = _byteBuffer;
+        final int limit = buffer.length - MAX_CHAR_BYTES;
+        final int len = text.length();
+        int pos = _pos;
+        for (int i = 0; i < len; i++)
+        {
+            if (pos > limit) {
+                _out.write(buffer, 0, pos);
+                pos = 0;
+            }
+
+            char c = text.charAt(i);
+            byte[] escape;
+            if (c < 0x100 && (escape = escapes[c]) != null) {
+                for (int j = 0; j < escape.length; j++) {
+                    buffer[pos++] = escape[j];
+                }
+            } else if (c < 0x80) {
+                buffer[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[pos++] = (byte)( 0xff & (0xC0 | ( c >> 6        )) );
+                buffer[pos++] = (byte)( 0xff & (0x80 | ( c       & 0x3F)) );
+            } else if (c < 0xD800 || c >= 0xE000) {
+                buffer[pos++] = (byte)( 0xff & (0xE0 | ( c >> 12       )) );
+                buffer[pos++] = (byte)( 0xff & (0x80 | ((c >> 6) & 0x3F)) );
+                buffer[pos++] = (byte)( 0xff & (0x80 | ( c       & 0x3F)) );
+            } else {
+                char c2;
+                if (! isHighSurrogate(c)) {
+                    _pos = pos;
+                    String message =
+                        "text is invalid UTF-16. It contains an unmatched " +
+                        "trailing surrogate 0x" + Integer.toHexString(c) +
+                        " at index " + i;
+                    throw new IllegalArgumentException(message);
+                }
+                if (++i == len || !isLowSurrogate(c2 = text.charAt(i))) {
+                    _pos = pos;
+                    String message =
+                        "text is invalid UTF-16. It contains an unmatched " +
+                        "leading surrogate 0x" + Integer.toHexString(c) +
+                        " at index " + (i-1);
+                    throw new IllegalArgumentException(message);
+                }
+                int cp = makeUnicodeScalar(c, c2);
+                buffer[pos++] = (byte)( 0xff & (0xF0 | ( cp >> 18        )) );
+                buffer[pos++] = (byte)( 0xff & (0x80 | ((cp >> 12) & 0x3F)) );
+                buffer[pos++] = (byte)( 0xff & (0x80 | ((cp >> 6)  & 0x3F)) );
+                buffer[pos++] = (byte)( 0xff & (0x80 | ( cp        & 0x3F)) );
+            }
+        }
+        _pos = pos;
+    }
+
+
     public final void flush()
         throws IOException
     {
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.Timestamp.Precision;
+import com.amazon.ion.TimestampReader;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * The fields of a timestamp held as primitives, so readers can report a
+ * timestamp's point in time without creating a {@link Timestamp}.  A
+ * reader keeps one instance and reloads it for each timestamp value.
+ */
+final class TimestampFields
+{
+    static final int UNKNOWN_OFFSET = TimestampReader.UNKNOWN_OFFSET;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+    static
+    {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++)
+        {
+            POWERS_OF_TEN[i] = 10 * POWERS_OF_TEN[i - 1];
+        }
+    }
+
+    Precision precision;
+    int year;
+    int month;
+    int day;
+    int hour;
+    int minute;
+    int second;
+
+    /**
+     * The fractional seconds are fractionUnscaled 10<sup>-fractionScale</sup>,
+     * or fractionBig when that doesn't fit; hasFraction is false when there
+     * are none.
+     */
+    boolean hasFraction;
+    long fractionUnscaled;
+    int fractionScale;
+    BigDecimal fractionBig;
+
+    /** In minutes, or {@link #UNKNOWN_OFFSET}. */
+    int offset;
+
+    /** True when the fields are local time, false when they're UTC. */
+    boolean local;
+
+
+    void setFraction(long unscaled, int scale)
+    {
+        hasFraction = true;
+        fractionUnscaled = unscaled;
+        fractionScale = scale;
+        fractionBig = null;
+    }
+
+    void setFraction(BigDecimal fraction)
+    {
+        hasFraction = (fraction != null);
+        fractionBig = fraction;
+    }
+
+
+    /**
+     * Loads the fields of a timestamp.
+     */
+    void set(Timestamp timestamp)
+    {
+        precision = timestamp.getPrecision();
+        year = timestamp.getZYear();
+        month = timestamp.getZMonth();
+        day = timestamp.getZDay();
+        hour = timestamp.getZHour();
+        minute = timestamp.getZMinute();
+        second = timestamp.getZSecond();
+        BigDecimal fraction = null;
+        if (precision.includes(Precision.SECOND))
+        {
+            BigDecimal decimalSecond = timestamp.getDecimalSecond();
+            if (decimalSecond.scale() > 0)
+            {
+                fraction = decimalSecond.subtract(BigDecimal.valueOf(second));
+            }
+        }
+        setFraction(fraction);
+        Integer localOffset = timestamp.getLocalOffset();
+        offset = (localOffset == null ? UNKNOWN_OFFSET : localOffset);
+        local = false;
+    }
+
+    /**
+     * Parses the fixed-width forms of Ion text timestamps that are most
+     * common in data: dates, and times to the minute, second or up to 18
+     * fractional digits, with a local offset.  Other forms, including
+     * invalid ones, are left to {@link Timestamp#valueOf(CharSequence)}.
+     *
+     * @return true if the text was parsed, false if it is not one of the
+     * handled forms.
+     */
+    boolean parse(CharSequence text)
+    {
+        final int length = text.length();
+        if (length < 10
+            || text.charAt(4) != '-' || text.charAt(7) != '-')
+        {
+            return false;
+        }
+        year  = digits(text, 0, 4);
+        month = digits(text, 5, 2);
+        day   = digits(text, 8, 2);
+        if (year < 1 || month < 1 || month > 12
+            || day < 1 || day > daysInMonth(year, month))
+        {
+            return false;
+        }
+        hour = 0;
+        minute = 0;
+        second = 0;
+        hasFraction = false;
+        fractionBig = null;
+        offset = UNKNOWN_OFFSET;
+        local = true;
+
+        if (length == 10 || (length == 11 && text.charAt(10) == 'T'))
+        {
+            precision = Precision.DAY;
+            return true;
+        }
+
+        // yyyy-mm-ddThh:mm
+        if (length < 17 || text.charAt(10) != 'T' || text.charAt(13) != ':')
+        {
+            return false;
+        }
+        hour   = digits(text, 11, 2);
+        minute = digits(text, 14, 2);
+        if (hour > 23 || minute > 59) return false;
+        precision = Precision.MINUTE;
+
+        int pos = 16;
+        if (text.charAt(pos) == ':')
+        {
+            if (length < 20) return false;
+            second = digits(text, 17, 2);
+            if (second > 59) return false;
+            precision = Precision.SECOND;
+            pos = 19;
+
+            if (text.charAt(pos) == '.')
+            {
+                long unscaled = 0;
+                int start = ++pos;
+                for (char c; pos < length && (c = text.charAt(pos)) >= '0' && c <= '9'; pos++)
+                {
+                    unscaled = 10 * unscaled + (c - '0');
+                }
+                int scale = pos - start;
+                if (scale == 0 || scale > 18) return false;
+                // a zero fraction keeps its scale
+                setFraction(unscaled, scale);
+            }
+        }
+
+        if (pos == length) return false;
+        char c = text.charAt(pos);
+        if (c == 'Z')
+        {
+            offset = 0;
+            pos++;
+        }
+        else if (c == '+' || c == '-')
+        {
+            if (length < pos + 6 || text.charAt(pos + 3) != ':') return false;
+            int offsetHours = digits(text, pos + 1, 2);
+            int offsetMinutes = digits(text, pos + 4, 2);
+            if (offsetHours > 23 || offsetMinutes > 59) return false;
+            int minutes = offsetHours * 60 + offsetMinutes;
+            if (c == '-')
+            {
+                // -00:00 is the unknown offset
+                offset = (minutes == 0 ? UNKNOWN_OFFSET : -minutes);
+            }
+            else
+            {
+                offset = minutes;
+            }
+            pos += 6;
+        }
+        else
+        {
+            return false;
+        }
+        return pos == length;
+    }
+
+    /**
+     * @return the value of the digits, or a negative number if they aren't
+     * all digits.
+     */
+    private static int digits(CharSequence text, int start, int count)
+    {
+        int value = 0;
+        for (int i = start; i < start + count; i++)
+        {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return Integer.MIN_VALUE;
+            value = 10 * value + digit;
+        }
+        return value;
+    }
+
+
+    /**
+     * Checks the fields loaded from binary data, as
+     * {@link Timestamp#createFromUtcFields} does.
+     *
+     * @throws IllegalArgumentException if the fields aren't valid.
+     */
+    void validate()
+    {
+        if (year < 1 || year > 9999)
+        {
+            throw new IllegalArgumentException("Year " + year + " must be between 1 and 9999 inclusive");
+        }
+        if (precision.includes(Precision.MONTH) && (month < 1 || month > 12))
+        {
+            throw new IllegalArgumentException("Month " + month + " must be between 1 and 12 inclusive");
+        }
+        if (precision.includes(Precision.DAY)
+            && (day < 1 || day > daysInMonth(year, month)))
+        {
+            throw new IllegalArgumentException("Day " + day + " for year " + year + " and month " + month + " is invalid");
+        }
+        if (precision.includes(Precision.MINUTE))
+        {
+            if (hour < 0 || hour > 23)
+            {
+                throw new IllegalArgumentException("Hour " + hour + " must be between 0 and 23 inclusive");
+            }
+            if (minute < 0 || minute > 59)
+            {
+                throw new IllegalArgumentException("Minute " + minute + " must be between between 0 and 59 inclusive");
+            }
+            if (offset != UNKNOWN_OFFSET && (offset < -24 * 60 || offset > 24 * 60))
+            {
+                throw new IllegalArgumentException("bad offset " + offset);
+            }
+        }
+        if (precision.includes(Precision.SECOND) && (second < 0 || second > 59))
+        {
+            throw new IllegalArgumentException("Second " + second + " must be between between 0 and 59 inclusive");
+        }
+    }
+
+    /**
+     * Creates the timestamp these fields describe, which must be UTC.
+     */
+    Timestamp toTimestamp()
+    {
+        assert !local;
+        BigDecimal fraction = null;
+        if (hasFraction)
+        {
+            fraction = (fractionBig != null
+                        ? fractionBig
+                        : BigDecimal.valueOf(fractionUnscaled, fractionScale));
+        }
+        @SuppressWarnings("deprecation")
+        Timestamp timestamp =
+            Timestamp.createFromUtcFields(precision, year, month, day,
+                                          hour, minute, second, fraction,
+                                          (offset == UNKNOWN_OFFSET ? null : Integer.valueOf(offset)));
+        return timestamp;
+    }
+
+
+    long epochSecond()
+    {
+        long seconds = epochDay(year, month, day) * 86400L
+            + hour * 3600 + minute * 60 + second;
+        if (local && offset != UNKNOWN_OFFSET)
+        {
+            seconds -= offset * 60;
+        }
+        return seconds;
+    }
+
+    int nanos()
+    {
+        if (!hasFraction) return 0;
+        if (fractionBig != null)
+        {
+            return fractionBig.movePointRight(9).intValue();
+        }
+        if (fractionUnscaled == 0 || fractionScale < 0) return 0;
+        return (int) (fractionScale <= 9
+                      ? fractionUnscaled * POWERS_OF_TEN[9 - fractionScale]
+                      : fractionUnscaled / POWERS_OF_TEN[fractionScale - 9]);
+    }
+
+    long millis()
+    {
+        return epochSecond() * 1000 + nanos() / 1000000;
+    }
+
+
+    /**
+     * The number of days from 1970-01-01 to a date.  Like
+     * {@link Timestamp#getMillis()}, dates before the Gregorian calendar
+     * was adopted in October 1582 are Julian calendar dates.
+     */
+    @SuppressWarnings("deprecation")
+    private static long epochDay(int year, int month, int day)
+    {
+        if (year <= 1582)
+        {
+            return Date.UTC(year - 1900, month - 1, day, 0, 0, 0) / 86400000L;
+        }
+
+        // The proleptic Gregorian calendar, counting years from March.
+        int y = (month <= 2 ? year - 1 : year);
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static int daysInMonth(int year, int month)
+    {
+        switch (month)
+        {
+            case 2:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return (leap ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.Timestamp.Precision;
+import com.amazon.ion.TimestampReader;
+
+/**
+ * The {@link TimestampReader} facet of the binary and text readers, which
+ * reports the fields their system readers load for the current timestamp.
+ */
+final class TimestampReaderFacet
+    implements TimestampReader
+{
+    /**
+     * A reader that can load the fields of its current timestamp.
+     */
+    interface Source
+    {
+        /**
+         * @throws IllegalStateException if the current value isn't a
+         * non-null timestamp.
+         */
+        TimestampFields timestampFields();
+    }
+
+    private final Source source;
+
+
+    TimestampReaderFacet(Source source)
+    {
+        this.source = source;
+    }
+
+    public Precision timestampPrecision()
+    {
+        return source.timestampFields().precision;
+    }
+
+    public long timestampMillis()
+    {
+        return source.timestampFields().millis();
+    }
+
+    public long timestampEpochSecond()
+    {
+        return source.timestampFields().epochSecond();
+    }
+
+    public int timestampNanos()
+    {
+        return source.timestampFields().nanos();
+    }
+
+    public int timestampLocalOffset()
+    {
+        return source.timestampFields().offset;
+    }
+}
@@ -18,6 +18,8 @@ package com.amazon.ion.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * this base class and it's two children (below) manage
@@ -97,6 +99,55 @@ abstract class UnifiedDataPageX
         return read;
     }
 
+    /**
+     * Fills this page from the given buffer, starting at the absolute
+     * buffer index {@code source_offset}. The position and limit of
+     * {@code source} are not consulted; the caller owns the buffer and
+     * passes its valid range through {@code source_limit}.
+     */
+    int load(ByteBuffer source, int source_offset, int source_limit,
+             int start_offset, long file_position)
+    {
+        if (!isBytes()) {
+            throw new UnsupportedOperationException("character pages can't load bytes");
+        }
+        int read = source_limit - source_offset;
+        if (read > _bytes.length - start_offset) {
+            read = _bytes.length - start_offset;
+        }
+        if (read > 0) {
+            source.position(source_offset);
+            source.get(_bytes, start_offset, read);
+            _base_offset = start_offset;
+            _unread_count = 0;
+            _page_limit = start_offset + read;
+            setFilePosition(file_position, start_offset);
+        }
+        return read;
+    }
+
+    /**
+     * Fills this page from the given channel, starting at the absolute
+     * channel position {@code source_position}. The channel's own position
+     * is not used or modified.
+     */
+    int load(FileChannel source, long source_position,
+             int start_offset, long file_position) throws IOException
+    {
+        if (!isBytes()) {
+            throw new UnsupportedOperationException("character pages can't load bytes");
+        }
+        ByteBuffer dst = ByteBuffer.wrap(_bytes, start_offset, _bytes.length - start_offset);
+        int read = source.read(dst, source_position);
+        if (read > 0) {
+            _base_offset = start_offset;
+            _unread_count = 0;
+            _page_limit = start_offset + read;
+            setFilePosition(file_position, start_offset);
+        }
+        return read;
+    }
+
     public int getBufferLimit()    { return _page_limit; }
     public int getOriginalStartingOffset() { return _base_offset; }
 
@@ -177,6 +228,27 @@ abstract class UnifiedDataPageX
             _page_limit  = offset + len;
         }
 
+        /**
+         * Re-points this page at a new user supplied buffer.
+         */
+        final void reset(byte[] bytes, int offset, int len) {
+            _bytes        = bytes;
+            _base_offset  = offset;
+            _page_limit   = offset + len;
+            _unread_count = 0;
+            _file_offset  = 0;
+        }
+
+        /**
+         * Moves the limit of this page within a buffer that is filled in
+         * place, possibly after moving it to a larger copy of its contents.
+         * File positions are unaffected.
+         */
+        final void extend(byte[] bytes, int limit) {
+            _bytes      = bytes;
+            _page_limit = limit;
+        }
+
         @Override
         public int getValue(int offset) {
             return (_bytes[offset] & 0xff);
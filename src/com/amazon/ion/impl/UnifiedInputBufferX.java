@@ -258,6 +258,21 @@ abstract class UnifiedInputBufferX
         _buffer_current = 0;
     }
 
+    /**
+     * Discards all pages other than the current one, which is re-based so
+     * that it will be reloaded from file position zero.  Used when a stream
+     * is re-targeted onto a new source, so that its page is reused.
+     */
+    protected final void resetForNewSource()
+    {
+        clear();
+        _locks = 0;
+        UnifiedDataPageX curr = _buffers[0];
+        if (curr != null) {
+            curr.setFilePosition(0, 0);
+        }
+    }
+
     static class Bytes extends UnifiedInputBufferX {
         protected Bytes(int initialPageSize) {
             super(initialPageSize);
@@ -268,6 +283,19 @@ abstract class UnifiedInputBufferX
             _buffer_current = 0;
             _buffer_count = 1;
         }
+        /**
+         * Re-points the single page of a buffer made over a user's byte
+         * array at a new array.
+         */
+        protected final UnifiedDataPageX resetPage(byte[] bytes, int offset, int length) {
+            UnifiedDataPageX.Bytes page = (UnifiedDataPageX.Bytes) _buffers[0];
+            page.reset(bytes, offset, length);
+            _buffer_current = 0;
+            _buffer_count = 1;
+            _locks = 0;
+            return page;
+        }
+
         @Override
         public final BufferType getType() { return BufferType.BYTES; }
 
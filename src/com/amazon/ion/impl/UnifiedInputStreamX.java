@@ -21,6 +21,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * This is a local stream abstraction, and implementation, that
@@ -117,6 +119,41 @@ abstract class UnifiedInputStreamX
     public static UnifiedInputStreamX makeStream(InputStream stream) throws IOException {
         return new FromByteStream(stream);
     }
+    public static UnifiedInputStreamX makeStream(ByteBuffer buffer) throws IOException {
+        return new FromByteBuffer(buffer);
+    }
+    public static UnifiedInputStreamX makeStream(FileChannel channel) throws IOException {
+        return new FromFileChannel(channel);
+    }
+    static FromFedBytes makeFedStream() {
+        return new FromFedBytes();
+    }
+
+    /**
+     * Re-targets {@code uis} at the given bytes when it is already over a
+     * byte array, so that it keeps its buffers and save points; otherwise
+     * makes a new stream.  The caller must have cleared its save points.
+     */
+    static UnifiedInputStreamX reuseStream(UnifiedInputStreamX uis, byte[] buffer, int offset, int length) {
+        if (uis instanceof FromByteArray) {
+            ((FromByteArray) uis).reset(buffer, offset, length);
+            return uis;
+        }
+        return makeStream(buffer, offset, length);
+    }
+    /**
+     * Re-targets {@code uis} at the given stream when it is already over an
+     * {@link InputStream}, so that it keeps its page buffers and save points;
+     * otherwise makes a new stream.  The caller must have cleared its save
+     * points.  The previous stream is not closed.
+     */
+    static UnifiedInputStreamX reuseStream(UnifiedInputStreamX uis, InputStream stream) throws IOException {
+        if (uis instanceof FromByteStream) {
+            ((FromByteStream) uis).reset(stream);
+            return uis;
+        }
+        return makeStream(stream);
+    }
     public final InputStream getInputStream() { return _stream; }
     public final Reader      getReader()      { return _reader; }
     public final byte[]      getByteArray()   { return _bytes; }
@@ -303,6 +340,52 @@ abstract class UnifiedInputStreamX
         return (_is_byte_data) ? (_bytes[_pos++] & 0xff) : _chars[_pos++];
     }
 
+    /**
+     * Consumes the run of characters that are marked in a lookup table,
+     * stopping at the first unmarked one or at the end of the current page.
+     * This spares callers a {@link #read()} per character in the long runs
+     * of plain ASCII that make up most text.
+     * <p>
+     * Byte sources look up each byte, UTF-8 continuation bytes included.
+     * Char sources only consume ASCII chars.  Neither consumes anything
+     * past the end of the loaded page, so a caller must still read the
+     * following character normally.
+     *
+     * @param table has 256 entries, indexed by byte value.
+     * @param sb receives the consumed characters; may be null to skip them.
+     *
+     * @return the number of characters consumed.
+     */
+    final int consumeRun(boolean[] table, StringBuilder sb)
+    {
+        int pos = _pos;
+        final int limit = _limit;
+        if (_is_byte_data) {
+            final byte[] bytes = _bytes;
+            if (sb == null) {
+                while (pos < limit && table[bytes[pos] & 0xff]) pos++;
+            }
+            else {
+                int b;
+                while (pos < limit && table[b = bytes[pos] & 0xff]) {
+                    sb.append((char) b);
+                    pos++;
+                }
+            }
+        }
+        else if (_chars != null) {
+            final char[] chars = _chars;
+            char c;
+            while (pos < limit && (c = chars[pos]) < 0x80 && table[c]) {
+                if (sb != null) sb.append(c);
+                pos++;
+            }
+        }
+        int count = pos - _pos;
+        _pos = pos;
+        return count;
+    }
+
     protected final int read_helper() throws IOException
     {
         if (_eof) {
@@ -517,7 +600,12 @@ abstract class UnifiedInputStreamX
         return _is_stream;
     }
 
-    protected final int load(UnifiedDataPageX curr, int start_pos, long file_position) throws IOException
+    /**
+     * Loads the next page of data.  Sources that can read at an absolute
+     * position override this rather than going through an
+     * {@link InputStream} or {@link Reader}.
+     */
+    protected int load(UnifiedDataPageX curr, int start_pos, long file_position) throws IOException
     {
         int read = 0;
         if (can_fill_new_page()) {
@@ -592,6 +680,171 @@ static class FromByteArray extends UnifiedInputStreamX
             make_page_current(curr, 0, offset, offset+length);
             super.init();
         }
+
+        final void reset(byte[] bytes, int offset, int length)
+        {
+            assert(!_save_points.isSavePointOpen());
+            UnifiedDataPageX curr = ((UnifiedInputBufferX.Bytes)_buffer).resetPage(bytes, offset, length);
+            make_page_current(curr, 0, offset, offset+length);
+        }
+    }
+
+    /**
+     * Holds bytes pushed to it by the application rather than pulled from a
+     * source.  Only the bytes before the page limit are readable; the reader
+     * moves that limit forward with {@link #expose(int)} as whole values
+     * arrive, so reading past it is simply EOF until more is exposed.
+     */
+    static final class FromFedBytes extends UnifiedInputStreamX
+    {
+        private int _filled; // end of the bytes fed so far
+
+        FromFedBytes()
+        {
+            _is_byte_data = true;
+            _is_stream = false;
+            _buffer = UnifiedInputBufferX.makePageBuffer(new byte[DEFAULT_PAGE_SIZE], 0, 0);
+            UnifiedDataPageX curr = _buffer.getCurrentPage();
+            make_page_current(curr, 0, 0, 0);
+            super.init();
+        }
+
+        private UnifiedDataPageX.Bytes page() {
+            return (UnifiedDataPageX.Bytes) _buffer.getCurrentPage();
+        }
+
+        final byte[] fedBytes()      { return _bytes; }
+        final int    fedLimit()      { return _filled; }
+        final int    exposedLimit()  { return page().getBufferLimit(); }
+        final long   exposedFilePosition() {
+            return page().getFilePosition(exposedLimit());
+        }
+
+        final void append(byte[] bytes, int offset, int length)
+        {
+            int needed = _filled + length;
+            if (needed < 0) {
+                throw new IllegalArgumentException("fed data exceeds the maximum array size");
+            }
+            if (needed > _bytes.length) {
+                int size = _bytes.length;
+                while (size < needed && size > 0) {
+                    size <<= 1;
+                }
+                byte[] larger = new byte[size > 0 ? size : needed];
+                System.arraycopy(_bytes, 0, larger, 0, _filled);
+                page().extend(larger, exposedLimit());
+                _bytes = larger;
+            }
+            System.arraycopy(bytes, offset, _bytes, _filled, length);
+            _filled = needed;
+        }
+
+        /**
+         * Makes the fed bytes up to {@code limit} readable.
+         */
+        final void expose(int limit)
+        {
+            assert(limit >= exposedLimit() && limit <= _filled);
+            assert(_save_points.savePointActiveTop() == null);
+            page().extend(_bytes, limit);
+            _limit = limit;
+            _eof = false;
+        }
+
+        /**
+         * Drops the exposed bytes, all of which must have been read, and
+         * moves any bytes fed beyond them to the front of the buffer.  File
+         * positions continue from where they were.
+         */
+        final void discardExposed()
+        {
+            assert(_pos >= exposedLimit());
+            UnifiedDataPageX.Bytes page = page();
+            int consumed = exposedLimit();
+            long file_position = page.getFilePosition(consumed);
+            System.arraycopy(_bytes, consumed, _bytes, 0, _filled - consumed);
+            _filled -= consumed;
+            page.reset(_bytes, 0, 0);
+            page.setFilePosition(file_position, 0);
+            make_page_current(page, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Pages through a {@link ByteBuffer} that has no accessible backing
+     * array, typically a direct or memory-mapped buffer.  Pages are filled
+     * with absolute reads, so the caller's buffer position is never moved
+     * and only the pages currently in use are held on the heap.
+     */
+    static class FromByteBuffer extends UnifiedInputStreamX
+    {
+        private final ByteBuffer _source;
+        private final int        _source_start;
+        private final int        _source_limit;
+
+        FromByteBuffer(ByteBuffer buffer) throws IOException
+        {
+            _is_byte_data = true;
+            _is_stream = true;
+            // our own view, so loading pages never disturbs the caller's
+            _source = buffer.duplicate();
+            _source_start = buffer.position();
+            _source_limit = buffer.limit();
+            _buffer = UnifiedInputBufferX.makePageBuffer(UnifiedInputBufferX.BufferType.BYTES, DEFAULT_PAGE_SIZE);
+            super.init();
+            _limit = refill();
+        }
+
+        @Override
+        protected int load(UnifiedDataPageX curr, int start_pos, long file_position)
+        {
+            long source_offset = _source_start + file_position;
+            if (source_offset >= _source_limit) {
+                return -1;
+            }
+            return curr.load(_source, (int) source_offset, _source_limit,
+                             start_pos, file_position);
+        }
+    }
+
+    /**
+     * Pages through a {@link FileChannel} using positional reads, starting
+     * at the channel's position when the stream was created.  This relies
+     * on the operating system's page cache instead of buffering the whole
+     * file on the heap, and handles files larger than 2GB.
+     */
+    static class FromFileChannel extends UnifiedInputStreamX
+    {
+        private final FileChannel _channel;
+        private final long        _channel_start;
+
+        FromFileChannel(FileChannel channel) throws IOException
+        {
+            _is_byte_data = true;
+            _is_stream = true;
+            _channel = channel;
+            _channel_start = channel.position();
+            _buffer = UnifiedInputBufferX.makePageBuffer(UnifiedInputBufferX.BufferType.BYTES, DEFAULT_PAGE_SIZE);
+            super.init();
+            _limit = refill();
+        }
+
+        @Override
+        protected int load(UnifiedDataPageX curr, int start_pos, long file_position)
+            throws IOException
+        {
+            return curr.load(_channel, _channel_start + file_position,
+                             start_pos, file_position);
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            super.close();
+            _channel.close();
+        }
     }
 
     private static class FromByteStream extends UnifiedInputStreamX
@@ -606,6 +859,16 @@ static class FromByteArray extends UnifiedInputStreamX
             _limit = refill();
         }
 
+        final void reset(InputStream stream) throws IOException
+        {
+            assert(!_save_points.isSavePointOpen());
+            _stream = stream;
+            _buffer.resetForNewSource();
+            _eof = false;
+            _pos = 0;
+            _limit = refill();
+        }
+
         @Override
         public void close()
             throws IOException
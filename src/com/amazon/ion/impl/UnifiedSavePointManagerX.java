@@ -191,6 +191,21 @@ final class UnifiedSavePointManagerX
         return;
     }
 
+    /**
+     * Deactivates every active save point without repositioning the stream,
+     * for use when the stream is about to be re-targeted.  The owners of the
+     * save points are still responsible for clearing them.
+     */
+    public final void savePointPopAllActive()
+    {
+        while (_active_stack != null) {
+            SavePoint sp = _active_stack;
+            _active_stack = sp._next_active;
+            sp._next_active = null;
+            sp.set_inactive();
+        }
+    }
+
     private void save_point_clear(SavePoint sp)
     {
         if (sp.isClear()) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonReader;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * An {@link IonReader} {@linkplain com.amazon.ion.facet facet} that locates
+ * the Ion binary encoding of the current value within the reader's input
+ * buffer, so that it can be decoded later or copied as-is.
+ */
+public interface _Private_EncodedValueReader
+{
+    /**
+     * @return the reader's input buffer; not a copy.
+     */
+    public byte[] encodedBuffer();
+
+    /**
+     * @return the offset within {@link #encodedBuffer()} of the current
+     * value's type descriptor, after any annotation wrapper.
+     */
+    public int encodedValueOffset();
+
+    /**
+     * @return the length of the current value's encoding, starting at its
+     * type descriptor.
+     */
+    public int encodedValueLength();
+}
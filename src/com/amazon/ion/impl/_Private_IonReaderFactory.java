@@ -25,11 +25,15 @@ import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonTextReader;
 import com.amazon.ion.IonValue;
+import com.amazon.ion.SymbolTable;
 import com.amazon.ion.util.IonStreamUtils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -208,6 +212,98 @@ public final class _Private_IonReaderFactory
     }
 
 
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             ByteBuffer buffer)
+    {
+        return makeReader(catalog, buffer, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             ByteBuffer buffer,
+                                             _Private_LocalSymbolTableFactory lstFactory)
+    {
+        if (buffer.hasArray())
+        {
+            // The backing array can be read in place, with full support for
+            // spans and seeking.
+            int offset = buffer.arrayOffset() + buffer.position();
+            return makeReader(catalog, buffer.array(), offset,
+                              buffer.remaining(), lstFactory);
+        }
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(buffer);
+            return makeReader(catalog, uis, 0, lstFactory);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static IonReader makeSystemReader(ByteBuffer buffer)
+    {
+        if (buffer.hasArray())
+        {
+            int offset = buffer.arrayOffset() + buffer.position();
+            return makeSystemReader(buffer.array(), offset, buffer.remaining());
+        }
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(buffer);
+            return makeSystemReader(uis);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             FileChannel channel)
+    {
+        return makeReader(catalog, channel, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             FileChannel channel,
+                                             _Private_LocalSymbolTableFactory lstFactory)
+    {
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(channel);
+            return makeReader(catalog, uis, 0, lstFactory);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static IonReader makeSystemReader(FileChannel channel)
+    {
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(channel);
+            return makeSystemReader(uis);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+
+    /**
+     * Makes a binary reader with no input, which the application then feeds
+     * through its {@link com.amazon.ion.IncrementalReader} facet.
+     */
+    public static final IonReader makeIncrementalReader(IonCatalog catalog)
+    {
+        return makeIncrementalReader(catalog, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public static final IonReader makeIncrementalReader(IonCatalog catalog,
+                                                        _Private_LocalSymbolTableFactory lstFactory)
+    {
+        UnifiedInputStreamX uis = UnifiedInputStreamX.makeFedStream();
+        return new IonReaderBinaryUserX(catalog, lstFactory, uis, 0);
+    }
+
+
     public static final IonTextReader makeReader(IonCatalog catalog,
                                                  Reader chars)
     {
@@ -258,6 +354,37 @@ public final class _Private_IonReaderFactory
 
 
 
+    public static final IonReader makeContinuationReader(IonCatalog catalog,
+                                                         byte[] bytes,
+                                                         int offset,
+                                                         int length,
+                                                         SymbolTable symbols)
+    {
+        return makeContinuationReader(catalog, bytes, offset, length, symbols,
+                                      LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    /**
+     * Makes a binary reader over encoded values that continue an Ion binary
+     * stream, so don't begin with an Ion version marker.
+     *
+     * @param symbols the symbol table in effect at the start of the values.
+     */
+    public static final IonReader makeContinuationReader(IonCatalog catalog,
+                                                         byte[] bytes,
+                                                         int offset,
+                                                         int length,
+                                                         SymbolTable symbols,
+                                                         _Private_LocalSymbolTableFactory lstFactory)
+    {
+        UnifiedInputStreamX uis = makeStream(bytes, offset, length);
+        IonReaderBinaryUserX reader =
+            new IonReaderBinaryUserX(catalog, lstFactory, uis, offset);
+        reader.init_symbols(symbols);
+        return reader;
+    }
+
+
     private static IonReader makeReader(IonCatalog catalog,
                                         UnifiedInputStreamX uis,
                                         int offset,
@@ -324,6 +451,119 @@ public final class _Private_IonReaderFactory
         return uis;
     }
 
+    private static UnifiedInputStreamX makeUnifiedStream(final ByteBuffer buffer)
+        throws IOException
+    {
+        byte[] header = new byte[2];
+        int len = Math.min(header.length, buffer.remaining());
+        for (int ii = 0; ii < len; ii++) {
+            header[ii] = buffer.get(buffer.position() + ii);
+        }
+        if (IonStreamUtils.isGzip(header, 0, len))
+        {
+            // There's no avoiding a copy when inflating, so just stream it.
+            final ByteBuffer source = buffer.duplicate();
+            InputStream in = new InputStream()
+            {
+                @Override
+                public int read()
+                {
+                    return source.hasRemaining() ? source.get() & 0xff : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int length)
+                {
+                    if (!source.hasRemaining()) return -1;
+                    length = Math.min(length, source.remaining());
+                    source.get(b, off, length);
+                    return length;
+                }
+            };
+            return UnifiedInputStreamX.makeStream(new GZIPInputStream(in));
+        }
+        return UnifiedInputStreamX.makeStream(buffer);
+    }
+
+    private static UnifiedInputStreamX makeUnifiedStream(FileChannel channel)
+        throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(2);
+        long start = channel.position();
+        while (header.hasRemaining()
+               && channel.read(header, start + header.position()) > 0) {
+            // keep reading until the header is full or we hit EOF
+        }
+        if (IonStreamUtils.isGzip(header.array(), 0, header.position()))
+        {
+            InputStream in = Channels.newInputStream(channel);
+            return UnifiedInputStreamX.makeStream(new GZIPInputStream(in));
+        }
+        return UnifiedInputStreamX.makeStream(channel);
+    }
+
+    /**
+     * Re-targets a reader's input at new bytes for
+     * {@link com.amazon.ion.ResettableReader}, reusing the existing input
+     * when possible, and verifies that the data is of the kind the reader
+     * was built for.
+     */
+    static UnifiedInputStreamX resetUnifiedStream(UnifiedInputStreamX uis,
+                                                  byte[] bytes,
+                                                  int offset,
+                                                  int length,
+                                                  boolean isBinaryReader)
+        throws IOException
+    {
+        if (IonStreamUtils.isGzip(bytes, offset, length))
+        {
+            ByteArrayInputStream baos =
+                new ByteArrayInputStream(bytes, offset, length);
+            GZIPInputStream gzip = new GZIPInputStream(baos);
+            uis = UnifiedInputStreamX.reuseStream(uis, gzip);
+        }
+        else
+        {
+            uis = UnifiedInputStreamX.reuseStream(uis, bytes, offset, length);
+        }
+        check_reset_source(uis, isBinaryReader);
+        return uis;
+    }
+
+    /**
+     * Re-targets a reader's input at a new stream for
+     * {@link com.amazon.ion.ResettableReader}, reusing the existing input
+     * when possible, and verifies that the data is of the kind the reader
+     * was built for.
+     */
+    static UnifiedInputStreamX resetUnifiedStream(UnifiedInputStreamX uis,
+                                                  InputStream in,
+                                                  boolean isBinaryReader)
+        throws IOException
+    {
+        in.getClass(); // Force NPE
+
+        in = IonStreamUtils.unGzip(in);
+        uis = UnifiedInputStreamX.reuseStream(uis, in);
+        check_reset_source(uis, isBinaryReader);
+        return uis;
+    }
+
+    private static void check_reset_source(UnifiedInputStreamX uis,
+                                           boolean isBinaryReader)
+        throws IOException
+    {
+        // has_binary_cookie leaves the stream at EOF only if it's empty,
+        // which is acceptable to either kind of reader
+        if (has_binary_cookie(uis) != isBinaryReader && !uis.isEOF())
+        {
+            String message = isBinaryReader
+                ? "Cannot reset a binary reader onto Ion text"
+                : "Cannot reset a text reader onto Ion binary";
+            throw new IonException(message);
+        }
+    }
+
     private static final boolean has_binary_cookie(UnifiedInputStreamX uis)
         throws IOException
     {
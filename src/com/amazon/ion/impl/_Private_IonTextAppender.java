@@ -21,6 +21,7 @@ import static com.amazon.ion.impl._Private_IonConstants.isLowSurrogate;
 import static com.amazon.ion.impl._Private_IonConstants.makeUnicodeScalar;
 
 import com.amazon.ion.Decimal;
+import com.amazon.ion.Timestamp;
 import com.amazon.ion.impl.Base64Encoder.TextStream;
 import com.amazon.ion.system.IonTextWriterBuilder;
 import com.amazon.ion.util._Private_FastAppendable;
@@ -212,6 +213,32 @@ public final class _Private_IonTextAppender
         }
     }
 
+    /**
+     * Converts escapes to the ASCII bytes written by
+     * {@link OutputStreamFastAppendable#appendUtf8}, keeping only those used
+     * when non-ASCII characters aren't escaped.
+     */
+    private static byte[][] utf8Escapes(String[] escapes)
+    {
+        byte[][] bytes = new byte[256][];
+        // Always escape the C1 control codes U+80 through U+9F.
+        for (int i = 0; i <= 0x9F; ++i) {
+            if (escapes[i] != null) {
+                bytes[i] = _Private_Utils.utf8(escapes[i]);
+            }
+        }
+        return bytes;
+    }
+
+    private static final byte[][] STRING_ESCAPE_BYTES =
+        utf8Escapes(STRING_ESCAPE_CODES);
+    private static final byte[][] LONG_STRING_ESCAPE_BYTES =
+        utf8Escapes(LONG_STRING_ESCAPE_CODES);
+    private static final byte[][] SYMBOL_ESCAPE_BYTES =
+        utf8Escapes(SYMBOL_ESCAPE_CODES);
+    private static final byte[][] JSON_ESCAPE_BYTES =
+        utf8Escapes(JSON_ESCAPE_CODES);
+
     private static final String HEX_4_PREFIX = "\\u";
     private static final String HEX_8_PREFIX = "\\U";
     private static final String TRIPLE_QUOTES = "'''";
@@ -223,11 +250,21 @@ public final class _Private_IonTextAppender
     private final _Private_FastAppendable myAppendable;
     private final boolean escapeNonAscii;
 
+    /**
+     * The output when it's UTF-8 bytes that we can encode text straight
+     * into, otherwise null.
+     */
+    private final OutputStreamFastAppendable myUtf8Appendable;
+
 
     _Private_IonTextAppender(_Private_FastAppendable out, boolean escapeNonAscii)
     {
         this.myAppendable   = out;
         this.escapeNonAscii = escapeNonAscii;
+        this.myUtf8Appendable =
+            (!escapeNonAscii && out instanceof OutputStreamFastAppendable
+                 ? (OutputStreamFastAppendable) out
+                 : null);
     }
 
 
@@ -349,7 +386,7 @@ public final class _Private_IonTextAppender
         else
         {
             appendAscii('"');
-            printCodePoints(text, STRING_ESCAPE_CODES);
+            printCodePoints(text, STRING_ESCAPE_CODES, STRING_ESCAPE_BYTES);
             appendAscii('"');
         }
     }
@@ -369,7 +406,7 @@ public final class _Private_IonTextAppender
         else
         {
             appendAscii(TRIPLE_QUOTES);
-            printCodePoints(text, LONG_STRING_ESCAPE_CODES);
+            printCodePoints(text, LONG_STRING_ESCAPE_CODES, LONG_STRING_ESCAPE_BYTES);
             appendAscii(TRIPLE_QUOTES);
         }
     }
@@ -389,7 +426,7 @@ public final class _Private_IonTextAppender
         else
         {
             appendAscii('"');
-            printCodePoints(text, JSON_ESCAPE_CODES);
+            printCodePoints(text, JSON_ESCAPE_CODES, JSON_ESCAPE_BYTES);
             appendAscii('"');
         }
     }
@@ -541,7 +578,7 @@ public final class _Private_IonTextAppender
         }
         else if (symbolNeedsQuoting(text, true)) {
             appendAscii('\'');
-            printCodePoints(text, SYMBOL_ESCAPE_CODES);
+            printCodePoints(text, SYMBOL_ESCAPE_CODES, SYMBOL_ESCAPE_BYTES);
             appendAscii('\'');
         }
         else
@@ -565,14 +602,21 @@ public final class _Private_IonTextAppender
         else
         {
             appendAscii('\'');
-            printCodePoints(text, SYMBOL_ESCAPE_CODES);
+            printCodePoints(text, SYMBOL_ESCAPE_CODES, SYMBOL_ESCAPE_BYTES);
             appendAscii('\'');
         }
     }
 
-    private final void printCodePoints(CharSequence text, String[] escapes)
+    private final void printCodePoints(CharSequence text, String[] escapes,
+                                       byte[][] utf8Escapes)
         throws IOException
     {
+        if (myUtf8Appendable != null)
+        {
+            myUtf8Appendable.appendUtf8(text, utf8Escapes);
+            return;
+        }
+
         int len = text.length();
         for (int i = 0; i < len; ++i)
         {
@@ -672,11 +716,25 @@ public final class _Private_IonTextAppender
     // Numeric scalars
 
 
-    /** ONLY FOR USE BY {@link #printInt(long)}. */
+    /** ONLY FOR USE BY {@link #printInt(long)} and {@link #printDecimal}. */
     private final char[] _fixedIntBuffer = new char[MAX_LONG_TEXT_SIZE];
 
+    /** Wraps {@link #_fixedIntBuffer} so we can append it without copying. */
+    private final CharBuffer _fixedIntChars = CharBuffer.wrap(_fixedIntBuffer);
+
     public void printInt(long value)
         throws IOException
+    {
+        int j = fillFixedIntBuffer(value);
+        appendAscii(_fixedIntChars, j, _fixedIntBuffer.length);
+    }
+
+    /**
+     * Puts the digits of a value at the end of {@link #_fixedIntBuffer}.
+     *
+     * @return the index of the first character.
+     */
+    private int fillFixedIntBuffer(long value)
     {
         int j = _fixedIntBuffer.length;
         if (value == 0) {
@@ -695,11 +753,7 @@ public final class _Private_IonTextAppender
                 }
             }
         }
-
-        // Using CharBuffer avoids copying the _fixedIntBuffer into a String
-        appendAscii(CharBuffer.wrap(_fixedIntBuffer),
-                    j,
-                    _fixedIntBuffer.length);
+        return j;
     }
 
 
@@ -743,21 +797,68 @@ public final class _Private_IonTextAppender
             appendAscii('-');
         }
 
-        final String unscaledText = unscaled.toString();
-        final int significantDigits = unscaledText.length();
+        // Most unscaled values fit in a long, so we can print their digits
+        // without making a String of them.
+        final CharSequence unscaledText;
+        final int start;
+        if (unscaled.bitLength() < 64)
+        {
+            unscaledText = _fixedIntChars;
+            start = fillFixedIntBuffer(unscaled.longValue());
+        }
+        else
+        {
+            unscaledText = unscaled.toString();
+            start = 0;
+        }
+        printDecimalDigits(_options, unscaledText, start, value.scale());
+    }
+
+    /**
+     * Prints a decimal of {@code unscaledValue} &times; 10<sup>-scale</sup>
+     * without creating a {@link BigDecimal}.
+     */
+    public void printDecimal(_Private_IonTextWriterBuilder _options,
+                             long                          unscaledValue,
+                             int                           scale)
+        throws IOException
+    {
+        // The buffer holds the sign too, which works for Long.MIN_VALUE.
+        int start = fillFixedIntBuffer(unscaledValue);
+        if (unscaledValue < 0)
+        {
+            appendAscii('-');
+            start++;
+        }
+        printDecimalDigits(_options, _fixedIntChars, start, scale);
+    }
+
+    /**
+     * Prints the magnitude of a decimal, given the digits of its unscaled
+     * value from {@code start} to the end of {@code unscaledText}.
+     */
+    private void printDecimalDigits(_Private_IonTextWriterBuilder _options,
+                                    CharSequence                  unscaledText,
+                                    int                           start,
+                                    int                           scale)
+        throws IOException
+    {
+        final int end = unscaledText.length();
+        final int significantDigits = end - start;
 
-        final int scale = value.scale();
         final int exponent = -scale;
 
+        // The unscaled digits are appended before the exponent is printed,
+        // which may reuse _fixedIntBuffer.
         if (_options._decimal_as_float)
         {
-            appendAscii(unscaledText);
+            appendAscii(unscaledText, start, end);
             appendAscii('e');
-            appendAscii(Integer.toString(exponent));
+            printInt(exponent);
         }
         else if (exponent == 0)
         {
-            appendAscii(unscaledText);
+            appendAscii(unscaledText, start, end);
             appendAscii('.');
         }
         else if (exponent < 0)
@@ -769,35 +870,56 @@ public final class _Private_IonTextAppender
             if (adjustedExponent >= 0)
             {
                 int wholeDigits = significantDigits - scale;
-                appendAscii(unscaledText, 0, wholeDigits);
+                appendAscii(unscaledText, start, start + wholeDigits);
                 appendAscii('.');
-                appendAscii(unscaledText, wholeDigits,
-                                    significantDigits);
+                appendAscii(unscaledText, start + wholeDigits, end);
             }
             else if (adjustedExponent >= -6)
             {
                 appendAscii("0.");
                 appendAscii("00000", 0, scale - significantDigits);
-                appendAscii(unscaledText);
+                appendAscii(unscaledText, start, end);
             }
             else
             {
-                appendAscii(unscaledText);
+                appendAscii(unscaledText, start, end);
                 appendAscii("d-");
-                appendAscii(Integer.toString(scale));
+                printInt(scale);
             }
         }
         else // (exponent > 0)
         {
             // We cannot move the decimal point to the right, adding
             // rightmost zeros, because that would alter the precision.
-            appendAscii(unscaledText);
+            appendAscii(unscaledText, start, end);
             appendAscii('d');
-            appendAscii(Integer.toString(exponent));
+            printInt(exponent);
+        }
+    }
+
+
+    public void printTimestamp(Timestamp value)
+        throws IOException
+    {
+        if (value == null)
+        {
+            appendAscii("null.timestamp");
+        }
+        else
+        {
+            // Timestamp is ASCII-safe, so it can print straight to our output.
+            value.print(myAppendable);
         }
     }
 
 
+    /** ONLY FOR USE BY {@link #printFloat(double)}. */
+    private final char[] _fixedFloatBuffer =
+        new char[DoubleToDecimal.MAX_CHARS];
+
+    private final CharBuffer _fixedFloatChars =
+        CharBuffer.wrap(_fixedFloatBuffer);
+
     public void printFloat(double value)
         throws IOException
     {
@@ -827,22 +949,8 @@ public final class _Private_IonTextAppender
         }
         else
         {
-            // Double.toString() forces a digit after the decimal point.
-            // Remove it when it's not meaningful.
-            String str = Double.toString(value);
-            if (str.endsWith(".0"))
-            {
-                appendAscii(str, 0, str.length() - 2);
-                appendAscii("e0");
-            }
-            else
-            {
-                appendAscii(str);
-                if (str.indexOf('E') == -1)
-                {
-                    appendAscii("e0");
-                }
-            }
+            int len = DoubleToDecimal.toChars(value, _fixedFloatBuffer);
+            appendAscii(_fixedFloatChars, 0, len);
         }
     }
 
@@ -80,11 +80,26 @@ import java.util.Date;
                 transferReader.transferCurrentValue(this);
                 return;
             }
+            if (spliceValue(reader))
+            {
+                return;
+            }
         }
 
         writeValueRecursive(reader);
     }
 
+    /**
+     * Copies the reader's current value from its binary encoding, translating its symbol IDs, if this writer and
+     * the reader support it.
+     *
+     * @return false if nothing was written, and the value must be copied another way.
+     */
+    /*package*/ boolean spliceValue(final IonReader reader) throws IOException
+    {
+        return false;
+    }
+
     public final void writeValueRecursive(final IonReader reader) throws IOException
     {
         final IonType type = reader.getType();
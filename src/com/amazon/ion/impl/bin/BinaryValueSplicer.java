@@ -0,0 +1,274 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonType;
+import java.io.IOException;
+
+/**
+ * Copies the Ion binary encoding of values to an {@link IonRawBinaryWriter} as-is, except for the symbol IDs of
+ * field names, annotations and symbol values, which are translated from the source's symbol table to the
+ * writer's.  Only containers and symbols are re-encoded, since translated IDs may change their lengths.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+/*package*/ final class BinaryValueSplicer
+{
+    /** Maps the symbol IDs of the source to those of the destination. */
+    /*package*/ interface SidTranslator
+    {
+        int translate(int sid);
+    }
+
+    private static final int TYPE_NULL        = 0x0;
+    private static final int TYPE_BOOL        = 0x1;
+    private static final int TYPE_SYMBOL      = 0x7;
+    private static final int TYPE_LIST        = 0xB;
+    private static final int TYPE_SEXP        = 0xC;
+    private static final int TYPE_STRUCT      = 0xD;
+    private static final int TYPE_ANNOTATION  = 0xE;
+    private static final int TYPE_RESERVED    = 0xF;
+
+    private static final int LENGTH_VAR       = 0xE;
+    private static final int LENGTH_NULL      = 0xF;
+    private static final int LENGTH_SORTED    = 0x1;
+
+    private final IonRawBinaryWriter out;
+    private final SidTranslator translator;
+    private byte[] data;
+    private int position;
+    private int limit;
+
+    /*package*/ BinaryValueSplicer(final IonRawBinaryWriter out, final SidTranslator translator)
+    {
+        this.out = out;
+        this.translator = translator;
+    }
+
+    /**
+     * Writes the single value encoded in the given range, which starts with its type descriptor or annotation
+     * wrapper.  Any field name of the value must already be set on the writer.
+     */
+    public void splice(final byte[] data, final int offset, final int length) throws IOException
+    {
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+        try
+        {
+            checkDescriptor(data[offset] & 0xFF, offset);
+            spliceValue();
+            if (position != offset + length)
+            {
+                throw new IonException("Malformed binary value: length mismatch at offset " + offset);
+            }
+        }
+        catch (final ArrayIndexOutOfBoundsException e)
+        {
+            throw new IonException("Malformed binary value: unexpected end of data at offset " + offset, e);
+        }
+        finally
+        {
+            this.data = null;
+        }
+    }
+
+    /**
+     * Checks that the given range holds exactly one value, by its outermost type descriptor and length only.
+     *
+     * @throws IonException if it doesn't.
+     */
+    public static void checkFraming(final byte[] data, final int offset, final int length)
+    {
+        final BinaryValueSplicer framing = new BinaryValueSplicer(null, null);
+        framing.data = data;
+        framing.position = offset + 1;
+        try
+        {
+            final int descriptor = data[offset] & 0xFF;
+            BinaryValueSplicer.checkDescriptor(descriptor, offset);
+            final int valueLength = framing.readLength(descriptor >> 4, descriptor & 0xF);
+            if (framing.position + valueLength != offset + length)
+            {
+                throw new IonException("Malformed binary value: length mismatch at offset " + offset);
+            }
+        }
+        catch (final ArrayIndexOutOfBoundsException e)
+        {
+            throw new IonException("Malformed binary value: unexpected end of data at offset " + offset, e);
+        }
+    }
+
+    /** Rejects type descriptors that don't start a value. */
+    private static void checkDescriptor(final int descriptor, final int offset)
+    {
+        final int type = descriptor >> 4;
+        final int lengthCode = descriptor & 0xF;
+        if (type == TYPE_RESERVED)
+        {
+            throw new IonException("Malformed binary value: reserved type at offset " + offset);
+        }
+        if (type == TYPE_NULL && lengthCode != LENGTH_NULL)
+        {
+            throw new IonException("Malformed binary value: padding instead of a value at offset " + offset);
+        }
+        if (type == TYPE_ANNOTATION && (lengthCode < 3 || lengthCode == LENGTH_NULL))
+        {
+            throw new IonException("Malformed binary value: bad annotation wrapper at offset " + offset);
+        }
+    }
+
+    private void spliceValue() throws IOException
+    {
+        final int start = position;
+        final int descriptor = data[position++] & 0xFF;
+        final int type = descriptor >> 4;
+        final int lengthCode = descriptor & 0xF;
+        if (type == TYPE_RESERVED)
+        {
+            throw new IonException("Malformed binary value: reserved type at offset " + start);
+        }
+
+        if (type == TYPE_ANNOTATION)
+        {
+            checkDescriptor(descriptor, start);
+            final int wrapperEnd = readLength(type, lengthCode) + position;
+            final int annotationsLength = readVarUInt();
+            final int end = position + annotationsLength;
+            if (annotationsLength == 0 || end >= wrapperEnd || wrapperEnd > limit)
+            {
+                throw new IonException("Malformed binary value: bad annotation wrapper at offset " + start);
+            }
+            while (position < end)
+            {
+                out.addTypeAnnotationSymbol(translator.translate(readVarUInt()));
+            }
+            final int wrapped = data[position] & 0xFF;
+            checkDescriptor(wrapped, position);
+            if ((wrapped >> 4) == TYPE_ANNOTATION)
+            {
+                throw new IonException("Malformed binary value: nested annotation wrapper at offset " + position);
+            }
+            spliceValue();
+            if (position != wrapperEnd)
+            {
+                throw new IonException("Malformed binary value: annotation wrapper length mismatch at offset " + start);
+            }
+            return;
+        }
+
+        final int length = readLength(type, lengthCode);
+        final int bodyStart = position;
+        final int end = bodyStart + length;
+        if (end > limit)
+        {
+            throw new IonException("Malformed binary value: value overruns its data at offset " + start);
+        }
+        position = end;
+        if (lengthCode == LENGTH_NULL)
+        {
+            out.writeBytes(data, start, end - start);
+            return;
+        }
+
+        switch (type)
+        {
+            case TYPE_SYMBOL:
+                long sid = 0;
+                for (int i = bodyStart; i < end; i++)
+                {
+                    sid = (sid << 8) | (data[i] & 0xFF);
+                }
+                if (sid > Integer.MAX_VALUE)
+                {
+                    throw new IonException("Symbol ID too large at offset " + start);
+                }
+                out.writeSymbolToken(translator.translate((int) sid));
+                break;
+            case TYPE_LIST:
+                spliceChildren(IonType.LIST, bodyStart, end);
+                break;
+            case TYPE_SEXP:
+                spliceChildren(IonType.SEXP, bodyStart, end);
+                break;
+            case TYPE_STRUCT:
+                spliceChildren(IonType.STRUCT, bodyStart, end);
+                break;
+            default:
+                out.writeBytes(data, start, end - start);
+                break;
+        }
+    }
+
+    private void spliceChildren(final IonType containerType, final int bodyStart, final int end) throws IOException
+    {
+        out.stepIn(containerType);
+        position = bodyStart;
+        while (position < end)
+        {
+            final int fieldSid = (containerType == IonType.STRUCT ? readVarUInt() : 0);
+            final int descriptor = data[position] & 0xFF;
+            if ((descriptor >> 4) == TYPE_NULL && (descriptor & 0xF) != LENGTH_NULL)
+            {
+                // padding is dropped, along with its field name
+                position++;
+                position += readLength(TYPE_NULL, descriptor & 0xF);
+                continue;
+            }
+            if (containerType == IonType.STRUCT)
+            {
+                out.setFieldNameSymbol(translator.translate(fieldSid));
+            }
+            spliceValue();
+        }
+        if (position != end)
+        {
+            throw new IonException("Malformed binary value: container overrun at offset " + end);
+        }
+        out.stepOut();
+    }
+
+    private int readLength(final int type, final int lengthCode)
+    {
+        if (type == TYPE_BOOL || lengthCode == LENGTH_NULL)
+        {
+            return 0;
+        }
+        if (lengthCode == LENGTH_VAR || (type == TYPE_STRUCT && lengthCode == LENGTH_SORTED))
+        {
+            return readVarUInt();
+        }
+        return lengthCode;
+    }
+
+    private int readVarUInt()
+    {
+        int value = 0;
+        int b;
+        do
+        {
+            if (value > (Integer.MAX_VALUE >> 7))
+            {
+                throw new IonException("VarUInt too large at offset " + position);
+            }
+            b = data[position++] & 0xFF;
+            value = (value << 7) | (b & 0x7F);
+        }
+        while ((b & 0x80) == 0);
+        return value;
+    }
+}
@@ -24,25 +24,33 @@ import static com.amazon.ion.SystemSymbols.MAX_ID_SID;
 import static com.amazon.ion.SystemSymbols.NAME_SID;
 import static com.amazon.ion.SystemSymbols.SYMBOLS_SID;
 import static com.amazon.ion.SystemSymbols.VERSION_SID;
+import static com.amazon.ion.impl._Private_Utils.symtabExtends;
 import static com.amazon.ion.impl.bin.Symbols.symbol;
 import static com.amazon.ion.impl.bin.Symbols.systemSymbol;
 import static com.amazon.ion.impl.bin.Symbols.systemSymbolTable;
 import static com.amazon.ion.impl.bin.Symbols.systemSymbols;
 import static java.util.Collections.unmodifiableList;
 
+import com.amazon.ion.DecimalWriter;
+import com.amazon.ion.EncodedValueWriter;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
 import com.amazon.ion.IonType;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.UnknownSymbolException;
+import com.amazon.ion.impl._Private_EncodedValueReader;
+import com.amazon.ion.impl._Private_ListWriter;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.LocalSymbolTableRetention;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -54,7 +62,8 @@ import java.util.Map;
 
 /** Wraps {@link IonRawBinaryWriter} with symbol table management. */
 @SuppressWarnings("deprecation")
-/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter implements _Private_IonManagedWriter
+/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter
+    implements _Private_IonManagedWriter, _Private_ListWriter, EncodedValueWriter, DecimalWriter
 {
     private interface SymbolResolver
     {
@@ -369,7 +378,7 @@ import java.util.Map;
                     self.user.truncate(self.userSymbolTablePosition);
 
                     // flush out the pre-existing symbol and user content before the user provided symbol table
-                    self.finish();
+                    self.finishAndResetLocals();
 
                     // replace the symbol table context with the user provided one
                     // TODO determine if the resolver mode should be configurable for this use case
@@ -619,10 +628,14 @@ import java.util.Map;
 
     private final IonCatalog                    catalog;
     private final ImportedSymbolContext         bootstrapImports;
+    private final LocalSymbolTableRetention     localsRetention;
+    private final int                           maxLocals;
+    private final int                           maxLocalsBytes;
 
     private ImportedSymbolContext               imports;
     private final Map<String, SymbolToken>      locals;
     private boolean                             localsLocked;
+    private long                                localsBytes;
     private SymbolTable                         localSymbolTableView;
 
     private final IonRawBinaryWriter            symbols;
@@ -637,6 +650,16 @@ import java.util.Map;
     private final List<String>                  userSymbols;
     private final ImportDescriptor              userCurrentImport;
 
+    // symbol ID translation for splicing binary values, from the table of the last source
+    private final BinaryValueSplicer            splicer;
+    private SymbolTable                         spliceSourceTable;
+    private int[]                               spliceSids;
+    // the last source of encoded values known to be compatible with our symbol table
+    private SymbolTable                         compatibleSourceTable;
+    // the last source known not to be, and how many local symbols we had when we found out
+    private SymbolTable                         incompatibleSourceTable;
+    private int                                 incompatibleLocalsSize;
+
     private boolean                             closed;
 
     /*package*/ IonManagedBinaryWriter(final _Private_IonManagedBinaryWriterBuilder builder,
@@ -667,6 +690,9 @@ import java.util.Map;
 
         this.catalog = builder.catalog;
         this.bootstrapImports = builder.imports;
+        this.localsRetention = builder.localSymbolTableRetention;
+        this.maxLocals = builder.maxLocalSymbols;
+        this.maxLocalsBytes = builder.maxLocalSymbolBytes;
 
         this.locals = new LinkedHashMap<String, SymbolToken>();
         this.localsLocked = false;
@@ -681,6 +707,15 @@ import java.util.Map;
         this.userSymbols = new ArrayList<String>();
         this.userCurrentImport = new ImportDescriptor();
 
+        this.splicer = new BinaryValueSplicer(user, new BinaryValueSplicer.SidTranslator()
+        {
+            public int translate(final int sid)
+            {
+                return translateSpliceSid(sid);
+            }
+        });
+        this.spliceSids = new int[0];
+
         // TODO decide if initial LST should survive finish() and seed the next LST
         final SymbolTable lst = builder.initialSymbolTable;
         if (lst != null)
@@ -728,7 +763,7 @@ import java.util.Map;
     public void writeIonVersionMarker() throws IOException
     {
         // this has to force a reset of symbol table context
-        finish();
+        finishAndResetLocals();
     }
 
     public int getDepth()
@@ -771,6 +806,30 @@ import java.util.Map;
             }
             // XXX no step out
             symbolState = SymbolState.LOCAL_SYMBOLS_WITH_IMPORTS_ONLY;
+
+            if (!locals.isEmpty())
+            {
+                // declare the locals retained from before the last finish
+                startLocalSymbolTableSymbolListIfNeeded();
+                for (final String text : locals.keySet())
+                {
+                    symbols.writeString(text);
+                }
+            }
+        }
+    }
+
+    private void appendLocalSymbolTableIfNeeded() throws IOException
+    {
+        if (symbolState == SymbolState.LOCAL_SYMBOLS_FLUSHED)
+        {
+            // the table is already declared upstream, so append to it
+            symbols.addTypeAnnotationSymbol(systemSymbol(ION_SYMBOL_TABLE_SID));
+            symbols.stepIn(STRUCT);
+            symbols.setFieldNameSymbol(systemSymbol(IMPORTS_SID));
+            symbols.writeSymbolToken(systemSymbol(ION_SYMBOL_TABLE_SID));
+            // XXX no step out
+            symbolState = SymbolState.LOCAL_SYMBOLS_WITH_IMPORTS_ONLY;
         }
     }
 
@@ -815,12 +874,20 @@ import java.util.Map;
 
                 // if we got here, this is a new symbol and we better start up the locals
                 startLocalSymbolTableIfNeeded(/*writeIVM*/ true);
+                appendLocalSymbolTableIfNeeded();
                 startLocalSymbolTableSymbolListIfNeeded();
 
                 token = symbol(text, imports.localSidStart + locals.size());
                 locals.put(text, token);
 
+                final long position = symbols.position();
                 symbols.writeString(text);
+                localsBytes += symbols.position() - position;
+            }
+            else
+            {
+                // a retained local needs to be declared again after a finish
+                startLocalSymbolTableIfNeeded(/*writeIVM*/ true);
             }
             return token;
         }
@@ -843,6 +910,18 @@ import java.util.Map;
             return intern(text);
         }
         final int sid = token.getSid();
+        if (sid >= imports.localSidStart && sid < imports.localSidStart + locals.size())
+        {
+            // a retained local needs to be declared again after a finish
+            try
+            {
+                startLocalSymbolTableIfNeeded(/*writeIVM*/ true);
+            }
+            catch (final IOException e)
+            {
+                throw new IonException("Error synthesizing symbols", e);
+            }
+        }
         if (sid > getSymbolTable().getMaxId()) {
             // There is no slot for this symbol ID in the symbol table,
             // so an error would be raised on read. Fail early on write.
@@ -852,9 +931,202 @@ import java.util.Map;
         return token;
     }
 
+    /** Maps a symbol ID of the splice source to one in this writer's context, interning it as needed. */
+    private int translateSpliceSid(final int sid)
+    {
+        if (sid <= ION_1_0_MAX_ID)
+        {
+            // the system symbols (and symbol zero) are the same everywhere
+            return sid;
+        }
+        if (sid < spliceSids.length && spliceSids[sid] != 0)
+        {
+            return spliceSids[sid];
+        }
+        final String text = spliceSourceTable.findKnownSymbol(sid);
+        if (text == null)
+        {
+            throw new UnknownSymbolException(sid);
+        }
+        final int translated = intern(text).getSid();
+        if (sid >= spliceSids.length)
+        {
+            final int[] grown = new int[Math.max(sid + 1, spliceSourceTable.getMaxId() + 1)];
+            System.arraycopy(spliceSids, 0, grown, 0, spliceSids.length);
+            spliceSids = grown;
+        }
+        spliceSids[sid] = translated;
+        return translated;
+    }
+
+    @Override
+    /*package*/ boolean spliceValue(final IonReader reader) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            // the user is writing a symbol table through us, which we need to see
+            return false;
+        }
+        final _Private_EncodedValueReader encoded = reader.asFacet(_Private_EncodedValueReader.class);
+        final SymbolTable source = reader.getSymbolTable();
+        if (encoded == null || source == null)
+        {
+            return false;
+        }
+        rotateLocalSymbolTableIfNeeded();
+        startSplice(source);
+
+        final SymbolToken fieldName = reader.getFieldNameSymbol();
+        if (fieldName != null && !isFieldNameSet() && isInStruct())
+        {
+            setFieldNameSymbol(fieldName);
+        }
+        final SymbolToken[] annotations = reader.getTypeAnnotationSymbols();
+        if (annotations.length > 0)
+        {
+            setTypeAnnotationSymbols(annotations);
+        }
+        splicer.splice(encoded.encodedBuffer(), encoded.encodedValueOffset(), encoded.encodedValueLength());
+        return true;
+    }
+
+    /**
+     * Starts a new local symbol table if the current one has reached the configured limits, as long as we are
+     * between top-level values.
+     */
+    private void rotateLocalSymbolTableIfNeeded() throws IOException
+    {
+        if (((maxLocals > 0 && locals.size() >= maxLocals) || (maxLocalsBytes > 0 && localsBytes >= maxLocalsBytes))
+            && getDepth() == 0
+            && !user.hasAnnotations()
+            && !localsLocked
+            && userState == UserState.NORMAL)
+        {
+            // the user didn't ask for a flush, so we only hand the values written so far to the stream
+            unsafeFlush(false);
+            resetLocals();
+        }
+    }
+
+    /** Rotates for callers that can't throw {@link IOException}. */
+    private void rotateLocalSymbolTableBeforeAnnotations()
+    {
+        try
+        {
+            rotateLocalSymbolTableIfNeeded();
+        }
+        catch (final IOException e)
+        {
+            throw new IonException("Error rotating local symbol table", e);
+        }
+    }
+
+    private void startSplice(final SymbolTable source)
+    {
+        if (source != spliceSourceTable)
+        {
+            spliceSourceTable = source;
+            Arrays.fill(spliceSids, 0);
+        }
+    }
+
+    /** Determines if values encoded against the given table can be copied without translating symbol IDs. */
+    private boolean isCompatibleSource(final SymbolTable source)
+    {
+        if (source.getMaxId() <= ION_1_0_MAX_ID)
+        {
+            // only system symbols
+            return true;
+        }
+        if (symbolState == SymbolState.SYSTEM_SYMBOLS)
+        {
+            // our symbols aren't declared yet
+            return false;
+        }
+        if (source == compatibleSourceTable)
+        {
+            return true;
+        }
+        if (source == incompatibleSourceTable && locals.size() == incompatibleLocalsSize)
+        {
+            // only new local symbols can make our table extend the source
+            return false;
+        }
+        if (symtabExtends(getSymbolTable(), source))
+        {
+            // our symbol table only grows until flushed, so this holds until then
+            compatibleSourceTable = source;
+            return true;
+        }
+        incompatibleSourceTable = source;
+        incompatibleLocalsSize = locals.size();
+        return false;
+    }
+
+    private static final int ANNOTATION_WRAPPER_TYPE = 0xE;
+
+    public void writeEncodedValue(final byte[] data, final int offset, final int length, final SymbolTable symbols)
+        throws IOException
+    {
+        if (data == null) { throw new NullPointerException(); }
+        if (offset < 0 || length < 0 || offset + length > data.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (userState != UserState.NORMAL)
+        {
+            throw new IllegalStateException("Cannot write an encoded value within a local symbol table");
+        }
+        final SymbolTable source = symbols == null ? systemSymbolTable() : symbols;
+        if (source.isSharedTable() && !source.isSystemTable())
+        {
+            throw new IllegalArgumentException("Encoded values need a local or system symbol table: " + source);
+        }
+
+        if (length == 0)
+        {
+            throw new IonException("Malformed binary value: empty at offset " + offset);
+        }
+        rotateLocalSymbolTableIfNeeded();
+        if (((data[offset] & 0xFF) >> 4) != ANNOTATION_WRAPPER_TYPE && isCompatibleSource(source))
+        {
+            // the bytes can be used as they are
+            BinaryValueSplicer.checkFraming(data, offset, length);
+            user.writeBytes(data, offset, length);
+            return;
+        }
+        startSplice(source);
+        splicer.splice(data, offset, length);
+    }
+
+    public void writeEncodedValue(final ByteBuffer data, final SymbolTable symbols) throws IOException
+    {
+        if (data.hasArray())
+        {
+            writeEncodedValue(data.array(), data.arrayOffset() + data.position(), data.remaining(), symbols);
+        }
+        else
+        {
+            final byte[] copy = new byte[data.remaining()];
+            data.duplicate().get(copy);
+            writeEncodedValue(copy, 0, copy.length, symbols);
+        }
+    }
+
+    @Override
+    public <T> T asFacet(final Class<T> facetType)
+    {
+        if (facetType == EncodedValueWriter.class
+            || facetType == DecimalWriter.class)
+        {
+            return facetType.cast(this);
+        }
+        return super.asFacet(facetType);
+    }
+
     public SymbolTable getSymbolTable()
     {
-        if (symbolState == SymbolState.SYSTEM_SYMBOLS && imports.parents.isEmpty())
+        if (symbolState == SymbolState.SYSTEM_SYMBOLS && imports.parents.isEmpty() && locals.isEmpty())
         {
             return Symbols.systemSymbolTable();
         }
@@ -900,6 +1172,7 @@ import java.util.Map;
         }
         else
         {
+            rotateLocalSymbolTableBeforeAnnotations();
             final SymbolToken[] tokens = new SymbolToken[annotations.length];
             for (int i = 0; i < tokens.length; i++)
             {
@@ -917,6 +1190,7 @@ import java.util.Map;
         }
         else
         {
+            rotateLocalSymbolTableBeforeAnnotations();
             for (int i = 0; i < annotations.length; i++)
             {
                 annotations[i] = intern(annotations[i]);
@@ -927,6 +1201,7 @@ import java.util.Map;
 
     public void addTypeAnnotation(final String annotation)
     {
+        rotateLocalSymbolTableBeforeAnnotations();
         final SymbolToken token = intern(annotation);
         user.addTypeAnnotationSymbol(token);
     }
@@ -935,6 +1210,7 @@ import java.util.Map;
 
     public void stepIn(final IonType containerType) throws IOException
     {
+        rotateLocalSymbolTableIfNeeded();
         userState.beforeStepIn(this, containerType);
         user.stepIn(containerType);
     }
@@ -989,11 +1265,145 @@ import java.util.Map;
         user.writeDecimal(value);
     }
 
+    public void writeDecimal(final long unscaledValue, final int scale) throws IOException
+    {
+        user.writeDecimal(unscaledValue, scale);
+    }
+
     public void writeTimestamp(final Timestamp value) throws IOException
     {
         user.writeTimestamp(value);
     }
 
+    // List Writing
+
+    /**
+     * Determines whether a list can be handed to the raw writer in one piece.  When the user is writing a local
+     * symbol table through us, the elements are written one at a time so that we see them.
+     */
+    private boolean startBulkList() throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            return false;
+        }
+        rotateLocalSymbolTableIfNeeded();
+        return true;
+    }
+
+    public void writeBoolList(final boolean[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeBoolList(values);
+            return;
+        }
+        for (final boolean value : values)
+        {
+            writeBool(value);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final float[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeFloatList(values);
+            return;
+        }
+        for (final float value : values)
+        {
+            writeFloat(value);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final double[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeFloatList(values);
+            return;
+        }
+        for (final double value : values)
+        {
+            writeFloat(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final byte[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeIntList(values);
+            return;
+        }
+        for (final byte value : values)
+        {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final short[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeIntList(values);
+            return;
+        }
+        for (final short value : values)
+        {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final int[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeIntList(values);
+            return;
+        }
+        for (final int value : values)
+        {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final long[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeIntList(values);
+            return;
+        }
+        for (final long value : values)
+        {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeStringList(final String[] values) throws IOException
+    {
+        if (startBulkList())
+        {
+            user.writeStringList(values);
+            return;
+        }
+        for (final String value : values)
+        {
+            writeString(value);
+        }
+        stepOut();
+    }
+
     public void writeSymbol(String content) throws IOException
     {
         writeSymbolToken(intern(content));
@@ -1005,7 +1415,7 @@ import java.util.Map;
             if (user.hasWrittenValuesSinceFinished())
             {
                 // this explicitly translates SID 2 to an IVM and flushes out local symbol state
-                finish();
+                finishAndResetLocals();
             }
             else
             {
@@ -1024,6 +1434,7 @@ import java.util.Map;
         {
             return;
         }
+        rotateLocalSymbolTableIfNeeded();
         token = intern(token);
         user.writeSymbolToken(token);
     }
@@ -1078,6 +1489,11 @@ import java.util.Map;
     }
 
     private void unsafeFlush() throws IOException
+    {
+        unsafeFlush(true);
+    }
+
+    private void unsafeFlush(final boolean flushStream) throws IOException
     {
         if (user.hasWrittenValuesSinceFinished())
         {
@@ -1087,9 +1503,20 @@ import java.util.Map;
 
         // make sure that until the local symbol state changes we no-op the table closing routine
         symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
+        // translations may refer to symbols that will need declaring again
+        spliceSourceTable = null;
+        compatibleSourceTable = null;
+        incompatibleSourceTable = null;
         // push the data out
         symbols.finish();
-        user.finish();
+        if (flushStream)
+        {
+            user.finish();
+        }
+        else
+        {
+            user.finishWithoutFlush();
+        }
     }
 
     public void finish() throws IOException
@@ -1098,15 +1525,61 @@ import java.util.Map;
         {
             throw new IllegalStateException("IonWriter.finish() can only be called at top-level.");
         }
+        final SymbolState previousSymbolState = symbolState;
         unsafeFlush();
-        // Reset local symbols
-        // TODO be more configurable with respect to local symbol table caching
+        switch (localsRetention)
+        {
+            case REEMIT:
+                // keep the locals, but declare them again when they are next needed
+                localsLocked = false;
+                symbolState = SymbolState.SYSTEM_SYMBOLS;
+                break;
+            case REFERENCE:
+                // keep the locals as declared, appending to them when new ones are needed
+                localsLocked = false;
+                if (previousSymbolState == SymbolState.SYSTEM_SYMBOLS)
+                {
+                    // nothing was declared yet
+                    symbolState = SymbolState.SYSTEM_SYMBOLS;
+                }
+                break;
+            default:
+                resetLocals();
+                break;
+        }
+    }
+
+    /** Finishes, discarding the local symbols regardless of how they are retained. */
+    private void finishAndResetLocals() throws IOException
+    {
+        if (getDepth() != 0)
+        {
+            throw new IllegalStateException("IonWriter.finish() can only be called at top-level.");
+        }
+        unsafeFlush();
+        resetLocals();
+    }
+
+    private void resetLocals()
+    {
         locals.clear();
+        localsBytes = 0;
         localsLocked = false;
         symbolState = SymbolState.SYSTEM_SYMBOLS;
         imports = bootstrapImports;
     }
 
+    public void reset(final OutputStream out) throws IOException
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot reset a closed writer");
+        }
+        finish();
+        symbols.setOutput(out);
+        user.setOutput(out);
+    }
+
     public void close() throws IOException
     {
         if (closed)
@@ -46,6 +46,7 @@ import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
+import com.amazon.ion.impl._Private_ListWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
@@ -60,7 +61,7 @@ import java.util.NoSuchElementException;
  * Low-level binary {@link IonWriter} that understands encoding concerns but doesn't operate with any sense of symbol table management.
  */
 @SuppressWarnings("deprecation")
-/*package*/ final class IonRawBinaryWriter extends AbstractIonWriter implements _Private_IonRawWriter
+/*package*/ final class IonRawBinaryWriter extends AbstractIonWriter implements _Private_IonRawWriter, _Private_ListWriter
 {
     /** short-hand for array of bytes--useful for static definitions. */
     private static byte[] bytes(int... vals) {
@@ -112,6 +113,7 @@ import java.util.NoSuchElementException;
 
     private static final byte CLOB_TYPE         = (byte) 0x90;
     private static final byte BLOB_TYPE         = (byte) 0xA0;
+    private static final byte LIST_TYPE         = (byte) 0xB0;
 
     private static final byte DECIMAL_POS_ZERO               = (byte) 0x50;
     private static final byte DECIMAL_NEGATIVE_ZERO_MANTISSA = (byte) 0x80;
@@ -466,7 +468,7 @@ import java.util.NoSuchElementException;
     }
 
     private final BlockAllocator                allocator;
-    private final OutputStream                  out;
+    private OutputStream                        out;
     private final StreamCloseMode               streamCloseMode;
     private final StreamFlushMode               streamFlushMode;
     private final PreallocationMode             preallocationMode;
@@ -1115,64 +1117,15 @@ import java.util.NoSuchElementException;
         if (mantissaBigInt.compareTo(BIG_INT_LONG_MIN_VALUE) >= 0 && mantissaBigInt.compareTo(BIG_INT_LONG_MAX_VALUE) <= 0)
         {
             // we can fit into the long space
-            final long mantissa = mantissaBigInt.longValue();
-            if (signum == 0 && !isNegZero)
-            {
-                // positive zero does not need to be encoded
-            }
-            else if (isNegZero)
+            if (isNegZero)
             {
                 // XXX special case for negative zero, we have to encode as a signed zero in the Int format
                 updateLength(1);
                 buffer.writeByte(DECIMAL_NEGATIVE_ZERO_MANTISSA);
             }
-            else if (mantissa == Long.MIN_VALUE)
-            {
-                // XXX special case for min value -- we need 64-bits to store the magnitude and we need a bit for sign
-                updateLength(9);
-                buffer.writeUInt8(0x80);
-                buffer.writeUInt64(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFFFFFFFF81L && mantissa <= 0x000000000000007FL)
-            {
-                updateLength(1);
-                buffer.writeInt8(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFFFFFF8001L && mantissa <= 0x0000000000007FFFL)
-            {
-                updateLength(2);
-                buffer.writeInt16(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFFFF800001L && mantissa <= 0x00000000007FFFFFL)
-            {
-                updateLength(3);
-                buffer.writeInt24(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFF80000001L && mantissa <= 0x000000007FFFFFFFL)
-            {
-                updateLength(4);
-                buffer.writeInt32(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFF8000000001L && mantissa <= 0x0000007FFFFFFFFFL)
-            {
-                updateLength(5);
-                buffer.writeInt40(mantissa);
-            }
-            else if (mantissa >= 0xFFFF800000000001L && mantissa <= 0x00007FFFFFFFFFFFL)
-            {
-                updateLength(6);
-                buffer.writeInt48(mantissa);
-            }
-            else if (mantissa >= 0xFF80000000000001L && mantissa <= 0x007FFFFFFFFFFFFFL)
-            {
-                updateLength(7);
-                buffer.writeInt56(mantissa);
-            }
             else
             {
-                // TODO consider being more space efficient for integers that can be written with 6/7 bytes.
-                updateLength(8);
-                buffer.writeInt64(mantissa);
+                writeDecimalMantissa(mantissaBigInt.longValue());
             }
         }
         else
@@ -1197,6 +1150,63 @@ import java.util.NoSuchElementException;
         }
     }
 
+    /** Encodes a decimal coefficient that fits in a long, updating the current container length context. */
+    private void writeDecimalMantissa(final long mantissa)
+    {
+        if (mantissa == 0)
+        {
+            // positive zero does not need to be encoded
+        }
+        else if (mantissa == Long.MIN_VALUE)
+        {
+            // XXX special case for min value -- we need 64-bits to store the magnitude and we need a bit for sign
+            updateLength(9);
+            buffer.writeUInt8(0x80);
+            buffer.writeUInt64(mantissa);
+        }
+        else if (mantissa >= 0xFFFFFFFFFFFFFF81L && mantissa <= 0x000000000000007FL)
+        {
+            updateLength(1);
+            buffer.writeInt8(mantissa);
+        }
+        else if (mantissa >= 0xFFFFFFFFFFFF8001L && mantissa <= 0x0000000000007FFFL)
+        {
+            updateLength(2);
+            buffer.writeInt16(mantissa);
+        }
+        else if (mantissa >= 0xFFFFFFFFFF800001L && mantissa <= 0x00000000007FFFFFL)
+        {
+            updateLength(3);
+            buffer.writeInt24(mantissa);
+        }
+        else if (mantissa >= 0xFFFFFFFF80000001L && mantissa <= 0x000000007FFFFFFFL)
+        {
+            updateLength(4);
+            buffer.writeInt32(mantissa);
+        }
+        else if (mantissa >= 0xFFFFFF8000000001L && mantissa <= 0x0000007FFFFFFFFFL)
+        {
+            updateLength(5);
+            buffer.writeInt40(mantissa);
+        }
+        else if (mantissa >= 0xFFFF800000000001L && mantissa <= 0x00007FFFFFFFFFFFL)
+        {
+            updateLength(6);
+            buffer.writeInt48(mantissa);
+        }
+        else if (mantissa >= 0xFF80000000000001L && mantissa <= 0x007FFFFFFFFFFFFFL)
+        {
+            updateLength(7);
+            buffer.writeInt56(mantissa);
+        }
+        else
+        {
+            // TODO consider being more space efficient for integers that can be written with 6/7 bytes.
+            updateLength(8);
+            buffer.writeInt64(mantissa);
+        }
+    }
+
     private void patchSingleByteTypedOptimisticValue(final byte type, final ContainerInfo info)
     {
         if (info.length <= 0xD)
@@ -1242,6 +1252,35 @@ import java.util.NoSuchElementException;
         finishValue();
     }
 
+    /**
+     * Writes a decimal of {@code unscaledValue} &times; 10<sup>-scale</sup>
+     * without creating a {@link BigDecimal}.
+     */
+    public void writeDecimal(final long unscaledValue, final int scale) throws IOException
+    {
+        prepareValue();
+
+        if (unscaledValue == 0 && scale == 0)
+        {
+            // 0d0 can be written in one byte
+            updateLength(1);
+            buffer.writeUInt8(DECIMAL_POS_ZERO);
+        }
+        else
+        {
+            // optimistically try to fit decimal length in low nibble (most should)
+            updateLength(1);
+            pushContainer(ContainerType.VALUE);
+            buffer.writeByte(DECIMAL_TYPE);
+            writeVarInt(-scale);
+            writeDecimalMantissa(unscaledValue);
+            final ContainerInfo info = popContainer();
+            patchSingleByteTypedOptimisticValue(DECIMAL_TYPE, info);
+        }
+
+        finishValue();
+    }
+
     public void writeTimestamp(final Timestamp value) throws IOException
     {
         if (value == null)
@@ -1492,6 +1531,218 @@ import java.util.NoSuchElementException;
         finishValue();
     }
 
+    // List Writing
+
+    /*
+     * The bulk list methods size the whole list before writing any of it, so the list length goes straight into the
+     * type descriptor and the elements are encoded without a container context or a patch point.
+     */
+
+    /** Writes the type descriptor of a list whose body is the given number of octets, along with its field name and annotations. */
+    private void writeListHeader(final long length)
+    {
+        prepareValue();
+        int headerLength = 1;
+        if (length <= 0xD)
+        {
+            buffer.writeUInt8(LIST_TYPE | length);
+        }
+        else
+        {
+            buffer.writeUInt8(LIST_TYPE | 0xE);
+            headerLength += buffer.writeVarUInt(length);
+        }
+        updateLength(headerLength + length);
+    }
+
+    /** Returns the number of octets in the magnitude of an unsigned integer, zero for zero. */
+    private static int uintLength(final long magnitude)
+    {
+        return (64 - Long.numberOfLeadingZeros(magnitude) + 7) >>> 3;
+    }
+
+    /** Returns the number of octets in the encoding of an integer, including its type descriptor. */
+    private static int intLength(final long value)
+    {
+        // the magnitude of Long.MIN_VALUE is itself, which is treated as unsigned
+        return 1 + uintLength(value < 0 ? -value : value);
+    }
+
+    private void writeListInt(final long value)
+    {
+        if (value < 0)
+        {
+            final long magnitude = -value;
+            buffer.writeTypedUInt(NEG_INT_TYPE, magnitude, uintLength(magnitude));
+        }
+        else
+        {
+            buffer.writeTypedUInt(POS_INT_TYPE, value, uintLength(value));
+        }
+    }
+
+    private boolean isFloatBinary32(final double value)
+    {
+        return isFloatBinary32Enabled && value == ((double) ((float) value));
+    }
+
+    private void writeListFloat(final double value)
+    {
+        if (isFloatBinary32(value))
+        {
+            buffer.writeTypedUInt(FLOAT_TYPE, floatToRawIntBits((float) value), 4);
+        }
+        else
+        {
+            buffer.writeTypedUInt(FLOAT_TYPE, doubleToRawLongBits(value), 8);
+        }
+    }
+
+    public void writeBoolList(final boolean[] values) throws IOException
+    {
+        writeListHeader(values.length);
+        for (final boolean value : values)
+        {
+            buffer.writeByte(value ? BOOL_TRUE : BOOL_FALSE);
+        }
+        finishValue();
+    }
+
+    public void writeFloatList(final float[] values) throws IOException
+    {
+        long length = 0;
+        for (final float value : values)
+        {
+            length += isFloatBinary32(value) ? 5 : 9;
+        }
+        writeListHeader(length);
+        for (final float value : values)
+        {
+            writeListFloat(value);
+        }
+        finishValue();
+    }
+
+    public void writeFloatList(final double[] values) throws IOException
+    {
+        long length = 0;
+        for (final double value : values)
+        {
+            length += isFloatBinary32(value) ? 5 : 9;
+        }
+        writeListHeader(length);
+        for (final double value : values)
+        {
+            writeListFloat(value);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final byte[] values) throws IOException
+    {
+        long length = 0;
+        for (final byte value : values)
+        {
+            length += intLength(value);
+        }
+        writeListHeader(length);
+        for (final byte value : values)
+        {
+            writeListInt(value);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final short[] values) throws IOException
+    {
+        long length = 0;
+        for (final short value : values)
+        {
+            length += intLength(value);
+        }
+        writeListHeader(length);
+        for (final short value : values)
+        {
+            writeListInt(value);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final int[] values) throws IOException
+    {
+        long length = 0;
+        for (final int value : values)
+        {
+            length += intLength(value);
+        }
+        writeListHeader(length);
+        for (final int value : values)
+        {
+            writeListInt(value);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final long[] values) throws IOException
+    {
+        long length = 0;
+        for (final long value : values)
+        {
+            length += intLength(value);
+        }
+        writeListHeader(length);
+        for (final long value : values)
+        {
+            writeListInt(value);
+        }
+        finishValue();
+    }
+
+    public void writeStringList(final String[] values) throws IOException
+    {
+        // the UTF-8 lengths are needed twice, for the list length and for each string's own length
+        final int[] utf8Lengths = new int[values.length];
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            final String value = values[i];
+            if (value == null)
+            {
+                length += 1;
+                continue;
+            }
+            final int utf8Length = WriteBuffer.utf8Length(value);
+            utf8Lengths[i] = utf8Length;
+            length += 1 + utf8Length;
+            if (utf8Length > 0xD)
+            {
+                length += WriteBuffer.varUIntLength(utf8Length);
+            }
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            final String value = values[i];
+            if (value == null)
+            {
+                buffer.writeByte(NULLS[STRING.ordinal()]);
+                continue;
+            }
+            final int utf8Length = utf8Lengths[i];
+            if (utf8Length <= 0xD)
+            {
+                buffer.writeUInt8(STRING_TYPE | utf8Length);
+            }
+            else
+            {
+                buffer.writeUInt8(STRING_TYPE_EXTENDED_LENGTH);
+                buffer.writeVarUInt(utf8Length);
+            }
+            buffer.writeUTF8(value);
+        }
+        finishValue();
+    }
+
     // Stream Manipulation/Terminators
 
     /*package*/ long position()
@@ -1510,9 +1761,38 @@ import java.util.NoSuchElementException;
         }
     }
 
+    /**
+     * Directs subsequent output to another stream.  The writer must have been finished, so that nothing is
+     * buffered for the previous stream, which is left open.
+     */
+    /*package*/ void setOutput(final OutputStream out)
+    {
+        if (out == null) { throw new NullPointerException(); }
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot redirect a closed writer");
+        }
+        if (currentContainerIndex >= 0 || depth > 0 || buffer.position() > 0)
+        {
+            throw new IllegalStateException("Cannot redirect a writer that has not been finished");
+        }
+        this.out = out;
+    }
+
     public void flush() throws IOException {}
 
     public void finish() throws IOException
+    {
+        finish(streamFlushMode == StreamFlushMode.FLUSH);
+    }
+
+    /** Writes out everything buffered, like {@link #finish()}, but leaves the output stream unflushed. */
+    /*package*/ void finishWithoutFlush() throws IOException
+    {
+        finish(false);
+    }
+
+    private void finish(final boolean flushStream) throws IOException
     {
         if (closed)
         {
@@ -1550,7 +1830,7 @@ import java.util.NoSuchElementException;
         patchBuffer.reset();
         buffer.reset();
 
-        if (streamFlushMode == StreamFlushMode.FLUSH)
+        if (flushStream)
         {
             out.flush();
         }
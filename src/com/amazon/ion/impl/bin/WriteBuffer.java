@@ -427,6 +427,52 @@ import java.util.List;
         return writeUTF8(chars, 0, chars.length());
     }
 
+    /**
+     * Returns the number of octets {@link #writeUTF8(CharSequence)} would
+     * write, so a length can be written ahead of the characters.
+     */
+    public static int utf8Length(final CharSequence chars)
+    {
+        final int len = chars.length();
+        int octets = len;
+        for (int off = 0; off < len; off++)
+        {
+            final char ch = chars.charAt(off);
+            if (ch < UTF8_2_OCTET_MIN_VALUE)
+            {
+                continue;
+            }
+            if (ch < UTF8_3_OCTET_MIN_VALUE)
+            {
+                octets += 1;
+            }
+            else if (ch >= LOW_SURROGATE_FIRST && ch <= LOW_SURROGATE_LAST)
+            {
+                throw new IllegalArgumentException("Unpaired low surrogate: " + (int) ch);
+            }
+            else if (ch >= HIGH_SURROGATE_FIRST && ch <= HIGH_SURROGATE_LAST)
+            {
+                off++;
+                if (off == len)
+                {
+                    throw new IllegalArgumentException("Unpaired low surrogate at end of character sequence: " + ch);
+                }
+                final int ch2 = chars.charAt(off);
+                if (ch2 < LOW_SURROGATE_FIRST || ch2 > LOW_SURROGATE_LAST)
+                {
+                    throw new IllegalArgumentException("Low surrogate with unpaired high surrogate: " + ch + " + " + ch2);
+                }
+                // two characters become four octets
+                octets += 2;
+            }
+            else
+            {
+                octets += 2;
+            }
+        }
+        return octets;
+    }
+
     // unsigned fixed integer writes -- does not check sign/bounds
 
     private static final int UINT_2_OCTET_SHIFT = 8 * 1;
@@ -641,6 +687,39 @@ import java.util.List;
 
     }
 
+    private void writeTypedUIntSlow(final int type, final long value, final int length)
+    {
+        writeByte((byte) (type | length));
+        for (int shift = 8 * (length - 1); shift >= 0; shift -= 8)
+        {
+            writeByte((byte) (value >> shift));
+        }
+    }
+
+    /**
+     * Writes a type descriptor holding a length of up to eight in its low
+     * nibble, followed by that many low octets of the value.  Used to write
+     * runs of scalars without going through a sized write for each one.
+     */
+    public void writeTypedUInt(final int type, final long value, final int length)
+    {
+        if (remaining() < 9)
+        {
+            writeTypedUIntSlow(type, value, length);
+            return;
+        }
+
+        final Block block = current;
+        final byte[] data = block.data;
+        int limit = block.limit;
+        data[limit++] = (byte) (type | length);
+        for (int shift = 8 * (length - 1); shift >= 0; shift -= 8)
+        {
+            data[limit++] = (byte) (value >> shift);
+        }
+        block.limit = limit;
+    }
+
     // signed fixed integer writes - does not check bounds (especially important for IntX.MIN_VALUE).
 
     private static final long INT8_SIGN_MASK  = 1L << ((8 * 1) - 1);
@@ -862,6 +941,17 @@ import java.util.List;
         return 5;
     }
 
+    /** Returns the number of octets {@link #writeVarUInt(long)} writes for the given value. */
+    public static int varUIntLength(final long value)
+    {
+        int length = 1;
+        for (long rest = value >>> 7; rest != 0; rest >>>= 7)
+        {
+            length++;
+        }
+        return length;
+    }
+
     public int writeVarUInt(final long value)
     {
         if (value < VAR_UINT_2_OCTET_MIN_VALUE)
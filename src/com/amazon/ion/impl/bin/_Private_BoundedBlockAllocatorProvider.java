@@ -0,0 +1,418 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pooling implementation of {@link BlockAllocatorProvider} that bounds the memory it retains.
+ * <p>
+ * Freed blocks go to a small per-thread magazine first, and overflow to a shared free list for each block size.
+ * A freed block that would take the retained total over the budget is dropped for the garbage collector instead.
+ * Blocks that stay unused for a whole trim interval are released by {@link #trim()}, which also runs
+ * opportunistically as blocks are freed, so memory taken by a burst of writes is eventually returned.
+ * <p>
+ * Share one instance between builders (see
+ * {@link _Private_IonManagedBinaryWriterBuilder#create(_Private_BoundedBlockAllocatorProvider)}) to bound the
+ * memory of all of their writers together.
+ * <p>
+ * This implementation is thread-safe.
+ */
+public final class _Private_BoundedBlockAllocatorProvider extends BlockAllocatorProvider
+{
+    /** The number of frees between checks for a due trim. */
+    private static final int TRIM_CHECK_INTERVAL = 64;
+
+    public static final int  DEFAULT_MAGAZINE_SIZE   = 4;
+    public static final long DEFAULT_TRIM_INTERVAL_MILLIS = 10000;
+
+    /**
+     * A thread's cache of free blocks of one size.  Only its thread uses it, except for trimming, so the lock is
+     * almost never contended.
+     */
+    private static final class Magazine
+    {
+        final WeakReference<Thread> owner;
+        final Block[] blocks;
+        int count;
+        /** The trim epoch in which the magazine was last used. */
+        long epoch;
+        int freesUntilTrimCheck = TRIM_CHECK_INTERVAL;
+
+        long allocations;
+        long hits;
+        long misses;
+
+        Magazine(final int size)
+        {
+            owner = new WeakReference<Thread>(Thread.currentThread());
+            blocks = new Block[size];
+        }
+    }
+
+    private final class Pool
+    {
+        final int blockSize;
+        final ConcurrentLinkedQueue<Block> sharedBlocks = new ConcurrentLinkedQueue<Block>();
+        final ConcurrentLinkedQueue<Magazine> magazines = new ConcurrentLinkedQueue<Magazine>();
+        final ThreadLocal<Magazine> localMagazine = new ThreadLocal<Magazine>()
+        {
+            @Override
+            protected Magazine initialValue()
+            {
+                final Magazine magazine = new Magazine(magazineSize);
+                magazine.epoch = trimEpoch;
+                magazines.add(magazine);
+                return magazine;
+            }
+        };
+        /** The trim epoch in which the shared blocks were last drawn on. */
+        volatile long sharedEpoch;
+
+        Pool(final int blockSize)
+        {
+            this.blockSize = blockSize;
+            this.sharedEpoch = trimEpoch;
+        }
+
+        Block allocate()
+        {
+            final Magazine magazine = localMagazine.get();
+            synchronized (magazine)
+            {
+                magazine.epoch = trimEpoch;
+                magazine.allocations++;
+                if (magazine.count > 0)
+                {
+                    magazine.hits++;
+                    final int index = --magazine.count;
+                    final Block block = magazine.blocks[index];
+                    magazine.blocks[index] = null;
+                    retainedBytes.addAndGet(-blockSize);
+                    return block;
+                }
+                Block block = sharedBlocks.poll();
+                if (block != null)
+                {
+                    magazine.hits++;
+                    sharedEpoch = trimEpoch;
+                    retainedBytes.addAndGet(-blockSize);
+                    return block;
+                }
+                magazine.misses++;
+            }
+            return new Block(new byte[blockSize])
+            {
+                @Override
+                public void close()
+                {
+                    reset();
+                    release(this);
+                }
+            };
+        }
+
+        void release(final Block block)
+        {
+            final Magazine magazine = localMagazine.get();
+            boolean trimCheck = false;
+            synchronized (magazine)
+            {
+                magazine.epoch = trimEpoch;
+                if (--magazine.freesUntilTrimCheck == 0)
+                {
+                    magazine.freesUntilTrimCheck = TRIM_CHECK_INTERVAL;
+                    trimCheck = true;
+                }
+                if (reserve(blockSize))
+                {
+                    if (magazine.count < magazine.blocks.length)
+                    {
+                        magazine.blocks[magazine.count++] = block;
+                    }
+                    else
+                    {
+                        sharedBlocks.add(block);
+                    }
+                }
+            }
+            if (trimCheck)
+            {
+                trimIfDue();
+            }
+        }
+
+        void trim(final long epoch)
+        {
+            for (final Iterator<Magazine> i = magazines.iterator(); i.hasNext();)
+            {
+                final Magazine magazine = i.next();
+                synchronized (magazine)
+                {
+                    if (magazine.epoch < epoch - 1)
+                    {
+                        while (magazine.count > 0)
+                        {
+                            magazine.blocks[--magazine.count] = null;
+                            retainedBytes.addAndGet(-blockSize);
+                        }
+                    }
+                    final Thread owner = magazine.owner.get();
+                    if (owner == null || !owner.isAlive())
+                    {
+                        // the thread can't use it again, so fold it away
+                        i.remove();
+                        retiredAllocations.addAndGet(magazine.allocations);
+                        retiredHits.addAndGet(magazine.hits);
+                        retiredMisses.addAndGet(magazine.misses);
+                        magazine.allocations = 0;
+                        magazine.hits = 0;
+                        magazine.misses = 0;
+                        while (magazine.count > 0)
+                        {
+                            magazine.blocks[--magazine.count] = null;
+                            retainedBytes.addAndGet(-blockSize);
+                        }
+                    }
+                }
+            }
+
+            if (sharedEpoch < epoch - 1)
+            {
+                while (sharedBlocks.poll() != null)
+                {
+                    retainedBytes.addAndGet(-blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * A {@link BlockAllocator} that draws on the pools of its provider.
+     * <p>
+     * This implementation is <b>not</b> thread-safe.
+     */
+    private static final class BoundedBlockAllocator extends BlockAllocator
+    {
+        private final Pool pool;
+
+        BoundedBlockAllocator(final Pool pool)
+        {
+            this.pool = pool;
+        }
+
+        @Override
+        public Block allocateBlock()
+        {
+            return pool.allocate();
+        }
+
+        @Override
+        public int getBlockSize()
+        {
+            return pool.blockSize;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private final long maxRetainedBytes;
+    private final int magazineSize;
+    private final long trimIntervalNanos;
+    private final ConcurrentMap<Integer, Pool> pools;
+
+    private final AtomicLong retainedBytes;
+    private final AtomicLong retiredAllocations;
+    private final AtomicLong retiredHits;
+    private final AtomicLong retiredMisses;
+
+    private volatile long trimEpoch;
+    private final AtomicLong nextTrimNanos;
+
+    /**
+     * @param maxRetainedBytes the most memory that free blocks may hold, across all block sizes.
+     * @param magazineSize the number of free blocks each thread caches for each block size.
+     * @param trimIntervalMillis how long a free block may go unused before it is released.
+     */
+    public _Private_BoundedBlockAllocatorProvider(final long maxRetainedBytes,
+                                                  final int magazineSize,
+                                                  final long trimIntervalMillis)
+    {
+        if (maxRetainedBytes < 0)
+        {
+            throw new IllegalArgumentException("Retained bytes cannot be negative: " + maxRetainedBytes);
+        }
+        if (magazineSize < 0)
+        {
+            throw new IllegalArgumentException("Magazine size cannot be negative: " + magazineSize);
+        }
+        if (trimIntervalMillis <= 0)
+        {
+            throw new IllegalArgumentException("Invalid trim interval: " + trimIntervalMillis);
+        }
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.magazineSize = magazineSize;
+        this.trimIntervalNanos = TimeUnit.MILLISECONDS.toNanos(trimIntervalMillis);
+        this.pools = new ConcurrentHashMap<Integer, Pool>();
+        this.retainedBytes = new AtomicLong();
+        this.retiredAllocations = new AtomicLong();
+        this.retiredHits = new AtomicLong();
+        this.retiredMisses = new AtomicLong();
+        this.nextTrimNanos = new AtomicLong(System.nanoTime() + trimIntervalNanos);
+    }
+
+    public _Private_BoundedBlockAllocatorProvider(final long maxRetainedBytes)
+    {
+        this(maxRetainedBytes, DEFAULT_MAGAZINE_SIZE, DEFAULT_TRIM_INTERVAL_MILLIS);
+    }
+
+    @Override
+    public BlockAllocator vendAllocator(final int blockSize)
+    {
+        if (blockSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+
+        Pool pool = pools.get(blockSize);
+        if (pool == null)
+        {
+            pool = new Pool(blockSize);
+            final Pool existingPool = pools.putIfAbsent(blockSize, pool);
+            if (existingPool != null)
+            {
+                pool = existingPool;
+            }
+        }
+        return new BoundedBlockAllocator(pool);
+    }
+
+    /** Claims room in the budget for a freed block, returning false if there is none. */
+    private boolean reserve(final int blockSize)
+    {
+        while (true)
+        {
+            final long retained = retainedBytes.get();
+            if (retained + blockSize > maxRetainedBytes)
+            {
+                return false;
+            }
+            if (retainedBytes.compareAndSet(retained, retained + blockSize))
+            {
+                return true;
+            }
+        }
+    }
+
+    private void trimIfDue()
+    {
+        final long now = System.nanoTime();
+        final long due = nextTrimNanos.get();
+        if (now - due >= 0 && nextTrimNanos.compareAndSet(due, now + trimIntervalNanos))
+        {
+            trim();
+        }
+    }
+
+    /**
+     * Releases the free blocks that went unused since the previous trim, along with the magazines of threads that
+     * have died.  Calling this once per trim interval, say from a scheduled task, keeps memory bounded even when no
+     * blocks are being freed.
+     */
+    public void trim()
+    {
+        final long epoch;
+        synchronized (this)
+        {
+            epoch = ++trimEpoch;
+        }
+        for (final Pool pool : pools.values())
+        {
+            pool.trim(epoch);
+        }
+    }
+
+    // Metrics
+
+    public long getMaxRetainedBytes()
+    {
+        return maxRetainedBytes;
+    }
+
+    /** Returns the memory currently held by free blocks. */
+    public long getRetainedBytes()
+    {
+        return retainedBytes.get();
+    }
+
+    /** Returns the number of blocks allocated, whether reused or new. */
+    public long getAllocations()
+    {
+        long count = retiredAllocations.get();
+        for (final Pool pool : pools.values())
+        {
+            for (final Magazine magazine : pool.magazines)
+            {
+                synchronized (magazine)
+                {
+                    count += magazine.allocations;
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Returns the number of allocations satisfied by a free block. */
+    public long getPoolHits()
+    {
+        long count = retiredHits.get();
+        for (final Pool pool : pools.values())
+        {
+            for (final Magazine magazine : pool.magazines)
+            {
+                synchronized (magazine)
+                {
+                    count += magazine.hits;
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Returns the number of allocations that had to create a new block. */
+    public long getPoolMisses()
+    {
+        long count = retiredMisses.get();
+        for (final Pool pool : pools.values())
+        {
+            for (final Magazine magazine : pool.magazines)
+            {
+                synchronized (magazine)
+                {
+                    count += magazine.misses;
+                }
+            }
+        }
+        return count;
+    }
+}
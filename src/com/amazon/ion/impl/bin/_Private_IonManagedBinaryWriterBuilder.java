@@ -67,6 +67,24 @@ public final class _Private_IonManagedBinaryWriterBuilder
         /*package*/ abstract BlockAllocatorProvider createAllocatorProvider();
     }
 
+    /** Determines what a writer does with its local symbols when it is finished. */
+    public enum LocalSymbolTableRetention
+    {
+        /** The local symbols are discarded, and the next values start a new symbol table context. */
+        NONE,
+        /**
+         * The local symbols are kept, and are declared again in full, after a version marker, before the next
+         * values that use symbols.  Each finished segment of the stream can be read on its own.
+         */
+        REEMIT,
+        /**
+         * The local symbols are kept, and the next values only declare newly added symbols, by appending to the
+         * symbol table.  Each finished segment must be read as a continuation of the ones before it, for example
+         * by a reader that is given the symbol table in effect at its start.
+         */
+        REFERENCE
+    }
+
     public static final int DEFAULT_BLOCK_SIZE = 32768;
 
     /*package*/ final    BlockAllocatorProvider provider;
@@ -78,6 +96,9 @@ public final class _Private_IonManagedBinaryWriterBuilder
     /*package*/ volatile WriteValueOptimization optimization;
     /*package*/ volatile SymbolTable            initialSymbolTable;
     /*package*/ volatile boolean                isFloatBinary32Enabled;
+    /*package*/ volatile LocalSymbolTableRetention localSymbolTableRetention;
+    /*package*/ volatile int                    maxLocalSymbols;
+    /*package*/ volatile int                    maxLocalSymbolBytes;
 
     private _Private_IonManagedBinaryWriterBuilder(final BlockAllocatorProvider provider)
     {
@@ -89,6 +110,9 @@ public final class _Private_IonManagedBinaryWriterBuilder
         this.catalog = new SimpleCatalog();
         this.optimization = WriteValueOptimization.NONE;
         this.isFloatBinary32Enabled = false;
+        this.localSymbolTableRetention = LocalSymbolTableRetention.NONE;
+        this.maxLocalSymbols = 0;
+        this.maxLocalSymbolBytes = 0;
     }
 
     private _Private_IonManagedBinaryWriterBuilder(final _Private_IonManagedBinaryWriterBuilder other)
@@ -102,6 +126,9 @@ public final class _Private_IonManagedBinaryWriterBuilder
         this.optimization       = other.optimization;
         this.initialSymbolTable = other.initialSymbolTable;
         this.isFloatBinary32Enabled = other.isFloatBinary32Enabled;
+        this.localSymbolTableRetention = other.localSymbolTableRetention;
+        this.maxLocalSymbols    = other.maxLocalSymbols;
+        this.maxLocalSymbolBytes = other.maxLocalSymbolBytes;
     }
 
     public _Private_IonManagedBinaryWriterBuilder copy()
@@ -203,6 +230,37 @@ public final class _Private_IonManagedBinaryWriterBuilder
         return this;
     }
 
+    /**
+     * Determines whether writers keep their local symbols across {@link IonWriter#finish()} and
+     * {@link _Private_IonManagedWriter#reset(OutputStream)}, so that a long-lived writer emitting many messages
+     * doesn't rebuild its symbol table for each.
+     */
+    public _Private_IonManagedBinaryWriterBuilder withLocalSymbolTableRetention(final LocalSymbolTableRetention retention)
+    {
+        if (retention == null) { throw new NullPointerException(); }
+        this.localSymbolTableRetention = retention;
+        return this;
+    }
+
+    /**
+     * Makes writers start a new local symbol table, after a version marker, before the next top-level value once the
+     * current table declares at least the given number of local symbols or bytes of encoded symbol text.  This
+     * bounds the symbol tables that both writers and readers hold for long streams with many distinct symbols.
+     *
+     * @param maxSymbols the number of local symbols, or zero for no limit.
+     * @param maxSymbolBytes the size of the local symbols' encoding, or zero for no limit.
+     */
+    public _Private_IonManagedBinaryWriterBuilder withLocalSymbolTableRotation(final int maxSymbols, final int maxSymbolBytes)
+    {
+        if (maxSymbols < 0 || maxSymbolBytes < 0)
+        {
+            throw new IllegalArgumentException("Symbol table limits cannot be negative: " + maxSymbols + ", " + maxSymbolBytes);
+        }
+        this.maxLocalSymbols = maxSymbols;
+        this.maxLocalSymbolBytes = maxSymbolBytes;
+        return this;
+    }
+
     public _Private_IonManagedBinaryWriterBuilder withInitialSymbolTable(SymbolTable symbolTable)
     {
         if (symbolTable != null)
@@ -277,4 +335,14 @@ public final class _Private_IonManagedBinaryWriterBuilder
     {
         return new _Private_IonManagedBinaryWriterBuilder(allocatorMode.createAllocatorProvider());
     }
+
+    /**
+     * Constructs a new builder that allocates from the given pool, which may be shared with other builders to
+     * bound the memory retained for all of their writers.
+     */
+    public static _Private_IonManagedBinaryWriterBuilder create(final _Private_BoundedBlockAllocatorProvider provider)
+    {
+        if (provider == null) { throw new NullPointerException(); }
+        return new _Private_IonManagedBinaryWriterBuilder(provider);
+    }
 }
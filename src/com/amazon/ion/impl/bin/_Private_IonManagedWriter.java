@@ -17,6 +17,7 @@ package com.amazon.ion.impl.bin;
 
 import com.amazon.ion.IonWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * An {@link IonWriter} that manages local symbol tables, while providing access
@@ -61,4 +62,14 @@ public interface _Private_IonManagedWriter extends IonWriter
      */
     void requireLocalSymbolTable() throws IOException;
 
+    /**
+     * Finishes the current stream and directs subsequent output to another,
+     * reusing this writer's buffers. Local symbols are kept or discarded as
+     * configured by the builder's
+     * {@link _Private_IonManagedBinaryWriterBuilder.LocalSymbolTableRetention}.
+     * The previous stream is not closed.
+     * @param out the stream to write to next; must not be null.
+     * @throws IOException
+     */
+    void reset(OutputStream out) throws IOException;
 }
@@ -15,18 +15,24 @@
 
 package com.amazon.ion.impl.lite;
 
+import static com.amazon.ion.impl._Private_IonReaderFactory.makeContinuationReader;
+
 import com.amazon.ion.ContainedValueException;
 import com.amazon.ion.IonContainer;
 import com.amazon.ion.IonDatagram;
 import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
 import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
 import com.amazon.ion.NullValueException;
 import com.amazon.ion.ReadOnlyValueException;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.ValueVisitor;
+import com.amazon.ion.impl._Private_EncodedValueReader;
 import com.amazon.ion.impl._Private_IonConstants;
 import com.amazon.ion.impl._Private_IonContainer;
 import com.amazon.ion.impl._Private_Utils;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.ListIterator;
@@ -41,6 +47,12 @@ abstract class IonContainerLite
     protected IonValueLite[] _children;
     protected int            structuralModificationCount;
 
+    /**
+     * The encoding of this container when it was loaded lazily and its
+     * children haven't been decoded yet; otherwise null.
+     */
+    private volatile LazyContent _lazy;
+
     protected IonContainerLite(ContainerlessContext context, boolean isNull)
     {
         // we'll let IonValueLite handle this work as we always need to know
@@ -50,6 +62,12 @@ abstract class IonContainerLite
 
     IonContainerLite(IonContainerLite existing, IonContext context, boolean isStruct) {
         super(existing, context);
+        // the existing children aren't complete until its _lazy is cleared
+        LazyContent lazy = existing._lazy;
+        if (lazy != null) {
+            this._lazy = new LazyContent(lazy);
+            return;
+        }
         boolean retainingSIDs = false;
         int childCount = existing._child_count;
         this._child_count = childCount;
@@ -105,6 +123,12 @@ abstract class IonContainerLite
             assert _child_count == 0;
             _isNullValue(false);
         }
+        else if (_lazy != null)
+        {
+            // there are no decoded children to detach
+            _lazy = null;
+            structuralModificationCount++;
+        }
         else if (!isEmpty())
         {
             detachAllChildren();
@@ -186,6 +210,7 @@ abstract class IonContainerLite
             if (_isLocked() && !readOnly) {
                 throw new IllegalStateException("you can't open an updatable iterator on a read only value");
             }
+            if (_lazy != null) materialize();
             if (index < 0 || index > _child_count) {
                 throw new IndexOutOfBoundsException(Integer.toString(index));
             }
@@ -557,6 +582,181 @@ abstract class IonContainerLite
                && (child._elementid() == index));
     }
 
+    //////////////////////////////////////////////////////
+    //////////////////////////////////////////////////////
+
+    // lazily-loaded children
+
+    //////////////////////////////////////////////////////
+    //////////////////////////////////////////////////////
+
+
+    /**
+     * The Ion binary encoding of a lazily-loaded container, starting at its
+     * type descriptor (so excluding any field name and annotations), and the
+     * symbol table needed to decode it.
+     */
+    static final class LazyContent
+    {
+        final byte[]      bytes;
+        final int         offset;
+        final int         length;
+        final SymbolTable symbols;
+
+        /** Set while the children are decoded, to ignore re-entrant calls. */
+        boolean           loading;
+
+        LazyContent(byte[] bytes, int offset, int length, SymbolTable symbols)
+        {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            this.symbols = symbols;
+        }
+
+        LazyContent(LazyContent existing)
+        {
+            this(existing.bytes, existing.offset, existing.length,
+                 existing.symbols);
+        }
+
+        /**
+         * @return a reader positioned on the container.
+         */
+        IonReader newReader(IonSystemLite system)
+        {
+            IonReader reader =
+                makeContinuationReader(system.getCatalog(), bytes, offset,
+                                       length, symbols,
+                                       system.getLstFactory());
+            reader.next();
+            return reader;
+        }
+    }
+
+    /**
+     * Makes this empty container a lazy view of the given encoding.
+     */
+    final void setLazyContent(LazyContent lazy)
+    {
+        assert _child_count == 0;
+        _lazy = lazy;
+    }
+
+    /**
+     * @return the encoding of this container if its children haven't been
+     * decoded; otherwise null.
+     */
+    final LazyContent getLazyContent()
+    {
+        return _lazy;
+    }
+
+    /**
+     * Decodes the children of a lazily-loaded container. This may be called
+     * by several threads at once, since read-only values must support
+     * concurrent reads.
+     */
+    private void materialize()
+    {
+        LazyContent lazy = _lazy;
+        if (lazy == null) return;
+
+        synchronized (lazy)
+        {
+            // adding the children calls back here (for example when a struct
+            // builds its field map) while they are incomplete
+            if (_lazy == null || lazy.loading) return;
+            lazy.loading = true;
+
+            boolean loaded = false;
+            try
+            {
+                IonSystemLite system = getSystem();
+                IonReader reader = lazy.newReader(system);
+                _Private_EncodedValueReader encoded =
+                    reader.asFacet(_Private_EncodedValueReader.class);
+                reader.stepIn();
+                while (reader.next() != null)
+                {
+                    IonValueLite child = system.load_lazy_value(reader, encoded);
+                    add_loaded_child(child);
+                    if (_isLocked()) {
+                        child.makeReadOnlyInternal();
+                    }
+                }
+
+                // publishes the children to other threads
+                _lazy = null;
+                loaded = true;
+            }
+            finally
+            {
+                lazy.loading = false;
+                if (!loaded)
+                {
+                    // stay lazy, so the next access fails the same way
+                    // rather than seeing some of the children
+                    discard_loaded_children();
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a child decoded from this container's lazy encoding, without
+     * checking locks.
+     */
+    void add_loaded_child(IonValueLite child)
+    {
+        add_child(_child_count, child);
+    }
+
+    /**
+     * Removes the children decoded so far from this container's lazy
+     * encoding, after decoding it failed.
+     */
+    void discard_loaded_children()
+    {
+        detachAllChildren();
+        _children = null;
+        _child_count = 0;
+    }
+
+    /**
+     * Writes this container's encoding if its children haven't been
+     * decoded, so that binary writers can copy it without decoding it.
+     *
+     * @return false if the children have been decoded, so the caller must
+     * write them.
+     */
+    final boolean writeLazyBodyTo(IonWriter writer)
+        throws IOException
+    {
+        LazyContent lazy = _lazy;
+        if (lazy == null) return false;
+
+        IonReader reader = lazy.newReader(getSystem());
+        if (getTypeAnnotationSymbols().length == 0)
+        {
+            writer.writeValue(reader);
+        }
+        else
+        {
+            // Some writers replace pending annotations with the reader's
+            // (none), so only the children are copied.
+            writer.stepIn(getType());
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                writer.writeValue(reader);
+            }
+            writer.stepOut();
+        }
+        return true;
+    }
+
+
     //////////////////////////////////////////////////////
     //////////////////////////////////////////////////////
 
@@ -640,10 +840,12 @@ abstract class IonContainerLite
     }
 
     public final int get_child_count() {
+        if (_lazy != null) materialize();
         return _child_count;
     }
 
     public final IonValueLite get_child(int idx) {
+        if (_lazy != null) materialize();
         if (idx < 0 || idx >= _child_count) {
             throw new IndexOutOfBoundsException(Integer.toString(idx));
         }
@@ -16,6 +16,7 @@
 package com.amazon.ion.impl.lite;
 
 import com.amazon.ion.Decimal;
+import com.amazon.ion.DecimalWriter;
 import com.amazon.ion.IonDecimal;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
@@ -23,6 +24,7 @@ import com.amazon.ion.NullValueException;
 import com.amazon.ion.ValueVisitor;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 
 final class IonDecimalLite
@@ -54,6 +56,15 @@ final class IonDecimalLite
 
     private BigDecimal _decimal_value;
 
+    /**
+     * When {@link #_decimal_value} is null on a non-null value, the value is
+     * {@code _unscaled_value} &times; 10<sup>-_scale</sup>.  Most decimals
+     * fit this way, so they're held without a BigDecimal until one is asked
+     * for.
+     */
+    private long _unscaled_value;
+    private int  _scale;
+
     /**
      * Constructs a <code>null.decimal</code> element.
      */
@@ -67,6 +78,8 @@ final class IonDecimalLite
         super(existing, context);
         // we can shallow copy as BigDecimal is immutable
         this._decimal_value = existing._decimal_value;
+        this._unscaled_value = existing._unscaled_value;
+        this._scale = existing._scale;
     }
 
     @Override
@@ -112,7 +125,7 @@ final class IonDecimalLite
         throws NullValueException
     {
         if (_isNullValue()) throw new NullValueException();
-        float f = _decimal_value.floatValue();
+        float f = value().floatValue();
         return f;
     }
 
@@ -120,26 +133,28 @@ final class IonDecimalLite
         throws NullValueException
     {
         if (_isNullValue()) throw new NullValueException();
-        double d = _decimal_value.doubleValue();
+        double d = value().doubleValue();
         return d;
     }
 
     public BigDecimal bigDecimalValue()
         throws NullValueException
     {
-        return Decimal.bigDecimalValue(_decimal_value); // Works for null.
+        return Decimal.bigDecimalValue(value()); // Works for null.
     }
 
     public Decimal decimalValue()
         throws NullValueException
     {
+        if (isCompact()) {
+            return Decimal.valueOf(BigInteger.valueOf(_unscaled_value), _scale);
+        }
         return Decimal.valueOf(_decimal_value); // Works for null.
     }
 
     public void setValue(long value)
     {
-        // base setValue will check for the lock
-        setValue(Decimal.valueOf(value));
+        setValue(value, 0);
     }
 
     public void setValue(float value)
@@ -161,11 +176,47 @@ final class IonDecimalLite
         _isNullValue(value == null);
     }
 
+    /**
+     * Sets the value to {@code unscaledValue} &times; 10<sup>-scale</sup>,
+     * without creating a BigDecimal.
+     */
+    void setValue(long unscaledValue, int scale)
+    {
+        checkForLock();
+        _decimal_value = null;
+        _unscaled_value = unscaledValue;
+        _scale = scale;
+        _isNullValue(false);
+    }
+
+    private boolean isCompact()
+    {
+        return _decimal_value == null && !_isNullValue();
+    }
+
+    /**
+     * @return the value, or null; keeps a negative zero.
+     */
+    private BigDecimal value()
+    {
+        if (isCompact()) {
+            return BigDecimal.valueOf(_unscaled_value, _scale);
+        }
+        return _decimal_value;
+    }
+
     @Override
     final void writeBodyTo(IonWriter writer, SymbolTableProvider symbolTableProvider)
         throws IOException
     {
-        writer.writeDecimal(_decimal_value);
+        DecimalWriter decimals;
+        if (isCompact()
+            && (decimals = writer.asFacet(DecimalWriter.class)) != null) {
+            decimals.writeDecimal(_unscaled_value, _scale);
+        }
+        else {
+            writer.writeDecimal(value());
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@
 package com.amazon.ion.impl.lite;
 
 import static com.amazon.ion.impl._Private_IonReaderFactory.makeReader;
+import static com.amazon.ion.util.IonStreamUtils.isIonBinary;
 
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonDatagram;
@@ -23,9 +24,14 @@ import com.amazon.ion.IonException;
 import com.amazon.ion.IonLoader;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl._Private_EncodedValueReader;
+import com.amazon.ion.impl._Private_IonWriterBase;
 import com.amazon.ion.impl._Private_IonWriterFactory;
 import com.amazon.ion.impl._Private_LocalSymbolTableFactory;
+import com.amazon.ion.impl._Private_ReaderWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -43,6 +49,8 @@ final class IonLoaderLite
 
     private final _Private_LocalSymbolTableFactory _lstFactory;
 
+    private final boolean _lazyLoading;
+
     /**
      * @param system must not be null.
      * @param catalog must not be null.
@@ -55,6 +63,7 @@ final class IonLoaderLite
         _system = system;
         _catalog = catalog;
         _lstFactory = _system.getLstFactory();
+        _lazyLoading = _system.isLazyLoading();
     }
 
     public IonSystem getSystem()
@@ -82,6 +91,56 @@ final class IonLoaderLite
         return datagram;
     }
 
+    /**
+     * Loads Ion binary leaving each non-null container undecoded until it's
+     * first accessed. The datagram retains the given array.
+     *
+     * @return a new datagram; not null.
+     */
+    private IonDatagramLite load_lazily(byte[] ionData)
+        throws IOException
+    {
+        IonDatagramLite datagram = new IonDatagramLite(_system, _catalog);
+        _Private_IonWriterBase writer = (_Private_IonWriterBase)
+            _Private_IonWriterFactory.makeWriter(datagram);
+
+        IonReader reader =
+            makeReader(_catalog, ionData, 0, ionData.length, _lstFactory);
+        try
+        {
+            _Private_EncodedValueReader encoded =
+                reader.asFacet(_Private_EncodedValueReader.class);
+            _Private_ReaderWriter symtabs = (_Private_ReaderWriter) reader;
+
+            IonType type;
+            while ((type = reader.next()) != null)
+            {
+                // Carry the symbol tables over as IonWriter.writeValues()
+                // does, so the datagram's system view matches an eager load.
+                SymbolTable symbols = symtabs.pop_passed_symbol_table();
+                if (symbols != null)
+                {
+                    writer.setSymbolTable(symbols);
+                    while (symtabs.pop_passed_symbol_table() != null) { }
+                }
+
+                if (IonType.isContainer(type) && ! reader.isNullValue())
+                {
+                    datagram.add(_system.load_lazy_value(reader, encoded));
+                }
+                else
+                {
+                    writer.writeValue(reader);
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+        return datagram;
+    }
+
     public IonDatagram load(File ionFile) throws IonException, IOException
     {
         InputStream ionData = new FileInputStream(ionFile);
@@ -124,6 +183,16 @@ final class IonLoaderLite
 
     public IonDatagram load(byte[] ionData) throws IonException
     {
+        if (_lazyLoading && isIonBinary(ionData))
+        {
+            try {
+                return load_lazily(ionData);
+            }
+            catch (IOException e) {
+                throw new IonException(e);
+            }
+        }
+
         IonReader reader = makeReader(_catalog, ionData, 0, ionData.length, _lstFactory);
         try {
             return load(reader);
@@ -491,6 +491,26 @@ final class IonStructLite
         }
     }
 
+    @Override
+    void add_loaded_child(IonValueLite child)
+    {
+        String fieldName = child.getFieldName();
+        hasNullFieldName |= fieldName == null;
+        int idx = add_child(_child_count, child);
+        if (_field_map != null) {
+            add_field(fieldName, idx);
+        }
+    }
+
+    @Override
+    void discard_loaded_children()
+    {
+        super.discard_loaded_children();
+        _field_map = null;
+        _field_map_duplicate_count = 0;
+        hasNullFieldName = false;
+    }
+
     public void add(String fieldName, IonValue value)
     {
         // Validate everything before altering the child
@@ -803,7 +823,7 @@ final class IonStructLite
         {
             writer.writeNull(IonType.STRUCT);
         }
-        else
+        else if (!writeLazyBodyTo(writer))
         {
             writer.stepIn(IonType.STRUCT);
             writeChildren(writer, this, symbolTableProvider);
@@ -25,6 +25,7 @@ import static com.amazon.ion.impl._Private_Utils.initialSymtab;
 import static com.amazon.ion.impl._Private_Utils.newSymbolToken;
 import static com.amazon.ion.util.IonTextUtils.printString;
 
+import com.amazon.ion.DecimalReader;
 import com.amazon.ion.IonBinaryWriter;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonContainer;
@@ -42,11 +43,13 @@ import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.UnexpectedEofException;
 import com.amazon.ion.UnsupportedIonVersionException;
+import com.amazon.ion.impl._Private_EncodedValueReader;
 import com.amazon.ion.impl._Private_IonBinaryWriterBuilder;
 import com.amazon.ion.impl._Private_IonSystem;
 import com.amazon.ion.impl._Private_IonWriterFactory;
 import com.amazon.ion.impl._Private_ScalarConversions.CantConvertException;
 import com.amazon.ion.impl._Private_Utils;
+import com.amazon.ion.impl.lite.IonContainerLite.LazyContent;
 import com.amazon.ion.system.IonReaderBuilder;
 import com.amazon.ion.system.IonTextWriterBuilder;
 import java.io.Closeable;
@@ -79,10 +82,26 @@ final class IonSystemLite
     /** Immutable. **/
     private final IonReaderBuilder myReaderBuilder;
 
+    private final boolean myLazyLoading;
+
     public IonSystemLite(IonTextWriterBuilder twb,
                           _Private_IonBinaryWriterBuilder bwb,
                           IonReaderBuilder rb)
     {
+        this(twb, bwb, rb, false);
+    }
+
+    /**
+     * @param lazyLoading whether loaders decode the containers of Ion binary
+     * only when they're first accessed.
+     */
+    public IonSystemLite(IonTextWriterBuilder twb,
+                          _Private_IonBinaryWriterBuilder bwb,
+                          IonReaderBuilder rb,
+                          boolean lazyLoading)
+    {
+        myLazyLoading = lazyLoading;
+
         IonCatalog catalog = twb.getCatalog();
         assert catalog != null;
         assert catalog == bwb.getCatalog();
@@ -112,6 +131,15 @@ final class IonSystemLite
         return myBinaryWriterBuilder.isStreamCopyOptimized();
     }
 
+    /**
+     * Indicates whether loaders decode the containers of Ion binary only
+     * when they're first accessed.
+     */
+    boolean isLazyLoading()
+    {
+        return myLazyLoading;
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends IonValue> T clone(T value) throws IonException
     {
@@ -314,14 +342,33 @@ final class IonSystemLite
 
     public IonValueLite newValue(IonReader reader)
     {
-        IonValueLite value = load_value_helper(reader, /*isTopLevel*/ true);
+        IonValueLite value = load_value_helper(reader, /*isTopLevel*/ true, null);
         if (value == null) {
             throw new IonException("No value available");
         }
         return value;
     }
 
-    private IonValueLite load_value_helper(IonReader reader, boolean isTopLevel)
+    /**
+     * Loads the reader's current value, leaving its non-null containers
+     * undecoded and backed by the reader's input buffer.
+     *
+     * @param encoded the reader's facet locating the value's encoding.
+     */
+    IonValueLite load_lazy_value(IonReader reader,
+                                 _Private_EncodedValueReader encoded)
+    {
+        boolean isTopLevel = (reader.getDepth() == 0);
+        return load_value_helper(reader, isTopLevel, encoded);
+    }
+
+    /**
+     * @param encoded if not null, non-null containers are loaded lazily
+     * from the encoding it locates.
+     */
+    private IonValueLite load_value_helper(IonReader reader,
+                                           boolean isTopLevel,
+                                           _Private_EncodedValueReader encoded)
     {
         boolean symbol_is_present = false;
 
@@ -347,7 +394,14 @@ final class IonSystemLite
                 v = newFloat(reader.doubleValue());
                 break;
             case DECIMAL:
-                v = newDecimal(reader.decimalValue());
+                DecimalReader decimals = reader.asFacet(DecimalReader.class);
+                if (decimals != null && decimals.decimalFitsLong()) {
+                    v = newDecimal(decimals.decimalUnscaledValue(),
+                                   decimals.decimalScale());
+                }
+                else {
+                    v = newDecimal(reader.decimalValue());
+                }
                 break;
             case TIMESTAMP:
                 v = newTimestamp(reader.timestampValue());
@@ -423,9 +477,19 @@ final class IonSystemLite
             case LIST:
             case SEXP:
             case STRUCT:
+                if (encoded != null) {
+                    LazyContent lazy =
+                        new LazyContent(encoded.encodedBuffer(),
+                                        encoded.encodedValueOffset(),
+                                        encoded.encodedValueLength(),
+                                        reader.getSymbolTable());
+                    ((IonContainerLite)v).setLazyContent(lazy);
+                    // we can't tell without decoding the children
+                    symbol_is_present = true;
+                }
                 // we have to load the children after we grabbed the
                 // fieldname and annotations off of the parent container
-                if (load_children((IonContainerLite)v, reader)) {
+                else if (load_children((IonContainerLite)v, reader)) {
                     symbol_is_present = true;
                 }
                 break;
@@ -453,7 +517,7 @@ final class IonSystemLite
             if (t == null) {
                 break;
             }
-            IonValueLite child = load_value_helper(reader, /*isTopLevel*/ false);
+            IonValueLite child = load_value_helper(reader, /*isTopLevel*/ false, null);
 
             container.add(child);
 
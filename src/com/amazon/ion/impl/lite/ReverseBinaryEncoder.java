@@ -47,6 +47,7 @@ import com.amazon.ion.Decimal;
 import com.amazon.ion.IonBlob;
 import com.amazon.ion.IonBool;
 import com.amazon.ion.IonClob;
+import com.amazon.ion.IonContainer;
 import com.amazon.ion.IonDatagram;
 import com.amazon.ion.IonDecimal;
 import com.amazon.ion.IonException;
@@ -348,12 +349,16 @@ class ReverseBinaryEncoder
 
     private void writeBytes(byte[] bytes)
     {
-        int length = bytes.length;
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeBytes(byte[] bytes, int start, int length)
+    {
         int offset = myOffset;
         if ((offset -= length) < 0) {
             offset = growBuffer(offset);
         }
-        System.arraycopy(bytes, 0, myBuffer, offset, length);
+        System.arraycopy(bytes, start, myBuffer, offset, length);
         myOffset = offset;
     }
 
@@ -1127,6 +1132,8 @@ class ReverseBinaryEncoder
 
     private void writeIonSequenceContent(IonSequence seq)
     {
+        if (writeLazyContent(seq)) return;
+
         final int originalOffset = myBuffer.length - myOffset;
         IonValue[] values = seq.toArray();
 
@@ -1157,7 +1164,7 @@ class ReverseBinaryEncoder
         {
             writeByte((byte) (TYPE_STRUCT | NULL_LENGTH_MASK));
         }
-        else
+        else if (!writeLazyContent(val))
         {
             final int originalOffset = myBuffer.length - myOffset;
 
@@ -1191,6 +1198,29 @@ class ReverseBinaryEncoder
         }
     }
 
+    /**
+     * Copies the encoding of a container whose children haven't been decoded
+     * since it was loaded, if its symbol IDs mean the same thing in the
+     * symbol table being written. Local tables only gain symbols while
+     * encoding, so their existing IDs stay valid.
+     *
+     * @return false if the container's children must be written.
+     */
+    private boolean writeLazyContent(IonContainer container)
+    {
+        if (!(container instanceof IonContainerLite)) return false;
+
+        IonContainerLite.LazyContent lazy =
+            ((IonContainerLite) container).getLazyContent();
+        if (lazy == null) return false;
+
+        SymbolTable symbols = lazy.symbols;
+        if (symbols != mySymbolTable && !symbols.isSystemTable()) return false;
+
+        writeBytes(lazy.bytes, lazy.offset, lazy.length);
+        return true;
+    }
+
     private void writeIonDatagramContent(IonDatagram dg)
     {
         ListIterator<IonValue> reverseIter = dg.listIterator(dg.size());
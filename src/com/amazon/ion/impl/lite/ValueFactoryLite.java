@@ -100,6 +100,17 @@ abstract class ValueFactoryLite
         return ionValue;
     }
 
+    /**
+     * Creates a decimal of {@code unscaledValue} &times;
+     * 10<sup>-scale</sup>, held without a BigDecimal.
+     */
+    IonDecimalLite newDecimal(long unscaledValue, int scale)
+    {
+        IonDecimalLite ionValue = new IonDecimalLite(_context, false);
+        ionValue.setValue(unscaledValue, scale);
+        return ionValue;
+    }
+
     public IonDecimalLite newDecimal(double value)
     {
         IonDecimalLite ionValue = new IonDecimalLite(_context, false);
@@ -0,0 +1,607 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.system;
+
+import static com.amazon.ion.SystemSymbols.ION_SHARED_SYMBOL_TABLE;
+import static com.amazon.ion.SystemSymbols.NAME;
+import static com.amazon.ion.SystemSymbols.VERSION;
+
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonMutableCatalog;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl._Private_Utils;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+
+/**
+ * An implementation of {@link IonCatalog} for heavy concurrent use.
+ * Lookups never lock, and when there's no exact match for a requested
+ * version the best match is found in logarithmic time.  The best match is
+ * chosen as by {@link SimpleCatalog}: the lowest version newer than the one
+ * requested, or failing that, the highest version.
+ * <p>
+ * The catalog can also load shared symbol tables on demand from a
+ * {@link TableLoader}, such as one reading a
+ * {@linkplain #directoryLoader(File) directory of Ion files}.  At most a
+ * given number of loaded tables stay resident; when another is loaded, the
+ * least recently used is dropped and will be loaded again if needed.
+ * Recency is tracked between loads, so lookups needn't lock or count.
+ * Tables added by {@link #putTable(SymbolTable)} are never dropped, and
+ * hide any loadable table with the same name and version.
+ * <p>
+ * Instances are safe for use by multiple threads.
+ */
+public class ConcurrentCatalog
+    implements IonMutableCatalog, Iterable<SymbolTable>
+{
+    /**
+     * Provides shared symbol tables for a {@link ConcurrentCatalog} to load
+     * on demand.
+     * <p>
+     * Implementations must be safe for use by multiple threads.
+     */
+    public interface TableLoader
+    {
+        /**
+         * Gets the versions of a table that can be loaded.
+         *
+         * @return the versions in ascending order; not null.
+         */
+        int[] getVersions(String name);
+
+        /**
+         * Loads a table.
+         *
+         * @param version one of the versions returned by
+         * {@link #getVersions(String)}.
+         *
+         * @return the shared symbol table; not null.
+         *
+         * @throws IonException if the table can't be loaded.
+         */
+        SymbolTable load(String name, int version);
+    }
+
+
+    private static final int[] NO_VERSIONS = new int[0];
+
+    /**
+     * A table and when it was last used.  Tables put in the catalog are
+     * pinned and never dropped.
+     */
+    private static final class Entry
+    {
+        final SymbolTable table;
+        final boolean     pinned;
+        /** The load clock when this was last used. */
+        volatile long     lastUsed;
+
+        Entry(SymbolTable table, boolean pinned, long lastUsed)
+        {
+            this.table = table;
+            this.pinned = pinned;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+
+    private final ConcurrentMap<String, ConcurrentSkipListMap<Integer, Entry>> myTablesByName =
+        new ConcurrentHashMap<String, ConcurrentSkipListMap<Integer, Entry>>();
+
+    private final TableLoader myLoader;
+    private final int         myMaxLoaded;
+
+    /** Guards loading and dropping tables, but not lookups. */
+    private final Object myLoadLock = new Object();
+    /** Counts loads; lookups stamp their entries with it. */
+    private volatile long myClock;
+    /** Loaded tables that may be dropped; guarded by myLoadLock. */
+    private int myLoadedCount;
+
+
+    /**
+     * Creates an empty catalog that doesn't load tables.
+     */
+    public ConcurrentCatalog()
+    {
+        myLoader = null;
+        myMaxLoaded = 0;
+    }
+
+    /**
+     * Creates an empty catalog that loads tables on demand.
+     *
+     * @param loader must not be null.
+     * @param maxLoaded the number of loaded tables to keep resident.
+     *
+     * @throws IllegalArgumentException if {@code maxLoaded} is less than 1.
+     */
+    public ConcurrentCatalog(TableLoader loader, int maxLoaded)
+    {
+        loader.getClass(); // Force NPE
+        if (maxLoaded < 1)
+        {
+            throw new IllegalArgumentException("maxLoaded must be positive");
+        }
+        myLoader = loader;
+        myMaxLoaded = maxLoaded;
+    }
+
+
+    public SymbolTable getTable(String name)
+    {
+        checkName(name);
+
+        ConcurrentSkipListMap<Integer, Entry> versions =
+            myTablesByName.get(name);
+        Map.Entry<Integer, Entry> highest =
+            (versions == null ? null : versions.lastEntry());
+
+        int[] loadable = loadableVersions(name);
+        if (loadable.length != 0)
+        {
+            int version = loadable[loadable.length - 1];
+            if (highest == null || highest.getKey() < version)
+            {
+                return load(name, version);
+            }
+        }
+
+        return (highest == null ? null : use(highest.getValue()));
+    }
+
+    public SymbolTable getTable(String name, int version)
+    {
+        checkName(name);
+        if (version < 1)
+        {
+            throw new IllegalArgumentException("version is < 1");
+        }
+
+        ConcurrentSkipListMap<Integer, Entry> versions =
+            myTablesByName.get(name);
+        if (versions != null)
+        {
+            Entry exact = versions.get(version);
+            if (exact != null) return use(exact);
+        }
+
+        int[] loadable = loadableVersions(name);
+        if (Arrays.binarySearch(loadable, version) >= 0)
+        {
+            return load(name, version);
+        }
+
+        // Find the best resident and loadable matches, then the better one.
+        Map.Entry<Integer, Entry> resident = null;
+        if (versions != null)
+        {
+            resident = versions.higherEntry(version);
+            if (resident == null) resident = versions.lastEntry();
+        }
+
+        int best = bestLoadable(loadable, version);
+        if (best != 0
+            && (resident == null || isBetter(best, resident.getKey(), version)))
+        {
+            return load(name, best);
+        }
+        return (resident == null ? null : use(resident.getValue()));
+    }
+
+    /**
+     * @return the lowest loadable version above the requested one, or the
+     * highest loadable version, or zero if none.
+     */
+    private static int bestLoadable(int[] loadable, int version)
+    {
+        if (loadable.length == 0) return 0;
+
+        // The version isn't present, so this is -(insertion point) - 1.
+        int higher = -Arrays.binarySearch(loadable, version) - 1;
+        return (higher < loadable.length
+                ? loadable[higher]
+                : loadable[loadable.length - 1]);
+    }
+
+    private static boolean isBetter(int candidate, int current, int requested)
+    {
+        if (candidate > requested)
+        {
+            return current < requested || candidate < current;
+        }
+        return current < requested && candidate > current;
+    }
+
+
+    public void putTable(SymbolTable table)
+    {
+        if (table.isLocalTable() || table.isSystemTable() || table.isSubstitute())
+        {
+            throw new IllegalArgumentException("table cannot be local or system or substitute table");
+        }
+
+        String name = table.getName();
+        int version = table.getVersion();
+        assert version >= 0;
+
+        Entry previous = versionsOf(name).put(version,
+                                              new Entry(table, true, myClock));
+        if (previous != null && !previous.pinned)
+        {
+            synchronized (myLoadLock)
+            {
+                myLoadedCount--;
+            }
+        }
+    }
+
+
+    /**
+     * Removes a symbol table from this catalog.  A table that can be loaded
+     * will be loaded again if it's needed.
+     *
+     * @return the removed table, or <code>null</code> if this catalog has
+     * no matching resident table.
+     */
+    public SymbolTable removeTable(String name, int version)
+    {
+        ConcurrentSkipListMap<Integer, Entry> versions =
+            myTablesByName.get(name);
+        if (versions == null) return null;
+
+        // Empty version maps are kept, since removing them would race with
+        // putTable.
+        Entry removed = versions.remove(version);
+        if (removed == null) return null;
+
+        if (!removed.pinned)
+        {
+            synchronized (myLoadLock)
+            {
+                myLoadedCount--;
+            }
+        }
+        return removed.table;
+    }
+
+
+    /**
+     * Constructs an iterator that enumerates all of the shared symbol tables
+     * resident in this catalog, at the time of method invocation.  Tables
+     * that can be loaded but aren't resident are not included.
+     *
+     * @return a non-null, but potentially empty, iterator.
+     */
+    public Iterator<SymbolTable> iterator()
+    {
+        ArrayList<SymbolTable> tables = new ArrayList<SymbolTable>();
+        for (ConcurrentSkipListMap<Integer, Entry> versions
+                 : myTablesByName.values())
+        {
+            for (Entry entry : versions.values())
+            {
+                tables.add(entry.table);
+            }
+        }
+        return tables.iterator();
+    }
+
+
+    //=========================================================================
+
+
+    private static void checkName(String name)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("name is null");
+        }
+        if (name.length() == 0)
+        {
+            throw new IllegalArgumentException("name is empty");
+        }
+    }
+
+    private ConcurrentSkipListMap<Integer, Entry> versionsOf(String name)
+    {
+        ConcurrentSkipListMap<Integer, Entry> versions =
+            myTablesByName.get(name);
+        if (versions == null)
+        {
+            versions = new ConcurrentSkipListMap<Integer, Entry>();
+            ConcurrentSkipListMap<Integer, Entry> extant =
+                myTablesByName.putIfAbsent(name, versions);
+            if (extant != null) versions = extant;
+        }
+        return versions;
+    }
+
+    private SymbolTable use(Entry entry)
+    {
+        // Only write when stale, so hot tables don't bounce between caches.
+        long clock = myClock;
+        if (entry.lastUsed != clock)
+        {
+            entry.lastUsed = clock;
+        }
+        return entry.table;
+    }
+
+    private int[] loadableVersions(String name)
+    {
+        return (myLoader == null ? NO_VERSIONS : myLoader.getVersions(name));
+    }
+
+    private SymbolTable load(String name, int version)
+    {
+        synchronized (myLoadLock)
+        {
+            ConcurrentSkipListMap<Integer, Entry> versions = versionsOf(name);
+            Entry entry = versions.get(version);
+            if (entry != null)
+            {
+                // Another thread loaded it while we waited.
+                return use(entry);
+            }
+
+            SymbolTable table = myLoader.load(name, version);
+            if (myLoadedCount == myMaxLoaded)
+            {
+                dropLeastRecentlyUsed();
+            }
+            // Advance the clock after stamping the new entry, so tables used
+            // from now on count as more recent than it.
+            long clock = myClock;
+            versions.put(version, new Entry(table, false, clock));
+            myClock = clock + 1;
+            myLoadedCount++;
+            return table;
+        }
+    }
+
+    /**
+     * Caller must hold myLoadLock.  This scans every resident table, but
+     * runs only when loading, which reads a file or the like anyway.
+     */
+    private void dropLeastRecentlyUsed()
+    {
+        ConcurrentSkipListMap<Integer, Entry> lruVersions = null;
+        Integer lruVersion = null;
+        Entry lruEntry = null;
+        long lruUsed = Long.MAX_VALUE;
+        for (ConcurrentSkipListMap<Integer, Entry> versions
+                 : myTablesByName.values())
+        {
+            for (Map.Entry<Integer, Entry> e : versions.entrySet())
+            {
+                Entry entry = e.getValue();
+                if (!entry.pinned && entry.lastUsed < lruUsed)
+                {
+                    lruVersions = versions;
+                    lruVersion = e.getKey();
+                    lruEntry = entry;
+                    lruUsed = entry.lastUsed;
+                }
+            }
+        }
+        // The entry may have been replaced or removed concurrently.
+        if (lruVersions != null && lruVersions.remove(lruVersion, lruEntry))
+        {
+            myLoadedCount--;
+        }
+    }
+
+
+    //=========================================================================
+    // Directory loading
+
+
+    /**
+     * Creates a loader of the shared symbol tables in the {@code .ion}
+     * files of a directory, which may be Ion text or binary.  Each file
+     * may hold any number of tables.  The directory is scanned once, here,
+     * reading each table's name and version; the symbols are read only when
+     * a table is loaded.
+     *
+     * @param directory must not be null.
+     *
+     * @return a new loader; not null.
+     *
+     * @throws IOException if the directory can't be read.
+     * @throws IonException if a file isn't valid Ion.
+     */
+    public static TableLoader directoryLoader(File directory)
+        throws IOException
+    {
+        return new DirectoryLoader(directory);
+    }
+
+
+    private static final class DirectoryLoader
+        implements TableLoader
+    {
+        /** The file and position of each table, by name and version. */
+        private final Map<String, TreeMap<Integer, TableLocation>> myLocations =
+            new HashMap<String, TreeMap<Integer, TableLocation>>();
+        private final Map<String, int[]> myVersions =
+            new HashMap<String, int[]>();
+
+        DirectoryLoader(File directory)
+            throws IOException
+        {
+            File[] files = directory.listFiles();
+            if (files == null)
+            {
+                throw new FileNotFoundException("Not a readable directory: " + directory);
+            }
+            for (File file : files)
+            {
+                if (file.isFile() && file.getName().endsWith(".ion"))
+                {
+                    scan(file);
+                }
+            }
+
+            // These maps are never modified after construction, so they're
+            // safe to read from any thread.
+            for (Map.Entry<String, TreeMap<Integer, TableLocation>> e
+                     : myLocations.entrySet())
+            {
+                int[] versions = new int[e.getValue().size()];
+                int i = 0;
+                for (Integer version : e.getValue().keySet())
+                {
+                    versions[i++] = version;
+                }
+                myVersions.put(e.getKey(), versions);
+            }
+        }
+
+        private void scan(File file)
+            throws IOException
+        {
+            InputStream in = new FileInputStream(file);
+            try
+            {
+                IonReader reader = IonReaderBuilder.standard().build(in);
+                for (int ordinal = 0; reader.next() != null; ordinal++)
+                {
+                    if (reader.getType() != IonType.STRUCT
+                        || reader.isNullValue()
+                        || !isSharedTable(reader))
+                    {
+                        continue;
+                    }
+
+                    String name = null;
+                    int version = 1;
+                    reader.stepIn();
+                    while (reader.next() != null)
+                    {
+                        if (reader.isNullValue()) continue;
+                        String field = reader.getFieldName();
+                        if (NAME.equals(field)
+                            && reader.getType() == IonType.STRING)
+                        {
+                            name = reader.stringValue();
+                        }
+                        else if (VERSION.equals(field)
+                                 && reader.getType() == IonType.INT)
+                        {
+                            version = Math.max(1, reader.intValue());
+                        }
+                    }
+                    reader.stepOut();
+
+                    if (name != null && name.length() != 0)
+                    {
+                        TreeMap<Integer, TableLocation> versions =
+                            myLocations.get(name);
+                        if (versions == null)
+                        {
+                            versions = new TreeMap<Integer, TableLocation>();
+                            myLocations.put(name, versions);
+                        }
+                        versions.put(version, new TableLocation(file, ordinal));
+                    }
+                }
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+
+        private static boolean isSharedTable(IonReader reader)
+        {
+            String[] annotations = reader.getTypeAnnotations();
+            return annotations.length != 0
+                && ION_SHARED_SYMBOL_TABLE.equals(annotations[0]);
+        }
+
+        public int[] getVersions(String name)
+        {
+            int[] versions = myVersions.get(name);
+            return (versions == null ? NO_VERSIONS : versions);
+        }
+
+        public SymbolTable load(String name, int version)
+        {
+            TreeMap<Integer, TableLocation> versions = myLocations.get(name);
+            TableLocation location =
+                (versions == null ? null : versions.get(version));
+            if (location == null)
+            {
+                throw new IonException("No shared symbol table " + name
+                                       + " version " + version);
+            }
+
+            try
+            {
+                InputStream in = new FileInputStream(location.file);
+                try
+                {
+                    IonReader reader = IonReaderBuilder.standard().build(in);
+                    for (int i = 0; i <= location.ordinal; i++)
+                    {
+                        reader.next();
+                    }
+                    return _Private_Utils.newSharedSymtab(reader, true);
+                }
+                finally
+                {
+                    in.close();
+                }
+            }
+            catch (IOException e)
+            {
+                throw new IonException("Error loading shared symbol table "
+                                       + name + " version " + version
+                                       + " from " + location.file, e);
+            }
+        }
+    }
+
+    private static final class TableLocation
+    {
+        final File file;
+        /** The position of the table among the file's top-level values. */
+        final int  ordinal;
+
+        TableLocation(File file, int ordinal)
+        {
+            this.file = file;
+            this.ordinal = ordinal;
+        }
+    }
+}
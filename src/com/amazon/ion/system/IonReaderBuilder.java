@@ -15,8 +15,10 @@
 
 package com.amazon.ion.system;
 
+import static com.amazon.ion.impl._Private_IonReaderFactory.makeIncrementalReader;
 import static com.amazon.ion.impl._Private_IonReaderFactory.makeReader;
 
+import com.amazon.ion.IncrementalReader;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
@@ -27,6 +29,8 @@ import com.amazon.ion.IonValue;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Build a new {@link IonReader} from the given {@link IonCatalog} and data
@@ -226,6 +230,85 @@ public class IonReaderBuilder
         return makeReader(validateCatalog(), ionData);
     }
 
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the remaining bytes of the given buffer, detecting whether
+     * it's text or binary data.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     * <p>
+     * When the buffer is backed by an accessible array the reader operates
+     * directly on that array, exactly like {@link #build(byte[], int, int)}.
+     * Otherwise (for example, a direct buffer or a {@link java.nio.MappedByteBuffer})
+     * the reader pulls data from the buffer a page at a time using absolute
+     * reads, so the data is never copied onto the heap in its entirety.
+     *
+     * @param ionData the source of the Ion data, which may be either Ion binary
+     * data or UTF-8 Ion text. The data between the buffer's position and limit
+     * is read; neither is modified by the reader. The reader retains a
+     * reference to the buffer, so its data must not be modified while the
+     * reader is active. Must not be null.
+     *
+     * @return a new {@link IonReader} instance; not {@code null}.
+     */
+    public IonReader build(ByteBuffer ionData)
+    {
+        return makeReader(validateCatalog(), ionData);
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the given file, detecting whether it's text or binary
+     * data.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     * <p>
+     * Data is read from the channel's current position to the end of the
+     * file using positional reads, which leaves caching of the file contents
+     * to the operating system.
+     *
+     * @param ionData the source of the Ion data, which may be either Ion binary
+     * data or UTF-8 Ion text. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it,
+     * which closes the channel.
+     *
+     * @throws IonException if the source throws {@link IOException}.
+     */
+    public IonReader build(FileChannel ionData)
+    {
+        return makeReader(validateCatalog(), ionData);
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new
+     * {@link IonReader} instance over Ion binary data that the application
+     * pushes to it as the data arrives, rather than the reader pulling from
+     * a source.  This suits non-blocking I/O, where a value may span several
+     * network reads.
+     * <p>
+     * Feed data through the reader's {@link IncrementalReader} facet:
+     * <pre>
+     *    IonReader reader = builder.buildIncremental();
+     *    IncrementalReader input = Facets.assumeFacet(IncrementalReader.class, reader);
+     *    ...
+     *    input.feed(bytes, 0, count);
+     *    while (reader.next() != null) { ... }
+     * </pre>
+     * At top-level, {@link IonReader#next()} returns {@code null} whenever no
+     * complete value has been fed; it never blocks.  The data must be Ion
+     * binary and must not be GZIPped.
+     *
+     * @return a new reader instance with no input.
+     *
+     * @see IncrementalReader
+     */
+    public IonReader buildIncremental()
+    {
+        return makeIncrementalReader(validateCatalog());
+    }
+
     /**
      * Based on the builder's configuration properties, creates a new
      * {@link IonReader} instance over Ion text data.
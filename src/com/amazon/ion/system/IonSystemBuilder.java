@@ -18,6 +18,8 @@ package com.amazon.ion.system;
 import static com.amazon.ion.impl.lite._Private_LiteDomTrampoline.newLiteSystem;
 
 import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonLoader;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonWriter;
@@ -79,6 +81,13 @@ import com.amazon.ion.impl._Private_Utils;
  *     conditions are met. <b>This feature is experimental! Please test
  *     thoroughly and report any issues.</b>
  *   </li>
+ *   <li>
+ *     <b>lazyLoading</b>: When true, loaders leave the containers of Ion
+ *     binary data undecoded until they're first accessed, and binary writers
+ *     copy the encoding of containers that are never accessed.
+ *     <b>This feature is experimental! Please test thoroughly and report any
+ *     issues.</b>
+ *   </li>
  * </ul>
  */
 public class IonSystemBuilder
@@ -101,6 +110,7 @@ public class IonSystemBuilder
 
     IonCatalog myCatalog;
     boolean myStreamCopyOptimized = false;
+    boolean myLazyLoading = false;
 
 
     /** You no touchy. */
@@ -113,6 +123,7 @@ public class IonSystemBuilder
     {
         this.myCatalog      = that.myCatalog;
         this.myStreamCopyOptimized = that.myStreamCopyOptimized;
+        this.myLazyLoading = that.myLazyLoading;
     }
 
     //=========================================================================
@@ -271,6 +282,69 @@ public class IonSystemBuilder
 
 
 
+    //=========================================================================
+
+
+    /**
+     * Indicates whether built systems load Ion binary lazily.
+     * By default, this property is false.
+     *
+     * @see #setLazyLoading(boolean)
+     * @see #withLazyLoading(boolean)
+     */
+    public final boolean isLazyLoading()
+    {
+        return myLazyLoading;
+    }
+
+    /**
+     * Declares whether built systems load Ion binary lazily.
+     * By default, this property is false.
+     * <p>
+     * When true, {@link IonLoader#load(byte[])} of Ion binary decodes only
+     * the top-level scalars, leaving each container undecoded until its
+     * children are first accessed. The loaded values retain the array, so it
+     * must not be modified afterwards. Writing a container that was never
+     * accessed passes its encoding to
+     * {@link IonWriter#writeValue(IonReader)}, so a
+     * {@linkplain #setStreamCopyOptimized(boolean) stream-copy optimized}
+     * binary writer with a compatible symbol table copies its bytes, as does
+     * {@link IonDatagram#getBytes()}.
+     * <p>
+     * Read-only lazy values remain safe for concurrent reads.
+     * <p>
+     * <b>This feature is experimental! Please test thoroughly and report any
+     * issues.</b>
+     *
+     * @throws UnsupportedOperationException if this is immutable.
+     *
+     * @see #isLazyLoading()
+     * @see #withLazyLoading(boolean)
+     */
+    public final void setLazyLoading(boolean lazy)
+    {
+        mutationCheck();
+        myLazyLoading = lazy;
+    }
+
+    /**
+     * Declares whether built systems load Ion binary lazily,
+     * returning a new mutable builder if this is immutable.
+     * <p>
+     * <b>This feature is experimental! Please test thoroughly and report any
+     * issues.</b>
+     *
+     * @see #isLazyLoading()
+     * @see #setLazyLoading(boolean)
+     */
+    public final IonSystemBuilder withLazyLoading(boolean lazy)
+    {
+        IonSystemBuilder b = mutable();
+        b.setLazyLoading(lazy);
+        return b;
+    }
+
+
     //=========================================================================
 
     /**
@@ -299,7 +373,7 @@ public class IonSystemBuilder
         // This is what we need, more or less.
 //        bwb = bwb.fillDefaults();
         IonReaderBuilder rb = IonReaderBuilder.standard().withCatalog(catalog);
-        IonSystem sys = newLiteSystem(twb, bwb, rb);
+        IonSystem sys = newLiteSystem(twb, bwb, rb, myLazyLoading);
 
         return sys;
     }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import static com.amazon.ion.impl._Private_IonReaderFactory.makeContinuationReader;
+import static com.amazon.ion.impl._Private_Utils.systemSymtab;
+
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.SymbolTable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads individual top-level values of Ion binary data, located by an
+ * {@link IonOffsetIndex}.
+ * <p>
+ * Seeking reads only the requested value and, the first time each symbol
+ * table is needed, the system values that establish it.  When the data is
+ * in a file, nothing else is read from it.
+ * <p>
+ * Instances are safe for concurrent use, but the readers they return are
+ * not.
+ *
+ * @see IonOffsetIndexBuilder
+ */
+public final class IndexedValueReader
+{
+    private final IonCatalog     myCatalog;
+    private final IonOffsetIndex myIndex;
+    private final byte[]         myBytes;
+    private final FileChannel    myChannel;
+    private final long           myChannelStart;
+
+    /** Reconstructed tables, by table index plus one. */
+    private final SymbolTable[]  mySymbolTables;
+
+
+    private IndexedValueReader(IonCatalog catalog,
+                               IonOffsetIndex index,
+                               byte[] bytes,
+                               FileChannel channel,
+                               long channelStart)
+    {
+        index.getClass(); // Force NPE
+        myCatalog = catalog;
+        myIndex = index;
+        myBytes = bytes;
+        myChannel = channel;
+        myChannelStart = channelStart;
+
+        mySymbolTables = new SymbolTable[index.getTableCount() + 1];
+        mySymbolTables[0] = systemSymtab(1);
+    }
+
+    /**
+     * Reads values from Ion binary data held in memory.
+     *
+     * @param catalog resolves the imports of local symbol tables; may be
+     * null.
+     * @param index must have been built from the same data.
+     * @param ionBinary must not be null.
+     */
+    public IndexedValueReader(IonCatalog catalog,
+                              IonOffsetIndex index,
+                              byte[] ionBinary)
+    {
+        this(catalog, index, ionBinary, null, 0);
+        ionBinary.getClass(); // Force NPE
+    }
+
+    /**
+     * Reads values from a file of Ion binary data.  The channel isn't
+     * closed by this class.
+     *
+     * @param catalog resolves the imports of local symbol tables; may be
+     * null.
+     * @param index must have been built from the same data.
+     * @param ionBinary must not be null; the index offsets are relative to
+     * its current position.
+     *
+     * @throws IOException if thrown by the channel.
+     */
+    public IndexedValueReader(IonCatalog catalog,
+                              IonOffsetIndex index,
+                              FileChannel ionBinary)
+        throws IOException
+    {
+        this(catalog, index, null, ionBinary, ionBinary.position());
+    }
+
+
+    public IonOffsetIndex getIndex()
+    {
+        return myIndex;
+    }
+
+
+    /**
+     * Makes a reader over a single top-level value.
+     *
+     * @param ordinal the position of the value among the top-level values.
+     *
+     * @return a new reader positioned before the value; the caller must
+     * call {@link IonReader#next()} to read it.
+     *
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     * @throws IonException if the data can't be read.
+     */
+    public IonReader seek(int ordinal)
+    {
+        SymbolTable symbols = symbolTable(myIndex.getSymbolTable(ordinal));
+        return makeReader(myIndex.getOffset(ordinal),
+                          myIndex.getLength(ordinal),
+                          symbols);
+    }
+
+    /**
+     * Makes a reader over the first top-level value holding a key.  Use
+     * {@link IonOffsetIndex#ordinalsOf(String, IonValue)} to find all
+     * such values.
+     *
+     * @param keyPath one of the index's key paths.
+     * @param key the value to find.
+     *
+     * @return a new reader positioned before the value, or null if no
+     * value holds the key.
+     *
+     * @throws IllegalArgumentException if the key path isn't indexed.
+     * @throws IonException if the data can't be read.
+     */
+    public IonReader seek(String keyPath, IonValue key)
+    {
+        int[] ordinals = myIndex.ordinalsOf(keyPath, key);
+        return (ordinals.length == 0 ? null : seek(ordinals[0]));
+    }
+
+
+    /**
+     * Finds or reconstructs a symbol table by replaying the system values
+     * recorded for it, starting from the table it appended to.
+     */
+    private synchronized SymbolTable symbolTable(int table)
+    {
+        if (mySymbolTables[table] == null)
+        {
+            // Iterate rather than recurse, since chains of appended tables
+            // can be long.
+            int[] chain = new int[4];
+            int length = 0;
+            for (int t = table; mySymbolTables[t] == null; t = myIndex.getTableParent(t))
+            {
+                if (length == chain.length)
+                {
+                    int[] grown = new int[length * 2];
+                    System.arraycopy(chain, 0, grown, 0, length);
+                    chain = grown;
+                }
+                chain[length++] = t;
+            }
+
+            while (length > 0)
+            {
+                int t = chain[--length];
+                SymbolTable parent = mySymbolTables[myIndex.getTableParent(t)];
+                IonReader reader = makeReader(myIndex.getTableOffset(t),
+                                              myIndex.getTableLength(t),
+                                              parent);
+                if (reader.next() != null)
+                {
+                    throw new IonException("Index doesn't match the data: expected only system values at offset "
+                                           + myIndex.getTableOffset(t));
+                }
+                mySymbolTables[t] = reader.getSymbolTable();
+            }
+        }
+        return mySymbolTables[table];
+    }
+
+    private IonReader makeReader(long offset, int length, SymbolTable symbols)
+    {
+        if (myBytes != null)
+        {
+            return makeContinuationReader(myCatalog, myBytes, (int) offset,
+                                          length, symbols);
+        }
+
+        byte[] bytes = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try
+        {
+            long position = myChannelStart + offset;
+            while (buffer.hasRemaining())
+            {
+                int read = myChannel.read(buffer, position + buffer.position());
+                if (read < 0)
+                {
+                    throw new EOFException("Index doesn't match the data: unexpected end of file at "
+                                           + (position + buffer.position()));
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        return makeContinuationReader(myCatalog, bytes, 0, length, symbols);
+    }
+}
@@ -0,0 +1,524 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The positions of the top-level values of Ion binary data, so that
+ * individual values can be read without scanning the data before them.
+ * <p>
+ * For each value, the index records its offset and length and the symbol
+ * table in effect.  Symbol tables are recorded as the position of the
+ * system values (version markers and local symbol tables) that establish
+ * them, along with the table they were appended to, if any.  The index may
+ * also map the values found at some key paths within each top-level value
+ * to the ordinals of the values that hold them.
+ * <p>
+ * Indexes are created by {@link IonOffsetIndexBuilder}, are written to a
+ * compact sidecar with {@link #writeTo(IonWriter)}, and are read back with
+ * {@link #read(IonSystem, IonReader)}.  They're used to read the indexed
+ * data by an {@link IndexedValueReader}.
+ * <p>
+ * Instances are immutable and safe for concurrent use.
+ *
+ * @see IonOffsetIndexBuilder
+ * @see IndexedValueReader
+ */
+public final class IonOffsetIndex
+{
+    /** The annotation on the sidecar struct. */
+    static final String INDEX_ANNOTATION = "ion_offset_index";
+    static final int    INDEX_VERSION    = 1;
+
+    private static final String VERSION_FIELD       = "version";
+    private static final String SYMBOL_TABLES_FIELD = "symbol_tables";
+    private static final String VALUES_FIELD        = "values";
+    private static final String KEYS_FIELD          = "keys";
+    private static final String PATH_FIELD          = "path";
+    private static final String ENTRIES_FIELD       = "entries";
+
+    private static final int[] NO_ORDINALS = new int[0];
+
+
+    private final long[] myValueOffsets;
+    private final int[]  myValueLengths;
+    /** The table of each value, as a table index plus one, or zero. */
+    private final int[]  myValueTables;
+
+    private final long[] myTableOffsets;
+    private final int[]  myTableLengths;
+    /** The table each table appends to, as an index plus one, or zero. */
+    private final int[]  myTableParents;
+
+    /** Maps each key path to its keys and their values' ordinals. */
+    private final Map<String, Map<IonValue, int[]>> myKeys;
+
+
+    IonOffsetIndex(long[] valueOffsets,
+                   int[] valueLengths,
+                   int[] valueTables,
+                   long[] tableOffsets,
+                   int[] tableLengths,
+                   int[] tableParents,
+                   Map<String, Map<IonValue, int[]>> keys)
+    {
+        myValueOffsets = valueOffsets;
+        myValueLengths = valueLengths;
+        myValueTables = valueTables;
+        myTableOffsets = tableOffsets;
+        myTableLengths = tableLengths;
+        myTableParents = tableParents;
+        myKeys = keys;
+    }
+
+
+    /**
+     * Gets the number of top-level values in the indexed data.
+     */
+    public int size()
+    {
+        return myValueOffsets.length;
+    }
+
+    /**
+     * Gets the offset of a top-level value from the start of the data,
+     * including any annotation wrapper.
+     *
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     */
+    public long getOffset(int ordinal)
+    {
+        return myValueOffsets[ordinal];
+    }
+
+    /**
+     * Gets the encoded length of a top-level value, including any
+     * annotation wrapper.
+     *
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     */
+    public int getLength(int ordinal)
+    {
+        return myValueLengths[ordinal];
+    }
+
+    /**
+     * Gets the key paths whose values are indexed.
+     *
+     * @return the search paths given to
+     * {@link IonOffsetIndexBuilder#withKeyPath(String)}; not null.
+     */
+    public Set<String> getKeyPaths()
+    {
+        return Collections.unmodifiableSet(myKeys.keySet());
+    }
+
+    /**
+     * Finds the top-level values holding a key.
+     *
+     * @param keyPath one of the {@linkplain #getKeyPaths() indexed paths},
+     * exactly as it was given to the builder.
+     * @param key the value to find; its annotations are significant.
+     *
+     * @return the ordinals of the top-level values in which the key path
+     * selects a value equal to the key, in ascending order; not null.
+     *
+     * @throws IllegalArgumentException if the key path isn't indexed.
+     */
+    public int[] ordinalsOf(String keyPath, IonValue key)
+    {
+        Map<IonValue, int[]> keys = myKeys.get(keyPath);
+        if (keys == null)
+        {
+            throw new IllegalArgumentException("Key path isn't indexed: " + keyPath);
+        }
+        int[] ordinals = keys.get(key);
+        return (ordinals == null ? NO_ORDINALS : ordinals.clone());
+    }
+
+
+    /**
+     * @return the value's symbol table, as a table index plus one, or zero
+     * if the system symbol table is in effect.
+     */
+    int getSymbolTable(int ordinal)
+    {
+        return myValueTables[ordinal];
+    }
+
+    int getTableCount()
+    {
+        return myTableOffsets.length;
+    }
+
+    long getTableOffset(int table)
+    {
+        return myTableOffsets[table - 1];
+    }
+
+    int getTableLength(int table)
+    {
+        return myTableLengths[table - 1];
+    }
+
+    int getTableParent(int table)
+    {
+        return myTableParents[table - 1];
+    }
+
+
+    //=========================================================================
+    // Sidecar
+
+
+    /**
+     * Writes this index as a single annotated struct.  The offsets are
+     * packed into blobs of unsigned LEB128 integers (seven bits per byte,
+     * least significant first, with the high bit set on all but the last
+     * byte), so the sidecar usually takes a few bytes for each indexed
+     * value, plus the keys.  Note that this isn't Ion's VarUInt encoding,
+     * which is most significant first and marks the last byte instead.
+     *
+     * @param writer must not be null.
+     *
+     * @throws IOException if thrown by the writer.
+     */
+    public void writeTo(IonWriter writer)
+        throws IOException
+    {
+        writer.setTypeAnnotations(INDEX_ANNOTATION);
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName(VERSION_FIELD);
+        writer.writeInt(INDEX_VERSION);
+
+        writer.setFieldName(SYMBOL_TABLES_FIELD);
+        writer.writeBlob(pack(myTableOffsets, myTableLengths, myTableParents));
+
+        writer.setFieldName(VALUES_FIELD);
+        writer.writeBlob(pack(myValueOffsets, myValueLengths, myValueTables));
+
+        writer.setFieldName(KEYS_FIELD);
+        writer.stepIn(IonType.LIST);
+        for (Map.Entry<String, Map<IonValue, int[]>> path : myKeys.entrySet())
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName(PATH_FIELD);
+            writer.writeString(path.getKey());
+            writer.setFieldName(ENTRIES_FIELD);
+            writer.stepIn(IonType.LIST);
+            for (Map.Entry<IonValue, int[]> key : path.getValue().entrySet())
+            {
+                for (int ordinal : key.getValue())
+                {
+                    key.getKey().writeTo(writer);
+                    writer.writeInt(ordinal);
+                }
+            }
+            writer.stepOut();
+            writer.stepOut();
+        }
+        writer.stepOut();
+
+        writer.stepOut();
+    }
+
+
+    /**
+     * Reads an index written by {@link #writeTo(IonWriter)}.
+     *
+     * @param system creates the keys; must not be null.
+     * @param reader must be positioned before or on the index struct.
+     *
+     * @return the index; not null.
+     *
+     * @throws IonException if the reader isn't positioned on an index.
+     */
+    public static IonOffsetIndex read(IonSystem system, IonReader reader)
+    {
+        if (reader.getType() == null)
+        {
+            reader.next();
+        }
+        if (reader.getType() != IonType.STRUCT || reader.isNullValue()
+            || !isIndexAnnotated(reader))
+        {
+            throw new IonException("Expected an " + INDEX_ANNOTATION + " struct");
+        }
+
+        long[] valueOffsets = null;
+        int[] valueLengths = null;
+        int[] valueTables = null;
+        long[] tableOffsets = null;
+        int[] tableLengths = null;
+        int[] tableParents = null;
+        Map<String, Map<IonValue, int[]>> keys =
+            new LinkedHashMap<String, Map<IonValue, int[]>>();
+
+        reader.stepIn();
+        while (reader.next() != null)
+        {
+            String field = reader.getFieldName();
+            if (VERSION_FIELD.equals(field))
+            {
+                if (reader.getType() != IonType.INT
+                    || reader.intValue() != INDEX_VERSION)
+                {
+                    throw new IonException("Unsupported " + INDEX_ANNOTATION
+                                           + " version");
+                }
+            }
+            else if (SYMBOL_TABLES_FIELD.equals(field))
+            {
+                Unpacker unpacker = new Unpacker(reader.newBytes());
+                int count = unpacker.count();
+                tableOffsets = new long[count];
+                tableLengths = new int[count];
+                tableParents = new int[count];
+                unpacker.unpack(tableOffsets, tableLengths, tableParents);
+            }
+            else if (VALUES_FIELD.equals(field))
+            {
+                Unpacker unpacker = new Unpacker(reader.newBytes());
+                int count = unpacker.count();
+                valueOffsets = new long[count];
+                valueLengths = new int[count];
+                valueTables = new int[count];
+                unpacker.unpack(valueOffsets, valueLengths, valueTables);
+            }
+            else if (KEYS_FIELD.equals(field))
+            {
+                readKeys(system, reader, keys);
+            }
+        }
+        reader.stepOut();
+
+        if (valueOffsets == null || tableOffsets == null)
+        {
+            throw new IonException("Incomplete " + INDEX_ANNOTATION);
+        }
+        return new IonOffsetIndex(valueOffsets, valueLengths, valueTables,
+                                  tableOffsets, tableLengths, tableParents,
+                                  keys);
+    }
+
+    private static boolean isIndexAnnotated(IonReader reader)
+    {
+        for (String annotation : reader.getTypeAnnotations())
+        {
+            if (INDEX_ANNOTATION.equals(annotation)) return true;
+        }
+        return false;
+    }
+
+    private static void readKeys(IonSystem system,
+                                 IonReader reader,
+                                 Map<String, Map<IonValue, int[]>> keys)
+    {
+        reader.stepIn();
+        while (reader.next() != null)
+        {
+            String path = null;
+            OrdinalMap entries = new OrdinalMap();
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                String field = reader.getFieldName();
+                if (PATH_FIELD.equals(field))
+                {
+                    path = reader.stringValue();
+                }
+                else if (ENTRIES_FIELD.equals(field))
+                {
+                    reader.stepIn();
+                    while (reader.next() != null)
+                    {
+                        IonValue key = system.newValue(reader);
+                        if (reader.next() != IonType.INT)
+                        {
+                            throw new IonException("Expected an ordinal after key " + key);
+                        }
+                        entries.add(key, reader.intValue());
+                    }
+                    reader.stepOut();
+                }
+            }
+            reader.stepOut();
+
+            if (path == null)
+            {
+                throw new IonException("Key entries without a path");
+            }
+            keys.put(path, entries.toMap());
+        }
+        reader.stepOut();
+    }
+
+
+    private static byte[] pack(long[] offsets, int[] lengths, int[] tables)
+    {
+        // Values are usually contiguous, so offsets are written as the gap
+        // from the end of the previous value.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(offsets.length * 4);
+        long end = 0;
+        for (int i = 0; i < offsets.length; i++)
+        {
+            writeLeb128(out, offsets[i] - end);
+            writeLeb128(out, lengths[i]);
+            writeLeb128(out, tables[i]);
+            end = offsets[i] + lengths[i];
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes an unsigned LEB128 integer, least significant seven bits first.
+     */
+    private static void writeLeb128(ByteArrayOutputStream out, long value)
+    {
+        while (value >= 0x80)
+        {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+
+    private static final class Unpacker
+    {
+        private final byte[] myBytes;
+        private int myPos;
+
+        Unpacker(byte[] bytes)
+        {
+            myBytes = bytes;
+        }
+
+        /**
+         * Counts the packed triples without consuming them, by counting the
+         * bytes that end an integer.
+         */
+        int count()
+        {
+            int ends = 0;
+            for (byte b : myBytes)
+            {
+                if ((b & 0x80) == 0) ends++;
+            }
+            if (ends % 3 != 0)
+            {
+                throw new IonException("Malformed " + INDEX_ANNOTATION);
+            }
+            return ends / 3;
+        }
+
+        void unpack(long[] offsets, int[] lengths, int[] tables)
+        {
+            long end = 0;
+            for (int i = 0; i < offsets.length; i++)
+            {
+                offsets[i] = end + readLeb128();
+                lengths[i] = (int) readLeb128();
+                tables[i] = (int) readLeb128();
+                end = offsets[i] + lengths[i];
+            }
+        }
+
+        private long readLeb128()
+        {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do
+            {
+                if (myPos >= myBytes.length)
+                {
+                    throw new IonException("Malformed " + INDEX_ANNOTATION);
+                }
+                b = myBytes[myPos++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            }
+            while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+
+
+    /**
+     * Accumulates the ordinals of the values holding each key.
+     */
+    static final class OrdinalMap
+    {
+        private static final class Ordinals
+        {
+            int[] values = new int[1];
+            int   count;
+        }
+
+        private final Map<IonValue, Ordinals> myOrdinals =
+            new LinkedHashMap<IonValue, Ordinals>();
+
+        void add(IonValue key, int ordinal)
+        {
+            Ordinals ordinals = myOrdinals.get(key);
+            if (ordinals == null)
+            {
+                key.makeReadOnly();
+                ordinals = new Ordinals();
+                myOrdinals.put(key, ordinals);
+            }
+            else if (ordinals.values[ordinals.count - 1] == ordinal)
+            {
+                return; // the key appears more than once in the value
+            }
+
+            if (ordinals.count == ordinals.values.length)
+            {
+                int[] grown = new int[ordinals.count * 2];
+                System.arraycopy(ordinals.values, 0, grown, 0, ordinals.count);
+                ordinals.values = grown;
+            }
+            ordinals.values[ordinals.count++] = ordinal;
+        }
+
+        Map<IonValue, int[]> toMap()
+        {
+            Map<IonValue, int[]> map =
+                new LinkedHashMap<IonValue, int[]>(myOrdinals.size() * 2);
+            for (Map.Entry<IonValue, Ordinals> e : myOrdinals.entrySet())
+            {
+                Ordinals ordinals = e.getValue();
+                int[] values = new int[ordinals.count];
+                System.arraycopy(ordinals.values, 0, values, 0, ordinals.count);
+                map.put(e.getKey(), values);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import static com.amazon.ion.impl._Private_IonReaderFactory.makeReader;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.SpanProvider;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.util.IonOffsetIndex.OrdinalMap;
+import com.amazon.ion.util.PathExtractor.Callback;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The builder for creating {@link IonOffsetIndex}es by scanning Ion binary
+ * data.
+ * <p>
+ * Scanning reads each top-level value's type descriptor and length, but
+ * steps only into the values that key paths select from.  Key paths are
+ * search paths as described by {@link PathExtractorBuilder}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class IonOffsetIndexBuilder
+{
+    private final List<String> myKeyPaths = new ArrayList<String>();
+
+
+    /**
+     * The standard builder of {@link IonOffsetIndex}es, with no key paths.
+     *
+     * @return a new, mutable builder instance.
+     */
+    public static IonOffsetIndexBuilder standard()
+    {
+        return new IonOffsetIndexBuilder();
+    }
+
+
+    private IonOffsetIndexBuilder()
+    {
+    }
+
+
+    /**
+     * Adds a key path, indexing the values it selects from each top-level
+     * value.
+     *
+     * @param keyPath an Ion S-expression as described by
+     * {@link PathExtractorBuilder}, such as {@code (id)}.
+     *
+     * @return this builder.
+     *
+     * @throws IllegalArgumentException if the key path is malformed.
+     */
+    public IonOffsetIndexBuilder withKeyPath(String keyPath)
+    {
+        // Parse now, so that malformed paths fail here rather than in build.
+        PathExtractorBuilder.standard().withSearchPath(keyPath, NO_OP);
+        myKeyPaths.add(keyPath);
+        return this;
+    }
+
+
+    /**
+     * Indexes Ion binary data held in memory.
+     *
+     * @param system creates the keys; must not be null.
+     * @param ionBinary must be Ion binary data, not text or GZIPped.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     */
+    public IonOffsetIndex build(IonSystem system, byte[] ionBinary)
+    {
+        if (!IonStreamUtils.isIonBinary(ionBinary))
+        {
+            throw new IllegalArgumentException("IonOffsetIndex requires Ion binary data");
+        }
+        return build(system, makeReader(system.getCatalog(), ionBinary));
+    }
+
+    /**
+     * Indexes a file of Ion binary data, reading from the channel's current
+     * position.  Offsets are relative to that position.
+     *
+     * @param system creates the keys; must not be null.
+     * @param ionBinary must be Ion binary data, not text or GZIPped.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     * @throws IOException if thrown by the channel.
+     */
+    public IonOffsetIndex build(IonSystem system, FileChannel ionBinary)
+        throws IOException
+    {
+        ByteBuffer cookie = ByteBuffer.allocate(4);
+        ionBinary.read(cookie, ionBinary.position());
+        if (!IonStreamUtils.isIonBinary(cookie.array(), 0, cookie.position()))
+        {
+            throw new IllegalArgumentException("IonOffsetIndex requires Ion binary data");
+        }
+        return build(system, makeReader(system.getCatalog(), ionBinary));
+    }
+
+
+    private IonOffsetIndex build(IonSystem system, IonReader reader)
+    {
+        Scanner scanner = new Scanner(system, reader.asFacet(SpanProvider.class),
+                                      myKeyPaths.size());
+
+        // The empty path is added first, so each top-level value is
+        // recorded before any keys are found within it.
+        PathExtractorBuilder paths = PathExtractorBuilder.standard()
+            .withSearchPath("()", scanner);
+        for (int i = 0; i < myKeyPaths.size(); i++)
+        {
+            paths.withSearchPath(myKeyPaths.get(i), scanner.myKeys[i]);
+        }
+        paths.build().match(reader);
+
+        Map<String, Map<IonValue, int[]>> keys =
+            new LinkedHashMap<String, Map<IonValue, int[]>>();
+        for (int i = 0; i < myKeyPaths.size(); i++)
+        {
+            keys.put(myKeyPaths.get(i), scanner.myKeys[i].myOrdinals.toMap());
+        }
+        return scanner.toIndex(keys);
+    }
+
+
+    private static final Callback NO_OP = new Callback()
+    {
+        public int onMatch(IonReader reader)
+        {
+            return 0;
+        }
+    };
+
+
+    /**
+     * Records each top-level value, and the symbol table in effect when it
+     * changes.
+     */
+    private static final class Scanner
+        implements Callback
+    {
+        private final SpanProvider myValueSpans;
+        final KeyCollector[]       myKeys;
+
+        private long[] myValueOffsets = new long[64];
+        private int[]  myValueLengths = new int[64];
+        private int[]  myValueTables  = new int[64];
+        private int    myValueCount;
+
+        private long[] myTableOffsets = new long[4];
+        private int[]  myTableLengths = new int[4];
+        private int[]  myTableParents = new int[4];
+        private int    myTableCount;
+
+        /** The end of the previous value. */
+        private long        myEnd;
+        private SymbolTable mySymbols;
+        private int         myTable;
+
+        Scanner(IonSystem system, SpanProvider spans, int keyPaths)
+        {
+            myValueSpans = spans;
+            myKeys = new KeyCollector[keyPaths];
+            for (int i = 0; i < keyPaths; i++)
+            {
+                myKeys[i] = new KeyCollector(system, this);
+            }
+        }
+
+        public int onMatch(IonReader reader)
+        {
+            OffsetSpan span = (OffsetSpan) myValueSpans.currentSpan();
+            long start = span.getStartOffset();
+            long finish = span.getFinishOffset();
+
+            SymbolTable symbols = reader.getSymbolTable();
+            if (symbols != mySymbols)
+            {
+                if (symbols == null || symbols.isSystemTable())
+                {
+                    myTable = 0;
+                }
+                else
+                {
+                    // The system values that changed the table lie between
+                    // the previous value and this one.
+                    int parent = (appends(symbols, mySymbols) ? myTable : 0);
+                    addTable(myEnd, (int) (start - myEnd), parent);
+                    myTable = myTableCount;
+                }
+                mySymbols = symbols;
+            }
+
+            if (myValueCount == myValueOffsets.length)
+            {
+                int size = myValueCount * 2;
+                myValueOffsets = Arrays.copyOf(myValueOffsets, size);
+                myValueLengths = Arrays.copyOf(myValueLengths, size);
+                myValueTables = Arrays.copyOf(myValueTables, size);
+            }
+            myValueOffsets[myValueCount] = start;
+            myValueLengths[myValueCount] = (int) (finish - start);
+            myValueTables[myValueCount] = myTable;
+            myValueCount++;
+            myEnd = finish;
+            return 0;
+        }
+
+        private void addTable(long offset, int length, int parent)
+        {
+            if (myTableCount == myTableOffsets.length)
+            {
+                int size = myTableCount * 2;
+                myTableOffsets = Arrays.copyOf(myTableOffsets, size);
+                myTableLengths = Arrays.copyOf(myTableLengths, size);
+                myTableParents = Arrays.copyOf(myTableParents, size);
+            }
+            myTableOffsets[myTableCount] = offset;
+            myTableLengths[myTableCount] = length;
+            myTableParents[myTableCount] = parent;
+            myTableCount++;
+        }
+
+        /**
+         * Determines whether a new local symbol table may have been
+         * appended to the previous one, in which case reconstructing it
+         * needs the previous table.  A false positive costs only some
+         * unnecessary work when the table is reconstructed.
+         */
+        private static boolean appends(SymbolTable symbols,
+                                       SymbolTable previous)
+        {
+            if (previous == null || previous.isSystemTable()
+                || symbols.getMaxId() < previous.getMaxId())
+            {
+                return false;
+            }
+            SymbolTable[] imports = symbols.getImportedTables();
+            SymbolTable[] previousImports = previous.getImportedTables();
+            if (imports.length != previousImports.length)
+            {
+                return false;
+            }
+            for (int i = 0; i < imports.length; i++)
+            {
+                if (imports[i] != previousImports[i]) return false;
+            }
+            for (int sid = previous.getImportedMaxId() + 1;
+                 sid <= previous.getMaxId();
+                 sid++)
+            {
+                String text = previous.findKnownSymbol(sid);
+                if (text == null ? symbols.findKnownSymbol(sid) != null
+                                 : !text.equals(symbols.findKnownSymbol(sid)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int currentOrdinal()
+        {
+            return myValueCount - 1;
+        }
+
+        IonOffsetIndex toIndex(Map<String, Map<IonValue, int[]>> keys)
+        {
+            return new IonOffsetIndex(Arrays.copyOf(myValueOffsets, myValueCount),
+                                      Arrays.copyOf(myValueLengths, myValueCount),
+                                      Arrays.copyOf(myValueTables, myValueCount),
+                                      Arrays.copyOf(myTableOffsets, myTableCount),
+                                      Arrays.copyOf(myTableLengths, myTableCount),
+                                      Arrays.copyOf(myTableParents, myTableCount),
+                                      keys);
+        }
+    }
+
+
+    /**
+     * Records the values selected by one key path.
+     */
+    private static final class KeyCollector
+        implements Callback
+    {
+        private final IonSystem mySystem;
+        private final Scanner   myScanner;
+        final OrdinalMap        myOrdinals = new OrdinalMap();
+
+        KeyCollector(IonSystem system, Scanner scanner)
+        {
+            mySystem = system;
+            myScanner = scanner;
+        }
+
+        public int onMatch(IonReader reader)
+        {
+            myOrdinals.add(mySystem.newValue(reader),
+                           myScanner.currentOrdinal());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import static com.amazon.ion.impl._Private_IonReaderFactory.makeContinuationReader;
+import static com.amazon.ion.impl._Private_IonReaderFactory.makeReader;
+
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.SpanProvider;
+import com.amazon.ion.SymbolTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Decodes the top-level values of Ion binary data on several threads,
+ * returning the results in order.
+ * <p>
+ * The calling thread scans the data for top-level value boundaries, which
+ * costs only a read of each value's type descriptor and length (plus any
+ * local symbol tables). Runs of adjacent values that share a symbol table
+ * are grouped into chunks of roughly {@code chunkSize} bytes, and each chunk
+ * is decoded by a task on the given {@link Executor}. Only a bounded number
+ * of chunks are scanned ahead of the values the caller has consumed, so
+ * memory use doesn't grow with the size of the data.
+ * <p>
+ * Instances are immutable and may decode several inputs at once, as long as
+ * the {@link Decoder} is thread-safe.
+ *
+ * @param <T> the type of the decoded values.
+ */
+public final class ParallelDecoder<T>
+{
+    /**
+     * Decodes one top-level value.
+     *
+     * @param <T> the type of the decoded value.
+     */
+    public interface Decoder<T>
+    {
+        /**
+         * Invoked on an executor thread with the reader positioned on a
+         * top-level value. The decoder may read the value, including
+         * stepping into it, but must leave the reader at top-level and must
+         * not call {@link IonReader#next()} there.
+         * <p>
+         * This may be called concurrently for different values.
+         *
+         * @return the decoded value; may be null.
+         */
+        T decode(IonReader reader);
+    }
+
+
+    /** The default number of bytes decoded by each task. */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+
+    /**
+     * Creates a decoder of top-level values into {@link IonValue}s.
+     *
+     * @param system must not be null.
+     * @param executor must not be null.
+     */
+    public static ParallelDecoder<IonValue> forValues(final IonSystem system,
+                                                      Executor executor)
+    {
+        Decoder<IonValue> decoder = new Decoder<IonValue>()
+        {
+            public IonValue decode(IonReader reader)
+            {
+                return system.newValue(reader);
+            }
+        };
+        return new ParallelDecoder<IonValue>(system.getCatalog(), executor,
+                                             decoder);
+    }
+
+
+    private final IonCatalog myCatalog;
+    private final Executor   myExecutor;
+    private final Decoder<T> myDecoder;
+    private final int        myChunkSize;
+    private final int        myMaxChunksInFlight;
+
+
+    /**
+     * Creates a decoder with {@link #DEFAULT_CHUNK_SIZE} chunks, keeping
+     * twice as many chunks in flight as there are processors.
+     *
+     * @param catalog resolves the imports of local symbol tables; may be
+     * null.
+     * @param executor runs the decoding tasks; must not be null.
+     * @param decoder must not be null.
+     */
+    public ParallelDecoder(IonCatalog catalog,
+                           Executor executor,
+                           Decoder<T> decoder)
+    {
+        this(catalog, executor, decoder, DEFAULT_CHUNK_SIZE,
+             2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param catalog resolves the imports of local symbol tables; may be
+     * null.
+     * @param executor runs the decoding tasks; must not be null.
+     * @param decoder must not be null.
+     * @param chunkSize the number of bytes of values to decode in each task;
+     * a single value larger than this is decoded by a task of its own.
+     * @param maxChunksInFlight the number of chunks to scan ahead of the
+     * values consumed by the caller.
+     *
+     * @throws IllegalArgumentException if either size is less than one.
+     */
+    public ParallelDecoder(IonCatalog catalog,
+                           Executor executor,
+                           Decoder<T> decoder,
+                           int chunkSize,
+                           int maxChunksInFlight)
+    {
+        executor.getClass(); // Force NPE
+        decoder.getClass();  // Force NPE
+        if (chunkSize < 1 || maxChunksInFlight < 1)
+        {
+            throw new IllegalArgumentException("chunkSize and maxChunksInFlight must be positive");
+        }
+
+        myCatalog = catalog;
+        myExecutor = executor;
+        myDecoder = decoder;
+        myChunkSize = chunkSize;
+        myMaxChunksInFlight = maxChunksInFlight;
+    }
+
+
+    /**
+     * Decodes the top-level values of Ion binary data. Decoding proceeds in
+     * the background as the returned iterator is consumed; the data must
+     * not be modified until it's exhausted.
+     * <p>
+     * Exceptions thrown while scanning or decoding are rethrown by the
+     * iterator when it reaches the affected value: {@link RuntimeException}s
+     * and {@link Error}s as they are, and others wrapped in an
+     * {@link IonException}.
+     *
+     * @param ionBinary must be Ion binary data, not text or GZIPped.
+     *
+     * @return an iterator over the decoded values, in the order of the data.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     */
+    public Iterator<T> decode(byte[] ionBinary, int offset, int length)
+    {
+        if (!IonStreamUtils.isIonBinary(ionBinary, offset, length))
+        {
+            throw new IllegalArgumentException("ParallelDecoder requires Ion binary data");
+        }
+        return new ResultIterator(ionBinary, offset, length);
+    }
+
+    public Iterator<T> decode(byte[] ionBinary)
+    {
+        return decode(ionBinary, 0, ionBinary.length);
+    }
+
+
+    /**
+     * A run of adjacent top-level values sharing a symbol table.
+     */
+    private final class Chunk
+        implements Callable<List<T>>
+    {
+        private final byte[]      myBytes;
+        private final int         myStart;
+        private final int         myEnd;
+        private final int         myCount;
+        private final SymbolTable mySymbols;
+
+        Chunk(byte[] bytes, int start, int end, int count, SymbolTable symbols)
+        {
+            myBytes = bytes;
+            myStart = start;
+            myEnd = end;
+            myCount = count;
+            mySymbols = symbols;
+        }
+
+        public List<T> call()
+        {
+            IonReader reader = makeContinuationReader(myCatalog, myBytes,
+                                                      myStart,
+                                                      myEnd - myStart,
+                                                      mySymbols);
+            List<T> results = new ArrayList<T>(myCount);
+            while (reader.next() != null)
+            {
+                results.add(myDecoder.decode(reader));
+            }
+            return results;
+        }
+    }
+
+
+    private final class ResultIterator
+        implements Iterator<T>
+    {
+        private final byte[]       myBytes;
+        private final int          myOffset;
+        private final IonReader    myScanner;
+        private final SpanProvider mySpans;
+
+        private final LinkedList<FutureTask<List<T>>> myInFlight =
+            new LinkedList<FutureTask<List<T>>>();
+        private Iterator<T> myResults = Collections.<T>emptyList().iterator();
+
+        /** Whether the scanner is positioned on a value not yet chunked. */
+        private boolean     myHaveValue;
+        private boolean     myScanned;
+        /** Thrown by the scanner; rethrown after the values before it. */
+        private RuntimeException myScanFailure;
+
+        ResultIterator(byte[] bytes, int offset, int length)
+        {
+            myBytes = bytes;
+            myOffset = offset;
+            myScanner = makeReader(myCatalog, bytes, offset, length);
+            mySpans = myScanner.asFacet(SpanProvider.class);
+        }
+
+        public boolean hasNext()
+        {
+            while (!myResults.hasNext())
+            {
+                scanAhead();
+                if (myInFlight.isEmpty())
+                {
+                    if (myScanFailure != null) throw myScanFailure;
+                    return false;
+                }
+                myResults = await(myInFlight.removeFirst()).iterator();
+            }
+            return true;
+        }
+
+        public T next()
+        {
+            if (!hasNext()) throw new NoSuchElementException();
+            return myResults.next();
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        private void scanAhead()
+        {
+            while (!myScanned && myInFlight.size() < myMaxChunksInFlight)
+            {
+                Chunk chunk = scanChunk();
+                if (chunk == null) break;
+
+                FutureTask<List<T>> task = new FutureTask<List<T>>(chunk);
+                myInFlight.add(task);
+                myExecutor.execute(task);
+            }
+        }
+
+        /**
+         * @return the next chunk, or null at the end of the data.
+         */
+        private Chunk scanChunk()
+        {
+            if (!myHaveValue && !advance()) return null;
+
+            SymbolTable symbols = myScanner.getSymbolTable();
+            OffsetSpan span = currentSpan();
+            int start = myOffset + (int) span.getStartOffset();
+            int end = myOffset + (int) span.getFinishOffset();
+            int count = 1;
+            myHaveValue = false;
+
+            while (end - start < myChunkSize && advance())
+            {
+                span = currentSpan();
+                // symbol tables and version markers between values end the
+                // chunk, since they aren't decoded by its task
+                if (myScanner.getSymbolTable() != symbols
+                    || myOffset + span.getStartOffset() != end)
+                {
+                    break;
+                }
+                end = myOffset + (int) span.getFinishOffset();
+                count++;
+                myHaveValue = false;
+            }
+            return new Chunk(myBytes, start, end, count, symbols);
+        }
+
+        /**
+         * @return whether the scanner is now positioned on a value.
+         */
+        private boolean advance()
+        {
+            try
+            {
+                myHaveValue = (myScanner.next() != null);
+            }
+            catch (RuntimeException e)
+            {
+                // scanning stops here, but the values before are still
+                // decoded
+                myScanFailure = e;
+                myHaveValue = false;
+            }
+            myScanned = !myHaveValue;
+            return myHaveValue;
+        }
+
+        private OffsetSpan currentSpan()
+        {
+            return (OffsetSpan) mySpans.currentSpan();
+        }
+
+        private List<T> await(FutureTask<List<T>> task)
+        {
+            try
+            {
+                return task.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IonException(e);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw new IonException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.AnnotationReader;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SymbolToken;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Drives an {@link IonReader} over its values, calling back only on the
+ * values that match one of a set of search paths and never stepping into
+ * containers that can't hold a match.  Skipping a container this way costs
+ * the binary reader only a seek past its length prefix.
+ * <p>
+ * Instances are built by {@link PathExtractorBuilder}, are immutable, and
+ * are safe for concurrent use with different readers.
+ * <p>
+ * Field names and annotations are compared by text, but each symbol ID's
+ * text is looked up only once per symbol table in the input, so matching
+ * does not materialize strings.  Every ID whose text is a searched-for name
+ * matches, including IDs a local symbol table declares more than once.
+ *
+ * @see PathExtractorBuilder
+ */
+public final class PathExtractor
+{
+    /**
+     * Receives the values that match a search path.
+     */
+    public interface Callback
+    {
+        /**
+         * Invoked with the reader positioned on a matching value.  The
+         * callback may read the value, including stepping into it, but must
+         * leave the reader at the same depth and must not call
+         * {@link IonReader#next()} at that depth.  When other search paths
+         * continue below a matched container, the extractor steps into it
+         * after the callback returns, so the callback must not step into it
+         * itself.
+         *
+         * @return the number of containers to step out of before
+         * continuing; zero continues with the value's next sibling.  The
+         * extractor never steps out past the depth at which
+         * {@link PathExtractor#match(IonReader)} was called.
+         */
+        int onMatch(IonReader reader);
+    }
+
+
+    static final int WILDCARD = -1;
+    static final int FIELD    = -2;
+
+    private static final int SLOT_UNRESOLVED = -1;
+    private static final int SLOT_NONE       = -2;
+
+    /**
+     * One component of a search path.
+     */
+    static final class Step
+    {
+        /** An index, {@link #WILDCARD}, or {@link #FIELD}. */
+        final int      kind;
+        final String   fieldName;
+        /** Exact annotations required, or null if any are accepted. */
+        final String[] annotations;
+
+        Step(int kind, String fieldName, String[] annotations)
+        {
+            this.kind = kind;
+            this.fieldName = fieldName;
+            this.annotations = annotations;
+        }
+    }
+
+    static final class Path
+    {
+        /** Exact annotations required on the top-level value, or null. */
+        final String[] annotations;
+        final Step[]   steps;
+        final Callback callback;
+
+        Path(String[] annotations, Step[] steps, Callback callback)
+        {
+            this.annotations = annotations;
+            this.steps = steps;
+            this.callback = callback;
+        }
+    }
+
+
+    private final Path[]   myPaths;
+    private final String[] myFieldNames;
+    /** For each step of each path, its field name's index in myFieldNames. */
+    private final int[][]  myFieldSlots;
+    private final int      myMaxDepth;
+
+
+    PathExtractor(Path[] paths)
+    {
+        myPaths = paths;
+
+        Map<String, Integer> slots = new HashMap<String, Integer>();
+        myFieldSlots = new int[paths.length][];
+        int maxDepth = 0;
+        for (int p = 0; p < paths.length; p++)
+        {
+            Step[] steps = paths[p].steps;
+            myFieldSlots[p] = new int[steps.length];
+            for (int s = 0; s < steps.length; s++)
+            {
+                if (steps[s].kind == FIELD)
+                {
+                    Integer slot = slots.get(steps[s].fieldName);
+                    if (slot == null)
+                    {
+                        slot = slots.size();
+                        slots.put(steps[s].fieldName, slot);
+                    }
+                    myFieldSlots[p][s] = slot;
+                }
+            }
+            maxDepth = Math.max(maxDepth, steps.length);
+        }
+        myFieldNames = new String[slots.size()];
+        for (Map.Entry<String, Integer> e : slots.entrySet())
+        {
+            myFieldNames[e.getValue()] = e.getKey();
+        }
+        myMaxDepth = maxDepth;
+    }
+
+
+    /**
+     * Reads the remaining values at the reader's current depth, calling
+     * back on each value that matches a search path.  Paths are relative to
+     * that depth: their top-level values are the values read here.
+     * <p>
+     * On return the reader is at the end of its current container (or
+     * stream), unless a callback asked to step out.
+     *
+     * @param reader must not be null.
+     *
+     * @throws IllegalStateException if a callback leaves the reader at a
+     * different depth, or asks to step out past the starting depth.
+     */
+    public void match(IonReader reader)
+    {
+        new Matcher(reader).matchTopLevel();
+    }
+
+
+    /**
+     * The state of one call to {@link PathExtractor#match(IonReader)}.
+     */
+    private final class Matcher
+    {
+        private final IonReader myReader;
+        /** Candidate path indexes at each depth below the top. */
+        private final int[][]   myCandidates;
+        /** Null when the reader can't report annotations without allocating. */
+        private final AnnotationReader myAnnotations;
+        private SymbolTable     mySymbols;
+        /**
+         * For each symbol ID seen as a field name in the current symbol
+         * table: {@link #SLOT_UNRESOLVED}, {@link #SLOT_NONE}, or its text's
+         * index in myFieldNames.
+         */
+        private int[]           mySidSlots = new int[0];
+
+        Matcher(IonReader reader)
+        {
+            myReader = reader;
+            myCandidates = new int[myMaxDepth + 1][myPaths.length];
+            myAnnotations = asFacet(AnnotationReader.class, reader);
+        }
+
+        void matchTopLevel()
+        {
+            int[] candidates = myCandidates[0];
+            while (myReader.next() != null)
+            {
+                refreshFieldSids();
+
+                int count = 0;
+                for (int i = 0; i < myPaths.length; i++)
+                {
+                    if (annotationsMatch(myPaths[i].annotations))
+                    {
+                        candidates[count++] = i;
+                    }
+                }
+                if (count > 0 && matchValue(0, count) > 0)
+                {
+                    throw new IllegalStateException("A callback stepped out past the depth where matching began");
+                }
+            }
+        }
+
+        /**
+         * Symbol IDs mean different text in different symbol tables, so
+         * what's known about them is forgotten whenever the table changes.
+         */
+        private void refreshFieldSids()
+        {
+            SymbolTable symbols = myReader.getSymbolTable();
+            if (symbols != mySymbols)
+            {
+                mySymbols = symbols;
+                Arrays.fill(mySidSlots, SLOT_UNRESOLVED);
+            }
+        }
+
+        /**
+         * @return the index in myFieldNames of the symbol's text, or
+         * {@link #SLOT_NONE} if its text isn't a searched-for field name.
+         */
+        private int fieldSlot(int sid)
+        {
+            if (sid >= mySidSlots.length)
+            {
+                int maxId = (mySymbols == null ? sid : Math.max(sid, mySymbols.getMaxId()));
+                int length = (int) Math.min((long) maxId + 1,
+                                            Math.max(2L * mySidSlots.length, sid + 1L));
+                int old = mySidSlots.length;
+                mySidSlots = Arrays.copyOf(mySidSlots, length);
+                Arrays.fill(mySidSlots, old, length, SLOT_UNRESOLVED);
+            }
+            int slot = mySidSlots[sid];
+            if (slot == SLOT_UNRESOLVED)
+            {
+                String text = (mySymbols == null ? null : mySymbols.findKnownSymbol(sid));
+                slot = SLOT_NONE;
+                if (text != null)
+                {
+                    for (int i = 0; i < myFieldNames.length; i++)
+                    {
+                        if (myFieldNames[i].equals(text))
+                        {
+                            slot = i;
+                            break;
+                        }
+                    }
+                }
+                mySidSlots[sid] = slot;
+            }
+            return slot;
+        }
+
+        /**
+         * Handles the current value, which matches every step of the
+         * candidate paths up to {@code depth}.
+         *
+         * @return the number of containers still to step out of.
+         */
+        private int matchValue(int depth, int count)
+        {
+            int[] candidates = myCandidates[depth];
+
+            int children = 0;
+            for (int c = 0; c < count; c++)
+            {
+                Path path = myPaths[candidates[c]];
+                if (path.steps.length == depth)
+                {
+                    int stepOuts = invoke(path.callback);
+                    if (stepOuts > 0)
+                    {
+                        return stepOuts;
+                    }
+                }
+                else
+                {
+                    // compact the list of paths continuing below here
+                    candidates[children++] = candidates[c];
+                }
+            }
+
+            if (children == 0 || myReader.isNullValue()
+                || !IonType.isContainer(myReader.getType()))
+            {
+                return 0;
+            }
+
+            int stepOuts = matchChildren(depth, children);
+            if (stepOuts > 0)
+            {
+                // we've just stepped out of this value's container
+                return stepOuts - 1;
+            }
+            return 0;
+        }
+
+        /**
+         * Steps into the current value and matches its children against
+         * the next step of each candidate path.
+         *
+         * @return the number of containers still to step out of, counting
+         * the one this method stepped out of.
+         */
+        @SuppressWarnings("deprecation")
+        private int matchChildren(int depth, int count)
+        {
+            int[] candidates = myCandidates[depth];
+            int[] next = myCandidates[depth + 1];
+
+            myReader.stepIn();
+            int stepOuts = 0;
+            for (int index = 0; myReader.next() != null; index++)
+            {
+                int matches = 0;
+                int sid = SymbolTable.UNKNOWN_SYMBOL_ID;
+                boolean sidLoaded = false;
+                for (int c = 0; c < count; c++)
+                {
+                    int p = candidates[c];
+                    Step step = myPaths[p].steps[depth];
+                    boolean match;
+                    switch (step.kind)
+                    {
+                        case WILDCARD:
+                            match = true;
+                            break;
+                        case FIELD:
+                            if (!sidLoaded)
+                            {
+                                sid = myReader.getFieldId();
+                                sidLoaded = true;
+                            }
+                            match = fieldMatches(step, myFieldSlots[p][depth], sid);
+                            break;
+                        default:
+                            match = (step.kind == index);
+                            break;
+                    }
+                    if (match && annotationsMatch(step.annotations))
+                    {
+                        next[matches++] = p;
+                    }
+                }
+                if (matches > 0)
+                {
+                    stepOuts = matchValue(depth + 1, matches);
+                    if (stepOuts > 0)
+                    {
+                        break;
+                    }
+                }
+            }
+            myReader.stepOut();
+            return (stepOuts > 0 ? stepOuts : 1);
+        }
+
+        private boolean fieldMatches(Step step, int slot, int sid)
+        {
+            if (sid > 0)
+            {
+                return fieldSlot(sid) == slot;
+            }
+            // no ID to compare, so fall back to the text
+            return step.fieldName.equals(myReader.getFieldName());
+        }
+
+        private boolean annotationsMatch(String[] expected)
+        {
+            if (expected == null)
+            {
+                return true;
+            }
+            if (myAnnotations != null && mySymbols != null)
+            {
+                int count = myAnnotations.annotationCount();
+                if (count != expected.length)
+                {
+                    return false;
+                }
+                int i = 0;
+                for (; i < count; i++)
+                {
+                    int sid = myAnnotations.annotationSid(i);
+                    if (sid <= 0)
+                    {
+                        // no ID to look up, so compare the text below
+                        break;
+                    }
+                    if (!expected[i].equals(mySymbols.findKnownSymbol(sid)))
+                    {
+                        return false;
+                    }
+                }
+                if (i == count)
+                {
+                    return true;
+                }
+            }
+            SymbolToken[] actual = myReader.getTypeAnnotationSymbols();
+            if (actual.length != expected.length)
+            {
+                return false;
+            }
+            for (int i = 0; i < actual.length; i++)
+            {
+                if (!expected[i].equals(actual[i].getText()))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int invoke(Callback callback)
+        {
+            int depth = myReader.getDepth();
+            int stepOuts = callback.onMatch(myReader);
+            if (myReader.getDepth() != depth)
+            {
+                throw new IllegalStateException("A PathExtractor callback must leave the reader at the depth of the matched value");
+            }
+            if (stepOuts < 0)
+            {
+                throw new IllegalStateException("A PathExtractor callback may not return a negative step-out count");
+            }
+            return stepOuts;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import com.amazon.ion.IntegerSize;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.util.PathExtractor.Callback;
+import com.amazon.ion.util.PathExtractor.Path;
+import com.amazon.ion.util.PathExtractor.Step;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The builder for creating {@link PathExtractor}s.
+ * <p>
+ * A search path is written as an Ion S-expression whose elements select,
+ * in order, one child at each level below a top-level value:
+ * <ul>
+ *   <li>a symbol or string selects the struct field of that name;</li>
+ *   <li>a non-negative int selects the child at that position in any
+ *       container;</li>
+ *   <li>the symbol {@code *} selects every child (use the string
+ *       {@code "*"} to select a field named {@code *});</li>
+ *   <li>annotations on an element require the selected child to have
+ *       exactly those annotations, in order;</li>
+ *   <li>annotations on the S-expression itself do the same for the
+ *       top-level value.</li>
+ * </ul>
+ * For example, {@code (orders * total)} selects the {@code total} field of
+ * every element of the {@code orders} field of each top-level struct, and
+ * {@code ()} selects every top-level value.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class PathExtractorBuilder
+{
+    private final List<Path> myPaths = new ArrayList<Path>();
+
+
+    /**
+     * The standard builder of {@link PathExtractor}s, with no search paths.
+     *
+     * @return a new, mutable builder instance.
+     */
+    public static PathExtractorBuilder standard()
+    {
+        return new PathExtractorBuilder();
+    }
+
+
+    private PathExtractorBuilder()
+    {
+    }
+
+
+    /**
+     * Adds a search path, calling back on the values it selects.  When
+     * several paths select the same value, their callbacks are invoked in
+     * the order the paths were added.
+     *
+     * @param searchPath an Ion S-expression as described above.
+     * @param callback must not be null.
+     *
+     * @return this builder.
+     *
+     * @throws IllegalArgumentException if the search path is malformed.
+     */
+    public PathExtractorBuilder withSearchPath(String searchPath,
+                                               Callback callback)
+    {
+        callback.getClass(); // Force NPE
+        myPaths.add(parse(searchPath, callback));
+        return this;
+    }
+
+
+    /**
+     * Creates a new extractor for the search paths added so far.
+     *
+     * @return a new extractor; not null.
+     */
+    public PathExtractor build()
+    {
+        return new PathExtractor(myPaths.toArray(new Path[myPaths.size()]));
+    }
+
+
+    private static Path parse(String searchPath, Callback callback)
+    {
+        IonReader reader = IonReaderBuilder.standard().build(searchPath);
+        try
+        {
+            if (reader.next() != IonType.SEXP || reader.isNullValue())
+            {
+                throw invalid(searchPath, "expected an S-expression");
+            }
+            String[] annotations = annotations(reader);
+
+            List<Step> steps = new ArrayList<Step>();
+            reader.stepIn();
+            IonType type;
+            while ((type = reader.next()) != null)
+            {
+                steps.add(parseStep(searchPath, reader, type));
+            }
+            reader.stepOut();
+
+            if (reader.next() != null)
+            {
+                throw invalid(searchPath, "expected a single S-expression");
+            }
+            return new Path(annotations,
+                            steps.toArray(new Step[steps.size()]),
+                            callback);
+        }
+        catch (IonException e)
+        {
+            throw new IllegalArgumentException("Invalid search path: " + searchPath, e);
+        }
+    }
+
+    private static Step parseStep(String searchPath,
+                                  IonReader reader,
+                                  IonType type)
+    {
+        if (reader.isNullValue())
+        {
+            throw invalid(searchPath, "null is not a valid path element");
+        }
+
+        String[] annotations = annotations(reader);
+        switch (type)
+        {
+            case INT:
+                if (reader.getIntegerSize() != IntegerSize.INT)
+                {
+                    throw invalid(searchPath, "index out of range " + reader.bigIntegerValue());
+                }
+                int index = reader.intValue();
+                if (index < 0)
+                {
+                    throw invalid(searchPath, "negative index " + index);
+                }
+                return new Step(index, null, annotations);
+            case SYMBOL:
+                String text = reader.stringValue();
+                if (text == null)
+                {
+                    throw invalid(searchPath, "symbol with unknown text");
+                }
+                if ("*".equals(text))
+                {
+                    return new Step(PathExtractor.WILDCARD, null, annotations);
+                }
+                return new Step(PathExtractor.FIELD, text, annotations);
+            case STRING:
+                return new Step(PathExtractor.FIELD, reader.stringValue(),
+                                annotations);
+            default:
+                throw invalid(searchPath, type + " is not a valid path element");
+        }
+    }
+
+    private static String[] annotations(IonReader reader)
+    {
+        String[] annotations = reader.getTypeAnnotations();
+        return (annotations.length == 0 ? null : annotations);
+    }
+
+    private static IllegalArgumentException invalid(String searchPath,
+                                                    String detail)
+    {
+        return new IllegalArgumentException("Invalid search path "
+                                            + searchPath + ": " + detail);
+    }
+}
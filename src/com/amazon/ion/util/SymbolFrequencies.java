@@ -0,0 +1,325 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import static com.amazon.ion.impl._Private_Utils.systemSymtab;
+import static com.amazon.ion.impl._Private_Utils.utf8;
+
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SymbolToken;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the symbols used by a corpus of Ion data, to choose the contents of
+ * a shared symbol table.
+ * <p>
+ * Field names, annotations and symbol values are counted, except for the
+ * system symbols.  The generated tables order symbols by frequency, so the
+ * most common ones get the smallest symbol IDs: the first 118 symbols of a
+ * table imported after the system symbols are encoded in a single byte.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class SymbolFrequencies
+{
+    private static final class Counts
+    {
+        /** Occurrences as field names and annotations, encoded as VarUInts. */
+        long myReferences;
+
+        /** Occurrences as symbol values, encoded as UInts. */
+        long myValues;
+
+        long total()
+        {
+            return myReferences + myValues;
+        }
+    }
+
+    /** Counts by symbol text, in the order the symbols were first seen. */
+    private final Map<String, Counts> myCounts =
+        new LinkedHashMap<String, Counts>();
+
+    private final SymbolTable mySystemSymtab = systemSymtab(1);
+
+
+    /**
+     * Counts the symbols of all values remaining in a reader, which must be
+     * at top level.  Symbols with unknown text are ignored.
+     *
+     * @param reader must not be null.
+     */
+    public void count(IonReader reader)
+    {
+        if (reader.getDepth() != 0)
+        {
+            throw new IllegalArgumentException("Reader must be at top level");
+        }
+
+        for (;;)
+        {
+            IonType type = reader.next();
+            if (type == null)
+            {
+                if (reader.getDepth() == 0) break;
+                reader.stepOut();
+                continue;
+            }
+
+            if (reader.isInStruct())
+            {
+                countReference(reader.getFieldNameSymbol());
+            }
+            for (SymbolToken annotation : reader.getTypeAnnotationSymbols())
+            {
+                countReference(annotation);
+            }
+
+            switch (type)
+            {
+                case SYMBOL:
+                    if (! reader.isNullValue())
+                    {
+                        Counts counts = counts(reader.symbolValue());
+                        if (counts != null) counts.myValues++;
+                    }
+                    break;
+                case LIST:
+                case SEXP:
+                case STRUCT:
+                    if (! reader.isNullValue())
+                    {
+                        reader.stepIn();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void countReference(SymbolToken symbol)
+    {
+        Counts counts = counts(symbol);
+        if (counts != null) counts.myReferences++;
+    }
+
+    private Counts counts(SymbolToken symbol)
+    {
+        String text = symbol.getText();
+        if (text == null || mySystemSymtab.findSymbol(text) > 0)
+        {
+            return null;
+        }
+
+        Counts counts = myCounts.get(text);
+        if (counts == null)
+        {
+            counts = new Counts();
+            myCounts.put(text, counts);
+        }
+        return counts;
+    }
+
+
+    /**
+     * @return the number of distinct symbols counted.
+     */
+    public int size()
+    {
+        return myCounts.size();
+    }
+
+    /**
+     * @return the number of times a symbol occurred, or zero if it wasn't
+     * counted.
+     */
+    public long getCount(String text)
+    {
+        Counts counts = myCounts.get(text);
+        return (counts == null ? 0 : counts.total());
+    }
+
+    /**
+     * @return the counted symbols, most frequent first; symbols that are
+     * equally frequent are in the order they were first seen.
+     */
+    public List<String> getSymbolsByFrequency()
+    {
+        List<Map.Entry<String, Counts>> entries =
+            new ArrayList<Map.Entry<String, Counts>>(myCounts.entrySet());
+        // The sort is stable, so ties stay in first-seen order.
+        Collections.sort(entries, new Comparator<Map.Entry<String, Counts>>()
+        {
+            public int compare(Map.Entry<String, Counts> a,
+                               Map.Entry<String, Counts> b)
+            {
+                long x = a.getValue().total();
+                long y = b.getValue().total();
+                return (x < y ? 1 : (x == y ? 0 : -1));
+            }
+        });
+
+        List<String> symbols = new ArrayList<String>(entries.size());
+        for (Map.Entry<String, Counts> entry : entries)
+        {
+            symbols.add(entry.getKey());
+        }
+        return symbols;
+    }
+
+
+    /**
+     * Creates a shared symbol table holding the most frequent symbols.
+     * <p>
+     * When {@code version} is larger than 1, the prior version of the table
+     * is retrieved from the system's catalog.  Its symbols keep their IDs,
+     * as they must, and only the symbols it doesn't already hold are added,
+     * most frequent first.  Symbols held by {@code imports} aren't added.
+     *
+     * @param system creates the table; must not be null.
+     * @param name the symbol table name, a non-empty string.
+     * @param version at least one.
+     * @param maxSymbols the largest number of symbols to add, or zero to add
+     * all of the counted symbols.
+     * @param imports other tables from which to import symbols.
+     *
+     * @return a new shared symbol table with the given name and version.
+     *
+     * @throws IonException if {@code version > 1} and the prior version does
+     * not exist in the system's catalog.
+     */
+    public SymbolTable newSharedSymbolTable(IonSystem system,
+                                            String name,
+                                            int version,
+                                            int maxSymbols,
+                                            SymbolTable... imports)
+    {
+        if (maxSymbols < 0)
+        {
+            throw new IllegalArgumentException("maxSymbols must not be negative");
+        }
+
+        SymbolTable prior = null;
+        if (version > 1)
+        {
+            IonCatalog catalog = system.getCatalog();
+            prior = catalog.getTable(name, version - 1);
+            if (prior == null || prior.getVersion() != version - 1)
+            {
+                throw new IonException("Catalog does not contain symbol table "
+                                       + name + " version " + (version - 1));
+            }
+        }
+
+        List<String> symbols = new ArrayList<String>();
+        for (String text : getSymbolsByFrequency())
+        {
+            if (maxSymbols != 0 && symbols.size() == maxSymbols) break;
+            if (contains(prior, text)) continue;
+            boolean imported = false;
+            for (SymbolTable table : imports)
+            {
+                imported |= contains(table, text);
+            }
+            if (! imported)
+            {
+                symbols.add(text);
+            }
+        }
+
+        return system.newSharedSymbolTable(name, version, symbols.iterator(),
+                                           imports);
+    }
+
+    private static boolean contains(SymbolTable table, String text)
+    {
+        return table != null && table.findSymbol(text) > 0;
+    }
+
+
+    /**
+     * Projects how many bytes the counted symbols take when the corpus is
+     * encoded as Ion binary in a single stream.  This covers the symbol IDs
+     * of every occurrence and the declarations of local symbols, but not the
+     * fixed cost of symbol table structs.
+     *
+     * @param shared a shared symbol table imported by the stream, or null to
+     * project a stream that declares all symbols locally, in the order they
+     * were first seen, as the writers do.
+     *
+     * @return the projected size in bytes.
+     */
+    public long projectEncodedSize(SymbolTable shared)
+    {
+        int firstSid = mySystemSymtab.getMaxId() + 1;
+        int nextLocalSid = firstSid + (shared == null ? 0 : shared.getMaxId());
+
+        long size = 0;
+        for (Map.Entry<String, Counts> entry : myCounts.entrySet())
+        {
+            String text = entry.getKey();
+            int sid = (shared == null ? -1 : shared.findSymbol(text));
+            if (sid > 0)
+            {
+                sid += firstSid - 1;
+            }
+            else
+            {
+                sid = nextLocalSid++;
+
+                // A string in the symbols list.
+                int length = utf8(text).length;
+                size += 1 + (length < 14 ? 0 : varUIntLength(length)) + length;
+            }
+
+            Counts counts = entry.getValue();
+            size += counts.myReferences * varUIntLength(sid);
+            size += counts.myValues * uIntLength(sid);
+        }
+        return size;
+    }
+
+    private static int varUIntLength(int value)
+    {
+        int length = 1;
+        while ((value >>>= 7) != 0)
+        {
+            length++;
+        }
+        return length;
+    }
+
+    private static int uIntLength(int value)
+    {
+        int length = 1;
+        while ((value >>>= 8) != 0)
+        {
+            length++;
+        }
+        return length;
+    }
+}
@@ -15,7 +15,14 @@
 
 package com.amazon.ion;
 
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import com.amazon.ion.system.IonWriterBuilder;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import org.junit.Test;
 
 
@@ -346,4 +353,144 @@ public class DecimalTest
         checkDecimal(123, 0, value.bigDecimalValue());
     }
 
+
+    private static final long[][] UNSCALED_AND_SCALE = {
+        { 0, 0 }, { 0, 2 }, { 0, -3 }, { 1, 0 }, { -1, 0 }, { 1999, 2 },
+        { -825, 4 }, { 7, -2 }, { 127, 1 }, { -128, 1 }, { 32768, 3 },
+        { 1L << 40, 6 }, { Long.MAX_VALUE, 0 }, { Long.MIN_VALUE, 0 },
+        { Long.MIN_VALUE + 1, 20 }, { 123456789, -20 },
+        { 5, Integer.MAX_VALUE }, { -5, Integer.MIN_VALUE + 1 },
+    };
+
+    /**
+     * @return the output of the builder's writer's {@link DecimalWriter}.
+     */
+    private byte[] checkDecimalWriter(IonWriterBuilder builder)
+        throws Exception
+    {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        IonWriter expectedWriter =
+            (builder instanceof IonTextWriterBuilder
+                ? ((IonTextWriterBuilder) builder).build(expected)
+                : ((IonBinaryWriterBuilder) builder).build(expected));
+        IonWriter actualWriter =
+            (builder instanceof IonTextWriterBuilder
+                ? ((IonTextWriterBuilder) builder).build(actual)
+                : ((IonBinaryWriterBuilder) builder).build(actual));
+        DecimalWriter decimals = asFacet(DecimalWriter.class, actualWriter);
+        assertNotNull("DecimalWriter facet", decimals);
+
+        for (long[] value : UNSCALED_AND_SCALE)
+        {
+            expectedWriter.writeDecimal(BigDecimal.valueOf(value[0], (int) value[1]));
+            decimals.writeDecimal(value[0], (int) value[1]);
+        }
+        expectedWriter.close();
+        actualWriter.close();
+
+        assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+        return actual.toByteArray();
+    }
+
+    private void checkWrittenDecimals(byte[] data)
+    {
+        IonDatagram dg = loader().load(data);
+        assertEquals(UNSCALED_AND_SCALE.length, dg.size());
+        for (int i = 0; i < UNSCALED_AND_SCALE.length; i++)
+        {
+            checkDecimal(UNSCALED_AND_SCALE[i][0], (int) UNSCALED_AND_SCALE[i][1],
+                         ((IonDecimal) dg.get(i)).bigDecimalValue());
+        }
+    }
+
+    private void checkDecimal(long unscaled, int scale, BigDecimal actual)
+    {
+        assertEquals("decimal unscaled value",
+                     unscaled, actual.unscaledValue().longValue());
+        assertEquals("decimal scale",
+                     scale, actual.scale());
+    }
+
+    @Test
+    public void testDecimalWriter()
+        throws Exception
+    {
+        checkWrittenDecimals(checkDecimalWriter(IonTextWriterBuilder.standard()));
+        checkWrittenDecimals(checkDecimalWriter(IonBinaryWriterBuilder.standard()));
+        checkDecimalWriter(IonTextWriterBuilder.json());
+    }
+
+    @Test
+    public void testLoadedDecimals()
+        throws Exception
+    {
+        String text = "1.23 -0.00 12345678901234567890.1 5. -7d3";
+        IonDatagram dg = loader().load(text);
+        assertEquals(loader().load(dg.getBytes()), dg);
+        assertEquals(loader().load(dg.toString()), dg);
+
+        IonDecimal value = (IonDecimal) dg.get(0);
+        checkDecimal(123, 2, value.bigDecimalValue());
+        assertEquals(1.23d, value.doubleValue());
+        assertEquals(1.23f, value.floatValue());
+        assertEquals(system().newDecimal(new BigDecimal("1.23")), value);
+        assertEquals(system().newDecimal(new BigDecimal("1.23")).hashCode(),
+                     value.hashCode());
+        assertEquals(value, value.clone());
+
+        value = (IonDecimal) dg.get(1);
+        assertTrue(value.decimalValue().isNegativeZero());
+        assertEquals(-0d, value.doubleValue());
+        checkDecimal(0, 2, value.decimalValue());
+
+        checkDecimal(-7, -3, ((IonDecimal) dg.get(4)).decimalValue());
+
+        value.setValue(42L);
+        checkDecimal(42, 0, value.bigDecimalValue());
+        assertEquals("42.", value.toString());
+    }
+
+    @Test
+    public void testCompactStorageTransitions()
+        throws Exception
+    {
+        // Loaded small decimals are held as an unscaled long and a scale.
+        IonDecimal value = (IonDecimal) loader().load("12.50").get(0);
+        IonDecimal copy = value.clone();
+        checkDecimal(1250, 2, value.bigDecimalValue());
+
+        // to a BigDecimal, and back
+        BigDecimal big = new BigDecimal("123456789012345678901234567890.5");
+        value.setValue(big);
+        assertEquals(big, value.bigDecimalValue());
+        assertEquals(system().newDecimal(big), value);
+        value.setValue(7L);
+        checkDecimal(7, 0, value.decimalValue());
+        assertEquals("7.", value.toString());
+
+        // to null, and back
+        value.setValue((BigDecimal) null);
+        assertTrue(value.isNullValue());
+        assertNull(value.bigDecimalValue());
+        assertEquals("null.decimal", value.toString());
+        value.setValue(-3L);
+        assertFalse(value.isNullValue());
+        checkDecimal(-3, 0, value.bigDecimalValue());
+
+        // negative zero needs a Decimal, and keeps its sign through the DOM
+        value.setValue(Decimal.negativeZero(1));
+        assertTrue(value.decimalValue().isNegativeZero());
+        assertEquals(-0d, value.doubleValue());
+        assertEquals(value, loader().load(((IonValue) value).toString()).get(0));
+        value.setValue(0L);
+        assertFalse(value.decimalValue().isNegativeZero());
+
+        // a clone of a compact value is independent of its original
+        checkDecimal(1250, 2, copy.bigDecimalValue());
+        assertEquals(system().newDecimal(new BigDecimal("12.50")), copy);
+        assertEquals(system().newDecimal(new BigDecimal("12.50")).hashCode(),
+                     copy.hashCode());
+        assertFalse(system().newDecimal(new BigDecimal("12.5")).equals(copy));
+    }
 }
@@ -15,6 +15,7 @@
 
 package com.amazon.ion;
 
+import java.util.Random;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -122,6 +123,53 @@ public class FloatTest
         // TODO test BigDecimal
     }
 
+    private void checkParsing(String image)
+    {
+        IonReader reader = system().newReader(image);
+        assertSame(IonType.FLOAT, reader.next());
+        double expected = Double.parseDouble(image);
+        assertEquals(image, Double.doubleToRawLongBits(expected),
+                     Double.doubleToRawLongBits(reader.doubleValue()));
+    }
+
+    @Test
+    public void testParsingMatchesDoubleParsing()
+    {
+        checkParsing("0e0");
+        checkParsing("-0e0");
+        checkParsing("-0.000e-5");
+        checkParsing("1.5e3");
+        checkParsing("1.5E3");
+        checkParsing("1e23");
+        checkParsing("8.41e21");
+        checkParsing("9007199254740993e0");  // halfway between doubles
+        checkParsing("9400378492230.708595e22");
+        checkParsing("18446744073709551615e0");
+        checkParsing("123456789012345678901234567890e-10");
+        checkParsing("1.7976931348623157e308");
+        checkParsing("1.7976931348623159e308");
+        checkParsing("2.2250738585072014e-308");
+        checkParsing("2.2250738585072011e-308");
+        checkParsing("4.9e-324");
+        checkParsing("2e-324");
+        checkParsing("1e-400");
+        checkParsing("1e400");
+        checkParsing("0.0000000000000000000000000000001234e0");
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++)
+        {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d) || Double.isInfinite(d)) continue;
+            String image = Double.toString(d);
+            checkParsing(image.indexOf('E') < 0 ? image + "e0" : image);
+
+            // Shorter images, most of which aren't exact.
+            long digits = random.nextLong() % 100000000000L;
+            checkParsing(digits + "e" + (random.nextInt(600) - 300));
+        }
+    }
+
     @Test
     public void testParsingSpecialFloats()
     {
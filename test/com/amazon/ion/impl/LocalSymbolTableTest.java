@@ -26,6 +26,11 @@ import com.amazon.ion.IonTestCase;
 import com.amazon.ion.SubstituteSymbolTableException;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import org.junit.Test;
 
 
@@ -108,6 +113,58 @@ public class LocalSymbolTableTest
     }
 
 
+    @Test
+    public void testConcurrentIntern()
+        throws Exception
+    {
+        final SymbolTable st = makeLocalSymtab(system(), LOCAL_SYMBOLS_ABC);
+        final int symbols = 2000;
+        final List<Throwable> failures = new ArrayList<Throwable>();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++)
+        {
+            final int stride = t + 1;
+            threads[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for (int i = 0; i < symbols; i += stride)
+                        {
+                            String text = "sym" + i;
+                            SymbolToken tok = st.intern(text);
+                            assertEquals(text, st.findKnownSymbol(tok.getSid()));
+                            assertEquals(tok.getSid(), st.findSymbol(text));
+                            assertTrue(tok.getSid() <= st.getMaxId());
+                        }
+                    }
+                    catch (Throwable e)
+                    {
+                        synchronized (failures) { failures.add(e); }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(failures.toString(), 0, failures.size());
+
+        // Every symbol was added exactly once.
+        assertEquals(st.getImportedMaxId() + 3 + symbols, st.getMaxId());
+        Set<String> declared = new HashSet<String>();
+        Iterator<String> names = st.iterateDeclaredSymbolNames();
+        while (names.hasNext())
+        {
+            assertTrue(declared.add(names.next()));
+        }
+    }
+
     @Test(expected = NullPointerException.class)
     public void testInternNull()
     {
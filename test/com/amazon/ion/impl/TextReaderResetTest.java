@@ -0,0 +1,88 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.ResettableReader;
+import com.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import org.junit.Test;
+
+/**
+ * Checks that resetting a text reader re-uses its scanner and save point.
+ */
+public class TextReaderResetTest
+    extends IonTestCase
+{
+    private static void checkSymbols(IonReader reader, String... symbols)
+    {
+        for (String symbol : symbols)
+        {
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals(symbol, reader.stringValue());
+        }
+        assertNull(reader.next());
+    }
+
+    private static IonReaderTextRawX raw(IonReader reader)
+    {
+        assertTrue(reader instanceof IonReaderTextRawX);
+        return (IonReaderTextRawX) reader;
+    }
+
+    @Test
+    public void testResetFromBytesKeepsScanner()
+    {
+        IonReader reader = IonReaderBuilder.standard().build("a \"b\"".getBytes());
+        IonReaderTextRawTokensX scanner = raw(reader)._scanner;
+        SavePoint savePoint = raw(reader)._current_value_save_point;
+        reader.next();
+        reader.next();
+
+        ResettableReader resettable = asFacet(ResettableReader.class, reader);
+        resettable.reset("x y".getBytes(), 0, 3);
+        assertSame(scanner, raw(reader)._scanner);
+        assertSame(savePoint, raw(reader)._current_value_save_point);
+        checkSymbols(reader, "x", "y");
+
+        // a stream needs a different input, but the scanner still serves
+        resettable.reset(new ByteArrayInputStream("z".getBytes()));
+        assertSame(scanner, raw(reader)._scanner);
+        checkSymbols(reader, "z");
+    }
+
+    @Test
+    public void testResetFromStreamKeepsScanner()
+    {
+        IonReader reader = IonReaderBuilder.standard().build(new ByteArrayInputStream("a::{b:c}".getBytes()));
+        IonReaderTextRawTokensX scanner = raw(reader)._scanner;
+        SavePoint savePoint = raw(reader)._current_value_save_point;
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        reader.next();
+
+        asFacet(ResettableReader.class, reader).reset(new ByteArrayInputStream("x y".getBytes()));
+        assertSame(scanner, raw(reader)._scanner);
+        assertSame(savePoint, raw(reader)._current_value_save_point);
+        assertEquals(0, reader.getDepth());
+        checkSymbols(reader, "x", "y");
+    }
+}
@@ -26,13 +26,16 @@ import com.amazon.ion.IonDatagram;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSequence;
 import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SystemSymbols;
+import com.amazon.ion.Timestamp;
 import com.amazon.ion.system.IonTextWriterBuilder;
 import com.amazon.ion.system.IonTextWriterBuilder.LstMinimizing;
 import com.amazon.ion.system.IonWriterBuilder.IvmMinimizing;
 import java.io.OutputStream;
+import java.math.BigDecimal;
 import org.junit.Test;
 
 
@@ -393,6 +396,71 @@ public class TextWriterTest
         assertEquals("\"a\\\"'\\nc\\u007f\"", actual);
     }
 
+    private static void writeMixedText(IonWriter writer)
+        throws Exception
+    {
+        StringBuilder longText = new StringBuilder();
+        while (longText.length() < 40000)
+        {
+            longText.append("a\u00e9\u0800\ud83d\ude00\n\"'\u0085\u007f\u00ff");
+        }
+        String[] texts = { "", "plain", "tab\tq\"'\\", "\u0000\u001f\u0080\u009f\u00a0\u07ff\uffff",
+                           "\ud83d\ude00", "'''", longText.toString() };
+        for (String text : texts)
+        {
+            writer.setFieldName(text);
+            writer.writeString(text);
+            writer.setFieldName(text);
+            writer.setTypeAnnotations(text);
+            writer.writeSymbol(text);
+        }
+        writer.setFieldName("numbers");
+        writer.stepIn(IonType.LIST);
+        writer.writeDecimal(new BigDecimal("-123.4500"));
+        writer.writeDecimal(new BigDecimal("1E+7"));
+        writer.writeDecimal(new BigDecimal("12345678901234567890123.45"));
+        writer.writeInt(Long.MIN_VALUE);
+        writer.writeTimestamp(Timestamp.valueOf("2019-01-01T23:59:59.012345+05:30"));
+        writer.stepOut();
+    }
+
+    @Test
+    public void testUtf8OutputMatchesAppendableOutput()
+        throws Exception
+    {
+        IonTextWriterBuilder[] builders = {
+            IonTextWriterBuilder.standard(),
+            IonTextWriterBuilder.json(),
+            IonTextWriterBuilder.pretty().withLongStringThreshold(10),
+        };
+        for (IonTextWriterBuilder builder : builders)
+        {
+            // Text goes straight to UTF-8 bytes when writing to a stream.
+            options = builder;
+            iw = makeWriter();
+            iw.stepIn(IonType.STRUCT);
+            writeMixedText(iw);
+            iw.stepOut();
+
+            StringBuilder expected = new StringBuilder();
+            IonWriter writer = builder.build(expected);
+            writer.stepIn(IonType.STRUCT);
+            writeMixedText(writer);
+            writer.stepOut();
+            writer.close();
+
+            assertEquals(expected.toString(), outputString());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUtf8OutputRejectsUnmatchedSurrogate()
+        throws Exception
+    {
+        iw = makeWriter();
+        iw.writeString("a\ude00b");
+    }
+
     @Test
     public void testSuppressInitialIvm()
         throws Exception
@@ -15,9 +15,14 @@
 
 package com.amazon.ion.impl;
 
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.system.IonSystemBuilder;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -61,4 +66,57 @@ public class UnifiedInputStreamXTest extends Assert {
 
         assertArrayEquals(expected, actual);
     }
+
+    @Test
+    public void testConsumeRun() throws Exception {
+        UnifiedInputStreamX uix = UnifiedInputStreamX.makeStream("  \t ab".getBytes("UTF-8"));
+        assertEquals(4, uix.consumeRun(IonTokenConstsX.isBlankCharacter, null));
+        assertEquals(0, uix.consumeRun(IonTokenConstsX.isBlankCharacter, null));
+        StringBuilder sb = new StringBuilder();
+        assertEquals(2, uix.consumeRun(IonTokenConstsX.isValidSymbolCharacter, sb));
+        assertEquals("ab", sb.toString());
+        assertEquals(UnifiedInputStreamX.EOF, uix.read());
+
+        // Char sources stop at non-ASCII chars.
+        uix = UnifiedInputStreamX.makeStream("a b\u00e9c");
+        sb.setLength(0);
+        assertEquals(3, uix.consumeRun(IonTokenConstsX.isPlainStringCharacter, sb));
+        assertEquals("a b", sb.toString());
+        assertEquals(0xe9, uix.read());
+    }
+
+    @Test
+    public void testRunsAcrossPages() throws Exception {
+        // Long runs cross the stream's page boundaries.
+        StringBuilder text = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("plain text \\\" caf\u00e9 \ud83d\ude00 ");
+            expected.append("plain text \" caf\u00e9 \ud83d\ude00 ");
+        }
+        String value = "\"" + text + "\"";
+        char[] blanks = new char[UnifiedInputStreamX.DEFAULT_PAGE_SIZE + 3];
+        Arrays.fill(blanks, ' ');
+        String ion = "{ field_name_" + new String(blanks) + ": " + value + ", skipped: "
+            + value + "} " + new String(blanks) + " last";
+
+        IonSystem system = IonSystemBuilder.standard().build();
+        for (int pass = 0; pass < 2; pass++) {
+            IonReader reader = system.newReader(new ByteArrayInputStream(ion.getBytes("UTF-8")));
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            assertEquals(IonType.STRING, reader.next());
+            assertEquals("field_name_", reader.getFieldName());
+            if (pass == 0) {
+                assertEquals(expected.toString(), reader.stringValue());
+            }
+            assertEquals(IonType.STRING, reader.next());
+            assertEquals("skipped", reader.getFieldName());
+            assertNull(reader.next());
+            reader.stepOut();
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals("last", reader.stringValue());
+            assertNull(reader.next());
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+
+public class BoundedBlockAllocatorProviderTest
+{
+    @Test
+    public void testReuseBlockAfterClose()
+    {
+        final _Private_BoundedBlockAllocatorProvider provider = new _Private_BoundedBlockAllocatorProvider(64);
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        final Block block2 = allocator.allocateBlock();
+        assertNotSame(block1.data, block2.data);
+        block1.limit = 7;
+        block1.close();
+        assertEquals(8, provider.getRetainedBytes());
+
+        final Block block1Again = allocator.allocateBlock();
+        assertSame(block1, block1Again);
+        assertEquals(0, block1Again.limit);
+        assertEquals(0, provider.getRetainedBytes());
+
+        assertEquals(3, provider.getAllocations());
+        assertEquals(1, provider.getPoolHits());
+        assertEquals(2, provider.getPoolMisses());
+    }
+
+    @Test
+    public void testRetainedBytesAreBounded()
+    {
+        final _Private_BoundedBlockAllocatorProvider provider = new _Private_BoundedBlockAllocatorProvider(40, 2, 10000);
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block[] blocks = new Block[10];
+        for (int i = 0; i < blocks.length; i++)
+        {
+            blocks[i] = allocator.allocateBlock();
+        }
+        for (final Block block : blocks)
+        {
+            block.close();
+        }
+        // two in the magazine and three shared
+        assertEquals(40, provider.getRetainedBytes());
+
+        for (int i = 0; i < blocks.length; i++)
+        {
+            allocator.allocateBlock();
+        }
+        assertEquals(5, provider.getPoolHits());
+        assertEquals(15, provider.getPoolMisses());
+        assertEquals(0, provider.getRetainedBytes());
+    }
+
+    @Test
+    public void testBlocksFreedOnOtherThreadsAreShared() throws Exception
+    {
+        final _Private_BoundedBlockAllocatorProvider provider = new _Private_BoundedBlockAllocatorProvider(1024, 0, 10000);
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block = allocator.allocateBlock();
+        final Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                block.close();
+            }
+        };
+        thread.start();
+        thread.join();
+        assertSame(block, allocator.allocateBlock());
+    }
+
+    @Test
+    public void testIdleBlocksAreTrimmed() throws Exception
+    {
+        final _Private_BoundedBlockAllocatorProvider provider = new _Private_BoundedBlockAllocatorProvider(1024, 2, 10000);
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block[] blocks = new Block[4];
+        for (int i = 0; i < blocks.length; i++)
+        {
+            blocks[i] = allocator.allocateBlock();
+        }
+        for (final Block block : blocks)
+        {
+            block.close();
+        }
+        assertEquals(32, provider.getRetainedBytes());
+
+        // blocks used since the last trim are kept
+        provider.trim();
+        assertEquals(32, provider.getRetainedBytes());
+
+        provider.trim();
+        assertEquals(0, provider.getRetainedBytes());
+        assertEquals(4, provider.getAllocations());
+    }
+
+    @Test
+    public void testDeadThreadMagazinesAreTrimmed() throws Exception
+    {
+        final _Private_BoundedBlockAllocatorProvider provider = new _Private_BoundedBlockAllocatorProvider(1024, 2, 10000);
+        final Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                final BlockAllocator allocator = provider.vendAllocator(8);
+                allocator.allocateBlock().close();
+                allocator.close();
+            }
+        };
+        thread.start();
+        thread.join();
+        assertEquals(8, provider.getRetainedBytes());
+
+        provider.trim();
+        assertEquals(0, provider.getRetainedBytes());
+        assertEquals(1, provider.getAllocations());
+        assertEquals(1, provider.getPoolMisses());
+    }
+
+    @Test
+    public void testWritersShareProvider() throws Exception
+    {
+        final _Private_BoundedBlockAllocatorProvider provider = new _Private_BoundedBlockAllocatorProvider(1 << 20);
+        final _Private_IonManagedBinaryWriterBuilder builder = _Private_IonManagedBinaryWriterBuilder.create(provider);
+
+        byte[] first = null;
+        long firstMisses = 0;
+        for (int i = 0; i < 3; i++)
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final IonWriter writer = builder.newWriter(out);
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("hello");
+            writer.writeSymbol("world");
+            writer.stepOut();
+            writer.close();
+            if (first == null)
+            {
+                first = out.toByteArray();
+                firstMisses = provider.getPoolMisses();
+            }
+            assertArrayEquals(first, out.toByteArray());
+        }
+        assertEquals(provider.getAllocations(), provider.getPoolHits() + provider.getPoolMisses());
+        // later writers only reuse the blocks of the first
+        assertEquals(firstMisses, provider.getPoolMisses());
+    }
+}
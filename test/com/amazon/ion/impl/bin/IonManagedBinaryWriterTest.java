@@ -19,23 +19,33 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 
+import com.amazon.ion.EncodedValueWriter;
 import com.amazon.ion.IonContainer;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
 import com.amazon.ion.IonMutableCatalog;
+import com.amazon.ion.IonReader;
 import com.amazon.ion.IonSymbol;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonValue;
 import com.amazon.ion.IonWriter;
+import com.amazon.ion.OffsetSpan;
+import com.amazon.ion.SpanProvider;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.SystemSymbols;
 import com.amazon.ion.impl.bin.IonManagedBinaryWriter.ImportedSymbolResolverMode;
 import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.LocalSymbolTableRetention;
 import com.amazon.ion.junit.Injected.Inject;
+import com.amazon.ion.util.IonStreamUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -203,6 +213,23 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         assertValue("{a:1, b:2, c:3, d:4, e:5}");
     }
 
+    @Test
+    public void testStringListInUserSymbolTable() throws Exception
+    {
+        writer.setTypeAnnotations("$ion_symbol_table");
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldName("symbols");
+            IonStreamUtils.writeStringList(writer.getDelegate(), new String[] {"x", "y"});
+        }
+        writer.stepOut();
+
+        // the symbols were seen element by element, so they are in the local symbol table
+        assertTrue(writer.getSymbolTable().findSymbol("y") > 0);
+        writer.writeSymbol("y");
+        assertValue("y");
+    }
+
     @Test
     public void testSymbolTableExport() throws Exception {
         writer.stepIn(IonType.STRUCT);
@@ -227,4 +254,395 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         bos.toByteArray();
 
     }
+
+    private _Private_IonManagedWriter createRetainingWriter(final LocalSymbolTableRetention retention,
+                                                            final OutputStream out) throws IOException
+    {
+        final SymbolTable table = system().newSharedSymbolTable("test_retained", 1, asList("a", "b").iterator());
+        ((IonMutableCatalog) system().getCatalog()).putTable(table);
+        return (_Private_IonManagedWriter) _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withImports(importedSymbolResolverMode, asList(table))
+            .withPreallocationMode(preallocationMode)
+            .withLocalSymbolTableRetention(retention)
+            .newWriter(out);
+    }
+
+    private static void writeMessage(final IonWriter writer, final String symbol) throws IOException
+    {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("hello");
+        writer.writeSymbol(symbol);
+        writer.setFieldName("a");
+        writer.writeSymbol("b");
+        writer.stepOut();
+    }
+
+    private static void assertLoads(final String expected, final byte[]... data) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (final byte[] bytes : data)
+        {
+            out.write(bytes);
+        }
+        assertEquals(system().getLoader().load(expected), system().getLoader().load(out.toByteArray()));
+    }
+
+    @Test
+    public void testResetReemitsRetainedLocals() throws Exception
+    {
+        final ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out3 = new ByteArrayOutputStream();
+        final _Private_IonManagedWriter writer = createRetainingWriter(LocalSymbolTableRetention.REEMIT, out1);
+
+        writeMessage(writer, "world");
+        writer.reset(out2);
+        writeMessage(writer, "world");
+        writer.reset(out3);
+        writer.writeInt(1);
+        writeMessage(writer, "there");
+        writer.close();
+
+        // every message stands alone, and the retained symbols keep their IDs
+        assertLoads("{hello:world, a:b}", out1.toByteArray());
+        assertLoads("{hello:world, a:b}", out2.toByteArray());
+        assertArrayEquals(out1.toByteArray(), out2.toByteArray());
+        assertLoads("1 {hello:there, a:b}", out3.toByteArray());
+    }
+
+    @Test
+    public void testResetReferencesRetainedLocals() throws Exception
+    {
+        final ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out3 = new ByteArrayOutputStream();
+        final _Private_IonManagedWriter writer = createRetainingWriter(LocalSymbolTableRetention.REFERENCE, out1);
+
+        writeMessage(writer, "world");
+        writer.reset(out2);
+        writeMessage(writer, "world");
+        writer.reset(out3);
+        writeMessage(writer, "there");
+        writer.close();
+
+        // later messages only continue the symbol table of the first
+        assertLoads("{hello:world, a:b} {hello:world, a:b} {hello:there, a:b}",
+                    out1.toByteArray(), out2.toByteArray(), out3.toByteArray());
+        assertTrue(out2.size() < out1.size());
+        assertTrue(out2.size() < out3.size());
+    }
+
+    @Test
+    public void testFinishWithoutRetentionResetsLocals() throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final _Private_IonManagedWriter writer = createRetainingWriter(LocalSymbolTableRetention.NONE, out);
+
+        writeMessage(writer, "world");
+        writer.finish();
+        final int length = out.size();
+        writeMessage(writer, "world");
+        ((IonManagedBinaryWriter) writer).writeIonVersionMarker();
+        // the second message declared its symbols all over again
+        assertEquals(2 * length, out.size());
+        writeMessage(writer, "there");
+        writer.close();
+
+        assertLoads("{hello:world, a:b} {hello:world, a:b} {hello:there, a:b}", out.toByteArray());
+    }
+
+    private static int maxLocalSymbols(final byte[] data)
+    {
+        final IonReader reader = system().newReader(data);
+        int max = 0;
+        while (reader.next() != null)
+        {
+            final SymbolTable symbols = reader.getSymbolTable();
+            max = Math.max(max, symbols.getMaxId() - symbols.getImportedMaxId());
+        }
+        return max;
+    }
+
+    private void checkRotation(final int maxSymbols, final int maxSymbolBytes, final int expectedMaxLocals)
+        throws Exception
+    {
+        final int[] flushes = new int[1];
+        final ByteArrayOutputStream out = new ByteArrayOutputStream()
+        {
+            @Override
+            public void flush()
+            {
+                flushes[0]++;
+            }
+        };
+        final IonWriter writer = _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withPreallocationMode(preallocationMode)
+            .withLocalSymbolTableRotation(maxSymbols, maxSymbolBytes)
+            .newWriter(out);
+
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++)
+        {
+            writeMessage(writer, "s" + i);
+            writer.setTypeAnnotations("t" + i);
+            writer.writeInt(i);
+            expected.append("{hello:s").append(i).append(", a:b} t").append(i).append("::").append(i).append(' ');
+        }
+        // rotating leaves flushing the stream to the user
+        assertEquals(0, flushes[0]);
+        writer.close();
+
+        assertLoads(expected.toString(), out.toByteArray());
+        assertEquals(expectedMaxLocals, maxLocalSymbols(out.toByteArray()));
+    }
+
+    @Test
+    public void testRotateLocalSymbolTableBySymbolCount() throws Exception
+    {
+        // a table can overshoot by the symbols of the value that reaches the limit
+        checkRotation(4, 0, 5);
+    }
+
+    @Test
+    public void testRotateLocalSymbolTableBySymbolBytes() throws Exception
+    {
+        // each message and annotated int declare 16 bytes of symbol text
+        checkRotation(0, 15, 5);
+    }
+
+    @Test
+    public void testWithoutRotationLocalSymbolTableGrows() throws Exception
+    {
+        checkRotation(0, 0, 43);
+    }
+
+    @Test
+    public void testWriteValueSplicesWithSidTranslation() throws Exception
+    {
+        // the source has its own symbol table, including symbols the destination also has
+        final ByteArrayOutputStream source = new ByteArrayOutputStream();
+        final IonWriter sourceWriter = _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withFloatBinary32Enabled()
+            .newWriter(source);
+        final String data =
+            "x::{z:y, a:[b, c::d, null.symbol, 1.5e0, \"s\", null, (q r::{})], name:$ion_1_0} "
+            + "y z::w {}";
+        for (final IonValue value : system().getLoader().load(data))
+        {
+            value.writeTo(sourceWriter);
+        }
+        sourceWriter.close();
+
+        final SymbolTable table = system().newSharedSymbolTable("test_splice", 1, asList("c", "w").iterator());
+        ((IonMutableCatalog) system().getCatalog()).putTable(table);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withImports(importedSymbolResolverMode, asList(table))
+            .withPreallocationMode(preallocationMode)
+            .withStreamCopyOptimization(true)
+            .newWriter(out);
+        writer.writeSymbol("r");
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("outer");
+        final IonReader reader = system().newReader(source.toByteArray());
+        reader.next();
+        writer.writeValue(reader);
+        writer.stepOut();
+        while (reader.next() != null)
+        {
+            writer.writeValue(reader);
+        }
+        writer.close();
+
+        final IonDatagram actual = system().getLoader().load(out.toByteArray());
+        assertEquals(system().getLoader().load("r {outer:x::{z:y, a:[b, c::d, null.symbol, 1.5e0, \"s\", null, (q r::{})], name:$ion_1_0}} y z::w {}"),
+                     actual);
+
+        // the float was copied as-is, rather than widened by re-encoding
+        final byte[] bytes = out.toByteArray();
+        boolean found = false;
+        for (int i = 0; i + 4 < bytes.length; i++)
+        {
+            found |= bytes[i] == 0x44 && bytes[i + 1] == 0x3F && bytes[i + 2] == (byte) 0xC0;
+        }
+        assertTrue(found);
+    }
+
+    /** Holds the encoding of one top-level value and the symbol table it was encoded against. */
+    private static final class Fragment
+    {
+        byte[] bytes;
+        SymbolTable symbols;
+    }
+
+    private static List<Fragment> fragments(final String data) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = system().newBinaryWriter(out);
+        for (final IonValue value : system().getLoader().load(data))
+        {
+            value.writeTo(writer);
+        }
+        writer.close();
+        final byte[] bytes = out.toByteArray();
+
+        final List<Fragment> fragments = new ArrayList<Fragment>();
+        final IonReader reader = system().newReader(bytes);
+        while (reader.next() != null)
+        {
+            final OffsetSpan span = reader.asFacet(SpanProvider.class).currentSpan().asFacet(OffsetSpan.class);
+            final Fragment fragment = new Fragment();
+            fragment.bytes = Arrays.copyOfRange(bytes, (int) span.getStartOffset(), (int) span.getFinishOffset());
+            fragment.symbols = reader.getSymbolTable();
+            fragments.add(fragment);
+        }
+        return fragments;
+    }
+
+    private IonWriter createEncodedValueWriter(final OutputStream out) throws IOException
+    {
+        return _Private_IonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withPreallocationMode(preallocationMode)
+            .newWriter(out);
+    }
+
+    @Test
+    public void testWriteEncodedValues() throws Exception
+    {
+        final List<Fragment> fragments = fragments("1 \"two\" x::{y:[z, 3.0]} name a::b::(c d)");
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = createEncodedValueWriter(out);
+        final EncodedValueWriter encoded = writer.asFacet(EncodedValueWriter.class);
+        writer.writeSymbol("c");
+        writer.stepIn(IonType.STRUCT);
+        for (final Fragment fragment : fragments)
+        {
+            writer.setFieldName("f");
+            writer.addTypeAnnotation("p");
+            encoded.writeEncodedValue(fragment.bytes, 0, fragment.bytes.length, fragment.symbols);
+        }
+        writer.stepOut();
+        encoded.writeEncodedValue(ByteBuffer.wrap(fragments.get(2).bytes), fragments.get(2).symbols);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(fragments.get(4).bytes.length);
+        direct.put(fragments.get(4).bytes).flip();
+        encoded.writeEncodedValue(direct, fragments.get(4).symbols);
+        assertEquals(0, direct.position());
+        writer.close();
+
+        assertEquals(system().getLoader().load(
+                         "c {f:p::1, f:p::\"two\", f:p::x::{y:[z, 3.0]}, f:p::name, f:p::a::b::(c d)} "
+                         + "x::{y:[z, 3.0]} a::b::(c d)"),
+                     system().getLoader().load(out.toByteArray()));
+    }
+
+    @Test
+    public void testWriteEncodedValueWithoutSymbolsIsCopied() throws Exception
+    {
+        final Fragment fragment = fragments("[1, \"two\", name, {version:3}]").get(0);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = createEncodedValueWriter(out);
+        writer.asFacet(EncodedValueWriter.class).writeEncodedValue(fragment.bytes, 0, fragment.bytes.length, null);
+        writer.close();
+
+        final byte[] expected = new byte[4 + fragment.bytes.length];
+        expected[0] = (byte) 0xE0;
+        expected[1] = 0x01;
+        expected[2] = 0x00;
+        expected[3] = (byte) 0xEA;
+        System.arraycopy(fragment.bytes, 0, expected, 4, fragment.bytes.length);
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    /** Whether the bytes occur in the array. */
+    private static boolean contains(final byte[] bytes, final byte[] sought)
+    {
+        outer:
+        for (int i = 0; i + sought.length <= bytes.length; i++)
+        {
+            for (int j = 0; j < sought.length; j++)
+            {
+                if (bytes[i + j] != sought[j])
+                {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Test
+    public void testWriteEncodedValueCopiedWhenSymbolTableExtendsSource() throws Exception
+    {
+        // the symbols are padded to one byte longer than needed, which copying keeps and translating drops
+        final SymbolTable source = fragments("x y").get(0).symbols;
+        final SymbolTable reordered = fragments("y x").get(0).symbols;
+        final byte[] sid10 = { 0x72, 0x00, 0x0A };
+        final byte[] sid11 = { 0x72, 0x00, 0x0B };
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = createEncodedValueWriter(out);
+        final EncodedValueWriter encoded = writer.asFacet(EncodedValueWriter.class);
+        writer.writeSymbol("x");
+        // we don't have y yet, so it's translated, which declares it
+        encoded.writeEncodedValue(sid11, 0, sid11.length, source);
+        // now our table extends the source
+        encoded.writeEncodedValue(sid10, 0, sid10.length, source);
+        // this one never will, with or without new symbols
+        encoded.writeEncodedValue(sid11, 0, sid11.length, reordered);
+        encoded.writeEncodedValue(sid11, 0, sid11.length, reordered);
+        writer.writeSymbol("z");
+        encoded.writeEncodedValue(sid10, 0, sid10.length, reordered);
+        writer.close();
+
+        final byte[] bytes = out.toByteArray();
+        assertEquals(system().getLoader().load("x y x x x z y"), system().getLoader().load(bytes));
+        assertTrue(contains(bytes, new byte[] { 0x71, 0x0A, 0x71, 0x0B, 0x72, 0x00, 0x0A, 0x71, 0x0A, 0x71, 0x0A, 0x71, 0x0C, 0x71, 0x0B }));
+    }
+
+    private void assertMalformed(final byte[] data, final SymbolTable symbols) throws IOException
+    {
+        final IonWriter writer = createEncodedValueWriter(new ByteArrayOutputStream());
+        try
+        {
+            writer.asFacet(EncodedValueWriter.class).writeEncodedValue(data, 0, data.length, symbols);
+            fail("Expected IonException");
+        }
+        catch (final IonException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWriteMalformedEncodedValues() throws Exception
+    {
+        final Fragment fragment = fragments("{a:b}").get(0);
+        // truncated
+        assertMalformed(Arrays.copyOf(fragment.bytes, fragment.bytes.length - 1), null);
+        assertMalformed(Arrays.copyOf(fragment.bytes, fragment.bytes.length - 1), fragment.symbols);
+        // two values
+        assertMalformed(new byte[] { 0x21, 0x01, 0x21, 0x02 }, null);
+        // version marker
+        assertMalformed(new byte[] { (byte) 0xE0, 0x01, 0x00, (byte) 0xEA }, null);
+        // padding
+        assertMalformed(new byte[] { 0x01, 0x00 }, null);
+        assertMalformed(new byte[0], null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteEncodedValueWithSharedTable() throws Exception
+    {
+        final SymbolTable shared = system().newSharedSymbolTable("test_encoded", 1, asList("a").iterator());
+        createEncodedValueWriter(new ByteArrayOutputStream())
+            .asFacet(EncodedValueWriter.class)
+            .writeEncodedValue(new byte[] { 0x71, 0x0A }, 0, 2, shared);
+    }
 }
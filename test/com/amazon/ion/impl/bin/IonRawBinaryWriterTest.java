@@ -50,6 +50,7 @@ import com.amazon.ion.junit.Injected;
 import com.amazon.ion.junit.Injected.Inject;
 import com.amazon.ion.junit.IonAssert;
 import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.util.IonStreamUtils;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
@@ -482,5 +483,87 @@ public class IonRawBinaryWriterTest extends Assert
         assertValue("{name:\"kumo\", version:1, imports:[0, 1, 2]}");
     }
 
+    @Test
+    public void testIntList() throws Exception
+    {
+        final IonWriter delegate = writer.getDelegate();
+
+        IonStreamUtils.writeIntList(delegate, new long[] {});
+        assertValue("[]");
+
+        IonStreamUtils.writeIntList(delegate, new long[] {0, 1, -1, 0xFF, 0x100, -0x10000, Long.MAX_VALUE, Long.MIN_VALUE});
+        assertValue("[0, 1, -1, 255, 256, -65536, 9223372036854775807, -9223372036854775808]");
+
+        IonStreamUtils.writeIntList(delegate, new int[] {Integer.MIN_VALUE, 7, Integer.MAX_VALUE});
+        assertValue("[-2147483648, 7, 2147483647]");
+
+        IonStreamUtils.writeIntList(delegate, new short[] {Short.MIN_VALUE, 0, Short.MAX_VALUE});
+        assertValue("[-32768, 0, 32767]");
+
+        IonStreamUtils.writeIntList(delegate, new byte[] {Byte.MIN_VALUE, -1, Byte.MAX_VALUE});
+        assertValue("[-128, -1, 127]");
+    }
+
+    @Test
+    public void testFloatList() throws Exception
+    {
+        final IonWriter delegate = writer.getDelegate();
+
+        IonStreamUtils.writeFloatList(delegate, new double[] {0.0, -0.0, 1.5, 0.1, Double.NaN, Double.NEGATIVE_INFINITY});
+        assertValue("[0e0, -0e0, 1.5e0, 0.1e0, nan, -inf]");
+
+        IonStreamUtils.writeFloatList(delegate, new float[] {0.5f, -2f, Float.MAX_VALUE});
+        assertValue("[0.5e0, -2e0, " + (double) Float.MAX_VALUE + "]");
+    }
+
+    @Test
+    public void testBoolList() throws Exception
+    {
+        IonStreamUtils.writeBoolList(writer.getDelegate(), new boolean[] {true, false, true});
+        assertValue("[true, false, true]");
+    }
+
+    @Test
+    public void testStringList() throws Exception
+    {
+        IonStreamUtils.writeStringList(writer.getDelegate(), new String[] {"", "hello", null, "caf\u00e9 \u4e16\ud83d\ude00", STR_127});
+        assertValue("[\"\", \"hello\", null.string, \"caf\\u00e9 \\u4e16\\U0001f600\", '''" + STR_127 + "''']");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStringListUnpairedSurrogate() throws Exception
+    {
+        IonStreamUtils.writeStringList(writer.getDelegate(), new String[] {"a\ud83d"});
+    }
+
+    @Test
+    public void testListInContainer() throws Exception
+    {
+        final IonWriter delegate = writer.getDelegate();
+        final long[] longs = new long[1000];
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < longs.length; i++)
+        {
+            longs[i] = (long) i * i * i;
+            expected.append(i == 0 ? "" : ", ").append(longs[i]);
+        }
+
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldNameSymbol(systemSymbol(NAME_SID));
+            writer.setTypeAnnotationSymbols(systemSymbol(IMPORTS_SID));
+            IonStreamUtils.writeIntList(delegate, longs);
+
+            writer.setFieldNameSymbol(systemSymbol(VERSION_SID));
+            writer.stepIn(IonType.LIST);
+            {
+                IonStreamUtils.writeBoolList(delegate, new boolean[] {true});
+            }
+            writer.stepOut();
+        }
+        writer.stepOut();
+        assertValue("{name:imports::[" + expected + "], version:[[true]]}");
+    }
+
     // TODO test large stuff...
 }
@@ -835,6 +835,54 @@ public class WriteBufferTest
         assertBuffer(expected);
     }
 
+    @Test
+    public void testUTF8Length() throws IOException
+    {
+        final String[] texts = {"", "hello", "h\u00F4!", "\u30CF\u30ED World", "\uD83D\uDCA9 h\u00F4\u30CF"};
+        for (final String text : texts)
+        {
+            assertEquals(text, text.getBytes("UTF-8").length, WriteBuffer.utf8Length(text));
+            assertEquals(text, buf.writeUTF8(text), WriteBuffer.utf8Length(text));
+        }
+        try
+        {
+            WriteBuffer.utf8Length("\u00F4\uD83D ");
+            fail("Expected error!");
+        }
+        catch (final IllegalArgumentException e) {}
+    }
+
+    @Test
+    public void testVarUIntLength()
+    {
+        final long[] values = {0, 0x7F, 0x80, 0x3FFF, 0x4000, 0x1FFFFF, 0xFFFFFF0, 0x7FFFFFFF0L, Long.MAX_VALUE};
+        for (final long value : values)
+        {
+            assertEquals(buf.writeVarUInt(value), WriteBuffer.varUIntLength(value));
+        }
+    }
+
+    @Test
+    public void testTypedUInt()
+    {
+        // write enough to cross block boundaries on both the fast and slow paths
+        final byte[] bytes = new byte[40];
+        for (int i = 0; i < bytes.length; i += 5)
+        {
+            buf.writeTypedUInt(0x40, 0xFFFFFFFF89ABCDEFL, 4);
+            bytes[i    ] = (byte) 0x44;
+            bytes[i + 1] = (byte) 0x89;
+            bytes[i + 2] = (byte) 0xAB;
+            bytes[i + 3] = (byte) 0xCD;
+            bytes[i + 4] = (byte) 0xEF;
+        }
+        buf.writeTypedUInt(0x20, 0, 0);
+        final byte[] expected = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, expected, 0, bytes.length);
+        expected[bytes.length] = (byte) 0x20;
+        assertBuffer(expected);
+    }
+
     @Test
     public void testUTF8BadSurrogate() throws IOException
     {
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.lite;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonList;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyLoadingTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "$ion_symbol_table::{symbols:[\"s1\", \"s2\"]} s1 a::{f:[1, s2, {g:2.5}], h:null.list} " +
+        "$ion_1_0 $ion_symbol_table::{symbols:[\"t1\"]} b::[t1, (x y), \"str\"] 42 [] " +
+        "{a:1, b:2, c:3, d:4, e:5, f:6, g:7, h:8, i:9, j:10}";
+
+    private IonSystem lazySystem;
+
+    @Before
+    public void makeLazySystem()
+    {
+        lazySystem = IonSystemBuilder.standard().withLazyLoading(true).build();
+    }
+
+    private IonDatagram lazyLoad(String text)
+    {
+        return lazySystem.getLoader().load(encode(text));
+    }
+
+    private static boolean isLazy(Object value)
+    {
+        return ((IonContainerLite) value).getLazyContent() != null;
+    }
+
+    @Test
+    public void testLazyLoadEqualsEagerLoad()
+    {
+        IonDatagram expected = loader().load(encode(DATA));
+        IonDatagram actual = lazyLoad(DATA);
+        assertTrue(isLazy(actual.get(1)));
+
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), lazyLoad(DATA).toString());
+        assertEquals(expected.systemSize(), actual.systemSize());
+    }
+
+    @Test
+    public void testContainersDecodeOnAccess()
+    {
+        IonDatagram dg = lazyLoad(DATA);
+        IonStruct struct = (IonStruct) dg.get(1);
+        assertTrue(isLazy(struct));
+        assertEquals("a", struct.getTypeAnnotations()[0]);
+
+        IonList list = (IonList) struct.get("f");
+        assertFalse(isLazy(struct));
+        assertTrue(isLazy(list));
+        assertTrue(isLazy(list.get(2)));
+        assertEquals("s2", list.get(1).toString());
+        assertEquals(3, list.size());
+
+        IonStruct big = (IonStruct) dg.get(dg.size() - 1);
+        assertEquals(loader().load("7").get(0), big.get("g"));
+    }
+
+    @Test
+    public void testModifyLazyValue()
+    {
+        IonDatagram dg = lazyLoad(DATA);
+        IonList list = (IonList) dg.get(2);
+        list.add(system().newString("added"));
+        list.remove(0);
+        ((IonStruct) dg.get(1)).put("h").newInt(7);
+        list.addTypeAnnotation("c");
+
+        IonDatagram reloaded = loader().load(dg.getBytes());
+        assertEquals("b::c::[(x y),\"str\",\"added\"]",
+                     reloaded.get(2).toString());
+        assertEquals("7", ((IonStruct) reloaded.get(1)).get("h").toString());
+        assertEquals(dg, reloaded);
+    }
+
+    @Test
+    public void testGetBytesCopiesUndecodedContainers()
+    {
+        byte[] bytes = encode(DATA);
+        IonDatagram dg = lazySystem.getLoader().load(bytes);
+        IonDatagram reloaded = loader().load(dg.getBytes());
+        assertEquals(loader().load(bytes), reloaded);
+        assertTrue(isLazy(dg.get(1)));
+    }
+
+    @Test
+    public void testWriteToStreamCopyWriter()
+        throws Exception
+    {
+        IonDatagram dg = lazyLoad(DATA);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withStreamCopyOptimized(true)
+            .build(out);
+        dg.writeTo(writer);
+        writer.close();
+
+        assertEquals(loader().load(encode(DATA)),
+                     loader().load(out.toByteArray()));
+        assertTrue(isLazy(dg.get(1)));
+    }
+
+    @Test
+    public void testCloneOfLazyValue()
+    {
+        IonDatagram dg = lazyLoad(DATA);
+        IonStruct copy = ((IonStruct) dg.get(1)).clone();
+        assertTrue(isLazy(copy));
+        assertEquals(dg.get(1), copy);
+        assertEquals("a::{f:[1,s2,{g:2.5}],h:null.list}", copy.toString());
+    }
+
+    @Test
+    public void testReadOnlyConcurrentAccess()
+        throws Exception
+    {
+        final IonDatagram dg = lazyLoad(DATA);
+        dg.makeReadOnly();
+        final IonDatagram expected = loader().load(encode(DATA));
+
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread() {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        assertEquals(expected, dg);
+                    }
+                    catch (Throwable e)
+                    {
+                        synchronized (failures) { failures.add(e); }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(failures.toString(), 0, failures.size());
+        assertTrue(dg.get(1).isReadOnly());
+        assertTrue(((IonStruct) dg.get(1)).get("f").isReadOnly());
+    }
+
+    @Test
+    public void testMalformedChildrenKeepFailing()
+    {
+        // {name:[1, 2, <bool with an invalid length>]}
+        byte[] data = {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            (byte) 0xD7, (byte) 0x84, (byte) 0xB5, 0x21, 0x01, 0x21, 0x02, 0x13
+        };
+        IonDatagram dg = lazySystem.getLoader().load(data);
+        IonList list = (IonList) ((IonStruct) dg.get(0)).get("name");
+        assertTrue(isLazy(list));
+
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                list.size();
+                fail("Expected IonException");
+            }
+            catch (IonException e) { }
+            try
+            {
+                list.get(0);
+                fail("Expected IonException");
+            }
+            catch (IonException e) { }
+            assertTrue(isLazy(list));
+        }
+
+        // {name:1, name:2, name:<bool with an invalid length>}
+        data = new byte[] {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            (byte) 0xD8, (byte) 0x84, 0x21, 0x01, (byte) 0x84, 0x21, 0x02, (byte) 0x84, 0x13
+        };
+        IonStruct struct = (IonStruct) lazySystem.getLoader().load(data).get(0);
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                struct.get("name");
+                fail("Expected IonException");
+            }
+            catch (IonException e) { }
+            try
+            {
+                struct.size();
+                fail("Expected IonException");
+            }
+            catch (IonException e) { }
+            assertTrue(isLazy(struct));
+        }
+    }
+
+    @Test
+    public void testTextIsLoadedEagerly()
+    {
+        IonDatagram dg = lazySystem.getLoader().load("[1, 2]");
+        assertFalse(isLazy(dg.get(0)));
+    }
+}
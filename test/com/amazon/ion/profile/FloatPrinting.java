@@ -0,0 +1,104 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.profile;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+
+/**
+ * Measures writing floats as Ion text, comparing the text writer with
+ * printing via {@link Double#toString(double)}, as it used to.
+ * <p>
+ * Usage: {@code FloatPrinting [floats [rounds]]}
+ */
+public class FloatPrinting
+{
+    public static void main(String[] args)
+        throws IOException
+    {
+        int floats = (args.length > 0 ? Integer.parseInt(args[0]) : 1000000);
+        int rounds = (args.length > 1 ? Integer.parseInt(args[1]) : 10);
+
+        // Telemetry-like values: measurements with a few digits, and
+        // arbitrary doubles.
+        Random random = new Random(42);
+        double[] values = new double[floats];
+        for (int i = 0; i < floats; i++)
+        {
+            values[i] = (i % 2 == 0
+                         ? Math.round(random.nextGaussian() * 100000) / 1000.0
+                         : random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(floats * 24);
+        System.out.println("round\twriter ms\tDouble.toString ms");
+        for (int round = 0; round < rounds; round++)
+        {
+            out.reset();
+            long start = System.nanoTime();
+            IonWriter writer = IonTextWriterBuilder.standard().build(out);
+            for (double value : values)
+            {
+                writer.writeFloat(value);
+            }
+            writer.close();
+            long writerNanos = System.nanoTime() - start;
+
+            out.reset();
+            start = System.nanoTime();
+            StringBuilder text = new StringBuilder();
+            for (double value : values)
+            {
+                printWithToString(text, value);
+                text.append(' ');
+                if (text.length() > 4096)
+                {
+                    out.write(text.toString().getBytes("UTF-8"));
+                    text.setLength(0);
+                }
+            }
+            out.write(text.toString().getBytes("UTF-8"));
+            long toStringNanos = System.nanoTime() - start;
+
+            System.out.println(round + "\t" + writerNanos / 1000000
+                               + "\t" + toStringNanos / 1000000);
+        }
+    }
+
+
+    /** The way the text writer used to print non-zero, finite floats. */
+    private static void printWithToString(StringBuilder out, double value)
+    {
+        String str = Double.toString(value);
+        if (str.endsWith(".0"))
+        {
+            out.append(str, 0, str.length() - 2);
+            out.append("e0");
+        }
+        else
+        {
+            out.append(str);
+            if (str.indexOf('E') == -1)
+            {
+                out.append("e0");
+            }
+        }
+    }
+}
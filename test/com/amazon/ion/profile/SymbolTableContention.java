@@ -0,0 +1,122 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.profile;
+
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonSystemBuilder;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Measures symbol lookups on one read-only local symbol table shared by
+ * several threads, as readers and writers sharing a table do.
+ * <p>
+ * Usage: {@code SymbolTableContention [symbols [millis [maxThreads]]]}
+ */
+public class SymbolTableContention
+{
+    public static void main(String[] args)
+        throws Exception
+    {
+        int symbols    = (args.length > 0 ? Integer.parseInt(args[0]) : 1000);
+        int millis     = (args.length > 1 ? Integer.parseInt(args[1]) : 2000);
+        int maxThreads = (args.length > 2 ? Integer.parseInt(args[2])
+                          : 2 * Runtime.getRuntime().availableProcessors());
+
+        IonSystem ion = IonSystemBuilder.standard().build();
+        SymbolTable table = ion.newLocalSymbolTable();
+        String[] names = new String[symbols];
+        for (int i = 0; i < symbols; i++)
+        {
+            names[i] = "symbol" + i;
+            table.intern(names[i]);
+        }
+        table.makeReadOnly();
+
+        // Warm up, so the first measurement isn't skewed by compilation.
+        run(table, names, 1, millis);
+
+        System.out.println("threads\tlookups/ms\tper thread");
+        for (int threads = 1; threads <= maxThreads; threads *= 2)
+        {
+            long lookups = run(table, names, threads, millis);
+            System.out.println(threads + "\t" + (lookups / millis)
+                               + "\t" + (lookups / millis / threads));
+        }
+    }
+
+
+    private static long run(final SymbolTable table,
+                            final String[] names,
+                            int threads,
+                            final int millis)
+        throws InterruptedException
+    {
+        final AtomicLong total = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final int firstSid = table.getImportedMaxId() + 1;
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++)
+        {
+            final int seed = t;
+            workers[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+
+                    long deadline = System.currentTimeMillis() + millis;
+                    long count = 0;
+                    int check = 0;
+                    int i = seed;
+                    while (System.currentTimeMillis() < deadline)
+                    {
+                        // a batch of the lookups a reader and writer make
+                        for (int n = 0; n < 1000; n++)
+                        {
+                            i = (i + 7) % names.length;
+                            check += table.findSymbol(names[i]);
+                            check += table.intern(names[i]).getSid();
+                            check += table.findKnownSymbol(firstSid + i).length();
+                            check += table.getMaxId();
+                        }
+                        count += 4000;
+                    }
+                    total.addAndGet(count + (check == 42 ? 1 : 0));
+                }
+            };
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers)
+        {
+            worker.join();
+        }
+        return total.get();
+    }
+}
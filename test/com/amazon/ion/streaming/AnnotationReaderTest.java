@@ -0,0 +1,152 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.streaming;
+
+import static com.amazon.ion.SymbolTable.UNKNOWN_SYMBOL_ID;
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.AnnotationReader;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import org.junit.Test;
+
+public class AnnotationReaderTest
+    extends IonTestCase
+{
+    private static final String VALUES =
+        "a::b::1 2 c::{ x: d::3, y: [e::f::g::4] } $4::'h i'::5 "
+        + "$ion_symbol_table::{ symbols: [\"j\", \"k\"] } k::j::6 a::7";
+
+    private void checkAnnotations(IonReader reader,
+                                  AnnotationReader annotations)
+    {
+        String[] expected = reader.getTypeAnnotations();
+        SymbolTable symbols = reader.getSymbolTable();
+
+        assertEquals(expected.length, annotations.annotationCount());
+        for (int i = 0; i < expected.length; i++)
+        {
+            int sid = annotations.annotationSid(i);
+            assertEquals(symbols.findSymbol(expected[i]), sid);
+            assertTrue(annotations.hasAnnotation(expected[i]));
+            if (sid != UNKNOWN_SYMBOL_ID)
+            {
+                assertTrue(annotations.hasAnnotation(sid));
+            }
+        }
+        assertFalse(annotations.hasAnnotation("z"));
+        assertFalse(annotations.hasAnnotation(symbols.getMaxId() + 1));
+        try
+        {
+            annotations.annotationSid(expected.length);
+            fail("expected IndexOutOfBoundsException");
+        }
+        catch (IndexOutOfBoundsException e) { }
+    }
+
+    private void checkValues(IonReader reader)
+    {
+        AnnotationReader annotations = asFacet(AnnotationReader.class, reader);
+        assertNotNull("AnnotationReader facet", annotations);
+
+        int count = 0;
+        IonType type;
+        while ((type = reader.next()) != null)
+        {
+            count++;
+            checkAnnotations(reader, annotations);
+            if (IonType.isContainer(type))
+            {
+                reader.stepIn();
+                while ((type = reader.next()) != null)
+                {
+                    checkAnnotations(reader, annotations);
+                    if (type == IonType.LIST)
+                    {
+                        reader.stepIn();
+                        reader.next();
+                        checkAnnotations(reader, annotations);
+                        assertEquals(3, annotations.annotationCount());
+                        reader.stepOut();
+                    }
+                }
+                reader.stepOut();
+            }
+        }
+        assertEquals(6, count);
+    }
+
+    @Test
+    public void testTextAnnotations()
+    {
+        checkValues(IonReaderBuilder.standard().build(VALUES));
+        checkValues(IonReaderBuilder.standard().build(
+            new ByteArrayInputStream(VALUES.getBytes())));
+    }
+
+    @Test
+    public void testBinaryAnnotations()
+    {
+        byte[] binary = encode(VALUES);
+        checkValues(IonReaderBuilder.standard().build(binary));
+        checkValues(IonReaderBuilder.standard().build(
+            new ByteArrayInputStream(binary)));
+    }
+
+    @Test
+    public void testAnnotationsWithoutStrings()
+    {
+        IonReader reader = IonReaderBuilder.standard().build(
+            encode("$ion_symbol_table::{ symbols: [\"order\", \"refund\"] } "
+                   + "refund::{} order::{} {}"));
+        AnnotationReader annotations = asFacet(AnnotationReader.class, reader);
+
+        reader.next();
+        int refund = reader.getSymbolTable().findSymbol("refund");
+        assertEquals(1, annotations.annotationCount());
+        assertEquals(refund, annotations.annotationSid(0));
+        assertTrue(annotations.hasAnnotation("refund"));
+        assertTrue(annotations.hasAnnotation(refund));
+        assertFalse(annotations.hasAnnotation("order"));
+
+        reader.next();
+        assertTrue(annotations.hasAnnotation("order"));
+        assertFalse(annotations.hasAnnotation(refund));
+
+        reader.next();
+        assertEquals(0, annotations.annotationCount());
+        assertFalse(annotations.hasAnnotation("order"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testFacetIsKept()
+    {
+        IonReader[] readers = {
+            IonReaderBuilder.standard().build("a::1"),
+            IonReaderBuilder.standard().build(encode("a::1")),
+        };
+        for (IonReader reader : readers)
+        {
+            assertSame(asFacet(AnnotationReader.class, reader),
+                       asFacet(AnnotationReader.class, reader));
+        }
+    }
+}
@@ -22,6 +22,7 @@ import static com.amazon.ion.junit.IonAssert.expectField;
 import com.amazon.ion.Decimal;
 import com.amazon.ion.IonBinaryWriter;
 import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
 import com.amazon.ion.IonStruct;
 import com.amazon.ion.IonSystem;
@@ -33,6 +34,9 @@ import com.amazon.ion.SymbolTable;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.impl._Private_Utils;
 import com.amazon.ion.junit.IonAssert;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -916,4 +920,91 @@ new TestValue("Null.timestamp",IonType.NULL, IonType.TIMESTAMP),
         if (! _Private_Utils.READER_HASNEXT_REMOVED) assertFalse(ir.hasNext());
         assertEquals(null, ir.next());
     }
+
+    private static String mixedString(int i)
+    {
+        StringBuilder b = new StringBuilder();
+        b.append("value ").append(i);
+        switch (i % 4)
+        {
+            case 1: b.append(" caf\u00e9"); break;
+            case 2: b.append(" \u20ac\u4e2d"); break;
+            case 3: b.append(" \ud83d\ude00 end"); break;
+        }
+        for (int j = 0; j < i % 50; j++)
+        {
+            b.append('x');
+        }
+        if (i % 1000 == 999)
+        {
+            // longer than a reused decoding buffer, and than an input page
+            for (int j = 0; j < 40000; j++)
+            {
+                b.append((char) ('a' + j % 26));
+            }
+        }
+        return b.toString();
+    }
+
+    @Test
+    public void testStringsSpanningPages() throws IOException
+    {
+        final int count = 5000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter wr = IonBinaryWriterBuilder.standard().build(out);
+        wr.stepIn(IonType.LIST);
+        for (int i = 0; i < count; i++)
+        {
+            wr.writeString(mixedString(i));
+        }
+        wr.stepOut();
+        wr.close();
+        byte[] bytes = out.toByteArray();
+
+        IonReader[] readers = {
+            system().newReader(bytes),
+            system().newReader(new ByteArrayInputStream(bytes)),
+        };
+        for (IonReader ir : readers)
+        {
+            assertEquals(IonType.LIST, ir.next());
+            ir.stepIn();
+            for (int i = 0; i < count; i++)
+            {
+                assertEquals(IonType.STRING, ir.next());
+                assertEquals(mixedString(i), ir.stringValue());
+            }
+            assertEquals(null, ir.next());
+            ir.stepOut();
+            assertEquals(null, ir.next());
+        }
+    }
+
+    @Test(expected = IonException.class)
+    public void testStringWithInvalidUtf8()
+    {
+        // IVM, then a three byte string whose second byte isn't a
+        // continuation byte
+        byte[] bytes = {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            (byte) 0x83, (byte) 0xC3, 0x28, 0x41
+        };
+        IonReader ir = system().newReader(bytes);
+        assertEquals(IonType.STRING, ir.next());
+        ir.stringValue();
+    }
+
+    @Test(expected = IonException.class)
+    public void testStringWithTruncatedUtf8()
+    {
+        // IVM, then a two byte string holding the first two bytes of a
+        // three byte character
+        byte[] bytes = {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            (byte) 0x82, (byte) 0xE2, (byte) 0x82
+        };
+        IonReader ir = system().newReader(bytes);
+        assertEquals(IonType.STRING, ir.next());
+        ir.stringValue();
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.streaming;
+
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.Decimal;
+import com.amazon.ion.DecimalReader;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class DecimalReaderTest
+    extends IonTestCase
+{
+    /**
+     * Returns text, stream and binary readers over the same Ion text.
+     */
+    private List<IonReader> readers(String text)
+    {
+        byte[] binary = encode(text);
+        List<IonReader> readers = new ArrayList<IonReader>();
+        readers.add(IonReaderBuilder.standard().build(text));
+        readers.add(IonReaderBuilder.standard().build(text.getBytes()));
+        readers.add(IonReaderBuilder.standard().build(binary));
+        return readers;
+    }
+
+    private static DecimalReader decimals(IonReader reader)
+    {
+        DecimalReader decimals = asFacet(DecimalReader.class, reader);
+        assertNotNull("DecimalReader facet", decimals);
+        return decimals;
+    }
+
+    private static void assertDoesNotFit(DecimalReader decimals)
+    {
+        assertFalse(decimals.decimalFitsLong());
+        try
+        {
+            decimals.decimalUnscaledValue();
+            fail("expected ArithmeticException");
+        }
+        catch (ArithmeticException e) { }
+    }
+
+    @Test
+    public void testNegativeZero()
+    {
+        for (IonReader reader : readers("-0. -0.00 -0d3 0.00"))
+        {
+            DecimalReader decimals = decimals(reader);
+            int[] scales = { 0, 2, -3 };
+            for (int scale : scales)
+            {
+                assertEquals(IonType.DECIMAL, reader.next());
+                // Negative zero has no unscaled long, but keeps its scale.
+                assertDoesNotFit(decimals);
+                assertEquals(scale, decimals.decimalScale());
+                Decimal value = reader.decimalValue();
+                assertTrue(value.isNegativeZero());
+                assertEquals(scale, value.scale());
+            }
+
+            reader.next();
+            assertTrue(decimals.decimalFitsLong());
+            assertEquals(0, decimals.decimalUnscaledValue());
+            assertEquals(2, decimals.decimalScale());
+            assertFalse(reader.decimalValue().isNegativeZero());
+        }
+    }
+
+    @Test
+    public void testUnscaledOverflow()
+    {
+        for (IonReader reader : readers(
+                 "9223372036854775807. -9223372036854775808. -922337203685477580.8 "
+                 + "9223372036854775808. -9223372036854775809. "
+                 + "12345678901234567890.123"))
+        {
+            DecimalReader decimals = decimals(reader);
+
+            reader.next();
+            assertEquals(Long.MAX_VALUE, decimals.decimalUnscaledValue());
+            assertEquals(0, decimals.decimalScale());
+            reader.next();
+            assertEquals(Long.MIN_VALUE, decimals.decimalUnscaledValue());
+            reader.next();
+            assertEquals(Long.MIN_VALUE, decimals.decimalUnscaledValue());
+            assertEquals(1, decimals.decimalScale());
+
+            reader.next();
+            assertDoesNotFit(decimals);
+            assertEquals(0, decimals.decimalScale());
+            assertEquals(Decimal.valueOf("9223372036854775808."), reader.decimalValue());
+            reader.next();
+            assertDoesNotFit(decimals);
+            reader.next();
+            assertDoesNotFit(decimals);
+            assertEquals(3, decimals.decimalScale());
+            assertEquals(Decimal.valueOf("12345678901234567890.123"), reader.decimalValue());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testLargeExponents()
+    {
+        for (IonReader reader : readers(
+                 "1d2147483647 -1d-2147483647 123d-2147483000 0d2147483647 "
+                 + "9d-400 12345678901234567890d300"))
+        {
+            DecimalReader decimals = decimals(reader);
+            long[][] expected = {
+                { 1, -Integer.MAX_VALUE }, { -1, Integer.MAX_VALUE },
+                { 123, 2147483000 }, { 0, -Integer.MAX_VALUE }, { 9, 400 },
+            };
+            for (long[] value : expected)
+            {
+                reader.next();
+                assertEquals(value[0], decimals.decimalUnscaledValue());
+                assertEquals(value[1], decimals.decimalScale());
+                assertEquals(value[1], reader.decimalValue().scale());
+            }
+
+            reader.next();
+            assertDoesNotFit(decimals);
+            assertEquals(-300, decimals.decimalScale());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testFieldsWithoutDecimal()
+    {
+        IonReader reader = IonReaderBuilder.standard().build(
+            encode("a::{ price: 19.99, tax: -0.0825 } 1"));
+        DecimalReader decimals = decimals(reader);
+
+        reader.next();
+        reader.stepIn();
+        reader.next();
+        assertTrue(decimals.decimalFitsLong());
+        assertEquals(1999, decimals.decimalUnscaledValue());
+        assertEquals(2, decimals.decimalScale());
+        reader.next();
+        assertEquals(-825, decimals.decimalUnscaledValue());
+        assertEquals(4, decimals.decimalScale());
+        assertEquals(Decimal.valueOf("-0.0825"), reader.decimalValue());
+        assertNull(reader.next());
+        reader.stepOut();
+
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(1, reader.intValue());
+    }
+
+    @Test
+    public void testNotDecimal()
+    {
+        IonReader reader = IonReaderBuilder.standard().build("null.decimal 1e0");
+        DecimalReader decimals = decimals(reader);
+        reader.next();
+        try
+        {
+            decimals.decimalFitsLong();
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException e) { }
+        reader.next();
+        try
+        {
+            decimals.decimalScale();
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException e) { }
+    }
+
+    @Test
+    public void testFacetIsKept()
+    {
+        for (IonReader reader : readers("1.5"))
+        {
+            // Loaders ask for the facet for every decimal.
+            assertSame(decimals(reader), decimals(reader));
+        }
+    }
+}
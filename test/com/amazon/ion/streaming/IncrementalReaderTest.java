@@ -0,0 +1,165 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.streaming;
+
+import static com.amazon.ion.facet.Facets.assumeFacet;
+
+import com.amazon.ion.IncrementalReader;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+
+public class IncrementalReaderTest
+    extends IonTestCase
+{
+    private IonReader reader;
+    private IncrementalReader input;
+
+    private void newIncrementalReader()
+    {
+        reader = IonReaderBuilder.standard().buildIncremental();
+        input = assumeFacet(IncrementalReader.class, reader);
+    }
+
+    /**
+     * Feeds the data in chunks of the given size, loading each value as soon
+     * as it's available, and checks the result against loading it whole.
+     */
+    private void checkChunked(byte[] data, int chunkSize)
+    {
+        newIncrementalReader();
+        IonDatagram expected = loader().load(data);
+        IonDatagram actual = system().newDatagram();
+
+        for (int offset = 0; offset < data.length; offset += chunkSize)
+        {
+            int length = Math.min(chunkSize, data.length - offset);
+            input.feed(data, offset, length);
+            while (reader.next() != null)
+            {
+                actual.add(system().newValue(reader));
+            }
+        }
+        assertFalse(input.isValueIncomplete());
+        assertEquals(expected, actual);
+    }
+
+    private static final String DATA =
+        "$ion_symbol_table::{symbols:[\"s1\", \"s2\"]} s1 a::s2 " +
+        "{f:[1, 2.5, 3e0, \"str\", {{YWJj}}, 2019-01-01T], g:null.struct} " +
+        "$ion_1_0 $ion_symbol_table::{symbols:[\"t1\"]} t1 (x y) " +
+        "null true false 123456789012345678901234567890";
+
+    @Test
+    public void testFeedOneByteAtATime()
+    {
+        checkChunked(encode(DATA), 1);
+    }
+
+    @Test
+    public void testFeedInChunks()
+    {
+        byte[] data = encode(DATA);
+        for (int chunk = 2; chunk <= data.length; chunk += 7)
+        {
+            checkChunked(data, chunk);
+        }
+    }
+
+    @Test
+    public void testFeedLargeValues() throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50000; i++)
+        {
+            text.append((char) ('a' + (i % 26)));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = system().newBinaryWriter(out);
+        for (int i = 0; i < 20; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("id");
+            writer.writeInt(i);
+            writer.setFieldName("text");
+            writer.writeString(text.toString());
+            writer.stepOut();
+        }
+        writer.close();
+
+        checkChunked(out.toByteArray(), 4096);
+        checkChunked(out.toByteArray(), 100000);
+    }
+
+    @Test
+    public void testNextReturnsNullUntilValueComplete()
+    {
+        newIncrementalReader();
+        byte[] data = encode("\"hello\" 42");
+
+        assertNull(reader.next());
+        assertFalse(input.isValueIncomplete());
+
+        input.feed(data, 0, data.length - 1);
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("hello", reader.stringValue());
+        assertNull(reader.next());
+        assertTrue(input.isValueIncomplete());
+
+        input.feed(data, data.length - 1, 1);
+        assertFalse(input.isValueIncomplete());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(42, reader.intValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testFeedWhileInsideContainer()
+    {
+        newIncrementalReader();
+        byte[] data = encode("[1, 2] 3");
+        int split = data.length - 2;
+
+        input.feed(data, 0, split);
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+
+        input.feed(data, split, data.length - split);
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(2, reader.intValue());
+        assertNull(reader.next());
+        reader.stepOut();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(3, reader.intValue());
+        assertNull(reader.next());
+    }
+
+    @Test(expected = IonException.class)
+    public void testFeedText() throws IOException
+    {
+        newIncrementalReader();
+        byte[] text = "{a:1}".getBytes("UTF-8");
+        input.feed(text, 0, text.length);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.streaming;
+
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.ResettableReader;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Test;
+
+public class ResettableReaderTest
+    extends IonTestCase
+{
+    private static byte[] utf8(String text)
+    {
+        try {
+            return text.getBytes("UTF-8");
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static ResettableReader resettable(IonReader reader)
+    {
+        ResettableReader r = asFacet(ResettableReader.class, reader);
+        assertNotNull("ResettableReader facet", r);
+        return r;
+    }
+
+    private static void checkSymbols(IonReader reader, String... symbols)
+    {
+        for (String symbol : symbols)
+        {
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals(symbol, reader.stringValue());
+        }
+        assertNull(reader.next());
+    }
+
+    /**
+     * Each document carries its own local symbol table, so symbols decode
+     * correctly only if the reader forgets the previous one.
+     */
+    private void checkResetBinary(IonReader reader)
+    {
+        ResettableReader r = resettable(reader);
+
+        byte[] second = encode("yes no");
+        byte[] padded = new byte[second.length + 5];
+        System.arraycopy(second, 0, padded, 3, second.length);
+
+        checkSymbols(reader, "a", "b");
+        r.reset(padded, 3, second.length);
+        checkSymbols(reader, "yes", "no");
+        r.reset(new ByteArrayInputStream(encode("c")));
+        checkSymbols(reader, "c");
+    }
+
+    private void checkResetText(IonReader reader)
+    {
+        ResettableReader r = resettable(reader);
+
+        checkSymbols(reader, "a", "b");
+        byte[] padded = utf8("xx yes no");
+        r.reset(padded, 3, padded.length - 3);
+        checkSymbols(reader, "yes", "no");
+        r.reset(new ByteArrayInputStream(utf8("c")));
+        checkSymbols(reader, "c");
+    }
+
+    @Test
+    public void testResetBinaryFromBytes()
+    {
+        checkResetBinary(system().newReader(encode("a b")));
+    }
+
+    @Test
+    public void testResetBinaryFromStream()
+    {
+        checkResetBinary(system().newReader(new ByteArrayInputStream(encode("a b"))));
+    }
+
+    @Test
+    public void testResetTextFromBytes()
+    {
+        checkResetText(system().newReader(utf8("a b")));
+    }
+
+    @Test
+    public void testResetTextFromStream()
+    {
+        checkResetText(IonReaderBuilder.standard().build(new ByteArrayInputStream(utf8("a b"))));
+    }
+
+    @Test
+    public void testResetTextFromString()
+    {
+        checkResetText(system().newReader("a b"));
+    }
+
+    @Test
+    public void testResetWithinContainer()
+    {
+        IonReader reader = system().newReader(encode("{f:[1, 2]}"));
+        ResettableReader r = resettable(reader);
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+
+        r.reset(encode("[3] 4"), 0, encode("[3] 4").length);
+        assertEquals(0, reader.getDepth());
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(3, reader.intValue());
+        reader.stepOut();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(4, reader.intValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testResetTextWithinContainer()
+    {
+        IonReader reader = system().newReader(utf8("{f:[1, 2]}"));
+        ResettableReader r = resettable(reader);
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+
+        r.reset(new ByteArrayInputStream(utf8("[3] 4")));
+        assertEquals(0, reader.getDepth());
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(3, reader.intValue());
+        reader.stepOut();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(4, reader.intValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testResetOntoGzip() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(encode("c"));
+        gzip.close();
+        byte[] gzipped = out.toByteArray();
+
+        IonReader reader = system().newReader(encode("a"));
+        resettable(reader).reset(gzipped, 0, gzipped.length);
+        checkSymbols(reader, "c");
+    }
+
+    @Test
+    public void testResetOntoEmptyInput()
+    {
+        IonReader binary = system().newReader(encode("a"));
+        resettable(binary).reset(new byte[0], 0, 0);
+        assertNull(binary.next());
+
+        IonReader text = system().newReader(utf8("a"));
+        resettable(text).reset(new ByteArrayInputStream(new byte[0]));
+        assertNull(text.next());
+    }
+
+    @Test(expected = IonException.class)
+    public void testResetBinaryOntoText()
+    {
+        IonReader reader = system().newReader(encode("a"));
+        resettable(reader).reset(utf8("b"), 0, 1);
+    }
+
+    @Test(expected = IonException.class)
+    public void testResetTextOntoBinary()
+    {
+        IonReader reader = system().newReader(utf8("a"));
+        byte[] binary = encode("b");
+        resettable(reader).reset(new ByteArrayInputStream(binary));
+    }
+}
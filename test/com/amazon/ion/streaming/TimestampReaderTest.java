@@ -0,0 +1,172 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.streaming;
+
+import static com.amazon.ion.facet.Facets.asFacet;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.TimestampReader;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.Test;
+
+public class TimestampReaderTest
+    extends IonTestCase
+{
+    private static final String[] TIMESTAMPS = {
+        "2007T", "2007-02T", "2007-02-23", "2007-02-23T",
+        "2007-02-23T12:14Z", "2007-02-23T12:14:33Z", "2007-02-23T12:14:33.079Z",
+        "2007-02-23T12:14:33.079-08:00", "2007-02-23T12:14:33.079+05:30",
+        "2007-02-23T12:14:33.000-00:00", "2007-02-23T20:14:33.08+00:00",
+        "2020-01-01T00:00:00.000Z", "2020-01-01T00:00:00.0Z",
+        "2020-01-01T00:00:00.000000000000000000000Z",
+        "1969-12-31T23:59:59.999999999Z", "1969-12-31T23:59:59.5Z",
+        "2000-02-29T23:59:59.123456789123456789Z",
+        "2000-02-29T23:59:59.123456789123456789123-23:59",
+        "0001-01-01T00:00Z", "1582-10-04T12:00Z", "1582-10-15T12:00Z",
+        "9999-12-31T23:59:59.999+01:00", "2020-06-30T12:00:00.12345678901234567890Z"
+    };
+
+    private static String timestampsText()
+    {
+        StringBuilder text = new StringBuilder();
+        for (String timestamp : TIMESTAMPS)
+        {
+            text.append(timestamp).append(' ');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Checks every value against the timestamp parsed from its source text,
+     * reading the facet either before or after {@link IonReader#timestampValue()}.
+     */
+    private static void checkTimestamps(IonReader reader, boolean fieldsFirst)
+    {
+        TimestampReader timestamps = asFacet(TimestampReader.class, reader);
+        assertNotNull("TimestampReader facet", timestamps);
+
+        int count = 0;
+        while (reader.next() != null)
+        {
+            assertEquals(IonType.TIMESTAMP, reader.getType());
+            Timestamp expected = Timestamp.valueOf(TIMESTAMPS[count]);
+            String message = TIMESTAMPS[count++];
+
+            Timestamp actual = null;
+            if (!fieldsFirst)
+            {
+                actual = reader.timestampValue();
+            }
+            long millis = timestamps.timestampMillis();
+            long epochSecond = timestamps.timestampEpochSecond();
+            int nanos = timestamps.timestampNanos();
+            int offset = timestamps.timestampLocalOffset();
+            Timestamp.Precision precision = timestamps.timestampPrecision();
+            if (fieldsFirst)
+            {
+                actual = reader.timestampValue();
+            }
+
+            assertEquals(message, expected, actual);
+            assertEquals(message, expected.getMillis(), millis);
+            BigDecimal decimalSeconds = expected.getDecimalMillis().movePointLeft(3);
+            assertEquals(message, decimalSeconds.setScale(0, RoundingMode.FLOOR).longValue(),
+                         epochSecond);
+            assertEquals(message,
+                         decimalSeconds.subtract(BigDecimal.valueOf(epochSecond))
+                             .movePointRight(9).intValue(),
+                         nanos);
+            Integer localOffset = expected.getLocalOffset();
+            assertEquals(message,
+                         localOffset == null ? TimestampReader.UNKNOWN_OFFSET : localOffset.intValue(),
+                         offset);
+            assertEquals(message, expected.getPrecision(), precision);
+        }
+        assertEquals(TIMESTAMPS.length, count);
+    }
+
+    @Test
+    public void testTextTimestamps()
+    {
+        String text = timestampsText();
+        for (boolean fieldsFirst : new boolean[] { true, false })
+        {
+            checkTimestamps(IonReaderBuilder.standard().build(text), fieldsFirst);
+            checkTimestamps(IonReaderBuilder.standard().build(
+                new ByteArrayInputStream(text.getBytes())), fieldsFirst);
+        }
+    }
+
+    @Test
+    public void testBinaryTimestamps()
+    {
+        byte[] binary = encode(timestampsText());
+        for (boolean fieldsFirst : new boolean[] { true, false })
+        {
+            checkTimestamps(IonReaderBuilder.standard().build(binary), fieldsFirst);
+            checkTimestamps(IonReaderBuilder.standard().build(
+                new ByteArrayInputStream(binary)), fieldsFirst);
+        }
+    }
+
+    @Test
+    public void testFieldsWithoutTimestamp()
+    {
+        IonReader reader = IonReaderBuilder.standard().build(
+            encode("a::2007-02-23T12:14:33.079-08:00 2007-02-23"));
+        TimestampReader timestamps = asFacet(TimestampReader.class, reader);
+
+        reader.next();
+        assertEquals(1172261673L, timestamps.timestampEpochSecond());
+        assertEquals(79000000, timestamps.timestampNanos());
+        assertEquals(-480, timestamps.timestampLocalOffset());
+        assertEquals(Timestamp.valueOf("2007-02-23T12:14:33.079-08:00"),
+                     reader.timestampValue());
+
+        reader.next();
+        assertEquals(Timestamp.Precision.DAY, timestamps.timestampPrecision());
+        assertEquals(TimestampReader.UNKNOWN_OFFSET, timestamps.timestampLocalOffset());
+        assertEquals(1172188800000L, timestamps.timestampMillis());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testNotTimestamp()
+    {
+        IonReader reader = IonReaderBuilder.standard().build("null.timestamp 12");
+        TimestampReader timestamps = asFacet(TimestampReader.class, reader);
+        reader.next();
+        try
+        {
+            timestamps.timestampMillis();
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException e) { }
+        reader.next();
+        try
+        {
+            timestamps.timestampNanos();
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException e) { }
+    }
+}
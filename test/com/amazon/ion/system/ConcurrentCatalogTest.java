@@ -0,0 +1,247 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.system;
+
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.SymbolTable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ConcurrentCatalogTest
+    extends IonTestCase
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+
+    private static String tableText(String name, int version)
+    {
+        return "$ion_shared_symbol_table::{name:\"" + name + "\", version:"
+            + version + ", symbols:[\"" + name + version + "\"]}";
+    }
+
+    private SymbolTable table(String name, int version)
+    {
+        return loadSharedSymtab(tableText(name, version));
+    }
+
+    private static int size(Iterable<SymbolTable> catalog)
+    {
+        int count = 0;
+        for (Iterator<SymbolTable> i = catalog.iterator(); i.hasNext(); i.next())
+        {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testBestMatchAgreesWithSimpleCatalog()
+    {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 20; trial++)
+        {
+            SimpleCatalog simple = new SimpleCatalog();
+            ConcurrentCatalog concurrent = new ConcurrentCatalog();
+            for (int i = 0; i < 5; i++)
+            {
+                SymbolTable table = table("T", 1 + random.nextInt(20));
+                simple.putTable(table);
+                concurrent.putTable(table);
+            }
+
+            assertSame(simple.getTable("T"), concurrent.getTable("T"));
+            for (int version = 1; version <= 22; version++)
+            {
+                assertSame(simple.getTable("T", version),
+                           concurrent.getTable("T", version));
+            }
+        }
+    }
+
+    @Test
+    public void testPutAndRemove()
+    {
+        ConcurrentCatalog cat = new ConcurrentCatalog();
+        assertNull(cat.getTable("T"));
+        assertNull(cat.getTable("T", 3));
+
+        SymbolTable t1 = table("T", 1);
+        SymbolTable t2 = table("T", 2);
+        cat.putTable(t1);
+        cat.putTable(t2);
+        assertSame(t2, cat.getTable("T"));
+        assertSame(t1, cat.getTable("T", 1));
+        assertSame(t2, cat.getTable("T", 5));
+        assertEquals(2, size(cat));
+
+        assertSame(t1, cat.removeTable("T", 1));
+        assertNull(cat.removeTable("T", 1));
+        assertSame(t2, cat.getTable("T", 1));
+
+        assertSame(t2, cat.removeTable("T", 2));
+        assertNull(cat.getTable("T"));
+        assertEquals(0, size(cat));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutLocalTable()
+    {
+        new ConcurrentCatalog().putTable(system().newLocalSymbolTable());
+    }
+
+    private File writeTables(String... tables)
+        throws IOException
+    {
+        File directory = folder.newFolder();
+        for (int i = 0; i < tables.length; i++)
+        {
+            FileOutputStream out =
+                new FileOutputStream(new File(directory, "table" + i + ".ion"));
+            out.write(tables[i].getBytes("UTF-8"));
+            out.close();
+        }
+
+        // Binary files and files with several tables are read too.
+        FileOutputStream out =
+            new FileOutputStream(new File(directory, "binary.ion"));
+        out.write(encode(tableText("B", 1) + " " + tableText("B", 2)));
+        out.close();
+
+        // Other files are ignored.
+        out = new FileOutputStream(new File(directory, "other.txt"));
+        out.write(tableText("X", 1).getBytes("UTF-8"));
+        out.close();
+        return directory;
+    }
+
+    @Test
+    public void testDirectoryLoading()
+        throws Exception
+    {
+        File directory = writeTables(tableText("T", 1),
+                                     tableText("T", 3),
+                                     tableText("U", 1));
+        ConcurrentCatalog cat =
+            new ConcurrentCatalog(ConcurrentCatalog.directoryLoader(directory), 2);
+        assertEquals(0, size(cat));
+
+        assertEquals(3, cat.getTable("T").getVersion());
+        assertEquals("T3", cat.getTable("T", 3).findKnownSymbol(1));
+        assertEquals(1, cat.getTable("T", 1).getVersion());
+        assertEquals(3, cat.getTable("T", 2).getVersion());
+        assertEquals(3, cat.getTable("T", 7).getVersion());
+        assertEquals(2, cat.getTable("B", 2).getVersion());
+        assertEquals("B1", cat.getTable("B", 1).findKnownSymbol(1));
+        assertNull(cat.getTable("X"));
+        assertNull(cat.getTable("V", 1));
+
+        // Tables that are put are kept in addition to those loaded.
+        SymbolTable v = table("V", 1);
+        cat.putTable(v);
+        assertEquals(1, cat.getTable("U", 1).getVersion());
+        assertEquals(3, size(cat));
+        assertSame(v, cat.getTable("V"));
+
+        // A resident table takes precedence over a loadable one.
+        SymbolTable t2 = table("T", 2);
+        cat.putTable(t2);
+        assertSame(t2, cat.getTable("T", 2));
+        assertEquals(3, cat.getTable("T", 3).getVersion());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsDropped()
+        throws Exception
+    {
+        File directory = writeTables(tableText("T", 1),
+                                     tableText("U", 1),
+                                     tableText("V", 1));
+        ConcurrentCatalog cat =
+            new ConcurrentCatalog(ConcurrentCatalog.directoryLoader(directory), 2);
+
+        SymbolTable t = cat.getTable("T", 1);
+        SymbolTable u = cat.getTable("U", 1);
+        assertSame(t, cat.getTable("T", 1));
+        cat.getTable("V", 1); // drops U
+
+        assertEquals(2, size(cat));
+        assertSame(t, cat.getTable("T", 1));
+        SymbolTable reloaded = cat.getTable("U", 1);
+        assertNotSame(u, reloaded);
+        assertEquals(u.findKnownSymbol(1), reloaded.findKnownSymbol(1));
+        assertEquals(2, size(cat));
+    }
+
+    @Test
+    public void testConcurrentLoading()
+        throws Exception
+    {
+        String[] tables = new String[8];
+        for (int i = 0; i < tables.length; i++)
+        {
+            tables[i] = tableText("T" + i, 1);
+        }
+        File directory = writeTables(tables);
+        final ConcurrentCatalog cat =
+            new ConcurrentCatalog(ConcurrentCatalog.directoryLoader(directory), 3);
+
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++)
+        {
+            final int seed = t;
+            threads[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 200; i++)
+                        {
+                            String name = "T" + random.nextInt(8);
+                            SymbolTable table = cat.getTable(name, 1);
+                            assertEquals(name, table.getName());
+                            assertEquals(name + 1, table.findKnownSymbol(1));
+                        }
+                    }
+                    catch (Throwable e)
+                    {
+                        synchronized (failures) { failures.add(e); }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(failures.toString(), 0, failures.size());
+        assertTrue(size(cat) <= 3);
+    }
+}
@@ -16,6 +16,7 @@
 package com.amazon.ion.system;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
@@ -25,7 +26,13 @@ import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.impl._Private_IonBinaryWriterBuilder;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.GZIPOutputStream;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -111,4 +118,117 @@ public class IonReaderBuilderTest
         assertEquals(42, reader.intValue());
     }
 
+    /** Enough values to span several input pages. */
+    private static final int LARGE_VALUE_COUNT = 20000;
+
+    private static byte[] largeBinary() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = _Private_IonBinaryWriterBuilder.standard().build(out);
+        for (int i = 0; i < LARGE_VALUE_COUNT; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("id");
+            writer.writeInt(i);
+            writer.setFieldName("name");
+            writer.writeString("value " + i);
+            writer.stepOut();
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private static void assertLargeValues(IonReader reader) throws IOException
+    {
+        for (int i = 0; i < LARGE_VALUE_COUNT; i++)
+        {
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            assertEquals(IonType.INT, reader.next());
+            assertEquals("id", reader.getFieldName());
+            assertEquals(i, reader.intValue());
+            assertEquals(IonType.STRING, reader.next());
+            assertEquals("value " + i, reader.stringValue());
+            reader.stepOut();
+        }
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void testHeapByteBuffer() throws IOException
+    {
+        byte[] data = largeBinary();
+        byte[] padded = new byte[data.length + 20];
+        System.arraycopy(data, 0, padded, 10, data.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 10, data.length);
+        assertLargeValues(IonReaderBuilder.standard().build(buffer));
+        assertEquals(10, buffer.position());
+    }
+
+    @Test
+    public void testDirectByteBuffer() throws IOException
+    {
+        byte[] data = largeBinary();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 10);
+        buffer.position(10);
+        buffer.put(data);
+        buffer.position(10);
+        assertLargeValues(IonReaderBuilder.standard().build(buffer));
+        assertEquals(10, buffer.position());
+    }
+
+    @Test
+    public void testReadOnlyByteBufferWithText() throws IOException
+    {
+        byte[] text = "a::{b:[1, \"two\", 3e0]} c".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.wrap(text).asReadOnlyBuffer();
+        IonReader reader = IonReaderBuilder.standard().build(buffer);
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepOut();
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("c", reader.stringValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testGzippedDirectByteBuffer() throws IOException
+    {
+        byte[] data = largeBinary();
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(gzipped);
+        gzip.write(data);
+        gzip.close();
+        byte[] compressed = gzipped.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(compressed.length);
+        buffer.put(compressed);
+        buffer.flip();
+        assertLargeValues(IonReaderBuilder.standard().build(buffer));
+    }
+
+    @Test
+    public void testFileChannel() throws IOException
+    {
+        byte[] data = largeBinary();
+        File file = File.createTempFile("IonReaderBuilderTest", ".10n");
+        try
+        {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(new byte[7]);
+            out.write(data);
+            out.close();
+
+            FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+            channel.position(7);
+            assertLargeValues(IonReaderBuilder.standard().build(channel));
+            assertEquals(false, channel.isOpen());
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
 }
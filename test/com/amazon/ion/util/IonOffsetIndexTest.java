@@ -0,0 +1,217 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class IonOffsetIndexTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "$ion_symbol_table::{symbols:[\"id\", \"name\"]} {id:1, name:a} " +
+        "a::{id:2, name:b} " +
+        "$ion_symbol_table::{imports:$ion_symbol_table, symbols:[\"c\"]} {id:3, name:c} " +
+        "$ion_1_0 {id:4, name:d} " +
+        "$ion_symbol_table::{symbols:[\"e\", \"id\"]} {id:5, name:e} [{id:6}] {id:1}";
+
+    private IonOffsetIndex buildIndex(byte[] data)
+    {
+        return IonOffsetIndexBuilder.standard()
+            .withKeyPath("(id)")
+            .withKeyPath("(name)")
+            .build(system(), data);
+    }
+
+    private IonValue value(String text)
+    {
+        return system().singleValue(text);
+    }
+
+    private void checkSeek(IndexedValueReader reader, int ordinal, String expected)
+    {
+        IonReader in = reader.seek(ordinal);
+        assertNotNull(in.next());
+        assertEquals(value(expected), system().newValue(in));
+        assertNull(in.next());
+    }
+
+    private void checkAllValues(IonDatagram expected, IndexedValueReader reader)
+    {
+        assertEquals(expected.size(), reader.getIndex().size());
+        // Seek backwards so the symbol tables aren't reconstructed in order.
+        for (int i = expected.size() - 1; i >= 0; i--)
+        {
+            IonReader in = reader.seek(i);
+            assertNotNull(in.next());
+            assertEquals(expected.get(i), system().newValue(in));
+        }
+    }
+
+    @Test
+    public void testSeekByOrdinal()
+    {
+        byte[] data = encode(DATA);
+        IndexedValueReader reader =
+            new IndexedValueReader(catalog(), buildIndex(data), data);
+        checkAllValues(loader().load(data), reader);
+        checkSeek(reader, 2, "{id:3, name:c}");
+    }
+
+    @Test
+    public void testSeekByKey()
+    {
+        byte[] data = encode(DATA);
+        IonOffsetIndex index = buildIndex(data);
+        IndexedValueReader reader = new IndexedValueReader(catalog(), index, data);
+
+        assertTrue(Arrays.equals(new int[] { 0, 6 }, index.ordinalsOf("(id)", value("1"))));
+        assertEquals(0, index.ordinalsOf("(id)", value("6")).length);
+        assertEquals(0, index.ordinalsOf("(name)", value("\"c\"")).length);
+
+        IonReader in = reader.seek("(name)", value("c"));
+        assertEquals(IonType.STRUCT, in.next());
+        assertEquals(value("{id:3, name:c}"), system().newValue(in));
+        assertNull(reader.seek("(id)", value("42")));
+    }
+
+    @Test
+    public void testAppendedSymbolTable()
+    {
+        // Our writers don't append to symbol tables, so this is hand-coded.
+        byte[] data = {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            // $ion_symbol_table::{symbols:["id", "name", "a"]}
+            (byte) 0xEE, (byte) 0x8F, (byte) 0x81, (byte) 0x83, (byte) 0xDC,
+            (byte) 0x87, (byte) 0xBA, (byte) 0x82, 'i', 'd',
+            (byte) 0x84, 'n', 'a', 'm', 'e', (byte) 0x81, 'a',
+            // {id:1, name:a}
+            (byte) 0xD6, (byte) 0x8A, 0x21, 0x01, (byte) 0x8B, 0x71, 0x0C,
+            // $ion_symbol_table::{imports:$ion_symbol_table, symbols:["c"]}
+            (byte) 0xEA, (byte) 0x81, (byte) 0x83, (byte) 0xD7,
+            (byte) 0x86, 0x71, 0x03, (byte) 0x87, (byte) 0xB2, (byte) 0x81, 'c',
+            // {id:3, name:c}
+            (byte) 0xD6, (byte) 0x8A, 0x21, 0x03, (byte) 0x8B, 0x71, 0x0D,
+        };
+        IonOffsetIndex index = buildIndex(data);
+        assertEquals(2, index.getTableCount());
+        assertEquals(1, index.getTableParent(2));
+
+        checkSeek(new IndexedValueReader(catalog(), index, data), 1, "{id:3, name:c}");
+        checkAllValues(loader().load(data),
+                       new IndexedValueReader(catalog(), index, data));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSeekByUnindexedKey()
+    {
+        buildIndex(encode(DATA)).ordinalsOf("(other)", value("1"));
+    }
+
+    @Test
+    public void testSidecarRoundTrip()
+        throws Exception
+    {
+        byte[] data = encode(DATA);
+        IonOffsetIndex index = buildIndex(data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = system().newBinaryWriter(out);
+        index.writeTo(writer);
+        writer.close();
+
+        IonOffsetIndex read =
+            IonOffsetIndex.read(system(), system().newReader(out.toByteArray()));
+        assertEquals(index.size(), read.size());
+        for (int i = 0; i < index.size(); i++)
+        {
+            assertEquals(index.getOffset(i), read.getOffset(i));
+            assertEquals(index.getLength(i), read.getLength(i));
+        }
+        assertEquals(index.getKeyPaths(), read.getKeyPaths());
+        assertTrue(Arrays.equals(new int[] { 0, 6 }, read.ordinalsOf("(id)", value("1"))));
+
+        checkAllValues(loader().load(data),
+                       new IndexedValueReader(catalog(), read, data));
+    }
+
+    @Test
+    public void testFileChannel()
+        throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = system().newBinaryWriter(out);
+        for (int i = 0; i < 1000; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("id");
+            writer.writeInt(i);
+            writer.setFieldName("sym");
+            writer.writeSymbol("s" + i);
+            writer.stepOut();
+            if (i % 100 == 99)
+            {
+                writer.finish();
+            }
+        }
+        writer.close();
+        byte[] data = out.toByteArray();
+
+        File file = File.createTempFile("IonOffsetIndexTest", ".10n");
+        file.deleteOnExit();
+        FileOutputStream fileOut = new FileOutputStream(file);
+        fileOut.write(data);
+        fileOut.close();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try
+        {
+            FileChannel channel = raf.getChannel();
+            IonOffsetIndex index = IonOffsetIndexBuilder.standard()
+                .withKeyPath("(id)")
+                .build(system(), channel);
+
+            IndexedValueReader reader = new IndexedValueReader(catalog(), index, channel);
+            checkSeek(reader, 999, "{id:999, sym:s999}");
+            checkSeek(reader, 123, "{id:123, sym:s123}");
+            IonReader in = reader.seek("(id)", value("456"));
+            in.next();
+            assertEquals(value("{id:456, sym:s456}"), system().newValue(in));
+        }
+        finally
+        {
+            raf.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTextIsRejected()
+        throws Exception
+    {
+        IonOffsetIndexBuilder.standard().build(system(), "1 2".getBytes("UTF-8"));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelDecoderTest
+    extends IonTestCase
+{
+    private ExecutorService executor;
+
+    @Before
+    public void startExecutor()
+    {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void stopExecutor()
+    {
+        executor.shutdownNow();
+    }
+
+    private void checkDecode(byte[] data, int chunkSize, int maxChunksInFlight)
+    {
+        ParallelDecoder<IonValue> decoder =
+            new ParallelDecoder<IonValue>(catalog(), executor,
+                                          new ParallelDecoder.Decoder<IonValue>() {
+                                              public IonValue decode(IonReader reader)
+                                              {
+                                                  return system().newValue(reader);
+                                              }
+                                          },
+                                          chunkSize, maxChunksInFlight);
+
+        IonDatagram expected = loader().load(data);
+        IonDatagram actual = system().newDatagram();
+        Iterator<IonValue> values = decoder.decode(data);
+        while (values.hasNext())
+        {
+            actual.add(values.next());
+        }
+        assertFalse(values.hasNext());
+        assertEquals(expected, actual);
+    }
+
+    private static final String DATA =
+        "$ion_symbol_table::{symbols:[\"s1\", \"s2\"]} s1 a::s2 " +
+        "{f:[1, 2.5, 3e0, \"str\", {{YWJj}}, 2019-01-01T], g:null.struct} " +
+        "$ion_1_0 $ion_symbol_table::{symbols:[\"t1\"]} t1 (x y) " +
+        "$ion_symbol_table::{imports:$ion_symbol_table, symbols:[\"t2\"]} t2 t1 " +
+        "null true false 123456789012345678901234567890";
+
+    @Test
+    public void testDecodeInChunks()
+    {
+        byte[] data = encode(DATA);
+        checkDecode(data, 1, 1);
+        checkDecode(data, 1, 3);
+        checkDecode(data, 16, 2);
+        checkDecode(data, ParallelDecoder.DEFAULT_CHUNK_SIZE, 4);
+    }
+
+    @Test
+    public void testDecodeManyValues() throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = system().newBinaryWriter(out);
+        for (int i = 0; i < 10000; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("id");
+            writer.writeInt(i);
+            writer.setFieldName("name");
+            writer.writeSymbol("name" + (i % 100));
+            writer.stepOut();
+        }
+        writer.close();
+
+        checkDecode(out.toByteArray(), 1024, 8);
+    }
+
+    @Test
+    public void testForValues()
+    {
+        Iterator<IonValue> values =
+            ParallelDecoder.forValues(system(), executor).decode(encode("1 [2] {a:3}"));
+        assertEquals("1", values.next().toString());
+        assertEquals("[2]", values.next().toString());
+        assertEquals("{a:3}", values.next().toString());
+        assertFalse(values.hasNext());
+    }
+
+    @Test
+    public void testDecoderFailureIsRethrown()
+    {
+        ParallelDecoder<Integer> decoder =
+            new ParallelDecoder<Integer>(catalog(), executor,
+                                         new ParallelDecoder.Decoder<Integer>() {
+                                             public Integer decode(IonReader reader)
+                                             {
+                                                 return reader.intValue();
+                                             }
+                                         },
+                                         1, 2);
+        Iterator<Integer> values = decoder.decode(encode("1 2 \"three\" 4"));
+        assertEquals(1, values.next().intValue());
+        assertEquals(2, values.next().intValue());
+        try
+        {
+            values.next();
+            fail("Expected IllegalStateException");
+        }
+        catch (IllegalStateException e)
+        {
+            // rethrown as it was thrown by the decoder
+        }
+    }
+
+    @Test
+    public void testScanFailureIsRethrownAfterPrecedingValues()
+    {
+        byte[] valid = encode("1 [2] 3");
+        // followed by a bool with an invalid length
+        byte[] data = new byte[valid.length + 1];
+        System.arraycopy(valid, 0, data, 0, valid.length);
+        data[valid.length] = 0x13;
+
+        int[] chunkSizes = { 1, ParallelDecoder.DEFAULT_CHUNK_SIZE };
+        for (int chunkSize : chunkSizes)
+        {
+            ParallelDecoder<IonValue> decoder =
+                new ParallelDecoder<IonValue>(catalog(), executor,
+                                              new ParallelDecoder.Decoder<IonValue>() {
+                                                  public IonValue decode(IonReader reader)
+                                                  {
+                                                      return system().newValue(reader);
+                                                  }
+                                              },
+                                              chunkSize, 2);
+            Iterator<IonValue> values = decoder.decode(data);
+            assertEquals("1", values.next().toString());
+            assertEquals("[2]", values.next().toString());
+            assertEquals("3", values.next().toString());
+            try
+            {
+                values.hasNext();
+                fail("Expected IonException");
+            }
+            catch (IonException e)
+            {
+                // rethrown once the values before it were consumed
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeText() throws Exception
+    {
+        ParallelDecoder.forValues(system(), executor).decode("1 2".getBytes("UTF-8"));
+    }
+}
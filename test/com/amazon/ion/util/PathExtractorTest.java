@@ -0,0 +1,258 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PathExtractorTest
+    extends IonTestCase
+{
+    /**
+     * Collects the matched values as Ion text.
+     */
+    private class Collector
+        implements PathExtractor.Callback
+    {
+        final List<String> values = new ArrayList<String>();
+        int stepOuts;
+
+        public int onMatch(IonReader reader)
+        {
+            IonValue value = system().newValue(reader);
+            values.add(value.toString());
+            return stepOuts;
+        }
+    }
+
+    private void check(String data, String searchPath, String... expected)
+    {
+        Collector collector = new Collector();
+        PathExtractor extractor = PathExtractorBuilder.standard()
+            .withSearchPath(searchPath, collector)
+            .build();
+
+        extractor.match(system().newReader(data));
+        checkCollected(expected, collector);
+
+        collector.values.clear();
+        extractor.match(system().newReader(encode(data)));
+        checkCollected(expected, collector);
+    }
+
+    private static void checkCollected(String[] expected, Collector collector)
+    {
+        assertEquals(expected.length, collector.values.size());
+        for (int i = 0; i < expected.length; i++)
+        {
+            assertEquals(expected[i], collector.values.get(i));
+        }
+    }
+
+    @Test
+    public void testFieldPath()
+    {
+        check("{a:1, b:{c:2, d:3}} {b:{d:4}} [{b:{d:5}}] 6",
+              "(b d)",
+              "3", "4");
+    }
+
+    @Test
+    public void testEmptyPathMatchesTopLevelValues()
+    {
+        check("1 a::2 [3]", "()", "1", "a::2", "[3]");
+    }
+
+    @Test
+    public void testIndexAndWildcard()
+    {
+        check("[1, [2, 3]] {x:4, y:[5, 6]} (7)",
+              "(1 *)",
+              "2", "3", "5", "6");
+        check("[1, 2] {x:3, y:4} (5)", "(0)", "1", "3", "5");
+    }
+
+    @Test
+    public void testQuotedWildcardIsFieldName()
+    {
+        check("{'*':1, a:2}", "(\"*\")", "1");
+    }
+
+    @Test
+    public void testAnnotations()
+    {
+        check("a::{f:1} b::{f:2} {f:3} a::b::{f:4}",
+              "a::(f)",
+              "1");
+        check("{f:x::1, g:x::2, f:y::3, f:4}",
+              "(x::f)",
+              "x::1");
+    }
+
+    @Test
+    public void testSymbolTablesChange()
+    {
+        // each document has its own local symbols, so 'f' has different IDs
+        String data = "$ion_symbol_table::{symbols:[\"f\", \"g\"]} {g:1, f:2} "
+            + "$ion_symbol_table::{symbols:[\"g\", \"h\", \"f\"]} {f:3, g:4, h:5}";
+        check(data, "(f)", "2", "3");
+    }
+
+    @Test
+    public void testDuplicateSymbols()
+    {
+        // 'f' is declared as both $10 and $12
+        String text = "$ion_symbol_table::{symbols:[\"f\", \"g\", \"f\"]} "
+            + "{$12:1, $10:2, $11:3} $12::{$10:4} $10::{$12:5}";
+        byte[] binary = {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            // $ion_symbol_table::{symbols:["f", "g", "f"]}
+            (byte) 0xEB, (byte) 0x81, (byte) 0x83, (byte) 0xD8, (byte) 0x87,
+            (byte) 0xB6, (byte) 0x81, 'f', (byte) 0x81, 'g', (byte) 0x81, 'f',
+            // {$12:1, $10:2, $11:3}
+            (byte) 0xD9, (byte) 0x8C, 0x21, 0x01, (byte) 0x8A, 0x21, 0x02,
+            (byte) 0x8B, 0x21, 0x03,
+            // $12::{$10:4}
+            (byte) 0xE6, (byte) 0x81, (byte) 0x8C, (byte) 0xD3, (byte) 0x8A, 0x21, 0x04,
+            // $10::{$12:5}
+            (byte) 0xE6, (byte) 0x81, (byte) 0x8A, (byte) 0xD3, (byte) 0x8C, 0x21, 0x05,
+        };
+
+        Collector fields = new Collector();
+        Collector annotated = new Collector();
+        PathExtractor extractor = PathExtractorBuilder.standard()
+            .withSearchPath("(f)", fields)
+            .withSearchPath("f::(f)", annotated)
+            .build();
+
+        extractor.match(system().newReader(text));
+        checkCollected(new String[] { "1", "2", "4", "5" }, fields);
+        checkCollected(new String[] { "4", "5" }, annotated);
+
+        fields.values.clear();
+        annotated.values.clear();
+        extractor.match(system().newReader(binary));
+        checkCollected(new String[] { "1", "2", "4", "5" }, fields);
+        checkCollected(new String[] { "4", "5" }, annotated);
+    }
+
+    @Test
+    public void testMultiplePaths()
+    {
+        Collector first = new Collector();
+        Collector second = new Collector();
+        Collector third = new Collector();
+        PathExtractor extractor = PathExtractorBuilder.standard()
+            .withSearchPath("(a)", first)
+            .withSearchPath("(b c)", second)
+            .withSearchPath("(* c)", third)
+            .build();
+
+        extractor.match(system().newReader(encode("{a:1, b:{c:2}} {a:3, d:{c:4}}")));
+        checkCollected(new String[] { "1", "3" }, first);
+        checkCollected(new String[] { "2" }, second);
+        checkCollected(new String[] { "2", "4" }, third);
+    }
+
+    @Test
+    public void testStepOut()
+    {
+        Collector collector = new Collector();
+        collector.stepOuts = 1;
+        PathExtractor extractor = PathExtractorBuilder.standard()
+            .withSearchPath("(*)", collector)
+            .build();
+
+        // stepping out after the first match skips the other children
+        extractor.match(system().newReader(encode("[1, 2] [3, 4]")));
+        checkCollected(new String[] { "1", "3" }, collector);
+    }
+
+    @Test
+    public void testMatchWithinContainer()
+    {
+        Collector collector = new Collector();
+        PathExtractor extractor = PathExtractorBuilder.standard()
+            .withSearchPath("(f)", collector)
+            .build();
+
+        IonReader reader = system().newReader(encode("[{f:1}, {f:2}] 3"));
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        extractor.match(reader);
+        reader.stepOut();
+        assertEquals(IonType.INT, reader.next());
+        checkCollected(new String[] { "1", "2" }, collector);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCallbackMustNotChangeDepth()
+    {
+        PathExtractor extractor = PathExtractorBuilder.standard()
+            .withSearchPath("()", new PathExtractor.Callback() {
+                public int onMatch(IonReader reader)
+                {
+                    reader.stepIn();
+                    return 0;
+                }
+            })
+            .build();
+        extractor.match(system().newReader("[1]"));
+    }
+
+    @Test
+    public void testInvalidSearchPaths()
+    {
+        String[] invalid = { "a", "[a]", "(a) (b)", "(-1)", "(1.0)",
+                             "(null.symbol)", "((a))", "(" };
+        for (String path : invalid)
+        {
+            try
+            {
+                PathExtractorBuilder.standard().withSearchPath(path, new Collector());
+                fail("Expected IllegalArgumentException for " + path);
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testIndexOutOfRange()
+    {
+        // these don't fit in an int, and must not wrap to another index
+        String[] paths = { "(5000000000)", "(4294967295)", "(a 2147483648)" };
+        for (String path : paths)
+        {
+            try
+            {
+                PathExtractorBuilder.standard().withSearchPath(path, new Collector());
+                fail("Expected IllegalArgumentException for " + path);
+            }
+            catch (IllegalArgumentException e)
+            {
+                assertTrue(e.getMessage(), e.getMessage().contains("index out of range"));
+            }
+        }
+    }
+}
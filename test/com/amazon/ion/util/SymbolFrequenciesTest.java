@@ -0,0 +1,139 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.util;
+
+import static java.util.Arrays.asList;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonTestCase;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+
+public class SymbolFrequenciesTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "{id:1, kind:a} {id:2, kind:b, tags:[x::c, x::a]} " +
+        "$ion_symbol_table::{symbols:[\"unused\"]} " +
+        "x::{id:3, kind:a, name:\"n\"} null.struct";
+
+    private SymbolFrequencies count(String text)
+    {
+        SymbolFrequencies frequencies = new SymbolFrequencies();
+        frequencies.count(system().newReader(text));
+        frequencies.count(system().newReader(encode(text)));
+        return frequencies;
+    }
+
+    @Test
+    public void testCount()
+    {
+        SymbolFrequencies frequencies = count(DATA);
+
+        // System symbols, symbol tables and unknown symbols aren't counted.
+        assertEquals(7, frequencies.size());
+        assertEquals(6, frequencies.getCount("id"));
+        assertEquals(6, frequencies.getCount("a"));
+        assertEquals(2, frequencies.getCount("tags"));
+        assertEquals(0, frequencies.getCount("name"));
+        assertEquals(0, frequencies.getCount("unused"));
+        assertEquals(asList("id", "kind", "a", "x", "b", "tags", "c"),
+                     frequencies.getSymbolsByFrequency());
+    }
+
+    @Test
+    public void testNewSharedSymbolTable()
+    {
+        SymbolFrequencies frequencies = count(DATA);
+        SymbolTable table =
+            frequencies.newSharedSymbolTable(system(), "T", 1, 3);
+        assertEquals("T", table.getName());
+        assertEquals(3, table.getMaxId());
+        assertEquals("id", table.findKnownSymbol(1));
+        assertEquals("kind", table.findKnownSymbol(2));
+        assertEquals("a", table.findKnownSymbol(3));
+        catalog().putTable(table);
+
+        // The next version keeps the prior symbols' IDs.
+        SymbolTable next = count("{z:1} {z:2} {a:b}")
+            .newSharedSymbolTable(system(), "T", 2, 0);
+        assertEquals(5, next.getMaxId());
+        assertEquals("id", next.findKnownSymbol(1));
+        assertEquals("z", next.findKnownSymbol(4));
+        assertEquals("b", next.findKnownSymbol(5));
+    }
+
+    @Test(expected = IonException.class)
+    public void testNewSharedSymbolTableWithoutPriorVersion()
+    {
+        count(DATA).newSharedSymbolTable(system(), "Missing", 2, 0);
+    }
+
+    @Test
+    public void testProjectEncodedSize()
+        throws Exception
+    {
+        // Enough symbols that the rare ones, seen first, need 2-byte IDs.
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+        {
+            text.append("rare").append(i).append("::0 ");
+        }
+        for (int i = 0; i < 100; i++)
+        {
+            text.append("{common:1} ");
+        }
+        SymbolFrequencies frequencies = new SymbolFrequencies();
+        frequencies.count(system().newReader(text.toString()));
+
+        SymbolTable table =
+            frequencies.newSharedSymbolTable(system(), "common", 1, 1);
+        long localSize = frequencies.projectEncodedSize(null);
+        long sharedSize = frequencies.projectEncodedSize(table);
+        assertTrue(sharedSize < localSize);
+        // common moves from a 2-byte to a 1-byte ID and isn't declared, while
+        // one more rare symbol needs a 2-byte ID.
+        assertEquals(100 + 1 + 6 - 1, localSize - sharedSize);
+
+        // The projection matches what the writers produce, give or take the
+        // length fields of the symbol table structs.
+        long saved = encodedSize(text.toString())
+            - encodedSize(text.toString(), table) + importOverhead(table);
+        assertTrue(Math.abs(saved - (localSize - sharedSize)) <= 2);
+    }
+
+    private long encodedSize(String text, SymbolTable... imports)
+        throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withImports(imports)
+            .build(out);
+        writer.writeValues(system().newReader(text));
+        writer.close();
+        return out.size();
+    }
+
+    /** The bytes that declaring an import adds to a symbol table. */
+    private long importOverhead(SymbolTable table)
+        throws Exception
+    {
+        return encodedSize("a", table) - encodedSize("a");
+    }
+}
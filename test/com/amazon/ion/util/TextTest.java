@@ -18,9 +18,11 @@ package com.amazon.ion.util;
 import com.amazon.ion.BlobTest;
 import com.amazon.ion.BlobTest.TestData;
 import com.amazon.ion.Decimal;
+import com.amazon.ion.IonFloat;
 import com.amazon.ion.IonTestCase;
 import com.amazon.ion.impl._Private_IonTextAppender;
 import java.math.BigDecimal;
+import java.util.Random;
 import org.junit.Test;
 
 
@@ -200,6 +202,40 @@ public class TextTest
         checkFloat("null.float", null);
         checkFloat("0e0", 0.0);
         checkFloat("1e0", 1.0);
+        checkFloat("-0e0", -0.0);
+        checkFloat("nan", Double.NaN);
+        checkFloat("-inf", Double.NEGATIVE_INFINITY);
+        checkFloat("-123e0", -123.0);
+        checkFloat("1.25e0", 1.25);
+        checkFloat("0.1e0", 0.1);
+        checkFloat("0.001e0", 0.001);
+        checkFloat("9.999999999999998E-4", 9.999999999999998E-4);
+        checkFloat("9999999.999999998e0", 9999999.999999998);
+        checkFloat("1.0E7", 1.0E7);
+        checkFloat("1.23456789E8", 123456789.0);
+        checkFloat("1.7976931348623157E308", Double.MAX_VALUE);
+        checkFloat("2.2250738585072014E-308", Double.MIN_NORMAL);
+        checkFloat("4.9E-324", Double.MIN_VALUE);
+
+        // These have fewer or closer digits than Double.toString gives.
+        checkFloat("1.0E23", 1.0E23);
+        checkFloat("3.1149208926252883E25", 3.1149208926252882E25);
+    }
+
+    @Test
+    public void testPrintFloatRoundTrips()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++)
+        {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value)) continue;
+
+            String text = IonTextUtils.printFloat(value);
+            IonFloat read = (IonFloat) system().singleValue(text);
+            assertEquals(text, Double.doubleToLongBits(value),
+                         Double.doubleToLongBits(read.doubleValue()));
+        }
     }
 
 